@@ -0,0 +1,19 @@
+/*
+ * File: QrSigningSettings.cs
+ * Project: EV Charging Station Booking System
+ * Description: Signing settings for offline-verifiable booking QR tokens
+ * Author: EV Charging System
+ * Date: October 19, 2026
+ */
+
+namespace EVChargingBackend.Config
+{
+    /// <summary>
+    /// Secret used to derive the per-station keys that sign booking QR tokens.
+    /// Required, and separate from the JWT key.
+    /// </summary>
+    public class QrSigningSettings
+    {
+        public string Secret { get; set; } = string.Empty;
+    }
+}
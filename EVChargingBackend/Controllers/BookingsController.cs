@@ -63,25 +63,28 @@ namespace EVChargingBackend.Controllers
         /// <summary>
         /// Gets all bookings (backoffice and station operators)
         /// </summary>
+        /// <param name="query">Optional status, time window and fields filters</param>
         /// <returns>List of all bookings</returns>
         [HttpGet]
         [Authorize(Roles = $"{nameof(UserRole.Backoffice)},{nameof(UserRole.StationOperator)}")]
-        public async Task<ActionResult<List<BookingResponseDto>>> GetAllBookings()
+        public async Task<ActionResult<List<BookingResponseDto>>> GetAllBookings([FromQuery] BookingListQueryDto query)
         {
             _logger.LogInformation("Fetching all bookings");
             
-            var bookings = await _bookingService.GetAllBookingsAsync();
+            var fields = BookingProjection.ParseFields(query.Fields);
+            var bookings = await _bookingService.QueryBookingsAsync(query, fields);
             
-            return Ok(bookings);
+            return BookingList(bookings, fields, allowProtobuf: true);
         }
 
         /// <summary>
         /// Gets current user's bookings (EV Owner only)
         /// </summary>
+        /// <param name="query">Optional status, time window and fields filters</param>
         /// <returns>List of user's bookings</returns>
         [HttpGet("my-bookings")]
         [Authorize(Roles = nameof(UserRole.EVOwner))]
-        public async Task<ActionResult<List<BookingResponseDto>>> GetMyBookings()
+        public async Task<ActionResult<List<BookingResponseDto>>> GetMyBookings([FromQuery] BookingListQueryDto query)
         {
             var ownerNic = User.FindFirst("nic")?.Value;
             
@@ -92,25 +95,54 @@ namespace EVChargingBackend.Controllers
 
             _logger.LogInformation("Fetching bookings for user: {OwnerNIC}", ownerNic);
             
-            var bookings = await _bookingService.GetUserBookingsAsync(ownerNic);
+            var fields = BookingProjection.ParseFields(query.Fields);
+            var bookings = await _bookingService.QueryBookingsAsync(query, fields, ownerNic: ownerNic);
             
-            return Ok(bookings);
+            return BookingList(bookings, fields);
         }
 
         /// <summary>
         /// Gets bookings for a specific station (station operators)
         /// </summary>
         /// <param name="stationId">Station ID</param>
+        /// <param name="query">Optional status, time window (from/to), updatedSince (incremental refresh) and fields filters</param>
         /// <returns>List of station bookings</returns>
         [HttpGet("station/{stationId}")]
         [Authorize(Roles = $"{nameof(UserRole.Backoffice)},{nameof(UserRole.StationOperator)}")]
-        public async Task<ActionResult<List<BookingResponseDto>>> GetStationBookings(string stationId)
+        public async Task<ActionResult<List<BookingResponseDto>>> GetStationBookings(
+            string stationId,
+            [FromQuery] BookingListQueryDto query)
         {
             _logger.LogInformation("Fetching bookings for station: {StationId}", stationId);
+
+            var fields = BookingProjection.ParseFields(query.Fields);
+            var bookings = await _bookingService.QueryBookingsAsync(query, fields, stationId: stationId);
             
-            var bookings = await _bookingService.GetStationBookingsAsync(stationId);
-            
-            return Ok(bookings);
+            return BookingList(bookings, fields, allowProtobuf: true);
+        }
+
+        /// <summary>
+        /// Gets slot-holding booking windows for a station (any authenticated user)
+        /// </summary>
+        /// <param name="stationId">Station ID</param>
+        /// <param name="from">Range start (defaults to now)</param>
+        /// <param name="to">Range end (defaults to 8 days from now)</param>
+        /// <returns>Booking windows without owner details; only the caller's own bookings carry an ID</returns>
+        [HttpGet("station/{stationId}/occupancy")]
+        public async Task<ActionResult<List<BookingIntervalDto>>> GetStationOccupancy(
+            string stationId,
+            [FromQuery] DateTime? from = null,
+            [FromQuery] DateTime? to = null)
+        {
+            var rangeStart = from?.ToUniversalTime() ?? DateTime.UtcNow;
+            var rangeEnd = to?.ToUniversalTime() ?? DateTime.UtcNow.AddDays(8);
+
+            _logger.LogInformation("Fetching occupancy for station: {StationId}", stationId);
+
+            var ownerNic = User.FindFirst("nic")?.Value;
+            var intervals = await _bookingService.GetStationOccupancyAsync(stationId, rangeStart, rangeEnd, ownerNic);
+
+            return Ok(intervals);
         }
 
         /// <summary>
@@ -182,6 +214,44 @@ namespace EVChargingBackend.Controllers
             return Ok(new { message = "Booking confirmed successfully" });
         }
 
+        /// <summary>
+        /// Finalizes a confirmed booking once charging is done (station operator action)
+        /// </summary>
+        /// <param name="id">Booking ID</param>
+        /// <returns>Success status</returns>
+        [HttpPost("{id}/finalize")]
+        [Authorize(Roles = $"{nameof(UserRole.Backoffice)},{nameof(UserRole.StationOperator)}")]
+        public async Task<ActionResult> FinalizeBooking(string id)
+        {
+            _logger.LogInformation("Finalizing booking: {BookingId}", id);
+
+            var result = await _bookingService.FinalizeBookingAsync(id);
+
+            if (!result)
+            {
+                return NotFound("Booking not found");
+            }
+
+            return Ok(new { message = "Booking finalized successfully" });
+        }
+
+        /// <summary>
+        /// Checks in a scanned booking in one round trip: confirms an active booking or finalizes a confirmed one
+        /// </summary>
+        /// <param name="id">Booking ID</param>
+        /// <param name="stationId">Operator's station; rejects bookings for other stations when given</param>
+        /// <returns>Previous and new booking status</returns>
+        [HttpPost("{id}/scan-action")]
+        [Authorize(Roles = $"{nameof(UserRole.Backoffice)},{nameof(UserRole.StationOperator)}")]
+        public async Task<ActionResult<ScanActionResultDto>> ScanAction(string id, [FromQuery] string? stationId)
+        {
+            _logger.LogInformation("Scan action for booking: {BookingId}", id);
+
+            var result = await _bookingService.ScanActionAsync(id, stationId);
+
+            return Ok(result);
+        }
+
         /// <summary>
         /// Cancels booking (EV Owner only, own bookings)
         /// </summary>
@@ -231,5 +301,38 @@ namespace EVChargingBackend.Controllers
             
             return Ok(new { message = "Booking cancelled successfully by operator" });
         }
+
+        /// <summary>
+        /// Returns a booking list, trimmed to the requested fields when a projection was asked for.
+        /// High-volume lists are sent as protobuf to clients whose Accept header asks for it.
+        /// </summary>
+        /// <param name="bookings">Bookings to return</param>
+        /// <param name="fields">Parsed fields parameter, or null for full bookings</param>
+        /// <param name="allowProtobuf">Whether this endpoint offers the protobuf encoding</param>
+        /// <returns>OK result</returns>
+        private ActionResult BookingList(List<BookingResponseDto> bookings, ISet<string>? fields, bool allowProtobuf = false)
+        {
+            if (allowProtobuf)
+            {
+                Response.Headers.Vary = "Accept";
+                if (AcceptsProtobuf())
+                {
+                    return File(BookingListProtobuf.Encode(bookings, fields), BookingListProtobuf.MediaType);
+                }
+            }
+
+            return fields == null ? Ok(bookings) : Ok(BookingProjection.Project(bookings, fields));
+        }
+
+        /// <summary>
+        /// Whether the client lists the protobuf media type in its Accept header
+        /// </summary>
+        /// <returns>True when protobuf is acceptable</returns>
+        private bool AcceptsProtobuf()
+        {
+            return Request.GetTypedHeaders().Accept.Any(accept =>
+                accept.MediaType.Equals(BookingListProtobuf.MediaType, StringComparison.OrdinalIgnoreCase)
+                && (accept.Quality ?? 1) > 0);
+        }
     }
-}
\ No newline at end of file
+}
@@ -11,6 +11,7 @@ using EVChargingBackend.Models;
 using EVChargingBackend.Services;
 using Microsoft.AspNetCore.Authorization;
 using Microsoft.AspNetCore.Mvc;
+using System.Security.Claims;
 
 namespace EVChargingBackend.Controllers
 {
@@ -23,16 +24,19 @@ namespace EVChargingBackend.Controllers
     public class ChargingStationsController : ControllerBase
     {
         private readonly IChargingStationService _stationService;
+        private readonly IQrTokenService _qrTokenService;
         private readonly ILogger<ChargingStationsController> _logger;
 
         /// <summary>
         /// Initializes charging stations controller with dependencies
         /// </summary>
         /// <param name="stationService">Charging station service</param>
+        /// <param name="qrTokenService">Booking QR token service</param>
         /// <param name="logger">Logger for controller operations</param>
-        public ChargingStationsController(IChargingStationService stationService, ILogger<ChargingStationsController> logger)
+        public ChargingStationsController(IChargingStationService stationService, IQrTokenService qrTokenService, ILogger<ChargingStationsController> logger)
         {
             _stationService = stationService;
+            _qrTokenService = qrTokenService;
             _logger = logger;
         }
 
@@ -96,6 +100,35 @@ namespace EVChargingBackend.Controllers
             return Ok(station);
         }
 
+        /// <summary>
+        /// Gets the key used to verify booking QR tokens offline (backoffice, or an operator of the station)
+        /// </summary>
+        /// <param name="id">Station ID</param>
+        /// <returns>Station ID and base64 key</returns>
+        [HttpGet("{id}/qr-key")]
+        [Authorize(Roles = $"{nameof(UserRole.Backoffice)},{nameof(UserRole.StationOperator)}")]
+        public async Task<ActionResult<StationQrKeyDto>> GetStationQrKey(string id)
+        {
+            // A station key can forge that station's booking tokens, so operators only get their own stations' keys
+            if (!User.IsInRole(nameof(UserRole.Backoffice)) && !OperatesStation(id))
+            {
+                _logger.LogWarning("Refused QR verification key for station {StationId} to {UserId}", id,
+                    User.FindFirst(ClaimTypes.NameIdentifier)?.Value);
+                return Forbid();
+            }
+
+            _logger.LogInformation("Issuing QR verification key for station: {StationId}", id);
+
+            // Throws KeyNotFoundException for unknown stations
+            await _stationService.GetStationByIdAsync(id);
+
+            return Ok(new StationQrKeyDto
+            {
+                StationId = id,
+                Key = Convert.ToBase64String(_qrTokenService.GetStationKey(id))
+            });
+        }
+
         /// <summary>
         /// Updates charging station information (backoffice only)
         /// </summary>
@@ -154,5 +187,16 @@ namespace EVChargingBackend.Controllers
             
             return Ok(new { message = "Charging station deleted successfully" });
         }
+
+        /// <summary>
+        /// Checks whether the caller's token lists the station as one they operate
+        /// </summary>
+        /// <param name="stationId">Station ID</param>
+        /// <returns>True for the caller's station or one of the further stations they supervise</returns>
+        private bool OperatesStation(string stationId)
+        {
+            return User.FindAll("stationId").Concat(User.FindAll("stationIds"))
+                .Any(claim => claim.Value == stationId);
+        }
     }
 }
\ No newline at end of file
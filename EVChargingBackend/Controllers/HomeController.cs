@@ -0,0 +1,63 @@
+/*
+ * File: HomeController.cs
+ * Project: EV Charging Station Booking System
+ * Description: Controller for the owner home screen aggregate
+ * Author: EV Charging System
+ * Date: October 19, 2026
+ */
+
+using EVChargingBackend.DTOs;
+using EVChargingBackend.Services;
+using Microsoft.AspNetCore.Authorization;
+using Microsoft.AspNetCore.Mvc;
+using System.Security.Claims;
+
+namespace EVChargingBackend.Controllers
+{
+    /// <summary>
+    /// Controller serving the home screen in a single request
+    /// </summary>
+    [ApiController]
+    [Route("api/[controller]")]
+    [Authorize]
+    public class HomeController : ControllerBase
+    {
+        private readonly IHomeService _homeService;
+        private readonly ILogger<HomeController> _logger;
+
+        /// <summary>
+        /// Initializes home controller with dependencies
+        /// </summary>
+        /// <param name="homeService">Home aggregate service</param>
+        /// <param name="logger">Logger</param>
+        public HomeController(IHomeService homeService, ILogger<HomeController> logger)
+        {
+            _homeService = homeService;
+            _logger = logger;
+        }
+
+        /// <summary>
+        /// Gets the profile, upcoming bookings, unread notification count and bookable stations for the current user
+        /// </summary>
+        /// <param name="bookingLimit">Maximum upcoming bookings (default 10)</param>
+        /// <param name="stationLimit">Maximum stations (default 20)</param>
+        /// <returns>Home screen payload</returns>
+        [HttpGet]
+        public async Task<ActionResult<HomeDto>> GetHome([FromQuery] int bookingLimit = 10, [FromQuery] int stationLimit = 20)
+        {
+            var userId = User.FindFirst(ClaimTypes.NameIdentifier)?.Value;
+            var userNic = User.FindFirst("nic")?.Value;
+
+            if (string.IsNullOrEmpty(userId) || string.IsNullOrEmpty(userNic))
+            {
+                return BadRequest("Invalid user token");
+            }
+
+            _logger.LogInformation("Building home screen for user: {UserNIC}", userNic);
+
+            var home = await _homeService.GetHomeAsync(userId, userNic, bookingLimit, stationLimit);
+
+            return Ok(home);
+        }
+    }
+}
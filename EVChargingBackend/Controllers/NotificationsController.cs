@@ -268,6 +268,25 @@ namespace EVChargingBackend.Controllers
             return Ok(summary);
         }
 
+        /// <summary>
+        /// Gets the unread count and list version for current user, for the navigation badge
+        /// </summary>
+        /// <returns>Unread count and version</returns>
+        [HttpGet("count")]
+        public async Task<ActionResult<NotificationCountDto>> GetNotificationCount()
+        {
+            var userNic = User.FindFirst("nic")?.Value;
+
+            if (string.IsNullOrEmpty(userNic))
+            {
+                return BadRequest("Invalid user token - NIC not found");
+            }
+
+            var count = await _notificationService.GetNotificationCountAsync(userNic);
+
+            return Ok(count);
+        }
+
         /// <summary>
         /// Cleans up expired notifications (Backoffice only)
         /// </summary>
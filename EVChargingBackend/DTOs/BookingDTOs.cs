@@ -50,12 +50,44 @@ namespace EVChargingBackend.DTOs
         public DateTime EndTime { get; set; }
         public BookingStatus Status { get; set; }
         public string QRCode { get; set; } = string.Empty;
+        public string? QrToken { get; set; }
         public decimal TotalAmount { get; set; }
         public DateTime CreatedAt { get; set; }
+        public DateTime UpdatedAt { get; set; }
         public DateTime? ConfirmedAt { get; set; }
         public DateTime? CancelledAt { get; set; }
     }
 
+    /// <summary>
+    /// DTO for a slot-holding booking window at a station (no owner details)
+    /// </summary>
+    public class BookingIntervalDto
+    {
+        /// <summary>
+        /// Booking ID for the caller's own bookings only; null for other owners' bookings, whose
+        /// IDs would otherwise work as QR payloads and scan-action keys
+        /// </summary>
+        public string? Id { get; set; }
+        public DateTime StartTime { get; set; }
+        public DateTime EndTime { get; set; }
+        public BookingStatus Status { get; set; }
+    }
+
+    /// <summary>
+    /// DTO for the outcome of a scan-and-act request by a station operator
+    /// </summary>
+    public class ScanActionResultDto
+    {
+        public string BookingId { get; set; } = string.Empty;
+        public string StationId { get; set; } = string.Empty;
+        public string OwnerNIC { get; set; } = string.Empty;
+        public DateTime StartTime { get; set; }
+        public DateTime EndTime { get; set; }
+        public BookingStatus PreviousStatus { get; set; }
+        public BookingStatus Status { get; set; }
+        public string Action { get; set; } = string.Empty;
+    }
+
     /// <summary>
     /// DTO for booking confirmation by station operator
     /// </summary>
@@ -73,4 +105,26 @@ namespace EVChargingBackend.DTOs
         [StringLength(500)]
         public string Reason { get; set; } = string.Empty;
     }
+    /// <summary>
+    /// Query parameters shared by the booking list endpoints. All are optional; without a filter
+    /// the lists keep their usual order, with one they are ordered by start time, earliest first.
+    /// </summary>
+    public class BookingListQueryDto
+    {
+        // Repeated for a set, e.g. ?status=0&status=1
+        public List<BookingStatus>? Status { get; set; }
+
+        // Bookings overlapping [From, To)
+        public DateTime? From { get; set; }
+        public DateTime? To { get; set; }
+
+        // Only bookings changed after this instant (incremental refresh)
+        public DateTime? UpdatedSince { get; set; }
+
+        // Comma separated response fields, e.g. "id,stationId,startTime,status"; all when omitted
+        public string? Fields { get; set; }
+
+        public bool HasFilter =>
+            (Status != null && Status.Count > 0) || From.HasValue || To.HasValue || UpdatedSince.HasValue;
+    }
 }
\ No newline at end of file
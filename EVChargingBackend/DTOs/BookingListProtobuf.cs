@@ -0,0 +1,170 @@
+/*
+ * File: BookingListProtobuf.cs
+ * Project: EV Charging Station Booking System
+ * Description: Compact protobuf encoding of booking lists for clients that ask for it
+ * Author: EV Charging System
+ * Date: October 19, 2026
+ */
+
+using System.Buffers.Binary;
+using System.Text;
+
+namespace EVChargingBackend.DTOs
+{
+    /// <summary>
+    /// Encodes booking lists in protobuf wire format, without generated code. The schema is:
+    /// <code>
+    /// message BookingList {
+    ///   repeated string station_ids = 1;              // interned; written before any booking
+    ///   repeated Booking bookings = 2;
+    ///   repeated BookingStatus statuses = 3 [packed];  // statuses[i] belongs to bookings[i]
+    /// }
+    /// message Booking {
+    ///   string id = 1;                  string owner_nic = 2;
+    ///   uint32 station_index = 3;       // into BookingList.station_ids
+    ///   int64 start_time = 4;           int64 end_time = 5;        // epoch milliseconds, UTC
+    ///   string qr_code = 6;             string qr_token = 7;
+    ///   double total_amount = 8;
+    ///   int64 created_at = 9;           int64 updated_at = 10;
+    ///   int64 confirmed_at = 11;        int64 cancelled_at = 12;   // 0 when unset
+    ///   string station_name = 13;       string station_location = 14;
+    /// }
+    /// </code>
+    /// Fields left out by a projection are not written.
+    /// </summary>
+    public static class BookingListProtobuf
+    {
+        public const string MediaType = "application/x-protobuf";
+
+        private const int WireVarint = 0;
+        private const int WireFixed64 = 1;
+        private const int WireLengthDelimited = 2;
+
+        /// <summary>
+        /// Encodes bookings as a BookingList message
+        /// </summary>
+        /// <param name="bookings">Bookings to encode</param>
+        /// <param name="fields">Parsed fields parameter, or null for all fields</param>
+        /// <returns>Encoded message</returns>
+        public static byte[] Encode(IReadOnlyList<BookingResponseDto> bookings, ISet<string>? fields)
+        {
+            bool Has(string field) => BookingProjection.Includes(fields, field);
+
+            var withStation = Has("stationId");
+            var stationIndex = new Dictionary<string, int>();
+            var output = new MemoryStream(bookings.Count * 48);
+
+            if (withStation)
+            {
+                foreach (var booking in bookings)
+                {
+                    if (!stationIndex.ContainsKey(booking.StationId))
+                    {
+                        stationIndex[booking.StationId] = stationIndex.Count;
+                        WriteString(output, 1, booking.StationId);
+                    }
+                }
+            }
+
+            var message = new MemoryStream(128);
+            foreach (var booking in bookings)
+            {
+                message.SetLength(0);
+                WriteString(message, 1, booking.Id);
+                if (Has("ownerNIC")) WriteString(message, 2, booking.OwnerNIC);
+                if (withStation) WriteInt64(message, 3, stationIndex[booking.StationId]);
+                if (Has("startTime")) WriteInt64(message, 4, EpochMillis(booking.StartTime));
+                if (Has("endTime")) WriteInt64(message, 5, EpochMillis(booking.EndTime));
+                if (Has("qrCode")) WriteString(message, 6, booking.QRCode);
+                if (Has(BookingProjection.QrToken)) WriteString(message, 7, booking.QrToken);
+                if (Has("totalAmount")) WriteDouble(message, 8, (double)booking.TotalAmount);
+                if (Has("createdAt")) WriteInt64(message, 9, EpochMillis(booking.CreatedAt));
+                if (Has("updatedAt")) WriteInt64(message, 10, EpochMillis(booking.UpdatedAt));
+                if (Has("confirmedAt")) WriteInt64(message, 11, EpochMillis(booking.ConfirmedAt));
+                if (Has("cancelledAt")) WriteInt64(message, 12, EpochMillis(booking.CancelledAt));
+                if (Has(BookingProjection.StationName)) WriteString(message, 13, booking.StationName);
+                if (Has(BookingProjection.StationLocation)) WriteString(message, 14, booking.StationLocation);
+
+                WriteTag(output, 2, WireLengthDelimited);
+                WriteVarint(output, (ulong)message.Length);
+                message.WriteTo(output);
+            }
+
+            if (Has("status") && bookings.Count > 0)
+            {
+                // Statuses are small enums, one byte each when packed.
+                message.SetLength(0);
+                foreach (var booking in bookings)
+                {
+                    WriteVarint(message, (ulong)booking.Status);
+                }
+                WriteTag(output, 3, WireLengthDelimited);
+                WriteVarint(output, (ulong)message.Length);
+                message.WriteTo(output);
+            }
+
+            return output.ToArray();
+        }
+
+        private static long EpochMillis(DateTime? time)
+        {
+            if (!time.HasValue)
+            {
+                return 0;
+            }
+            var utc = time.Value.Kind == DateTimeKind.Unspecified
+                ? DateTime.SpecifyKind(time.Value, DateTimeKind.Utc)
+                : time.Value.ToUniversalTime();
+            return new DateTimeOffset(utc).ToUnixTimeMilliseconds();
+        }
+
+        private static void WriteTag(Stream output, int field, int wireType)
+        {
+            WriteVarint(output, (ulong)((field << 3) | wireType));
+        }
+
+        private static void WriteVarint(Stream output, ulong value)
+        {
+            while (value >= 0x80)
+            {
+                output.WriteByte((byte)(value | 0x80));
+                value >>= 7;
+            }
+            output.WriteByte((byte)value);
+        }
+
+        private static void WriteString(Stream output, int field, string? value)
+        {
+            if (string.IsNullOrEmpty(value))
+            {
+                return;
+            }
+            var bytes = Encoding.UTF8.GetBytes(value);
+            WriteTag(output, field, WireLengthDelimited);
+            WriteVarint(output, (ulong)bytes.Length);
+            output.Write(bytes, 0, bytes.Length);
+        }
+
+        private static void WriteInt64(Stream output, int field, long value)
+        {
+            if (value == 0)
+            {
+                return;
+            }
+            WriteTag(output, field, WireVarint);
+            WriteVarint(output, (ulong)value);
+        }
+
+        private static void WriteDouble(Stream output, int field, double value)
+        {
+            if (value == 0)
+            {
+                return;
+            }
+            Span<byte> bytes = stackalloc byte[8];
+            BinaryPrimitives.WriteDoubleLittleEndian(bytes, value);
+            WriteTag(output, field, WireFixed64);
+            output.Write(bytes);
+        }
+    }
+}
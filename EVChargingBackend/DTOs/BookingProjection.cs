@@ -0,0 +1,98 @@
+/*
+ * File: BookingProjection.cs
+ * Project: EV Charging Station Booking System
+ * Description: Sparse field projection (fields=) for booking list responses
+ * Author: EV Charging System
+ * Date: October 19, 2026
+ */
+
+namespace EVChargingBackend.DTOs
+{
+    /// <summary>
+    /// Trims booking responses down to the fields a screen asked for. Names match the JSON
+    /// property names of <see cref="BookingResponseDto"/>.
+    /// </summary>
+    public static class BookingProjection
+    {
+        public const string StationName = "stationName";
+        public const string StationLocation = "stationLocation";
+        public const string QrToken = "qrToken";
+
+        private static readonly Dictionary<string, Func<BookingResponseDto, object?>> Getters =
+            new(StringComparer.OrdinalIgnoreCase)
+            {
+                ["id"] = b => b.Id,
+                ["ownerNIC"] = b => b.OwnerNIC,
+                ["stationId"] = b => b.StationId,
+                [StationName] = b => b.StationName,
+                [StationLocation] = b => b.StationLocation,
+                ["startTime"] = b => b.StartTime,
+                ["endTime"] = b => b.EndTime,
+                ["status"] = b => b.Status,
+                ["qrCode"] = b => b.QRCode,
+                [QrToken] = b => b.QrToken,
+                ["totalAmount"] = b => b.TotalAmount,
+                ["createdAt"] = b => b.CreatedAt,
+                ["updatedAt"] = b => b.UpdatedAt,
+                ["confirmedAt"] = b => b.ConfirmedAt,
+                ["cancelledAt"] = b => b.CancelledAt
+            };
+
+        /// <summary>
+        /// Parses a fields parameter
+        /// </summary>
+        /// <param name="fields">Comma separated field names, or null/empty for all fields</param>
+        /// <returns>Requested field names (always including id), or null for all fields</returns>
+        public static ISet<string>? ParseFields(string? fields)
+        {
+            if (string.IsNullOrWhiteSpace(fields))
+            {
+                return null;
+            }
+
+            var requested = new HashSet<string>(StringComparer.OrdinalIgnoreCase) { "id" };
+            foreach (var name in fields.Split(',', StringSplitOptions.RemoveEmptyEntries | StringSplitOptions.TrimEntries))
+            {
+                if (!Getters.ContainsKey(name))
+                {
+                    throw new ArgumentException($"Unknown booking field: {name}");
+                }
+                requested.Add(name);
+            }
+
+            return requested;
+        }
+
+        /// <summary>
+        /// Whether a field is part of the response; everything is when no projection was asked for
+        /// </summary>
+        public static bool Includes(ISet<string>? fields, string field)
+        {
+            return fields == null || fields.Contains(field);
+        }
+
+        /// <summary>
+        /// Projects bookings onto the requested fields
+        /// </summary>
+        /// <param name="bookings">Full booking responses</param>
+        /// <param name="fields">Field names from <see cref="ParseFields"/></param>
+        /// <returns>One property bag per booking</returns>
+        public static List<Dictionary<string, object?>> Project(IEnumerable<BookingResponseDto> bookings, ISet<string> fields)
+        {
+            var getters = Getters.Where(g => fields.Contains(g.Key)).ToList();
+            var projected = new List<Dictionary<string, object?>>();
+
+            foreach (var booking in bookings)
+            {
+                var bag = new Dictionary<string, object?>(getters.Count);
+                foreach (var getter in getters)
+                {
+                    bag[getter.Key] = getter.Value(booking);
+                }
+                projected.Add(bag);
+            }
+
+            return projected;
+        }
+    }
+}
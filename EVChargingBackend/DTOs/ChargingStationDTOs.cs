@@ -22,6 +22,12 @@ namespace EVChargingBackend.DTOs
         [Required]
         public string Location { get; set; } = string.Empty;
 
+        [Range(-90.0, 90.0)]
+        public double? Latitude { get; set; }
+
+        [Range(-180.0, 180.0)]
+        public double? Longitude { get; set; }
+
         [Required]
         public StationType Type { get; set; }
 
@@ -41,6 +47,13 @@ namespace EVChargingBackend.DTOs
     {
         public string? Name { get; set; }
         public string? Location { get; set; }
+
+        [Range(-90.0, 90.0)]
+        public double? Latitude { get; set; }
+
+        [Range(-180.0, 180.0)]
+        public double? Longitude { get; set; }
+
         public StationType? Type { get; set; }
         public int? TotalSlots { get; set; }
         public decimal? PricePerHour { get; set; }
@@ -55,6 +68,8 @@ namespace EVChargingBackend.DTOs
         public string Id { get; set; } = string.Empty;
         public string Name { get; set; } = string.Empty;
         public string Location { get; set; } = string.Empty;
+        public double? Latitude { get; set; }
+        public double? Longitude { get; set; }
         public StationType Type { get; set; }
         public int TotalSlots { get; set; }
         public int AvailableSlots { get; set; }
@@ -63,4 +78,13 @@ namespace EVChargingBackend.DTOs
         public DateTime CreatedAt { get; set; }
         public DateTime UpdatedAt { get; set; }
     }
-}
\ No newline at end of file
+
+    /// <summary>
+    /// DTO for the key operators use to verify booking QR tokens offline
+    /// </summary>
+    public class StationQrKeyDto
+    {
+        public string StationId { get; set; } = string.Empty;
+        public string Key { get; set; } = string.Empty;
+    }
+}
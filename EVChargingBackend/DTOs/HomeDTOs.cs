@@ -0,0 +1,22 @@
+/*
+ * File: HomeDTOs.cs
+ * Project: EV Charging Station Booking System
+ * Description: Data Transfer Objects for the owner home screen aggregate
+ * Author: EV Charging System
+ * Date: October 19, 2026
+ */
+
+namespace EVChargingBackend.DTOs
+{
+    /// <summary>
+    /// DTO with everything the owner home screen shows at launch, in one response
+    /// </summary>
+    public class HomeDto
+    {
+        public UserResponseDto Profile { get; set; } = new();
+        public List<BookingResponseDto> UpcomingBookings { get; set; } = new();
+        public int UnreadNotifications { get; set; }
+        public List<StationResponseDto> NearbyStations { get; set; } = new();
+        public DateTime GeneratedAt { get; set; }
+    }
+}
@@ -84,6 +84,16 @@ namespace EVChargingBackend.DTOs
         public DateTime? LastNotificationTime { get; set; }
     }
 
+    /// <summary>
+    /// DTO for the unread badge. Version changes whenever the user's list changes,
+    /// so clients refetch the list only when it differs from the one they hold.
+    /// </summary>
+    public class NotificationCountDto
+    {
+        public int UnreadCount { get; set; }
+        public string Version { get; set; } = string.Empty;
+    }
+
     /// <summary>
     /// DTO for bulk notification creation
     /// </summary>
@@ -38,6 +38,8 @@ namespace EVChargingBackend.DTOs
 
         public string? StationId { get; set; } 
 
+        public List<string>? StationIds { get; set; }
+
         public string? PhoneNumber { get; set; }
     }
 
@@ -80,6 +82,8 @@ namespace EVChargingBackend.DTOs
         public DateTime CreatedAt { get; set; }
 
         public string? StationId { get; set; }
+
+        public List<string>? StationIds { get; set; }
     }
 
     /// <summary>
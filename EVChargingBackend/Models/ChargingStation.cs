@@ -26,6 +26,15 @@ namespace EVChargingBackend.Models
         [BsonElement("location")]
         public string Location { get; set; } = string.Empty;
 
+        // WGS84 degrees; null for stations created before coordinates were recorded
+        [BsonElement("latitude")]
+        [BsonIgnoreIfNull]
+        public double? Latitude { get; set; }
+
+        [BsonElement("longitude")]
+        [BsonIgnoreIfNull]
+        public double? Longitude { get; set; }
+
         [BsonElement("type")]
         public StationType Type { get; set; }
 
@@ -42,6 +42,12 @@ namespace EVChargingBackend.Models
         [BsonRepresentation(BsonType.ObjectId)]
         public string? StationId { get; set; }
 
+        // Further stations a supervising operator covers besides StationId
+        [BsonElement("stationIds")]
+        [BsonRepresentation(BsonType.ObjectId)]
+        [BsonIgnoreIfNull]
+        public List<string>? StationIds { get; set; }
+
         [BsonElement("isActive")]
         public bool IsActive { get; set; } = true;
 
@@ -27,6 +27,7 @@ builder.Configuration["MongoDB:DatabaseName"] = Environment.GetEnvironmentVariab
 builder.Configuration["Jwt:Key"] = Environment.GetEnvironmentVariable("JWT_KEY") ?? builder.Configuration["Jwt:Key"];
 builder.Configuration["Jwt:Issuer"] = Environment.GetEnvironmentVariable("JWT_ISSUER") ?? builder.Configuration["Jwt:Issuer"];
 builder.Configuration["Jwt:Audience"] = Environment.GetEnvironmentVariable("JWT_AUDIENCE") ?? builder.Configuration["Jwt:Audience"];
+builder.Configuration["QrSigning:Secret"] = Environment.GetEnvironmentVariable("QR_SIGNING_SECRET") ?? builder.Configuration["QrSigning:Secret"];
 
 // Configure MongoDB settings
 builder.Services.Configure<MongoDbSettings>(
@@ -36,6 +37,10 @@ builder.Services.Configure<MongoDbSettings>(
 builder.Services.Configure<JwtSettings>(
     builder.Configuration.GetSection("Jwt"));
 
+// Configure QR token signing settings
+builder.Services.Configure<QrSigningSettings>(
+    builder.Configuration.GetSection("QrSigning"));
+
 // Add MongoDB context
 builder.Services.AddSingleton<MongoDbContext>();
 
@@ -51,6 +56,8 @@ builder.Services.AddScoped<IUserService, UserService>();
 builder.Services.AddScoped<IChargingStationService, ChargingStationService>();
 builder.Services.AddScoped<INotificationService, NotificationService>();
 builder.Services.AddScoped<IBookingService, BookingService>();
+builder.Services.AddScoped<IHomeService, HomeService>();
+builder.Services.AddSingleton<IQrTokenService, QrTokenService>();
 builder.Services.AddScoped<ISeedDataService, SeedDataService>();
 
 // Register background services
@@ -63,6 +70,12 @@ builder.Services.AddControllers();
 var jwtSettings = builder.Configuration.GetSection("Jwt");
 var key = Encoding.ASCII.GetBytes(jwtSettings["Key"] ?? throw new InvalidOperationException("JWT Key not configured"));
 
+// Booking QR tokens are signed with their own secret, never the JWT key
+if (string.IsNullOrEmpty(builder.Configuration["QrSigning:Secret"]))
+{
+    throw new InvalidOperationException("QR signing secret not configured");
+}
+
 builder.Services.AddAuthentication(options =>
 {
     options.DefaultAuthenticateScheme = JwtBearerDefaults.AuthenticationScheme;
@@ -75,6 +75,52 @@ namespace EVChargingBackend.Repositories
                 .ToListAsync();
         }
 
+        /// <summary>
+        /// Gets bookings matching every given condition; null conditions are ignored
+        /// </summary>
+        /// <param name="ownerNic">Owner NIC</param>
+        /// <param name="stationId">Station ID</param>
+        /// <param name="statuses">Allowed statuses</param>
+        /// <param name="from">Only bookings ending after this instant</param>
+        /// <param name="to">Only bookings starting before this instant</param>
+        /// <param name="updatedSince">Only bookings updated after this instant</param>
+        /// <returns>Matching bookings, earliest start first</returns>
+        public async Task<List<Booking>> QueryAsync(string? ownerNic, string? stationId, IReadOnlyCollection<BookingStatus>? statuses,
+            DateTime? from, DateTime? to, DateTime? updatedSince)
+        {
+            var builder = Builders<Booking>.Filter;
+            var filter = builder.Empty;
+
+            if (ownerNic != null)
+            {
+                filter &= builder.Eq(b => b.OwnerNIC, ownerNic);
+            }
+            if (stationId != null)
+            {
+                filter &= builder.Eq(b => b.StationId, stationId);
+            }
+            if (statuses != null && statuses.Count > 0)
+            {
+                filter &= builder.In(b => b.Status, statuses);
+            }
+            if (to.HasValue)
+            {
+                filter &= builder.Lt(b => b.StartTime, to.Value);
+            }
+            if (from.HasValue)
+            {
+                filter &= builder.Gt(b => b.EndTime, from.Value);
+            }
+            if (updatedSince.HasValue)
+            {
+                filter &= builder.Gt(b => b.UpdatedAt, updatedSince.Value);
+            }
+
+            return await _bookings.Find(filter)
+                .SortBy(b => b.StartTime)
+                .ToListAsync();
+        }
+
         /// <summary>
         /// Gets active bookings for a station within a time range
         /// </summary>
@@ -148,6 +194,47 @@ namespace EVChargingBackend.Repositories
             return result.ModifiedCount > 0;
         }
 
+        /// <summary>
+        /// Marks a booking as completed
+        /// </summary>
+        /// <param name="bookingId">Booking ID</param>
+        /// <returns>Success status</returns>
+        public async Task<bool> CompleteBookingAsync(string bookingId)
+        {
+            var update = Builders<Booking>.Update
+                .Set(b => b.Status, BookingStatus.Completed)
+                .Set(b => b.UpdatedAt, DateTime.UtcNow);
+
+            var result = await _bookings.UpdateOneAsync(b => b.Id == bookingId, update);
+            return result.ModifiedCount > 0;
+        }
+
+        /// <summary>
+        /// Moves a booking from one status to another in a single conditional update
+        /// </summary>
+        /// <param name="bookingId">Booking ID</param>
+        /// <param name="from">Status the booking must currently have</param>
+        /// <param name="to">New status</param>
+        /// <returns>Updated booking, or null if it no longer had the expected status</returns>
+        public async Task<Booking?> TransitionStatusAsync(string bookingId, BookingStatus from, BookingStatus to)
+        {
+            var filter = Builders<Booking>.Filter.And(
+                Builders<Booking>.Filter.Eq(b => b.Id, bookingId),
+                Builders<Booking>.Filter.Eq(b => b.Status, from)
+            );
+
+            var update = Builders<Booking>.Update
+                .Set(b => b.Status, to)
+                .Set(b => b.UpdatedAt, DateTime.UtcNow);
+            if (to == BookingStatus.Confirmed)
+            {
+                update = update.Set(b => b.ConfirmedAt, DateTime.UtcNow);
+            }
+
+            return await _bookings.FindOneAndUpdateAsync(filter, update,
+                new FindOneAndUpdateOptions<Booking> { ReturnDocument = ReturnDocument.After });
+        }
+
         /// <summary>
         /// Cancels a booking
         /// </summary>
@@ -43,6 +43,19 @@ namespace EVChargingBackend.Repositories
         /// <returns>List of station bookings</returns>
         Task<List<Booking>> GetByStationAsync(string stationId);
 
+        /// <summary>
+        /// Gets bookings matching every given condition; null conditions are ignored
+        /// </summary>
+        /// <param name="ownerNic">Owner NIC</param>
+        /// <param name="stationId">Station ID</param>
+        /// <param name="statuses">Allowed statuses</param>
+        /// <param name="from">Only bookings ending after this instant</param>
+        /// <param name="to">Only bookings starting before this instant</param>
+        /// <param name="updatedSince">Only bookings updated after this instant</param>
+        /// <returns>Matching bookings, earliest start first</returns>
+        Task<List<Booking>> QueryAsync(string? ownerNic, string? stationId, IReadOnlyCollection<BookingStatus>? statuses,
+            DateTime? from, DateTime? to, DateTime? updatedSince);
+
         /// <summary>
         /// Gets active bookings for a station within a time range
         /// </summary>
@@ -72,6 +85,22 @@ namespace EVChargingBackend.Repositories
         /// <returns>Success status</returns>
         Task<bool> ConfirmBookingAsync(string bookingId);
 
+        /// <summary>
+        /// Marks a booking as completed (operator action)
+        /// </summary>
+        /// <param name="bookingId">Booking ID</param>
+        /// <returns>Success status</returns>
+        Task<bool> CompleteBookingAsync(string bookingId);
+
+        /// <summary>
+        /// Moves a booking from one status to another in a single conditional update
+        /// </summary>
+        /// <param name="bookingId">Booking ID</param>
+        /// <param name="from">Status the booking must currently have</param>
+        /// <param name="to">New status</param>
+        /// <returns>Updated booking, or null if it no longer had the expected status</returns>
+        Task<Booking?> TransitionStatusAsync(string bookingId, BookingStatus from, BookingStatus to);
+
         /// <summary>
         /// Cancels a booking
         /// </summary>
@@ -125,5 +125,12 @@ namespace EVChargingBackend.Repositories
         /// <param name="recipientNIC">User NIC</param>
         /// <returns>Unread notification count</returns>
         Task<int> GetUnreadCountAsync(string recipientNIC);
+
+        /// <summary>
+        /// Gets the creation time of the newest notification for a user
+        /// </summary>
+        /// <param name="recipientNIC">User NIC</param>
+        /// <returns>Newest creation time, or null if the user has none</returns>
+        Task<DateTime?> GetLatestCreatedAtAsync(string recipientNIC);
     }
 }
\ No newline at end of file
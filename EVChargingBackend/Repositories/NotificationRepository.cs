@@ -284,5 +284,22 @@ namespace EVChargingBackend.Repositories
 
             return (int)await _notifications.CountDocumentsAsync(filter);
         }
+
+        /// <summary>
+        /// Gets the creation time of the newest notification for a user
+        /// </summary>
+        /// <param name="recipientNIC">User NIC</param>
+        /// <returns>Newest creation time, or null if the user has none</returns>
+        public async Task<DateTime?> GetLatestCreatedAtAsync(string recipientNIC)
+        {
+            var filter = Builders<Notification>.Filter.Eq(n => n.RecipientNIC, recipientNIC);
+
+            return await _notifications
+                .Find(filter)
+                .SortByDescending(n => n.CreatedAt)
+                .Limit(1)
+                .Project(n => (DateTime?)n.CreatedAt)
+                .FirstOrDefaultAsync();
+        }
     }
 }
\ No newline at end of file
@@ -77,6 +77,7 @@ namespace EVChargingBackend.Services
                 Password = hashedPassword,
                 Role = registerDto.Role,
                 StationId = (int)registerDto.Role == 1 ? registerDto.StationId : null,
+                StationIds = (int)registerDto.Role == 1 ? registerDto.StationIds : null,
                 PhoneNumber = registerDto.PhoneNumber,
                 IsActive = true
             };
@@ -124,6 +125,7 @@ namespace EVChargingBackend.Services
             if (user.Role == UserRole.StationOperator)
             {
                 userResponse.StationId = user.StationId;
+                userResponse.StationIds = user.StationIds;
             }
 
             return new LoginResponseDto
@@ -143,7 +145,7 @@ namespace EVChargingBackend.Services
             var key = new SymmetricSecurityKey(Encoding.UTF8.GetBytes(_jwtSettings.Key));
             var credentials = new SigningCredentials(key, SecurityAlgorithms.HmacSha256);
 
-            var claims = new[]
+            var claims = new List<Claim>
             {
                 new Claim(ClaimTypes.NameIdentifier, user.Id),
                 new Claim(ClaimTypes.Name, user.Email),
@@ -153,6 +155,16 @@ namespace EVChargingBackend.Services
                 new Claim("lastName", user.LastName)
             };
 
+            // Stations an operator may act for, checked by station-scoped endpoints
+            if (!string.IsNullOrEmpty(user.StationId))
+            {
+                claims.Add(new Claim("stationId", user.StationId));
+            }
+            foreach (var stationId in user.StationIds ?? new List<string>())
+            {
+                claims.Add(new Claim("stationIds", stationId));
+            }
+
             var token = new JwtSecurityToken(
                 issuer: _jwtSettings.Issuer,
                 audience: _jwtSettings.Audience,
@@ -180,6 +192,7 @@ namespace EVChargingBackend.Services
                 Email = user.Email,
                 Role = user.Role,
                 StationId = user.StationId,
+                StationIds = user.StationIds,
                 IsActive = user.IsActive,
                 PhoneNumber = user.PhoneNumber,
                 CreatedAt = user.CreatedAt
@@ -20,6 +20,7 @@ namespace EVChargingBackend.Services
         private readonly IBookingRepository _bookingRepository;
         private readonly IChargingStationRepository _stationRepository;
         private readonly INotificationService _notificationService;
+        private readonly IQrTokenService _qrTokenService;
         private readonly ILogger<BookingService> _logger;
 
         /// <summary>
@@ -28,16 +29,19 @@ namespace EVChargingBackend.Services
         /// <param name="bookingRepository">Booking repository for data operations</param>
         /// <param name="stationRepository">Station repository for validation</param>
         /// <param name="notificationService">Notification service for sending notifications</param>
+        /// <param name="qrTokenService">Signs booking QR tokens</param>
         /// <param name="logger">Logger for service operations</param>
         public BookingService(
             IBookingRepository bookingRepository,
             IChargingStationRepository stationRepository,
             INotificationService notificationService,
+            IQrTokenService qrTokenService,
             ILogger<BookingService> logger)
         {
             _bookingRepository = bookingRepository;
             _stationRepository = stationRepository;
             _notificationService = notificationService;
+            _qrTokenService = qrTokenService;
             _logger = logger;
         }
 
@@ -139,6 +143,29 @@ namespace EVChargingBackend.Services
             return bookingDtos;
         }
 
+        /// <summary>
+        /// Gets a user's active and confirmed bookings that have not ended yet, earliest first
+        /// </summary>
+        /// <param name="ownerNic">Owner NIC</param>
+        /// <param name="limit">Maximum number of bookings</param>
+        /// <returns>List of upcoming bookings</returns>
+        public async Task<List<BookingResponseDto>> GetUpcomingUserBookingsAsync(string ownerNic, int limit)
+        {
+            var now = DateTime.UtcNow;
+            var bookings = (await _bookingRepository.GetByOwnerAsync(ownerNic))
+                .Where(b => (b.Status == BookingStatus.Active || b.Status == BookingStatus.Confirmed) && b.EndTime > now)
+                .OrderBy(b => b.StartTime)
+                .Take(limit);
+            var bookingDtos = new List<BookingResponseDto>();
+
+            foreach (var booking in bookings)
+            {
+                bookingDtos.Add(await MapToBookingResponseDto(booking));
+            }
+
+            return bookingDtos;
+        }
+
         /// <summary>
         /// Gets bookings for specific station (operators)
         /// </summary>
@@ -157,6 +184,91 @@ namespace EVChargingBackend.Services
             return bookingDtos;
         }
 
+        /// <summary>
+        /// Gets a booking list with optional status, time window and change filters, scoped to an
+        /// owner, a station, or neither (all bookings)
+        /// </summary>
+        /// <param name="query">Filters; without any, each scope keeps its usual order</param>
+        /// <param name="fields">Fields the caller will return, or null for all; others may be left unset</param>
+        /// <param name="ownerNic">Owner NIC, or null</param>
+        /// <param name="stationId">Station ID, or null</param>
+        /// <returns>List of bookings</returns>
+        public async Task<List<BookingResponseDto>> QueryBookingsAsync(BookingListQueryDto query, ISet<string>? fields,
+            string? ownerNic = null, string? stationId = null)
+        {
+            if (query.From.HasValue && query.To.HasValue && query.From.Value >= query.To.Value)
+            {
+                throw new ArgumentException("Range start must be before range end");
+            }
+
+            List<Booking> bookings;
+            if (query.HasFilter)
+            {
+                bookings = await _bookingRepository.QueryAsync(ownerNic, stationId, query.Status,
+                    query.From?.ToUniversalTime(), query.To?.ToUniversalTime(), query.UpdatedSince?.ToUniversalTime());
+            }
+            else if (stationId != null)
+            {
+                bookings = await _bookingRepository.GetByStationAsync(stationId);
+            }
+            else if (ownerNic != null)
+            {
+                bookings = await _bookingRepository.GetByOwnerAsync(ownerNic);
+            }
+            else
+            {
+                bookings = await _bookingRepository.GetAllAsync();
+            }
+
+            // Station names and QR tokens cost a lookup and a signature per booking, so they are
+            // only produced when the response will carry them.
+            var withStation = BookingProjection.Includes(fields, BookingProjection.StationName)
+                || BookingProjection.Includes(fields, BookingProjection.StationLocation);
+            var withQrToken = BookingProjection.Includes(fields, BookingProjection.QrToken);
+            var stations = new Dictionary<string, ChargingStation?>();
+            var bookingDtos = new List<BookingResponseDto>(bookings.Count);
+
+            foreach (var booking in bookings)
+            {
+                ChargingStation? station = null;
+                if (withStation && !stations.TryGetValue(booking.StationId, out station))
+                {
+                    station = await _stationRepository.GetByIdAsync(booking.StationId);
+                    stations[booking.StationId] = station;
+                }
+                bookingDtos.Add(MapToBookingResponseDto(booking, station, withQrToken));
+            }
+
+            return bookingDtos;
+        }
+
+        /// <summary>
+        /// Gets slot-holding booking windows at a station overlapping a time range
+        /// </summary>
+        /// <param name="stationId">Station ID</param>
+        /// <param name="from">Range start</param>
+        /// <param name="to">Range end</param>
+        /// <param name="callerNic">NIC of the requesting user; only their own bookings carry an ID</param>
+        /// <returns>Active and confirmed booking windows</returns>
+        public async Task<List<BookingIntervalDto>> GetStationOccupancyAsync(string stationId, DateTime from, DateTime to, string? callerNic)
+        {
+            if (to <= from)
+            {
+                throw new ArgumentException("Range end must be after range start");
+            }
+
+            // Same query CreateBookingAsync uses to count clashes, so clients see identical occupancy
+            var bookings = await _bookingRepository.GetOverlappingBookingsAsync(stationId, from, to);
+
+            return bookings.Select(b => new BookingIntervalDto
+            {
+                Id = callerNic != null && b.OwnerNIC == callerNic ? b.Id : null,
+                StartTime = b.StartTime,
+                EndTime = b.EndTime,
+                Status = b.Status
+            }).ToList();
+        }
+
         /// <summary>
         /// Gets booking by ID
         /// </summary>
@@ -277,33 +389,129 @@ namespace EVChargingBackend.Services
             if (result)
             {
                 _logger.LogInformation("Booking confirmed: {BookingId}", bookingId);
+                await SendConfirmationNotificationAsync(booking);
+            }
+
+            return result;
+        }
+
+        /// <summary>
+        /// Sends the confirmation notification to the EV owner without failing the confirmation
+        /// </summary>
+        /// <param name="booking">Confirmed booking</param>
+        private async Task SendConfirmationNotificationAsync(Booking booking)
+        {
+            var bookingId = booking.Id ?? string.Empty;
+            try
+            {
+                var station = await _stationRepository.GetByIdAsync(booking.StationId);
+                var stationName = station?.Name ?? "Charging Station";
                 
-                // Send confirmation notification to the EV owner
-                try
-                {
-                    var station = await _stationRepository.GetByIdAsync(booking.StationId);
-                    var stationName = station?.Name ?? "Charging Station";
-                    
-                    await _notificationService.CreateBookingConfirmationNotificationAsync(
-                        booking.OwnerNIC,
-                        bookingId,
-                        stationName,
-                        booking.StartTime,
-                        booking.EndTime
-                    );
-                    
-                    _logger.LogInformation("Confirmation notification sent for booking: {BookingId}", bookingId);
-                }
-                catch (Exception ex)
-                {
-                    _logger.LogError(ex, "Failed to send confirmation notification for booking: {BookingId}", bookingId);
-                    // Don't fail the booking confirmation if notification fails
-                }
+                await _notificationService.CreateBookingConfirmationNotificationAsync(
+                    booking.OwnerNIC,
+                    bookingId,
+                    stationName,
+                    booking.StartTime,
+                    booking.EndTime
+                );
+                
+                _logger.LogInformation("Confirmation notification sent for booking: {BookingId}", bookingId);
+            }
+            catch (Exception ex)
+            {
+                _logger.LogError(ex, "Failed to send confirmation notification for booking: {BookingId}", bookingId);
+                // Don't fail the booking confirmation if notification fails
+            }
+        }
+
+        /// <summary>
+        /// Finalizes a confirmed booking once charging is done (station operator action)
+        /// </summary>
+        /// <param name="bookingId">Booking ID</param>
+        /// <returns>Success status</returns>
+        public async Task<bool> FinalizeBookingAsync(string bookingId)
+        {
+            var booking = await _bookingRepository.GetByIdAsync(bookingId);
+            if (booking == null)
+            {
+                throw new KeyNotFoundException("Booking not found");
+            }
+
+            if (booking.Status != BookingStatus.Confirmed)
+            {
+                throw new ArgumentException("Only confirmed bookings can be finalized");
+            }
+
+            var result = await _bookingRepository.CompleteBookingAsync(bookingId);
+            if (result)
+            {
+                _logger.LogInformation("Booking finalized: {BookingId}", bookingId);
             }
 
             return result;
         }
 
+        /// <summary>
+        /// Validates a scanned booking and advances it in one step: Active to Confirmed, Confirmed to Completed
+        /// </summary>
+        /// <param name="bookingId">Booking ID</param>
+        /// <param name="stationId">Operator's station; the booking must belong to it when given</param>
+        /// <returns>Previous and new status</returns>
+        public async Task<ScanActionResultDto> ScanActionAsync(string bookingId, string? stationId)
+        {
+            var booking = await _bookingRepository.GetByIdAsync(bookingId);
+            if (booking == null)
+            {
+                throw new KeyNotFoundException("Booking not found");
+            }
+
+            if (!string.IsNullOrEmpty(stationId) && booking.StationId != stationId)
+            {
+                throw new ArgumentException("Booking belongs to a different station");
+            }
+
+            BookingStatus next;
+            string action;
+            switch (booking.Status)
+            {
+                case BookingStatus.Active:
+                    next = BookingStatus.Confirmed;
+                    action = "confirmed";
+                    break;
+                case BookingStatus.Confirmed:
+                    next = BookingStatus.Completed;
+                    action = "finalized";
+                    break;
+                default:
+                    throw new ArgumentException($"Booking is {booking.Status} and cannot be checked in");
+            }
+
+            // Conditional on the status we just read, so two scans of the same code can't both apply
+            var updated = await _bookingRepository.TransitionStatusAsync(bookingId, booking.Status, next);
+            if (updated == null)
+            {
+                throw new ArgumentException("Booking was updated by another request; scan again");
+            }
+
+            _logger.LogInformation("Booking {BookingId} {Action} by scan", bookingId, action);
+            if (next == BookingStatus.Confirmed)
+            {
+                await SendConfirmationNotificationAsync(updated);
+            }
+
+            return new ScanActionResultDto
+            {
+                BookingId = updated.Id ?? bookingId,
+                StationId = updated.StationId,
+                OwnerNIC = updated.OwnerNIC,
+                StartTime = updated.StartTime,
+                EndTime = updated.EndTime,
+                PreviousStatus = booking.Status,
+                Status = updated.Status,
+                Action = action
+            };
+        }
+
         /// <summary>
         /// Cancels booking with time validation
         /// </summary>
@@ -479,7 +687,19 @@ namespace EVChargingBackend.Services
         private async Task<BookingResponseDto> MapToBookingResponseDto(Booking booking)
         {
             var station = await _stationRepository.GetByIdAsync(booking.StationId);
-            
+
+            return MapToBookingResponseDto(booking, station, true);
+        }
+
+        /// <summary>
+        /// Maps Booking entity to BookingResponseDto with an already loaded station
+        /// </summary>
+        /// <param name="booking">Booking entity</param>
+        /// <param name="station">The booking's station, or null if not loaded</param>
+        /// <param name="withQrToken">Whether to sign a QR token</param>
+        /// <returns>Booking response DTO</returns>
+        private BookingResponseDto MapToBookingResponseDto(Booking booking, ChargingStation? station, bool withQrToken)
+        {
             return new BookingResponseDto
             {
                 Id = booking.Id ?? string.Empty,
@@ -491,8 +711,10 @@ namespace EVChargingBackend.Services
                 EndTime = booking.EndTime,
                 Status = booking.Status,
                 QRCode = booking.QRCode,
+                QrToken = withQrToken ? _qrTokenService.CreateToken(booking) : null,
                 TotalAmount = booking.TotalAmount,
                 CreatedAt = booking.CreatedAt,
+                UpdatedAt = booking.UpdatedAt,
                 ConfirmedAt = booking.ConfirmedAt,
                 CancelledAt = booking.CancelledAt
             };
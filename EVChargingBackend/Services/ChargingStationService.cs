@@ -48,6 +48,8 @@ namespace EVChargingBackend.Services
             {
                 Name = createDto.Name,
                 Location = createDto.Location,
+                Latitude = createDto.Latitude,
+                Longitude = createDto.Longitude,
                 Type = createDto.Type,
                 TotalSlots = createDto.TotalSlots,
                 AvailableSlots = createDto.TotalSlots,
@@ -119,6 +121,12 @@ namespace EVChargingBackend.Services
             if (!string.IsNullOrEmpty(updateDto.Location))
                 station.Location = updateDto.Location;
 
+            if (updateDto.Latitude.HasValue)
+                station.Latitude = updateDto.Latitude.Value;
+
+            if (updateDto.Longitude.HasValue)
+                station.Longitude = updateDto.Longitude.Value;
+
             if (updateDto.Type.HasValue)
                 station.Type = updateDto.Type.Value;
 
@@ -216,6 +224,8 @@ namespace EVChargingBackend.Services
                 Id = station.Id ?? string.Empty,
                 Name = station.Name,
                 Location = station.Location,
+                Latitude = station.Latitude,
+                Longitude = station.Longitude,
                 Type = station.Type,
                 TotalSlots = station.TotalSlots,
                 AvailableSlots = station.AvailableSlots,
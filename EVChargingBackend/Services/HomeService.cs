@@ -0,0 +1,83 @@
+/*
+ * File: HomeService.cs
+ * Project: EV Charging Station Booking System
+ * Description: Builds the owner home screen aggregate from the existing services
+ * Author: EV Charging System
+ * Date: October 19, 2026
+ */
+
+using EVChargingBackend.DTOs;
+using EVChargingBackend.Models;
+
+namespace EVChargingBackend.Services
+{
+    /// <summary>
+    /// Service that assembles the home screen payload so the app needs one round trip at launch
+    /// </summary>
+    public class HomeService : IHomeService
+    {
+        private readonly IUserService _userService;
+        private readonly IBookingService _bookingService;
+        private readonly INotificationService _notificationService;
+        private readonly IChargingStationService _stationService;
+
+        /// <summary>
+        /// Initializes home service with dependencies
+        /// </summary>
+        /// <param name="userService">User service</param>
+        /// <param name="bookingService">Booking service</param>
+        /// <param name="notificationService">Notification service</param>
+        /// <param name="stationService">Charging station service</param>
+        public HomeService(
+            IUserService userService,
+            IBookingService bookingService,
+            INotificationService notificationService,
+            IChargingStationService stationService)
+        {
+            _userService = userService;
+            _bookingService = bookingService;
+            _notificationService = notificationService;
+            _stationService = stationService;
+        }
+
+        /// <summary>
+        /// Builds the home screen payload for a user. The parts are independent, so they are loaded concurrently.
+        /// </summary>
+        /// <param name="userId">User ID from JWT token</param>
+        /// <param name="userNic">User NIC from JWT token</param>
+        /// <param name="bookingLimit">Maximum upcoming bookings to include</param>
+        /// <param name="stationLimit">Maximum stations to include</param>
+        /// <returns>Home screen payload</returns>
+        public async Task<HomeDto> GetHomeAsync(string userId, string userNic, int bookingLimit, int stationLimit)
+        {
+            if (bookingLimit < 1 || stationLimit < 1)
+            {
+                throw new ArgumentException("Limits must be positive");
+            }
+
+            var profileTask = _userService.GetUserByIdAsync(userId);
+            var bookingsTask = _bookingService.GetUpcomingUserBookingsAsync(userNic, bookingLimit);
+            var countTask = _notificationService.GetNotificationCountAsync(userNic);
+            var stationsTask = _stationService.GetActiveStationsAsync();
+
+            await Task.WhenAll(profileTask, bookingsTask, countTask, stationsTask);
+
+            // The request carries no user location, so "nearby" here means bookable right now;
+            // the app ranks these by distance with its own station catalogue.
+            var stations = stationsTask.Result
+                .Where(s => s.Status == StationStatus.Active && s.AvailableSlots > 0)
+                .OrderByDescending(s => s.AvailableSlots)
+                .Take(stationLimit)
+                .ToList();
+
+            return new HomeDto
+            {
+                Profile = profileTask.Result,
+                UpcomingBookings = bookingsTask.Result,
+                UnreadNotifications = countTask.Result.UnreadCount,
+                NearbyStations = stations,
+                GeneratedAt = DateTime.UtcNow
+            };
+        }
+    }
+}
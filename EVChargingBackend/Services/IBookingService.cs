@@ -36,6 +36,14 @@ namespace EVChargingBackend.Services
         /// <returns>List of user bookings</returns>
         Task<List<BookingResponseDto>> GetUserBookingsAsync(string ownerNic);
 
+        /// <summary>
+        /// Gets a user's active and confirmed bookings that have not ended yet, earliest first
+        /// </summary>
+        /// <param name="ownerNic">Owner NIC</param>
+        /// <param name="limit">Maximum number of bookings</param>
+        /// <returns>List of upcoming bookings</returns>
+        Task<List<BookingResponseDto>> GetUpcomingUserBookingsAsync(string ownerNic, int limit);
+
         /// <summary>
         /// Gets bookings for specific station (operators)
         /// </summary>
@@ -43,6 +51,28 @@ namespace EVChargingBackend.Services
         /// <returns>List of station bookings</returns>
         Task<List<BookingResponseDto>> GetStationBookingsAsync(string stationId);
 
+        /// <summary>
+        /// Gets a booking list with optional status, time window and change filters, scoped to an
+        /// owner, a station, or neither (all bookings)
+        /// </summary>
+        /// <param name="query">Filters; without any, each scope keeps its usual order</param>
+        /// <param name="fields">Fields the caller will return, or null for all; others may be left unset</param>
+        /// <param name="ownerNic">Owner NIC, or null</param>
+        /// <param name="stationId">Station ID, or null</param>
+        /// <returns>List of bookings</returns>
+        Task<List<BookingResponseDto>> QueryBookingsAsync(BookingListQueryDto query, ISet<string>? fields,
+            string? ownerNic = null, string? stationId = null);
+
+        /// <summary>
+        /// Gets slot-holding booking windows at a station overlapping a time range
+        /// </summary>
+        /// <param name="stationId">Station ID</param>
+        /// <param name="from">Range start</param>
+        /// <param name="to">Range end</param>
+        /// <param name="callerNic">NIC of the requesting user; only their own bookings carry an ID</param>
+        /// <returns>Active and confirmed booking windows</returns>
+        Task<List<BookingIntervalDto>> GetStationOccupancyAsync(string stationId, DateTime from, DateTime to, string? callerNic);
+
         /// <summary>
         /// Gets booking by ID
         /// </summary>
@@ -66,6 +96,21 @@ namespace EVChargingBackend.Services
         /// <returns>Success status</returns>
         Task<bool> ConfirmBookingAsync(string bookingId);
 
+        /// <summary>
+        /// Finalizes a confirmed booking once charging is done (station operator action)
+        /// </summary>
+        /// <param name="bookingId">Booking ID</param>
+        /// <returns>Success status</returns>
+        Task<bool> FinalizeBookingAsync(string bookingId);
+
+        /// <summary>
+        /// Validates a scanned booking and advances it in one step: Active to Confirmed, Confirmed to Completed
+        /// </summary>
+        /// <param name="bookingId">Booking ID</param>
+        /// <param name="stationId">Operator's station; the booking must belong to it when given</param>
+        /// <returns>Previous and new status</returns>
+        Task<ScanActionResultDto> ScanActionAsync(string bookingId, string? stationId);
+
         /// <summary>
         /// Cancels booking with time validation
         /// </summary>
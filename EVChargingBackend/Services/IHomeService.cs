@@ -0,0 +1,28 @@
+/*
+ * File: IHomeService.cs
+ * Project: EV Charging Station Booking System
+ * Description: Interface for the owner home screen aggregate
+ * Author: EV Charging System
+ * Date: October 19, 2026
+ */
+
+using EVChargingBackend.DTOs;
+
+namespace EVChargingBackend.Services
+{
+    /// <summary>
+    /// Interface defining the home screen aggregate operation
+    /// </summary>
+    public interface IHomeService
+    {
+        /// <summary>
+        /// Builds the home screen payload for a user
+        /// </summary>
+        /// <param name="userId">User ID from JWT token</param>
+        /// <param name="userNic">User NIC from JWT token</param>
+        /// <param name="bookingLimit">Maximum upcoming bookings to include</param>
+        /// <param name="stationLimit">Maximum stations to include</param>
+        /// <returns>Home screen payload</returns>
+        Task<HomeDto> GetHomeAsync(string userId, string userNic, int bookingLimit, int stationLimit);
+    }
+}
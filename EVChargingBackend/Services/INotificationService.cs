@@ -129,6 +129,13 @@ namespace EVChargingBackend.Services
         /// <returns>Notification summary</returns>
         Task<NotificationSummaryDto> GetNotificationSummaryAsync(string recipientNIC);
 
+        /// <summary>
+        /// Gets the unread count and list version for a user, without loading any notifications
+        /// </summary>
+        /// <param name="recipientNIC">User NIC</param>
+        /// <returns>Unread count and version</returns>
+        Task<NotificationCountDto> GetNotificationCountAsync(string recipientNIC);
+
         /// <summary>
         /// Cleans up expired notifications
         /// </summary>
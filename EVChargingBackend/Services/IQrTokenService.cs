@@ -0,0 +1,32 @@
+/*
+ * File: IQrTokenService.cs
+ * Project: EV Charging Station Booking System
+ * Description: Interface for signed booking QR tokens
+ * Author: EV Charging System
+ * Date: October 19, 2026
+ */
+
+using EVChargingBackend.Models;
+
+namespace EVChargingBackend.Services
+{
+    /// <summary>
+    /// Issues compact signed tokens that station operators can verify without a round trip
+    /// </summary>
+    public interface IQrTokenService
+    {
+        /// <summary>
+        /// Creates the signed QR token for a booking
+        /// </summary>
+        /// <param name="booking">Booking entity</param>
+        /// <returns>Token text, or null if the booking ids are not ObjectIds</returns>
+        string? CreateToken(Booking booking);
+
+        /// <summary>
+        /// Gets the key a station's operators use to verify tokens offline
+        /// </summary>
+        /// <param name="stationId">Station ID</param>
+        /// <returns>32-byte HMAC-SHA256 key</returns>
+        byte[] GetStationKey(string stationId);
+    }
+}
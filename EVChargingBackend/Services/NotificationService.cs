@@ -351,6 +351,30 @@ namespace EVChargingBackend.Services
             };
         }
 
+        /// <summary>
+        /// Gets the unread count and list version for a user, without loading any notifications
+        /// </summary>
+        /// <param name="recipientNIC">User NIC</param>
+        /// <returns>Unread count and version</returns>
+        public async Task<NotificationCountDto> GetNotificationCountAsync(string recipientNIC)
+        {
+            var totalTask = _notificationRepository.GetNotificationCountAsync(recipientNIC, true);
+            var unreadTask = _notificationRepository.GetUnreadCountAsync(recipientNIC);
+            var latestTask = _notificationRepository.GetLatestCreatedAtAsync(recipientNIC);
+
+            await Task.WhenAll(totalTask, unreadTask, latestTask);
+
+            // Creating raises the newest timestamp, deleting lowers the total and reading lowers
+            // the unread count, so any change to the list yields a different version.
+            var latestTicks = latestTask.Result?.Ticks ?? 0;
+
+            return new NotificationCountDto
+            {
+                UnreadCount = unreadTask.Result,
+                Version = $"{totalTask.Result}-{unreadTask.Result}-{latestTicks}"
+            };
+        }
+
         /// <summary>
         /// Cleans up expired notifications
         /// </summary>
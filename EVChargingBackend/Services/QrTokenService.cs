@@ -0,0 +1,120 @@
+/*
+ * File: QrTokenService.cs
+ * Project: EV Charging Station Booking System
+ * Description: Signed booking QR tokens for offline verification
+ * Author: EV Charging System
+ * Date: October 19, 2026
+ */
+
+using System.Buffers.Binary;
+using System.Security.Cryptography;
+using System.Text;
+using EVChargingBackend.Config;
+using EVChargingBackend.Models;
+using Microsoft.Extensions.Options;
+
+namespace EVChargingBackend.Services
+{
+    /// <summary>
+    /// Token layout (big-endian), base64url without padding and prefixed with "EV1":
+    /// version(1) | bookingId(12) | stationId(12) | start unix s(4) | end unix s(4) | status(1) | mac(16).
+    /// The MAC is HMAC-SHA256 under a per-station key, truncated to 16 bytes, so a leaked
+    /// operator key only lets someone forge tokens for that one station.
+    /// <para>
+    /// Test vector, shared with BookingTokenTest in the mobile app: secret "test-qr-secret",
+    /// booking 65f2a1b2c3d4e5f6deadbeef at station 65f2a1b2c3d4e5f601234567, 2026-10-19 09:00-10:00 UTC,
+    /// status Confirmed gives station key d0f835e0d380a51f84ca41ae685042a8ac3b067a0e8c5532b1f963593ebcf076
+    /// and token EV1AWXyobLD1OX23q2-72XyobLD1OX2ASNFZ2rV3BBq1eogAdEZzvNGDfu9ERQc_zu8JPo.
+    /// </para>
+    /// </summary>
+    public class QrTokenService : IQrTokenService
+    {
+        public const string Prefix = "EV1";
+        private const byte Version = 1;
+        private const int PayloadLength = 34;
+        private const int MacLength = 16;
+
+        private readonly byte[] _secret;
+
+        /// <summary>
+        /// Initializes the token service from the signing settings
+        /// </summary>
+        /// <param name="qrSettings">QR signing settings</param>
+        /// <param name="jwtSettings">JWT settings, to reject a QR secret that reuses the JWT key</param>
+        public QrTokenService(IOptions<QrSigningSettings> qrSettings, IOptions<JwtSettings> jwtSettings)
+        {
+            var secret = qrSettings.Value.Secret;
+            if (string.IsNullOrEmpty(secret))
+            {
+                throw new InvalidOperationException("QR signing secret not configured");
+            }
+
+            // Station keys are handed to operators' devices; they must not be derived from the key that signs JWTs
+            if (secret == jwtSettings.Value.Key)
+            {
+                throw new InvalidOperationException("QR signing secret must differ from the JWT key");
+            }
+
+            _secret = Encoding.UTF8.GetBytes(secret);
+        }
+
+        /// <summary>
+        /// Creates the signed QR token for a booking
+        /// </summary>
+        /// <param name="booking">Booking entity</param>
+        /// <returns>Token text, or null if the booking ids are not ObjectIds</returns>
+        public string? CreateToken(Booking booking)
+        {
+            var payload = new byte[PayloadLength + MacLength];
+            payload[0] = Version;
+            if (!TryWriteObjectId(booking.Id, payload.AsSpan(1, 12)) ||
+                !TryWriteObjectId(booking.StationId, payload.AsSpan(13, 12)))
+            {
+                return null;
+            }
+
+            BinaryPrimitives.WriteUInt32BigEndian(payload.AsSpan(25, 4), ToUnixSeconds(booking.StartTime));
+            BinaryPrimitives.WriteUInt32BigEndian(payload.AsSpan(29, 4), ToUnixSeconds(booking.EndTime));
+            payload[33] = (byte)booking.Status;
+
+            var mac = HMACSHA256.HashData(GetStationKey(booking.StationId), payload.AsSpan(0, PayloadLength));
+            mac.AsSpan(0, MacLength).CopyTo(payload.AsSpan(PayloadLength));
+
+            return Prefix + Convert.ToBase64String(payload).TrimEnd('=').Replace('+', '-').Replace('/', '_');
+        }
+
+        /// <summary>
+        /// Gets the key a station's operators use to verify tokens offline
+        /// </summary>
+        /// <param name="stationId">Station ID</param>
+        /// <returns>32-byte HMAC-SHA256 key</returns>
+        public byte[] GetStationKey(string stationId)
+        {
+            return HMACSHA256.HashData(_secret, Encoding.UTF8.GetBytes("ev-qr-station:" + stationId));
+        }
+
+        private static bool TryWriteObjectId(string? id, Span<byte> destination)
+        {
+            if (id == null || id.Length != 24)
+            {
+                return false;
+            }
+
+            try
+            {
+                Convert.FromHexString(id).CopyTo(destination);
+                return true;
+            }
+            catch (FormatException)
+            {
+                return false;
+            }
+        }
+
+        private static uint ToUnixSeconds(DateTime time)
+        {
+            var utc = time.Kind == DateTimeKind.Local ? time.ToUniversalTime() : time;
+            return (uint)new DateTimeOffset(DateTime.SpecifyKind(utc, DateTimeKind.Utc)).ToUnixTimeSeconds();
+        }
+    }
+}
@@ -175,6 +175,8 @@ namespace EVChargingBackend.Services
                 {
                     Name = "City Center DC Fast Charger",
                     Location = "Colombo City Center, Main Street",
+                    Latitude = 6.9271,
+                    Longitude = 79.8612,
                     Type = StationType.DC,
                     TotalSlots = 4,
                     AvailableSlots = 3,
@@ -185,6 +187,8 @@ namespace EVChargingBackend.Services
                 {
                     Name = "Shopping Mall AC Charger",
                     Location = "Kandy Shopping Complex, Level B1",
+                    Latitude = 7.2906,
+                    Longitude = 80.6337,
                     Type = StationType.AC,
                     TotalSlots = 8,
                     AvailableSlots = 6,
@@ -195,6 +199,8 @@ namespace EVChargingBackend.Services
                 {
                     Name = "Highway Rest Stop Charger",
                     Location = "Southern Expressway, Rest Area 1",
+                    Latitude = 6.5854,
+                    Longitude = 80.083,
                     Type = StationType.DC,
                     TotalSlots = 6,
                     AvailableSlots = 6,
@@ -205,6 +211,8 @@ namespace EVChargingBackend.Services
                 {
                     Name = "University Campus Charger",
                     Location = "University of Colombo, Parking Area C",
+                    Latitude = 6.9022,
+                    Longitude = 79.8607,
                     Type = StationType.AC,
                     TotalSlots = 12,
                     AvailableSlots = 10,
@@ -215,6 +223,8 @@ namespace EVChargingBackend.Services
                 {
                     Name = "Business District Charger",
                     Location = "World Trade Center, Underground Parking",
+                    Latitude = 6.9335,
+                    Longitude = 79.843,
                     Type = StationType.DC,
                     TotalSlots = 3,
                     AvailableSlots = 3,
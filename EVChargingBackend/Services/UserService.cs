@@ -192,7 +192,9 @@ namespace EVChargingBackend.Services
                 Role = user.Role,
                 IsActive = user.IsActive,
                 PhoneNumber = user.PhoneNumber,
-                CreatedAt = user.CreatedAt
+                CreatedAt = user.CreatedAt,
+                StationId = user.StationId,
+                StationIds = user.StationIds
             };
         }
     }
@@ -38,10 +38,18 @@ android {
     buildFeatures {
         compose = true
     }
+    testOptions {
+        // Benchmarks are skipped unless asked for: ./gradlew testDebugUnitTest -Pbenchmarks
+        unitTests.all {
+            it.systemProperty("benchmarks", project.hasProperty("benchmarks"))
+        }
+    }
 }
 
 dependencies {
     implementation(libs.protolite.well.known.types)
+    // Decodes the protobuf booking lists directly; protolite only brings it in transitively
+    implementation(libs.protobuf.javalite)
     implementation(libs.rendering)
     implementation(libs.androidx.swiperefreshlayout)
     // Define Room versions
@@ -53,6 +61,8 @@ dependencies {
     // Core Android & UI
     implementation(libs.androidx.core.ktx)
     implementation(libs.androidx.lifecycle.runtime.ktx)
+    implementation(libs.androidx.lifecycle.viewmodel)
+    implementation(libs.androidx.lifecycle.livedata)
     implementation(libs.androidx.activity.compose)
     implementation(platform(libs.androidx.compose.bom))
     implementation(libs.androidx.compose.ui)
@@ -10,7 +10,16 @@ import androidx.core.content.ContextCompat;
 import com.example.evcharging.R;
 import com.example.evcharging.api.ApiClient;
 import com.example.evcharging.api.ApiService;
+import com.example.evcharging.data.OfflineVerifier;
+import com.example.evcharging.data.StationBookingCache;
+import com.example.evcharging.data.StationDirectory;
 import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.models.ScanActionResult;
+import com.example.evcharging.utils.ApiErrors;
+import com.example.evcharging.utils.BookingToken;
+import com.example.evcharging.utils.SearchIndexer;
+
+import java.util.ArrayList;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -18,10 +27,19 @@ import retrofit2.Response;
 
 public class ConfirmBookingActivity extends AppCompatActivity {
 
+    private static final int STATUS_ACTIVE = 0;
+    private static final int STATUS_CONFIRMED = 1;
+    private static final int STATUS_COMPLETED = 2;
+
     TextView tvConfirmBookingId, tvConfirmStationId, tvConfirmStatus;
     Button btnConfirmBooking;
     ApiService api;
     String authToken, bookingId;
+    // Home station first, then any supervised ones.
+    ArrayList<String> stationIds;
+    // Station sent with the scan action, once the booking's station is known.
+    String actionStationId;
+    int currentStatus = -1;
 
     /**
      * Called when the activity is first created.
@@ -33,7 +51,12 @@ public class ConfirmBookingActivity extends AppCompatActivity {
         setContentView(R.layout.activity_confirm_booking);
 
         authToken = getIntent().getStringExtra("token");
-        bookingId = getIntent().getStringExtra("bookingId");
+        // The scanned content: a signed booking token, or a bare id from older QR codes.
+        String scanned = getIntent().getStringExtra("bookingId");
+        BookingToken token = BookingToken.parse(scanned);
+        bookingId = token != null ? token.bookingId : scanned;
+        stationIds = getIntent().getStringArrayListExtra("stationIds");
+        actionStationId = OfflineVerifier.actionStation(token != null ? token.stationId : null, stationIds);
 
         tvConfirmBookingId = findViewById(R.id.tvConfirmBookingId);
         tvConfirmStationId = findViewById(R.id.tvConfirmStationId);
@@ -42,9 +65,45 @@ public class ConfirmBookingActivity extends AppCompatActivity {
 
         api = ApiClient.getApiService();
 
-        fetchBookingDetails();
+        verifyScannedCode(scanned);
+
+        btnConfirmBooking.setOnClickListener(v -> checkIn());
+    }
+
+    /**
+     * Verifies a signed token on the device against the pre-synced station key and local booking
+     * data. Bare ids are looked up in today's booking index; the network is the last resort.
+     */
+    private void verifyScannedCode(String scanned) {
+        OfflineVerifier.verify(this, scanned, stationIds, result -> {
+            switch (result.outcome) {
+                case VERIFIED:
+                    showBooking(result.booking);
+                    break;
+                case WRONG_STATION:
+                    showRejected("Booking is for " + StationDirectory.getInstance().displayName(result.token.stationId));
+                    break;
+                case BAD_SIGNATURE:
+                    showRejected("QR code failed verification");
+                    break;
+                default:
+                    BookingApi indexed = StationBookingCache.getInstance().get(bookingId);
+                    if (indexed != null) {
+                        showBooking(indexed);
+                    } else {
+                        fetchBookingDetails();
+                    }
+                    break;
+            }
+        });
+    }
 
-        btnConfirmBooking.setOnClickListener(v -> confirmBooking());
+    private void showRejected(String reason) {
+        tvConfirmBookingId.setText("Booking ID: " + bookingId);
+        tvConfirmStatus.setText(reason);
+        tvConfirmStatus.setTextColor(ContextCompat.getColor(this, R.color.red_error));
+        btnConfirmBooking.setEnabled(false);
+        btnConfirmBooking.setText("Cannot Confirm");
     }
 
     /**
@@ -57,44 +116,7 @@ public class ConfirmBookingActivity extends AppCompatActivity {
             @Override
             public void onResponse(Call<BookingApi> call, Response<BookingApi> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    BookingApi bookingApi = response.body();
-                    tvConfirmBookingId.setText("Booking ID: " + bookingApi.id);
-                    tvConfirmStationId.setText("Station ID: " + bookingApi.stationId);
-
-                    // --- THIS IS THE FIX ---
-                    // Backend Enum: Active=0, Confirmed=1
-                    int status = bookingApi.status;
-                    String statusText = "UNKNOWN";
-
-                    // Set status text and color based on the numeric status
-                    switch (status) {
-                        case 0: // Active
-                            statusText = "ACTIVE";
-                            tvConfirmStatus.setTextColor(ContextCompat.getColor(ConfirmBookingActivity.this, R.color.orange_soda));
-                            break;
-                        case 1: // Confirmed
-                            statusText = "CONFIRMED";
-                            tvConfirmStatus.setTextColor(ContextCompat.getColor(ConfirmBookingActivity.this, R.color.emerald_green));
-                            break;
-                        case 3: // Cancelled
-                            statusText = "CANCELLED";
-                            tvConfirmStatus.setTextColor(ContextCompat.getColor(ConfirmBookingActivity.this, R.color.red_error));
-                            break;
-                        default:
-                            tvConfirmStatus.setTextColor(android.graphics.Color.GRAY);
-                            break;
-                    }
-                    tvConfirmStatus.setText("Status: " + statusText);
-
-
-                    // Only allow confirmation if the booking has been approved by an operator (status 1)
-                    if (status == 1) { // <-- Compare integers, not strings
-                        btnConfirmBooking.setEnabled(true);
-                    } else {
-                        btnConfirmBooking.setEnabled(false);
-                        btnConfirmBooking.setText("Cannot Confirm (Status: " + statusText + ")");
-                    }
-
+                    showBooking(response.body());
                 } else {
                     Toast.makeText(ConfirmBookingActivity.this, "Failed to fetch booking details", Toast.LENGTH_SHORT).show();
                 }
@@ -107,27 +129,91 @@ public class ConfirmBookingActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Renders booking details and sets the button state based on booking status.
+     */
+    private void showBooking(BookingApi bookingApi) {
+        tvConfirmBookingId.setText("Booking ID: " + bookingApi.id);
+        tvConfirmStationId.setText("Station ID: " + bookingApi.stationId);
+        actionStationId = OfflineVerifier.actionStation(bookingApi.stationId, stationIds);
+        showStatus(bookingApi.status);
+    }
+
+    private void showStatus(int status) {
+        currentStatus = status;
+
+        // Backend Enum: Active=0, Confirmed=1, Completed=2, Cancelled=3, NoShow=4
+        String statusText = "UNKNOWN";
+        switch (status) {
+            case STATUS_ACTIVE:
+                statusText = "ACTIVE";
+                tvConfirmStatus.setTextColor(ContextCompat.getColor(this, R.color.orange_soda));
+                break;
+            case STATUS_CONFIRMED:
+                statusText = "CONFIRMED";
+                tvConfirmStatus.setTextColor(ContextCompat.getColor(this, R.color.emerald_green));
+                break;
+            case STATUS_COMPLETED:
+                statusText = "COMPLETED";
+                tvConfirmStatus.setTextColor(ContextCompat.getColor(this, R.color.cyan_blue));
+                break;
+            case 3: // Cancelled
+                statusText = "CANCELLED";
+                tvConfirmStatus.setTextColor(ContextCompat.getColor(this, R.color.red_error));
+                break;
+            default:
+                tvConfirmStatus.setTextColor(android.graphics.Color.GRAY);
+                break;
+        }
+        tvConfirmStatus.setText("Status: " + statusText);
+
+        // The server confirms Active bookings and finalizes Confirmed ones; nothing else can be checked in.
+        if (status == STATUS_ACTIVE) {
+            btnConfirmBooking.setEnabled(true);
+            btnConfirmBooking.setText("Confirm Booking");
+        } else if (status == STATUS_CONFIRMED) {
+            btnConfirmBooking.setEnabled(true);
+            btnConfirmBooking.setText("Finalize Session");
+        } else {
+            btnConfirmBooking.setEnabled(false);
+            btnConfirmBooking.setText("Cannot Confirm (Status: " + statusText + ")");
+        }
+    }
 
     /**
-     * Confirms the booking by calling the backend API.
-     * Updates the UI based on the success or failure of the confirmation request.
+     * Confirms or finalizes the booking with a single scan-action request.
+     * The expected result is shown straight away and reconciled with the server's answer,
+     * reverting if the request fails.
      */
-    private void confirmBooking() {
-        api.confirmBooking(authToken, bookingId).enqueue(new Callback<Void>() {
+    private void checkIn() {
+        final int previousStatus = currentStatus;
+        final int optimisticStatus = previousStatus == STATUS_ACTIVE ? STATUS_CONFIRMED : STATUS_COMPLETED;
+        showStatus(optimisticStatus);
+        btnConfirmBooking.setEnabled(false);
+        btnConfirmBooking.setText("Syncing...");
+
+        api.scanAction(authToken, bookingId, actionStationId).enqueue(new Callback<ScanActionResult>() {
             @Override
-            public void onResponse(Call<Void> call, Response<Void> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(ConfirmBookingActivity.this, "Booking Confirmed Successfully!", Toast.LENGTH_LONG).show();
-                    btnConfirmBooking.setEnabled(false);
-                    btnConfirmBooking.setText("Confirmed");
-                    tvConfirmStatus.setText("Status: confirmed");
+            public void onResponse(Call<ScanActionResult> call, Response<ScanActionResult> response) {
+                if (isFinishing()) return;
+                ScanActionResult body = response.body();
+                if (response.isSuccessful() && body != null) {
+                    showStatus(body.status);
+                    SearchIndexer.updateBookingStatus(ConfirmBookingActivity.this, bookingId, body.status);
+                    StationBookingCache.getInstance().applyStatus(bookingId, body.status);
+                    Toast.makeText(ConfirmBookingActivity.this,
+                            ScanActionResult.ACTION_FINALIZED.equals(body.action) ? "Session Finalized!" : "Booking Confirmed Successfully!",
+                            Toast.LENGTH_LONG).show();
                 } else {
-                    Toast.makeText(ConfirmBookingActivity.this, "Confirmation Failed", Toast.LENGTH_SHORT).show();
+                    showStatus(previousStatus);
+                    Toast.makeText(ConfirmBookingActivity.this, ApiErrors.message(response, "Confirmation Failed"), Toast.LENGTH_SHORT).show();
                 }
             }
 
             @Override
-            public void onFailure(Call<Void> call, Throwable t) {
+            public void onFailure(Call<ScanActionResult> call, Throwable t) {
+                if (isFinishing()) return;
+                showStatus(previousStatus);
                 Toast.makeText(ConfirmBookingActivity.this, "Network Error", Toast.LENGTH_SHORT).show();
             }
         });
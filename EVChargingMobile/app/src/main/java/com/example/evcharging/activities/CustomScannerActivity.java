@@ -7,6 +7,7 @@ import android.widget.ImageButton;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.evcharging.R;
+import com.example.evcharging.scan.TunedDecoderFactory;
 import com.journeyapps.barcodescanner.CaptureManager;
 import com.journeyapps.barcodescanner.DecoratedBarcodeView;
 
@@ -33,6 +34,8 @@ public class CustomScannerActivity extends AppCompatActivity {
 
         capture = new CaptureManager(this, barcodeScannerView);
         capture.initializeFromIntent(getIntent(), savedInstanceState);
+        // Replaces the intent's all-formats, full-resolution decoder with the QR-only tuned path.
+        barcodeScannerView.getBarcodeView().setDecoderFactory(new TunedDecoderFactory());
         capture.decode();
     }
 
@@ -11,13 +11,19 @@ import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
 
 import com.example.evcharging.R;
+import com.example.evcharging.adapters.BookingViewPool;
+import com.example.evcharging.data.NotificationBadge;
+import com.example.evcharging.data.StationDirectory;
 import com.example.evcharging.fragments.CreateBookingFragment;
 import com.example.evcharging.fragments.DashboardFragment;
 import com.example.evcharging.fragments.MyBookingsFragment;
 import com.example.evcharging.fragments.NotificationsFragment;
+import com.example.evcharging.models.NotificationCount;
+import com.example.evcharging.utils.JankMonitor;
+import com.google.android.material.badge.BadgeDrawable;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 
-public class DashboardActivity extends AppCompatActivity {
+public class DashboardActivity extends AppCompatActivity implements BookingViewPool.Owner {
 
     private String authToken;
     private final FragmentManager fm = getSupportFragmentManager();
@@ -29,6 +35,10 @@ public class DashboardActivity extends AppCompatActivity {
     private MyBookingsFragment myBookingsFragment;
     private NotificationsFragment notificationsFragment;
     private Fragment activeFragment;
+    private BottomNavigationView bottomNavigationView;
+    private final NotificationBadge.Listener badgeListener = this::showUnreadBadge;
+    // item_booking rows shared by the dashboard carousel and My Bookings.
+    private final BookingViewPool bookingViewPool = new BookingViewPool();
 
     /**
      * Called when the activity is first created.
@@ -47,6 +57,9 @@ public class DashboardActivity extends AppCompatActivity {
             return;
         }
 
+        // Warm the station catalogue once; every screen resolves station names from it.
+        StationDirectory.getInstance().load(this, authToken);
+
         ImageView ivProfile = findViewById(R.id.ivProfile);
         ivProfile.setOnClickListener(v -> {
             Intent intent = new Intent(DashboardActivity.this, ProfileActivity.class);
@@ -54,7 +67,10 @@ public class DashboardActivity extends AppCompatActivity {
             startActivity(intent);
         });
 
-        BottomNavigationView bottomNavigationView = findViewById(R.id.bottom_navigation);
+        ImageView ivSearch = findViewById(R.id.ivSearch);
+        ivSearch.setOnClickListener(v -> startActivity(new Intent(DashboardActivity.this, SearchActivity.class)));
+
+        bottomNavigationView = findViewById(R.id.bottom_navigation);
         bottomNavigationView.setOnItemSelectedListener(this::onNavigationItemSelected);
 
         // This is the key change: Handle both first-time creation and recreation.
@@ -131,6 +147,38 @@ public class DashboardActivity extends AppCompatActivity {
         return true;
     }
 
+    @Override
+    protected void onResume() {
+        super.onResume();
+        NotificationBadge.getInstance().addListener(badgeListener);
+        NotificationBadge.getInstance().setPolling(authToken, true);
+        JankMonitor.getInstance().track(this);
+    }
+
+    @Override
+    protected void onPause() {
+        NotificationBadge.getInstance().setPolling(authToken, false);
+        NotificationBadge.getInstance().removeListener(badgeListener);
+        JankMonitor.getInstance().untrack(this);
+        // Leaving the screen ends this visit's batch.
+        JankMonitor.getInstance().drainToLog();
+        super.onPause();
+    }
+
+    @Override
+    public BookingViewPool getBookingViewPool() {
+        return bookingViewPool;
+    }
+
+    /**
+     * Shows the unread count on the Notifications tab, or hides the badge when there is none.
+     */
+    private void showUnreadBadge(NotificationCount count) {
+        BadgeDrawable badge = bottomNavigationView.getOrCreateBadge(R.id.navigation_notifications);
+        badge.setNumber(count.unreadCount);
+        badge.setVisible(count.unreadCount > 0);
+    }
+
     /**
      * Navigates the user back to the login screen in case of authentication failure.
      * Clears the activity stack to prevent returning to Dashboard without login.
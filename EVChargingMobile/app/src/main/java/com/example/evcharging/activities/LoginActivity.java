@@ -14,8 +14,12 @@ import android.widget.Toast;
 import com.example.evcharging.R;
 import com.example.evcharging.api.ApiClient;
 import com.example.evcharging.api.ApiService;
+import com.example.evcharging.data.NotificationBadge;
+import com.example.evcharging.utils.SearchIndexer;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import retrofit2.Call;
@@ -32,6 +36,8 @@ public class LoginActivity extends AppCompatActivity {
     public static final String PREFS_NAME = "EV_CHARGING_PREFS";
     public static final String AUTH_TOKEN_KEY = "AUTH_TOKEN_KEY";
     public static final String STATION_ID_KEY = "STATION_ID_KEY"; // Key for saving stationId
+    public static final String STATION_IDS_KEY = "STATION_IDS_KEY"; // Further stations a supervisor covers, comma separated
+    public static final String USER_NIC_KEY = "USER_NIC_KEY"; // Owner of the locally stored bookings and notifications
 
     /**
      * Called when the activity is first created.
@@ -84,7 +90,9 @@ public class LoginActivity extends AppCompatActivity {
                     Map<String, Object> responseBody = response.body();
                     String authToken = (String) responseBody.get("token");
                     int role = -1;
+                    String nic = null;
                     String stationId = null;
+                    ArrayList<String> stationIds = new ArrayList<>();
 
                     if (responseBody.containsKey("user") && responseBody.get("user") instanceof Map) {
                         Map<String, Object> userMap = (Map<String, Object>) responseBody.get("user");
@@ -92,18 +100,27 @@ public class LoginActivity extends AppCompatActivity {
                         if (roleObj instanceof Number) {
                             role = ((Number) roleObj).intValue();
                         }
+                        if (userMap.get("nic") instanceof String) {
+                            nic = (String) userMap.get("nic");
+                        }
 
                         // If it's an operator (role 1), get their stationId
                         if (role == 1 && userMap.containsKey("stationId")) {
                             stationId = (String) userMap.get("stationId");
                         }
+                        // Supervisors also cover further stations
+                        if (role == 1 && userMap.get("stationIds") instanceof List) {
+                            for (Object id : (List<?>) userMap.get("stationIds")) {
+                                if (id instanceof String) stationIds.add((String) id);
+                            }
+                        }
                     }
 
                     if (authToken != null) {
                         String fullToken = "Bearer " + authToken;
-                        saveAuthData(fullToken, stationId); // Save both token and stationId
+                        saveAuthData(fullToken, nic, stationId, stationIds); // Save token and stations
                         Toast.makeText(LoginActivity.this, "Login successful!", Toast.LENGTH_SHORT).show();
-                        navigateToDashboardByRole(fullToken, stationId, role);
+                        navigateToDashboardByRole(fullToken, stationId, stationIds, role);
                     } else {
                         Toast.makeText(LoginActivity.this, "Login failed: Token is missing.", Toast.LENGTH_LONG).show();
                     }
@@ -121,15 +138,29 @@ public class LoginActivity extends AppCompatActivity {
 
     /**
      * Saves the authentication token and stationId (if available) in SharedPreferences.
+     * Signing in as a different user drops the previous account's locally stored bookings
+     * and notifications first.
      */
-    private void saveAuthData(String token, String stationId) {
-        SharedPreferences.Editor editor = getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE).edit();
+    private void saveAuthData(String token, String nic, String stationId, List<String> stationIds) {
+        SharedPreferences prefs = getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        if (!TextUtils.equals(prefs.getString(USER_NIC_KEY, null), nic)) {
+            SearchIndexer.clearAll(this);
+            // The count and its version belong to the previous account.
+            NotificationBadge.getInstance().clear();
+        }
+        SharedPreferences.Editor editor = prefs.edit();
         editor.putString(AUTH_TOKEN_KEY, token);
+        editor.putString(USER_NIC_KEY, nic);
         if (stationId != null) {
             editor.putString(STATION_ID_KEY, stationId);
         } else {
             editor.remove(STATION_ID_KEY); // Clear stationId if user is not an operator
         }
+        if (!stationIds.isEmpty()) {
+            editor.putString(STATION_IDS_KEY, TextUtils.join(",", stationIds));
+        } else {
+            editor.remove(STATION_IDS_KEY);
+        }
         editor.apply();
     }
 
@@ -137,11 +168,12 @@ public class LoginActivity extends AppCompatActivity {
      * Navigates the user to the correct dashboard based on their role.
      * Operators (role 1) go to OperatorDashboard, others go to DashboardActivity.
      */
-    private void navigateToDashboardByRole(String authToken, String stationId, int role) {
+    private void navigateToDashboardByRole(String authToken, String stationId, ArrayList<String> stationIds, int role) {
         Intent intent;
         if (role == 1) { // Role 1 is Operator
             intent = new Intent(LoginActivity.this, OperatorDashboardActivity.class);
             intent.putExtra("stationId", stationId); // Pass stationId to Operator Dashboard
+            intent.putStringArrayListExtra("stationIds", stationIds);
         } else { // Role 2 (or any other) is EV Owner
             intent = new Intent(LoginActivity.this, DashboardActivity.class);
         }
@@ -1,11 +1,10 @@
 package com.example.evcharging.activities;
 
-import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.MenuItem;
+import android.view.View;
 import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -15,15 +14,31 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
+import androidx.fragment.app.FragmentTransaction;
 
 import com.example.evcharging.R;
+import com.example.evcharging.data.NotificationBadge;
+import com.example.evcharging.data.QrKeyStore;
+import com.example.evcharging.data.StationBookingCache;
+import com.example.evcharging.data.StationDirectory;
 import com.example.evcharging.fragments.NotificationsFragment;
 import com.example.evcharging.fragments.OperatorBookingsFragment;
+import com.example.evcharging.fragments.ScannerFragment;
+import com.example.evcharging.models.NotificationCount;
+import com.example.evcharging.utils.JankMonitor;
+import com.example.evcharging.utils.Session;
+import com.google.android.material.badge.BadgeDrawable;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.journeyapps.barcodescanner.ScanContract;
 import com.journeyapps.barcodescanner.ScanOptions;
 
-public class OperatorDashboardActivity extends AppCompatActivity {
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+
+public class OperatorDashboardActivity extends AppCompatActivity implements ScannerFragment.Host {
+
+    // Coming back to the dashboard only syncs bookings if the last sync is older than this.
+    private static final long RESUME_MAX_AGE_MS = 60 * 1000L;
 
     private String authToken;
     private final FragmentManager fm = getSupportFragmentManager();
@@ -31,10 +46,12 @@ public class OperatorDashboardActivity extends AppCompatActivity {
     // Declare fragments but DO NOT initialize them here
     private OperatorBookingsFragment operatorBookingsFragment;
     private NotificationsFragment notificationsFragment;
+    private ScannerFragment scannerFragment;
     private Fragment activeFragment;
 
     private TextView toolbarTitle;
     private BottomNavigationView bottomNavigationView;
+    private final NotificationBadge.Listener badgeListener = this::showUnreadBadge;
 
     // ActivityResultLauncher for the QR Code Scanner (this is correct)
     private final ActivityResultLauncher<ScanOptions> barcodeLauncher = registerForActivityResult(new ScanContract(),
@@ -46,6 +63,7 @@ public class OperatorDashboardActivity extends AppCompatActivity {
                     Intent intent = new Intent(OperatorDashboardActivity.this, ConfirmBookingActivity.class);
                     intent.putExtra("token", authToken);
                     intent.putExtra("bookingId", result.getContents());
+                    intent.putStringArrayListExtra("stationIds", coveredStations(getIntent().getStringExtra("stationId")));
                     startActivity(intent);
                 }
                 bottomNavigationView.setSelectedItemId(R.id.navigation_operator_bookings);
@@ -68,12 +86,29 @@ public class OperatorDashboardActivity extends AppCompatActivity {
             return;
         }
 
+        // Warm the station catalogue once; every screen resolves station names from it.
+        StationDirectory.getInstance().load(this, authToken);
+        // Keep the QR verification keys current while we're online so scanning works offline later.
+        QrKeyStore.getInstance().sync(this, authToken, coveredStations(getIntent().getStringExtra("stationId")));
+        // Prefetch the station's bookings for the day so scans, the list and NIC lookups stay local.
+        StationBookingCache.getInstance().startShift(this, authToken, getIntent().getStringExtra("stationId"));
+
         toolbarTitle = findViewById(R.id.toolbar_title);
         ImageView ivLogout = findViewById(R.id.ivLogout);
         ivLogout.setOnClickListener(v -> logoutUser());
+        ImageView ivSearch = findViewById(R.id.ivSearch);
+        ivSearch.setOnClickListener(v -> startActivity(new Intent(this, SearchActivity.class)));
 
         bottomNavigationView = findViewById(R.id.operator_bottom_navigation);
         bottomNavigationView.setOnItemSelectedListener(this::onNavigationItemSelected);
+        // Tap shows the embedded continuous scanner; long-press keeps the one-at-a-time flow for spot checks.
+        View scanItem = bottomNavigationView.findViewById(R.id.navigation_scan_qr);
+        if (scanItem != null) {
+            scanItem.setOnLongClickListener(v -> {
+                launchQrScanner();
+                return true;
+            });
+        }
 
         // Setup fragments only if the activity is newly created
         if (savedInstanceState == null) {
@@ -83,11 +118,16 @@ public class OperatorDashboardActivity extends AppCompatActivity {
             // Re-find fragments on configuration change
             operatorBookingsFragment = (OperatorBookingsFragment) fm.findFragmentByTag("1");
             notificationsFragment = (NotificationsFragment) fm.findFragmentByTag("2");
+            scannerFragment = (ScannerFragment) fm.findFragmentByTag("3");
             // Determine active fragment after recreation
             if (operatorBookingsFragment != null && !operatorBookingsFragment.isHidden()) {
                 activeFragment = operatorBookingsFragment;
             } else if (notificationsFragment != null && !notificationsFragment.isHidden()) {
                 activeFragment = notificationsFragment;
+            } else if (scannerFragment != null) {
+                // The scanner is never hidden through the FragmentManager, see switchTo()
+                activeFragment = scannerFragment;
+                scannerFragment.setActive(true);
             }
         }
     }
@@ -101,11 +141,14 @@ public class OperatorDashboardActivity extends AppCompatActivity {
         String stationId = getIntent().getStringExtra("stationId");
 
         // 2. Use the safe newInstance factory method to create each fragment.
-        operatorBookingsFragment = OperatorBookingsFragment.newInstance(authToken, stationId);
+        operatorBookingsFragment = OperatorBookingsFragment.newInstance(authToken, stationId, coveredStations(stationId));
         notificationsFragment = NotificationsFragment.newInstance(authToken);
+        scannerFragment = ScannerFragment.newInstance(authToken, coveredStations(stationId));
 
         // 3. Add the fragments to the FragmentManager with unique tags.
+        // The scanner goes in first so it sits underneath; it keeps its camera preview warm there.
         fm.beginTransaction()
+                .add(R.id.operator_fragment_container, scannerFragment, "3")
                 .add(R.id.operator_fragment_container, notificationsFragment, "2")
                 .hide(notificationsFragment)
                 .add(R.id.operator_fragment_container, operatorBookingsFragment, "1")
@@ -115,6 +158,17 @@ public class OperatorDashboardActivity extends AppCompatActivity {
         activeFragment = operatorBookingsFragment;
     }
 
+    /**
+     * The home station followed by any further stations the operator supervises, without duplicates.
+     */
+    private ArrayList<String> coveredStations(String stationId) {
+        LinkedHashSet<String> covered = new LinkedHashSet<>();
+        if (stationId != null) covered.add(stationId);
+        ArrayList<String> extra = getIntent().getStringArrayListExtra("stationIds");
+        if (extra != null) covered.addAll(extra);
+        return new ArrayList<>(covered);
+    }
+
     /**
      * Handles bottom navigation item clicks.
      * Switches between operator bookings, notifications, and launches QR scanner.
@@ -124,25 +178,52 @@ public class OperatorDashboardActivity extends AppCompatActivity {
 
         if (itemId == R.id.navigation_operator_bookings) {
             toolbarTitle.setText("Bookings");
-            if(activeFragment != operatorBookingsFragment) {
-                fm.beginTransaction().hide(activeFragment).show(operatorBookingsFragment).commit();
-                activeFragment = operatorBookingsFragment;
-            }
+            switchTo(operatorBookingsFragment);
             return true;
         } else if (itemId == R.id.navigation_operator_notifications) {
             toolbarTitle.setText("Notifications");
-            if(activeFragment != notificationsFragment) {
-                fm.beginTransaction().hide(activeFragment).show(notificationsFragment).commit();
-                activeFragment = notificationsFragment;
-            }
+            switchTo(notificationsFragment);
             return true;
         } else if (itemId == R.id.navigation_scan_qr) {
-            launchQrScanner();
-            return false; // Return false so the item doesn't stay selected
+            toolbarTitle.setText("Scan");
+            switchTo(scannerFragment);
+            return true;
         }
         return false;
     }
 
+    /**
+     * Shows a tab. The scanner is faded in and out rather than hidden, because hiding its view
+     * would release the camera surface and lose the warm preview.
+     */
+    private void switchTo(Fragment target) {
+        if (activeFragment == target) return;
+        FragmentTransaction transaction = fm.beginTransaction();
+        if (activeFragment == scannerFragment) {
+            scannerFragment.setActive(false);
+        } else {
+            transaction.hide(activeFragment);
+        }
+        if (target == scannerFragment) {
+            scannerFragment.setActive(true);
+        } else {
+            transaction.show(target);
+        }
+        transaction.commit();
+        activeFragment = target;
+    }
+
+    @Override
+    public void onScannerDone() {
+        bottomNavigationView.setSelectedItemId(R.id.navigation_operator_bookings);
+    }
+
+    @Override
+    public void onUserInteraction() {
+        super.onUserInteraction();
+        if (scannerFragment != null) scannerFragment.onUserInteraction();
+    }
+
     // --- THIS IS THE FIX FOR THE ORIENTATION ---
     // Replace the entire launchQrScanner method with this new version
     /**
@@ -162,16 +243,40 @@ public class OperatorDashboardActivity extends AppCompatActivity {
         barcodeLauncher.launch(options);
     }
 
+    @Override
+    protected void onResume() {
+        super.onResume();
+        StationBookingCache.getInstance().refreshIfStale(RESUME_MAX_AGE_MS);
+        StationBookingCache.getInstance().setAutoRefresh(true);
+        NotificationBadge.getInstance().addListener(badgeListener);
+        NotificationBadge.getInstance().setPolling(authToken, true);
+        JankMonitor.getInstance().track(this);
+    }
+
+    @Override
+    protected void onPause() {
+        StationBookingCache.getInstance().setAutoRefresh(false);
+        NotificationBadge.getInstance().setPolling(authToken, false);
+        NotificationBadge.getInstance().removeListener(badgeListener);
+        JankMonitor.getInstance().untrack(this);
+        // Leaving the screen ends this visit's batch.
+        JankMonitor.getInstance().drainToLog();
+        super.onPause();
+    }
+
+    /**
+     * Shows the unread count on the Notifications tab, or hides the badge when there is none.
+     */
+    private void showUnreadBadge(NotificationCount count) {
+        BadgeDrawable badge = bottomNavigationView.getOrCreateBadge(R.id.navigation_operator_notifications);
+        badge.setNumber(count.unreadCount);
+        badge.setVisible(count.unreadCount > 0);
+    }
+
     /**
-     * Logs out the user by clearing stored auth token and stationId.
-     * Redirects to LoginActivity and clears the back stack.
+     * Logs out the user and redirects to LoginActivity with a cleared back stack.
      */
     private void logoutUser() {
-        SharedPreferences prefs = getSharedPreferences(LoginActivity.PREFS_NAME, Context.MODE_PRIVATE);
-        prefs.edit().remove(LoginActivity.AUTH_TOKEN_KEY).remove(LoginActivity.STATION_ID_KEY).apply();
-        Intent intent = new Intent(this, LoginActivity.class);
-        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-        startActivity(intent);
-        finish();
+        Session.signOut(this);
     }
 }
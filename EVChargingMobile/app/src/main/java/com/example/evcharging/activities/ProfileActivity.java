@@ -1,8 +1,6 @@
 package com.example.evcharging.activities;
 
 import android.content.DialogInterface;
-import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.widget.Button;
 import android.widget.EditText;
@@ -14,6 +12,7 @@ import com.example.evcharging.R;
 import com.example.evcharging.api.ApiClient;
 import com.example.evcharging.api.ApiService;
 import com.example.evcharging.models.User;
+import com.example.evcharging.utils.Session;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -130,14 +129,8 @@ public class ProfileActivity extends AppCompatActivity {
             public void onResponse(Call<Void> call, Response<Void> response) {
                 if (response.isSuccessful()) {
                     Toast.makeText(ProfileActivity.this, "Account deactivated. Logging out.", Toast.LENGTH_LONG).show();
-                    // Clear token and navigate to login
-                    SharedPreferences prefs = getSharedPreferences(LoginActivity.PREFS_NAME, MODE_PRIVATE);
-                    prefs.edit().clear().apply();
-
-                    Intent intent = new Intent(ProfileActivity.this, LoginActivity.class);
-                    intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-                    startActivity(intent);
-                    finish();
+                    // Same sign-out as the operator dashboard's logout
+                    Session.signOut(ProfileActivity.this);
                 } else {
                     Toast.makeText(ProfileActivity.this, "Deactivation failed", Toast.LENGTH_SHORT).show();
                 }
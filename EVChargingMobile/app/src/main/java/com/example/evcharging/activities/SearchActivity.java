@@ -0,0 +1,109 @@
+package com.example.evcharging.activities;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextUtils;
+import android.text.TextWatcher;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.ImageButton;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.evcharging.R;
+import com.example.evcharging.adapters.SearchResultAdapter;
+import com.example.evcharging.utils.AppExecutors;
+import com.example.evcharging.utils.LocalSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SearchActivity extends AppCompatActivity {
+
+    private static final int MAX_RESULTS = 100;
+
+    private RecyclerView rvSearchResults;
+    private TextView tvNoResults;
+    private SearchResultAdapter adapter;
+    private String userNic;
+    private final List<String> stationIds = new ArrayList<>();
+
+    // Incremented on every keystroke so results of superseded queries are dropped.
+    private final AtomicInteger querySequence = new AtomicInteger();
+
+    /**
+     * Called when the activity is first created.
+     * Sets up the search field and results list. All searching happens against the local database.
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_search);
+        loadAccount();
+
+        ImageButton backButton = findViewById(R.id.btnSearchBack);
+        backButton.setOnClickListener(v -> finish());
+
+        tvNoResults = findViewById(R.id.tvNoResults);
+        rvSearchResults = findViewById(R.id.rvSearchResults);
+        rvSearchResults.setLayoutManager(new LinearLayoutManager(this));
+        adapter = new SearchResultAdapter();
+        rvSearchResults.setAdapter(adapter);
+
+        EditText etSearchQuery = findViewById(R.id.etSearchQuery);
+        etSearchQuery.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                runSearch(s.toString());
+            }
+        });
+        etSearchQuery.requestFocus();
+    }
+
+    /**
+     * Reads the signed-in account from preferences so results are limited to its own data.
+     */
+    private void loadAccount() {
+        SharedPreferences prefs = getSharedPreferences(LoginActivity.PREFS_NAME, Context.MODE_PRIVATE);
+        userNic = prefs.getString(LoginActivity.USER_NIC_KEY, null);
+        String stationId = prefs.getString(LoginActivity.STATION_ID_KEY, null);
+        if (!TextUtils.isEmpty(stationId)) stationIds.add(stationId);
+        String more = prefs.getString(LoginActivity.STATION_IDS_KEY, null);
+        if (!TextUtils.isEmpty(more)) {
+            for (String id : more.split(",")) {
+                if (!stationIds.contains(id)) stationIds.add(id);
+            }
+        }
+    }
+
+    /**
+     * Runs the query on a background thread and shows the ranked results,
+     * ignoring any response that arrives after a newer query was issued.
+     */
+    private void runSearch(String query) {
+        final int sequence = querySequence.incrementAndGet();
+        AppExecutors.diskIO().execute(() -> {
+            List<LocalSearch.Result> results = LocalSearch.search(getApplicationContext(), query, userNic, stationIds,
+                    MAX_RESULTS);
+            AppExecutors.mainThread().execute(() -> {
+                if (isFinishing() || sequence != querySequence.get()) return;
+                adapter.updateData(results);
+                boolean empty = results.isEmpty() && !query.trim().isEmpty();
+                tvNoResults.setVisibility(empty ? View.VISIBLE : View.GONE);
+                rvSearchResults.setVisibility(empty ? View.GONE : View.VISIBLE);
+            });
+        });
+    }
+}
@@ -15,8 +15,12 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.evcharging.R;
 import com.example.evcharging.api.ApiClient;
 import com.example.evcharging.api.ApiService;
+import com.example.evcharging.data.NotificationBadge;
 import com.example.evcharging.models.User;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -65,6 +69,7 @@ public class SplashActivity extends AppCompatActivity {
             public void onResponse(Call<User> call, Response<User> response) {
                 if (response.isSuccessful() && response.body() != null) {
                     User user = response.body();
+                    backfillNic(user.nic);
                     // Successfully fetched profile, now navigate based on the role.
                     navigateToDashboardByRole(authToken, user.role);
                 } else {
@@ -83,11 +88,28 @@ public class SplashActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Sessions saved before the NIC was stored have none, and search filters the local
+     * bookings by it; take it from the profile instead of forcing a new login.
+     */
+    private void backfillNic(String nic) {
+        SharedPreferences prefs = getSharedPreferences(LoginActivity.PREFS_NAME, Context.MODE_PRIVATE);
+        if (!TextUtils.isEmpty(nic) && TextUtils.isEmpty(prefs.getString(LoginActivity.USER_NIC_KEY, null))) {
+            prefs.edit().putString(LoginActivity.USER_NIC_KEY, nic).apply();
+        }
+    }
+
     private void navigateToDashboardByRole(String authToken, int role) {
         Intent intent;
         if (role == 1) {
             // Role 1 is Operator.
             intent = new Intent(SplashActivity.this, OperatorDashboardActivity.class);
+            SharedPreferences prefs = getSharedPreferences(LoginActivity.PREFS_NAME, Context.MODE_PRIVATE);
+            intent.putExtra("stationId", prefs.getString(LoginActivity.STATION_ID_KEY, null));
+            String stationIds = prefs.getString(LoginActivity.STATION_IDS_KEY, null);
+            if (!TextUtils.isEmpty(stationIds)) {
+                intent.putStringArrayListExtra("stationIds", new ArrayList<>(Arrays.asList(stationIds.split(","))));
+            }
         } else {
             // Role 2 (or any other) is EV Owner.
             intent = new Intent(SplashActivity.this, DashboardActivity.class);
@@ -105,6 +127,7 @@ public class SplashActivity extends AppCompatActivity {
     private void clearTokenAndNavigateToLogin() {
         SharedPreferences prefs = getSharedPreferences(LoginActivity.PREFS_NAME, Context.MODE_PRIVATE);
         prefs.edit().remove(LoginActivity.AUTH_TOKEN_KEY).apply();
+        NotificationBadge.getInstance().clear();
         navigateToLogin();
     }
 }
@@ -1,8 +1,6 @@
 package com.example.evcharging.adapters;
 
 import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.Color;
 import android.os.Build;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -13,16 +11,18 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.evcharging.R;
 import com.example.evcharging.api.ApiService;
+import com.example.evcharging.data.AvailabilityEngine;
+import com.example.evcharging.data.StationDirectory;
 import com.example.evcharging.models.BookingApi;
-import com.google.zxing.BarcodeFormat;
+import com.example.evcharging.utils.JankMonitor;
+import com.example.evcharging.utils.QRCodeGenerator;
 import com.google.zxing.WriterException;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -35,10 +35,14 @@ import retrofit2.Response;
 
 public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingViewHolder> {
 
+    public static final int VIEW_TYPE_BOOKING = 0;
+
     private final List<BookingApi> bookingApiList;
     private final ApiService apiService;
     private final String authToken;
     private Context context; // Keep context for resources
+    private Runnable onBookingCancelled;
+    @Nullable private BookingViewPool viewPool;
 
     // Constructor: Initializes the adapter with booking data, API service, and auth token
     public BookingAdapter(List<BookingApi> bookingApiList, ApiService apiService, String authToken) {
@@ -47,18 +51,36 @@ public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingV
         this.authToken = authToken;
     }
 
-    // Inflates the item layout and creates a ViewHolde
+    // Lets the screen mark other cached views of the user's bookings stale after a cancellation
+    public void setOnBookingCancelled(Runnable listener) {
+        this.onBookingCancelled = listener;
+    }
+
+    // Rows come from the activity's shared pool; this adapter may bind holders another one created
+    void setViewPool(@Nullable BookingViewPool viewPool) {
+        this.viewPool = viewPool;
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        this.context = recyclerView.getContext();
+    }
+
+    // Inflates the item layout (or takes one inflated ahead of time) and creates a ViewHolder
     @NonNull
     @Override
     public BookingViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         this.context = parent.getContext();
-        View view = LayoutInflater.from(context).inflate(R.layout.item_booking, parent, false);
+        View view = viewPool != null ? viewPool.take() : null;
+        if (view == null) view = LayoutInflater.from(context).inflate(R.layout.item_booking, parent, false);
         return new BookingViewHolder(view);
     }
 
     // Binds data to the ViewHolder and sets click listeners
     @Override
     public void onBindViewHolder(@NonNull BookingViewHolder holder, int position) {
+        long started = JankMonitor.getInstance().bindStarted();
         BookingApi bookingApi = bookingApiList.get(position);
         holder.bind(bookingApi, context);
 
@@ -70,6 +92,8 @@ public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingV
                 cancelBooking(bookingApi, holder.getAdapterPosition());
             }
         });
+        // Confirmed rows draw their QR code here, the usual reason a bind runs long.
+        JankMonitor.getInstance().bindFinished("BookingAdapter", started);
     }
 
      // Returns the number of items in the list
@@ -87,10 +111,12 @@ public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingV
             @Override
             public void onResponse(@NonNull Call<Void> call, @NonNull Response<Void> response) {
                 if (response.isSuccessful()) {
+                    AvailabilityEngine.getInstance().onBookingCancelled(bookingApi.stationId, bookingApi.id);
                     Toast.makeText(context, "Booking successfully cancelled.", Toast.LENGTH_SHORT).show();
                     // Update status locally to 'Cancelled' (3) and refresh the item
                     bookingApi.status = 3;
                     notifyItemChanged(position);
+                    if (onBookingCancelled != null) onBookingCancelled.run();
                 } else {
                     Toast.makeText(context, "Failed to cancel booking (Error: " + response.code() + ")", Toast.LENGTH_SHORT).show();
                 }
@@ -103,20 +129,10 @@ public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingV
         });
     }
 
-    // Generates a QR code bitmap from booking ID and sets it in the ImageView
-    private void generateAndSetQrCode(ImageView imageView, String bookingId) {
-        QRCodeWriter writer = new QRCodeWriter();
+    // Generates the booking's QR code (signed token when available) and sets it in the ImageView
+    private void generateAndSetQrCode(ImageView imageView, BookingApi bookingApi) {
         try {
-            BitMatrix bitMatrix = writer.encode(bookingId, BarcodeFormat.QR_CODE, 512, 512);
-            int width = bitMatrix.getWidth();
-            int height = bitMatrix.getHeight();
-            Bitmap bmp = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    bmp.setPixel(x, y, bitMatrix.get(x, y) ? Color.BLACK : Color.WHITE);
-                }
-            }
-            imageView.setImageBitmap(bmp);
+            imageView.setImageBitmap(QRCodeGenerator.generate(QRCodeGenerator.payloadFor(bookingApi), 512));
         } catch (WriterException e) {
             e.printStackTrace();
         }
@@ -139,7 +155,7 @@ public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingV
         }
 
         public void bind(final BookingApi bookingApi, Context context) {
-            tvStationName.setText("Station: " + bookingApi.stationId);
+            tvStationName.setText("Station: " + StationDirectory.getInstance().displayName(bookingApi.stationId));
             tvBookingTime.setText(formatDateTimeRange(bookingApi.startTime, bookingApi.endTime));
 
             // Hide everything by default, then show based on status
@@ -159,7 +175,7 @@ public class BookingAdapter extends RecyclerView.Adapter<BookingAdapter.BookingV
                     tvStatus.setText("CONFIRMED");
                     tvStatus.setBackground(ContextCompat.getDrawable(context, R.drawable.status_background_approved));
                     ivQrCode.setVisibility(View.VISIBLE); // Show QR code for confirmed bookings
-                    generateAndSetQrCode(ivQrCode, bookingApi.id);
+                    generateAndSetQrCode(ivQrCode, bookingApi);
                     break;
 
                 case 2: // Completed
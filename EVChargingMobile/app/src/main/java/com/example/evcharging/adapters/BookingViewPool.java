@@ -0,0 +1,70 @@
+package com.example.evcharging.adapters;
+
+import android.os.Looper;
+import android.view.LayoutInflater;
+import android.view.View;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.evcharging.R;
+import java.util.ArrayDeque;
+
+/**
+ * item_booking rows shared by every booking list in one activity: the dashboard carousel and
+ * My Bookings recycle into one pool, and a few rows are inflated ahead of time while the main
+ * thread is idle, so the first scroll binds instead of inflating.
+ * <p>
+ * Rows are pre-inflated on the main thread, one per idle pass, with the activity's inflater.
+ * AsyncLayoutInflater would move the work to a background thread but bypasses the AppCompat
+ * view factory, so the card's buttons would come out as plain Buttons, not MaterialButtons.
+ */
+public final class BookingViewPool {
+
+    // Lets fragments reach the pool of the activity hosting them.
+    public interface Owner {
+        BookingViewPool getBookingViewPool();
+    }
+
+    // Room for a full screen of My Bookings plus the carousel's neighbours.
+    private static final int MAX_RECYCLED = 10;
+
+    private final RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool();
+    private final ArrayDeque<View> preinflated = new ArrayDeque<>();
+    private int toInflate;
+
+    public BookingViewPool() {
+        pool.setMaxRecycledViews(BookingAdapter.VIEW_TYPE_BOOKING, MAX_RECYCLED);
+    }
+
+    /**
+     * Has the list recycle into the shared pool and take pre-inflated rows from it.
+     */
+    public void attach(RecyclerView recyclerView, BookingAdapter adapter) {
+        recyclerView.setRecycledViewPool(pool);
+        adapter.setViewPool(this);
+    }
+
+    /**
+     * Queues {@code count} rows to be inflated for {@code parent} once the main thread has
+     * nothing else to do. Calls while rows are still queued only raise the target.
+     */
+    public void preinflate(RecyclerView parent, int count) {
+        boolean queued = toInflate > 0;
+        toInflate = Math.max(toInflate, count - preinflated.size());
+        if (queued || toInflate <= 0) return;
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        // Returning true keeps the handler for the next idle pass.
+        Looper.myQueue().addIdleHandler(() -> {
+            if (toInflate <= 0) return false;
+            preinflated.add(inflater.inflate(R.layout.item_booking, parent, false));
+            return --toInflate > 0;
+        });
+    }
+
+    /**
+     * @return a row inflated ahead of time, or null if none is left
+     */
+    @Nullable
+    View take() {
+        return preinflated.poll();
+    }
+}
@@ -11,6 +11,7 @@ import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.evcharging.R;
+import com.example.evcharging.data.StationDirectory;
 import com.example.evcharging.models.BookingApi;
 
 import java.time.ZonedDateTime;
@@ -68,7 +69,7 @@ public class DashboardBookingAdapter extends RecyclerView.Adapter<DashboardBooki
         }
 
         void bind(BookingApi bookingApi, Context context) {
-            tvStationName.setText(bookingApi.stationId != null ? bookingApi.stationId : "N/A");
+            tvStationName.setText(StationDirectory.getInstance().displayName(bookingApi.stationId));
             tvTime.setText(formatSimpleTime(bookingApi.startTime));
 
             int status = bookingApi.status;
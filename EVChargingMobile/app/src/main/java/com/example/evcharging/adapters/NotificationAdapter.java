@@ -9,11 +9,20 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.evcharging.R;
 import com.example.evcharging.models.Notification; // You need to create this model
+import com.example.evcharging.utils.AppExecutors;
+import com.example.evcharging.utils.JankMonitor;
+import com.example.evcharging.utils.PrecomputedTextCache;
+import java.util.ArrayList;
 import java.util.List;
 
 public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapter.ViewHolder> {
 
+    // Enough for a long history; rows past this are measured when they are bound.
+    private static final int MAX_PRECOMPUTED = 300;
+
     private final List<Notification> notificationList;
+    // Message layouts measured off the main thread as soon as a list arrives.
+    private final PrecomputedTextCache messageText = new PrecomputedTextCache(AppExecutors.compute(), MAX_PRECOMPUTED);
 
     public NotificationAdapter(List<Notification> notificationList) {
         this.notificationList = notificationList;
@@ -23,13 +32,17 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_notification, parent, false);
-        return new ViewHolder(view);
+        ViewHolder holder = new ViewHolder(view);
+        messageText.useParamsOf(holder.tvNotificationMessage);
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        long started = JankMonitor.getInstance().bindStarted();
         Notification notification = notificationList.get(position);
-        holder.bind(notification);
+        holder.bind(notification, messageText);
+        JankMonitor.getInstance().bindFinished("NotificationAdapter", started);
     }
 
     @Override
@@ -40,6 +53,9 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
     public void updateData(List<Notification> newNotifications) {
         notificationList.clear();
         notificationList.addAll(newNotifications);
+        List<CharSequence> messages = new ArrayList<>(notificationList.size());
+        for (Notification notification : notificationList) messages.add(notification.message);
+        messageText.precompute(messages);
         notifyDataSetChanged();
     }
 
@@ -54,9 +70,9 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
             tvNotificationMessage = itemView.findViewById(R.id.tvNotificationMessage);
         }
 
-        void bind(Notification notification) {
+        void bind(Notification notification, PrecomputedTextCache messageText) {
             tvNotificationTitle.setText(notification.title);
-            tvNotificationMessage.setText(notification.message);
+            messageText.setText(tvNotificationMessage, notification.message);
             // You can set different icons based on notification.type
             ivNotificationIcon.setImageResource(R.drawable.ic_notifications);
         }
@@ -1,7 +1,6 @@
 package com.example.evcharging.adapters;
 
 import android.content.Context;
-import android.os.Build;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -12,15 +11,24 @@ import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.evcharging.R;
-import com.example.evcharging.models.BookingApi;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
+import com.example.evcharging.data.BookingColumns;
+import com.example.evcharging.data.BookingSections;
+import com.example.evcharging.data.StationDirectory;
+import com.example.evcharging.utils.IsoTime;
+import com.example.evcharging.utils.JankMonitor;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.Locale;
 
-public class OperatorBookingAdapter extends RecyclerView.Adapter<OperatorBookingAdapter.ViewHolder> {
+public class OperatorBookingAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
+        implements StickyHeaderDecoration.HeaderSource {
 
-    private final List<BookingApi> bookingApiList;
+    private static final int TYPE_HEADER = 0;
+    private static final int TYPE_BOOKING = 1;
+
+    // Rows are read by index; no per-booking objects are kept for the list.
+    private BookingSections sections = BookingSections.EMPTY;
+    private final SimpleDateFormat hourFormat = new SimpleDateFormat("hh:mm a", Locale.getDefault());
     private final BookingListener listener;
     private final Context context;
 
@@ -29,40 +37,89 @@ public class OperatorBookingAdapter extends RecyclerView.Adapter<OperatorBooking
         void onCancelByOperator(String bookingId); // Renamed for clarity
     }
 
-    public OperatorBookingAdapter(Context context, List<BookingApi> bookingApiList, BookingListener listener) {
+    public OperatorBookingAdapter(Context context, BookingListener listener) {
         this.context = context;
-        this.bookingApiList = bookingApiList;
         this.listener = listener;
     }
 
+    @Override
+    public int getItemViewType(int position) {
+        return sections.isHeader(position) ? TYPE_HEADER : TYPE_BOOKING;
+    }
+
     @NonNull
     @Override
-    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        if (viewType == TYPE_HEADER) {
+            return new HeaderViewHolder(createHeaderView(parent));
+        }
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_operator_booking, parent, false);
         return new ViewHolder(view);
     }
 
     @Override
-    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        BookingApi bookingApi = bookingApiList.get(position);
-        holder.bind(bookingApi, listener, context);
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        long started = JankMonitor.getInstance().bindStarted();
+        if (holder instanceof HeaderViewHolder) {
+            bindHeaderView(holder.itemView, position);
+        } else {
+            ((ViewHolder) holder).bind(sections.rows, sections.row(position), listener, context);
+        }
+        JankMonitor.getInstance().bindFinished("OperatorBookingAdapter", started);
     }
 
     @Override
     public int getItemCount() {
-        return bookingApiList.size();
+        return sections.size();
     }
 
-    public void updateData(List<BookingApi> newBookingApis) {
-        bookingApiList.clear();
-        bookingApiList.addAll(newBookingApis);
+    /**
+     * Swaps in a list laid out off the main thread. Only the rows on screen are rebound.
+     */
+    public void updateData(BookingSections newSections) {
+        sections = newSections;
         notifyDataSetChanged();
     }
 
+    // --- Section headers, also drawn by the sticky header decoration ---
+
+    @Override
+    public int headerPosition(int position) {
+        return sections.headerPosition(position);
+    }
+
+    @Override
+    public boolean isHeader(int position) {
+        return position >= 0 && position < sections.size() && sections.isHeader(position);
+    }
+
+    @Override
+    public View createHeaderView(ViewGroup parent) {
+        return LayoutInflater.from(parent.getContext()).inflate(R.layout.item_booking_section, parent, false);
+    }
+
+    @Override
+    public void bindHeaderView(View header, int headerPosition) {
+        long hour = sections.sectionHour(headerPosition);
+        int count = sections.sectionCount(headerPosition);
+        ((TextView) header.findViewById(R.id.tvSectionTime)).setText(hourFormat.format(new Date(hour))
+                + " - " + hourFormat.format(new Date(hour + BookingSections.HOUR_MS)));
+        ((TextView) header.findViewById(R.id.tvSectionCount)).setText(count == 1 ? "1 booking" : count + " bookings");
+    }
+
+    static class HeaderViewHolder extends RecyclerView.ViewHolder {
+        HeaderViewHolder(@NonNull View itemView) {
+            super(itemView);
+        }
+    }
+
     static class ViewHolder extends RecyclerView.ViewHolder {
         TextView tvBookingId, tvStatus, tvStationId, tvTime, tvUserId;
         LinearLayout actionButtonsLayout;
         Button btnApprove, btnReject;
+        // Created once per holder rather than on every bind.
+        private final SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+        private final SimpleDateFormat timeFormat = new SimpleDateFormat("hh:mm a", Locale.getDefault());
 
         ViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -76,16 +133,18 @@ public class OperatorBookingAdapter extends RecyclerView.Adapter<OperatorBooking
             btnReject = itemView.findViewById(R.id.btnReject);
         }
 
-        void bind(final BookingApi bookingApi, final BookingListener listener, Context context) {
-            tvBookingId.setText("Booking ID: #" + formatId(bookingApi.id));
-            tvStationId.setText("Station: " + bookingApi.stationId);
-            tvUserId.setText("User NIC: " + bookingApi.ownerNIC);
-            tvTime.setText(formatDateTimeRange(bookingApi.startTime, bookingApi.endTime));
+        void bind(BookingColumns rows, int row, final BookingListener listener, Context context) {
+            // Hex only for display and the API calls the buttons make.
+            final String bookingId = rows.id(row).toHex();
+            tvBookingId.setText("Booking ID: #" + formatId(bookingId));
+            tvStationId.setText("Station: " + StationDirectory.getInstance().displayName(rows.stationId(row)));
+            tvUserId.setText("User NIC: " + rows.ownerNic(row));
+            tvTime.setText(formatDateTimeRange(rows.startMillis(row), rows.endMillis(row)));
 
             // --- STATUS AND BUTTON VISIBILITY FIX ---
             // Backend Enum: Active = 0, Confirmed = 1, Completed = 2, Cancelled = 3
 
-            switch (bookingApi.status) {
+            switch (rows.status(row)) {
                 case 0: // Active (This is what an operator acts on)
                     tvStatus.setText("ACTIVE");
                     tvStatus.setBackground(ContextCompat.getDrawable(context, R.drawable.status_background_pending));
@@ -112,8 +171,8 @@ public class OperatorBookingAdapter extends RecyclerView.Adapter<OperatorBooking
             }
 
             // --- CORRECTED LISTENERS ---
-            btnApprove.setOnClickListener(v -> listener.onConfirm(bookingApi.id));
-            btnReject.setOnClickListener(v -> listener.onCancelByOperator(bookingApi.id));
+            btnApprove.setOnClickListener(v -> listener.onConfirm(bookingId));
+            btnReject.setOnClickListener(v -> listener.onCancelByOperator(bookingId));
         }
 
 
@@ -123,26 +182,12 @@ public class OperatorBookingAdapter extends RecyclerView.Adapter<OperatorBooking
             return id.substring(id.length() - 8);
         }
 
-        private String formatDateTimeRange(String start, String end) {
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                try {
-                    DateTimeFormatter inputFormatter = DateTimeFormatter.ISO_ZONED_DATE_TIME;
-                    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM dd, yyyy", Locale.getDefault());
-                    DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a", Locale.getDefault());
-
-                    ZonedDateTime startTime = ZonedDateTime.parse(start, inputFormatter);
-                    ZonedDateTime endTime = ZonedDateTime.parse(end, inputFormatter);
-
-                    String date = startTime.format(dateFormatter);
-                    String startTimeStr = startTime.format(timeFormatter);
-                    String endTimeStr = endTime.format(timeFormatter);
-
-                    return String.format("%s  |  %s - %s", date, startTimeStr, endTimeStr);
-                } catch (Exception e) {
-                    return "Invalid Date Format";
-                }
-            }
-            return "Date formatting unavailable";
+        // Shown in the device's time zone; the columns hold UTC epoch milliseconds.
+        private String formatDateTimeRange(long start, long end) {
+            if (start == IsoTime.INVALID || end == IsoTime.INVALID) return "Invalid Date Format";
+            Date startDate = new Date(start);
+            return String.format("%s  |  %s - %s", dateFormat.format(startDate), timeFormat.format(startDate),
+                    timeFormat.format(new Date(end)));
         }
     }
 }
@@ -0,0 +1,99 @@
+package com.example.evcharging.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.evcharging.R;
+import com.example.evcharging.data.StationDirectory;
+import com.example.evcharging.models.ScanResult;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScanResultAdapter extends RecyclerView.Adapter<ScanResultAdapter.ViewHolder> {
+
+    public interface OnRetryListener {
+        void onRetry(ScanResult result);
+    }
+
+    // Newest scan first, so the car in front of the operator is always at the top.
+    private final List<ScanResult> results = new ArrayList<>();
+    private final OnRetryListener retryListener;
+
+    public ScanResultAdapter(OnRetryListener retryListener) {
+        this.retryListener = retryListener;
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_scan_result, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        ScanResult result = results.get(position);
+        holder.bind(result);
+        holder.itemView.setOnClickListener(result.state == ScanResult.State.FAILED
+                ? v -> retryListener.onRetry(result) : null);
+    }
+
+    @Override
+    public int getItemCount() {
+        return results.size();
+    }
+
+    public void add(ScanResult result) {
+        results.add(0, result);
+        notifyItemInserted(0);
+    }
+
+    public void update(ScanResult result) {
+        int position = results.indexOf(result);
+        if (position >= 0) notifyItemChanged(position);
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        View statusBar;
+        TextView tvScanStation, tvScanBookingId, tvScanMessage;
+
+        ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            statusBar = itemView.findViewById(R.id.viewScanStatus);
+            tvScanStation = itemView.findViewById(R.id.tvScanStation);
+            tvScanBookingId = itemView.findViewById(R.id.tvScanBookingId);
+            tvScanMessage = itemView.findViewById(R.id.tvScanMessage);
+        }
+
+        void bind(ScanResult result) {
+            tvScanStation.setText(result.stationId != null
+                    ? StationDirectory.getInstance().displayName(result.stationId)
+                    : "Booking");
+            tvScanBookingId.setText(result.bookingId);
+            tvScanMessage.setText(result.state == ScanResult.State.FAILED
+                    ? result.message + " - tap to retry" : result.message);
+
+            int color;
+            switch (result.state) {
+                case CONFIRMED:
+                case FINALIZED:
+                    color = R.color.emerald_green;
+                    break;
+                case REJECTED:
+                case FAILED:
+                    color = R.color.red_error;
+                    break;
+                default:
+                    color = R.color.orange_soda;
+                    break;
+            }
+            int resolved = ContextCompat.getColor(itemView.getContext(), color);
+            statusBar.setBackgroundColor(resolved);
+            tvScanMessage.setTextColor(resolved);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.evcharging.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.evcharging.R;
+import com.example.evcharging.utils.LocalSearch;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchResultAdapter extends RecyclerView.Adapter<SearchResultAdapter.ViewHolder> {
+
+    private final List<LocalSearch.Result> results = new ArrayList<>();
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_search_result, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        holder.bind(results.get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return results.size();
+    }
+
+    public void updateData(List<LocalSearch.Result> newResults) {
+        results.clear();
+        results.addAll(newResults);
+        notifyDataSetChanged();
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        ImageView ivResultIcon;
+        TextView tvResultTitle, tvResultSubtitle;
+
+        ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            ivResultIcon = itemView.findViewById(R.id.ivResultIcon);
+            tvResultTitle = itemView.findViewById(R.id.tvResultTitle);
+            tvResultSubtitle = itemView.findViewById(R.id.tvResultSubtitle);
+        }
+
+        void bind(LocalSearch.Result result) {
+            tvResultTitle.setText(result.title);
+            tvResultSubtitle.setText(result.subtitle);
+            ivResultIcon.setImageResource(result.type == LocalSearch.TYPE_BOOKING
+                    ? R.drawable.ic_view_list : R.drawable.ic_notifications);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.evcharging.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.evcharging.R;
+import com.example.evcharging.data.StationSpatialIndex;
+import com.example.evcharging.models.Station;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class StationPickerAdapter extends RecyclerView.Adapter<StationPickerAdapter.ViewHolder> {
+
+    public interface OnStationSelectedListener {
+        void onStationSelected(Station station);
+    }
+
+    private final List<StationSpatialIndex.Hit> hits = new ArrayList<>();
+    private final OnStationSelectedListener listener;
+    @Nullable private String selectedId;
+
+    public StationPickerAdapter(OnStationSelectedListener listener) {
+        this.listener = listener;
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_station_pick, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        StationSpatialIndex.Hit hit = hits.get(position);
+        holder.bind(hit, hit.station.id.equals(selectedId));
+        holder.itemView.setOnClickListener(v -> {
+            int current = holder.getBindingAdapterPosition();
+            if (current == RecyclerView.NO_POSITION) return;
+            Station station = hits.get(current).station;
+            setSelectedId(station.id);
+            listener.onStationSelected(station);
+        });
+    }
+
+    @Override
+    public int getItemCount() {
+        return hits.size();
+    }
+
+    /**
+     * Shows a new result list. Only the rows on screen are rebound, so this stays cheap
+     * however many stations matched.
+     */
+    public void updateData(List<StationSpatialIndex.Hit> newHits, @Nullable String selectedStationId) {
+        hits.clear();
+        hits.addAll(newHits);
+        selectedId = selectedStationId;
+        notifyDataSetChanged();
+    }
+
+    public void setSelectedId(@Nullable String stationId) {
+        int previous = indexOf(selectedId);
+        selectedId = stationId;
+        if (previous >= 0) notifyItemChanged(previous);
+        int next = indexOf(stationId);
+        if (next >= 0) notifyItemChanged(next);
+    }
+
+    private int indexOf(@Nullable String stationId) {
+        if (stationId == null) return -1;
+        for (int i = 0; i < hits.size(); i++) {
+            if (stationId.equals(hits.get(i).station.id)) return i;
+        }
+        return -1;
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        TextView tvStationName, tvStationDetails, tvStationSlots;
+
+        ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvStationName = itemView.findViewById(R.id.tvStationName);
+            tvStationDetails = itemView.findViewById(R.id.tvStationDetails);
+            tvStationSlots = itemView.findViewById(R.id.tvStationSlots);
+        }
+
+        void bind(StationSpatialIndex.Hit hit, boolean selected) {
+            Station station = hit.station;
+            itemView.setActivated(selected);
+            tvStationName.setText(station.name);
+
+            String details = station.location != null ? station.location : "";
+            if (!Double.isNaN(hit.distanceKm)) {
+                String distance = String.format(Locale.getDefault(), "%.1f km", hit.distanceKm);
+                details = details.isEmpty() ? distance : details + " · " + distance;
+            }
+            tvStationDetails.setText(details);
+
+            boolean free = station.availableSlots > 0;
+            tvStationSlots.setText(free ? station.availableSlots + " free" : "Full");
+            tvStationSlots.setTextColor(ContextCompat.getColor(itemView.getContext(),
+                    free ? R.color.emerald_green : R.color.red_error));
+        }
+    }
+}
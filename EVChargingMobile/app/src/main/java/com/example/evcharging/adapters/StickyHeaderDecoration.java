@@ -0,0 +1,89 @@
+package com.example.evcharging.adapters;
+
+import android.graphics.Canvas;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Draws the header of the section at the top of the list over the first rows, and pushes it
+ * up as the next header scrolls into its place. The header is one detached view, re-bound
+ * only when the section changes.
+ */
+public class StickyHeaderDecoration extends RecyclerView.ItemDecoration {
+
+    public interface HeaderSource {
+        /**
+         * @return the position of the header for the section containing {@code position}, or -1
+         */
+        int headerPosition(int position);
+
+        boolean isHeader(int position);
+
+        View createHeaderView(ViewGroup parent);
+
+        void bindHeaderView(View header, int headerPosition);
+    }
+
+    private final HeaderSource source;
+    private View header;
+    private int boundPosition = RecyclerView.NO_POSITION;
+
+    public StickyHeaderDecoration(HeaderSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Forces the next draw to re-bind the header, e.g. after the adapter's data changed.
+     */
+    public void invalidate() {
+        boundPosition = RecyclerView.NO_POSITION;
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        View top = parent.getChildAt(0);
+        if (top == null) return;
+        int position = parent.getChildAdapterPosition(top);
+        if (position == RecyclerView.NO_POSITION) return;
+        int headerPosition = source.headerPosition(position);
+        if (headerPosition < 0) return;
+        // The real header row is already in place at the top.
+        if (headerPosition == position && top.getTop() >= parent.getPaddingTop()) return;
+
+        View sticky = headerFor(parent, headerPosition);
+        int offset = parent.getPaddingTop();
+        for (int i = 1; i < parent.getChildCount(); i++) {
+            View child = parent.getChildAt(i);
+            if (child.getTop() >= offset + sticky.getHeight()) break;
+            int childPosition = parent.getChildAdapterPosition(child);
+            if (childPosition != RecyclerView.NO_POSITION && source.isHeader(childPosition)) {
+                offset = child.getTop() - sticky.getHeight();
+                break;
+            }
+        }
+
+        canvas.save();
+        canvas.translate(parent.getPaddingLeft(), offset);
+        sticky.draw(canvas);
+        canvas.restore();
+    }
+
+    private View headerFor(RecyclerView parent, int headerPosition) {
+        if (header == null) header = source.createHeaderView(parent);
+        if (headerPosition != boundPosition || header.getWidth() != contentWidth(parent)) {
+            source.bindHeaderView(header, headerPosition);
+            int width = View.MeasureSpec.makeMeasureSpec(contentWidth(parent), View.MeasureSpec.EXACTLY);
+            int height = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+            header.measure(width, height);
+            header.layout(0, 0, header.getMeasuredWidth(), header.getMeasuredHeight());
+            boundPosition = headerPosition;
+        }
+        return header;
+    }
+
+    private static int contentWidth(RecyclerView parent) {
+        return parent.getWidth() - parent.getPaddingLeft() - parent.getPaddingRight();
+    }
+}
@@ -24,6 +24,7 @@ public class ApiClient {
             Retrofit retrofit = new Retrofit.Builder()
                     .baseUrl(BASE_URL)
                     .client(client)
+                    .addConverterFactory(new BookingListConverterFactory()) // protobuf booking lists, JSON otherwise
                     .addConverterFactory(GsonConverterFactory.create())
                     .build();
             apiService = retrofit.create(ApiService.class);
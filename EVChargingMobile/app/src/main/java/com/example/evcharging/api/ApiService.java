@@ -1,10 +1,15 @@
 package com.example.evcharging.api;
 
 import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.models.BookingInterval;
 import com.example.evcharging.models.CancellationReason;
+import com.example.evcharging.models.HomeSummary;
+import com.example.evcharging.models.ScanActionResult;
 import com.example.evcharging.models.Station;
 import com.example.evcharging.models.User;
 import com.example.evcharging.models.Notification;
+import com.example.evcharging.models.NotificationCount;
+import com.example.evcharging.models.NotificationSummary;
 
 import java.util.List;
 import java.util.Map;
@@ -13,6 +18,7 @@ import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.Header;
+import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
@@ -28,6 +34,12 @@ public interface ApiService {
     Call<Map<String, Object>> register(@Body User user);
 
 
+    // --- Home ---
+    // Profile, upcoming bookings, unread count and bookable stations in one response.
+    @GET("api/home")
+    Call<HomeSummary> getHome(@Header("Authorization") String token);
+
+
     // --- User Profile ---
     @GET("api/users/me")
     Call<User> getMyProfile(@Header("Authorization") String token);
@@ -46,34 +58,89 @@ public interface ApiService {
     @GET("api/chargingstations")
     Call<List<Station>> getAllStations(@Header("Authorization") String token);
 
+    // Key for verifying booking QR tokens offline (operators only)
+    @GET("api/chargingstations/{id}/qr-key")
+    Call<Map<String, String>> getStationQrKey(@Header("Authorization") String token, @Path("id") String stationId);
+
 
     // --- EV Owner Bookings ---
     @GET("api/bookings/my-bookings")
     Call<List<BookingApi>> getMyBookings(@Header("Authorization") String token);
 
+    // Filtered and trimmed server-side; null arguments are left out. See BookingFields for projections.
+    @GET("api/bookings/my-bookings")
+    Call<List<BookingApi>> getMyBookings(
+            @Header("Authorization") String token,
+            @Query("status") List<Integer> statuses,
+            @Query("from") String from,
+            @Query("to") String to,
+            @Query("fields") String fields
+    );
+
     @POST("api/bookings")
     Call<Map<String, Object>> createBooking(@Header("Authorization") String token, @Body Map<String, String> body);
 
     @POST("api/bookings/{id}/cancel")
     Call<Void> cancelBooking(@Header("Authorization") String token, @Path("id") String bookingId);
 
+    // Slot-holding booking windows at a station, without owner details. Used for local availability checks.
+    @GET("api/bookings/station/{stationId}/occupancy")
+    Call<List<BookingInterval>> getStationOccupancy(
+            @Header("Authorization") String token,
+            @Path("stationId") String stationId,
+            @Query("from") String from,
+            @Query("to") String to
+    );
+
 
     // --- Operator/Admin Bookings ---
     @GET("api/bookings")
     Call<List<BookingApi>> getAllBookings(@Header("Authorization") String token);
 
+    // Opts in to the compact protobuf encoding; JSON stays acceptable for older servers.
+    @Headers("Accept: " + BookingListProto.MEDIA_TYPE + ", application/json;q=0.9")
+    @GET("api/bookings")
+    Call<List<BookingApi>> getAllBookings(
+            @Header("Authorization") String token,
+            @Query("status") List<Integer> statuses,
+            @Query("from") String from,
+            @Query("to") String to,
+            @Query("fields") String fields
+    );
+
     @GET("api/bookings/{id}")
     Call<BookingApi> getBookingById(@Header("Authorization") String token, @Path("id") String bookingId);
 
     @GET("api/bookings/station/{stationId}")
     Call<List<BookingApi>> getStationBookings(@Header("Authorization") String token, @Path("stationId") String stationId);
 
+    // Bookings overlapping [from, to); with updatedSince, only those changed after it. Null arguments are left out.
+    @Headers("Accept: " + BookingListProto.MEDIA_TYPE + ", application/json;q=0.9")
+    @GET("api/bookings/station/{stationId}")
+    Call<List<BookingApi>> getStationBookings(
+            @Header("Authorization") String token,
+            @Path("stationId") String stationId,
+            @Query("status") List<Integer> statuses,
+            @Query("from") String from,
+            @Query("to") String to,
+            @Query("updatedSince") String updatedSince,
+            @Query("fields") String fields
+    );
+
     @POST("api/bookings/{id}/finalize")
     Call<Void> finalizeBooking(@Header("Authorization") String token, @Path("id") String bookingId);
 
     // --- START: CORRECTED OPERATOR ACTIONS ---
     // The old "approveBooking" and "rejectBooking" methods have been completely removed.
 
+    // Confirms an Active booking or finalizes a Confirmed one in a single round trip
+    @POST("api/bookings/{id}/scan-action")
+    Call<ScanActionResult> scanAction(
+            @Header("Authorization") String token,
+            @Path("id") String bookingId,
+            @Query("stationId") String stationId
+    );
+
     @POST("api/bookings/{id}/confirm")
     Call<Void> confirmBooking(@Header("Authorization") String token, @Path("id") String bookingId);
 
@@ -90,6 +157,13 @@ public interface ApiService {
     @GET("api/notifications/my-notifications")
     Call<List<Notification>> getMyNotifications(@Header("Authorization") String token);
 
+    @GET("api/notifications/summary")
+    Call<NotificationSummary> getNotificationSummary(@Header("Authorization") String token);
+
+    // Unread count and list version only; polled for the badge instead of downloading the list.
+    @GET("api/notifications/count")
+    Call<NotificationCount> getNotificationCount(@Header("Authorization") String token);
+
     @GET("api/notifications/my-notifications")
     Call<List<Notification>> getMyNotificationsWithQuery(
             @Header("Authorization") String token,
@@ -0,0 +1,24 @@
+/*
+ * File: BookingFields.java
+ * Purpose: Sparse field projections ("fields=") for the booking list calls, one per kind of screen
+ */
+package com.example.evcharging.api;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class BookingFields {
+
+    // Owner booking cards: station name comes from StationDirectory, the QR from the signed token.
+    // ownerNIC is only for the local copy kept for search (see BookingListing).
+    public static final String OWNER_CARD = "id,ownerNIC,stationId,startTime,endTime,status,qrToken";
+
+    // Operator rows, plus updatedAt for the shift cache's incremental refresh cursor.
+    public static final String OPERATOR_ROW = "id,ownerNIC,stationId,startTime,endTime,status,updatedAt";
+
+    // Bookings that still hold a slot: Active and Confirmed.
+    public static final List<Integer> UPCOMING_STATUSES = Collections.unmodifiableList(Arrays.asList(0, 1));
+
+    private BookingFields() {}
+}
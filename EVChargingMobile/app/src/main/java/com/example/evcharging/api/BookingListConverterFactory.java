@@ -0,0 +1,52 @@
+/*
+ * File: BookingListConverterFactory.java
+ * Purpose: Reads booking lists as protobuf or JSON, whichever encoding the server chose for the response
+ */
+package com.example.evcharging.api;
+
+import androidx.annotation.Nullable;
+
+import com.example.evcharging.models.BookingApi;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Registered ahead of Gson. Calls opt in to protobuf with an Accept header; servers that ignore it
+ * keep answering JSON, which is passed on to the next converter.
+ */
+public class BookingListConverterFactory extends Converter.Factory {
+
+    @Nullable
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (!isBookingList(type)) return null;
+        final Converter<ResponseBody, List<BookingApi>> json = retrofit.nextResponseBodyConverter(this, type, annotations);
+        return (ResponseBody body) -> {
+            if (!isProtobuf(body.contentType())) return json.convert(body);
+            try {
+                return BookingListProto.decode(body.byteStream());
+            } finally {
+                body.close();
+            }
+        };
+    }
+
+    private static boolean isBookingList(Type type) {
+        if (!(type instanceof ParameterizedType)) return false;
+        ParameterizedType parameterized = (ParameterizedType) type;
+        Type[] arguments = parameterized.getActualTypeArguments();
+        return parameterized.getRawType() == List.class && arguments.length == 1 && arguments[0] == BookingApi.class;
+    }
+
+    private static boolean isProtobuf(@Nullable MediaType contentType) {
+        return contentType != null && BookingListProto.MEDIA_TYPE.equals(contentType.type() + "/" + contentType.subtype());
+    }
+}
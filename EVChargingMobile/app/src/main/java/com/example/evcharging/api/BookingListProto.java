@@ -0,0 +1,108 @@
+/*
+ * File: BookingListProto.java
+ * Purpose: Decodes the protobuf booking list the backend sends for Accept: application/x-protobuf
+ */
+package com.example.evcharging.api;
+
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.utils.IsoTime;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hand-written reader for the BookingList message (schema in the backend's BookingListProtobuf.cs).
+ * Timestamps travel as epoch milliseconds and station ids once per list, so the decoded bookings
+ * share one String per station.
+ */
+public final class BookingListProto {
+
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+
+    private BookingListProto() {}
+
+    public static List<BookingApi> decode(InputStream in) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(in);
+        List<String> stationIds = new ArrayList<>();
+        List<BookingApi> bookings = new ArrayList<>();
+        int[] statuses = new int[0];
+        int statusCount = 0;
+
+        while (true) {
+            int tag = input.readTag();
+            if (tag == 0) break;
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1:
+                    stationIds.add(input.readStringRequireUtf8());
+                    break;
+                case 2: {
+                    int limit = input.pushLimit(input.readRawVarint32());
+                    bookings.add(readBooking(input, stationIds));
+                    input.popLimit(limit);
+                    break;
+                }
+                case 3: {
+                    if (WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                        int limit = input.pushLimit(input.readRawVarint32());
+                        while (input.getBytesUntilLimit() > 0) {
+                            if (statusCount == statuses.length) statuses = Arrays.copyOf(statuses, Math.max(16, statusCount * 2));
+                            statuses[statusCount++] = input.readEnum();
+                        }
+                        input.popLimit(limit);
+                    } else {
+                        if (statusCount == statuses.length) statuses = Arrays.copyOf(statuses, Math.max(16, statusCount * 2));
+                        statuses[statusCount++] = input.readEnum();
+                    }
+                    break;
+                }
+                default:
+                    input.skipField(tag);
+            }
+        }
+
+        for (int i = 0; i < statusCount && i < bookings.size(); i++) {
+            bookings.get(i).status = statuses[i];
+        }
+        return bookings;
+    }
+
+    private static BookingApi readBooking(CodedInputStream input, List<String> stationIds) throws IOException {
+        BookingApi booking = new BookingApi();
+        while (true) {
+            int tag = input.readTag();
+            if (tag == 0) break;
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1: booking.id = input.readStringRequireUtf8(); break;
+                case 2: booking.ownerNIC = input.readStringRequireUtf8(); break;
+                case 3: {
+                    int index = input.readUInt32();
+                    booking.stationId = index < stationIds.size() ? stationIds.get(index) : null;
+                    break;
+                }
+                case 4: booking.startTime = time(input.readInt64()); break;
+                case 5: booking.endTime = time(input.readInt64()); break;
+                case 6: booking.qrCode = input.readStringRequireUtf8(); break;
+                case 7: booking.qrToken = input.readStringRequireUtf8(); break;
+                case 8: booking.totalAmount = input.readDouble(); break;
+                case 9: booking.createdAt = time(input.readInt64()); break;
+                case 10: booking.updatedAt = time(input.readInt64()); break;
+                case 11: booking.confirmedAt = time(input.readInt64()); break;
+                case 12: booking.cancelledAt = time(input.readInt64()); break;
+                default: input.skipField(tag);
+            }
+        }
+        // Station 0 is encoded as an absent index; resolve it when the list carries station ids.
+        if (booking.stationId == null && !stationIds.isEmpty()) booking.stationId = stationIds.get(0);
+        return booking;
+    }
+
+    // The rest of the app keeps times as ISO strings, like the JSON path delivers them.
+    private static String time(long epochMillis) {
+        return IsoTime.formatUtc(epochMillis);
+    }
+}
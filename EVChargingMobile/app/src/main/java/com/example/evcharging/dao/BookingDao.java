@@ -1,24 +1,44 @@
 package com.example.evcharging.dao;
 
 import androidx.room.Dao;
-import androidx.room.Insert;
-import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Upsert;
 import com.example.evcharging.models.Booking;
+import com.example.evcharging.models.BookingListing;
+import com.example.evcharging.utils.ObjectId;
 
 import java.util.List;
 
 @Dao
 public interface BookingDao {
 
-    // This now works because Booking is a valid @Entity
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insert(Booking booking);
+    // Upsert (insert-or-update) instead of REPLACE so the FTS sync triggers fire correctly.
+    @Upsert
+    void upsertAll(List<Booking> bookings);
+
+    // Same, for projected list responses: only the listed columns are written.
+    @Upsert(entity = Booking.class)
+    void upsertListings(List<BookingListing> listings);
 
     // This now works because we are querying the 'bookings' table for the Booking entity
     @Query("SELECT * FROM bookings WHERE ownerNIC = :nic")
     List<Booking> getBookingsByUserNic(String nic);
 
+    @Query("SELECT * FROM bookings WHERE stationId = :stationId")
+    List<Booking> getByStation(String stationId);
+
+    @Query("SELECT * FROM bookings WHERE id = :id")
+    Booking getById(ObjectId id);
+
+    // Ids whose hex starts with a typed prefix; a primary-key range scan (see ObjectId.prefixRange).
+    // Scoped like SearchDao.searchBookings.
+    @Query("SELECT * FROM bookings WHERE id BETWEEN :low AND :high " +
+            "AND (ownerNIC = :nic OR stationId IN (:stationIds))")
+    List<Booking> findByIdRange(ObjectId low, ObjectId high, String nic, List<String> stationIds);
+
+    @Query("UPDATE bookings SET status = :status WHERE id = :id")
+    void updateStatus(ObjectId id, int status);
+
     // This now works because it queries the correct 'bookings' table
     @Query("DELETE FROM bookings")
     void deleteAll();
@@ -0,0 +1,31 @@
+package com.example.evcharging.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.evcharging.models.Notification;
+
+import java.util.List;
+
+@Dao
+public abstract class NotificationDao {
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    public abstract void insertAll(List<Notification> notifications);
+
+    @Query("DELETE FROM notifications")
+    public abstract void deleteAll();
+
+    /**
+     * Replaces the stored notification history with the latest copy from the server.
+     * Runs as one transaction so the full-text index is never observed half-updated.
+     */
+    @Transaction
+    public void replaceAll(List<Notification> notifications) {
+        deleteAll();
+        insertAll(notifications);
+    }
+}
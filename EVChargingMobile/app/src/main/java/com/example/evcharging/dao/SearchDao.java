@@ -0,0 +1,29 @@
+package com.example.evcharging.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.evcharging.models.BookingSearchHit;
+import com.example.evcharging.models.NotificationSearchHit;
+
+import java.util.List;
+
+@Dao
+public interface SearchDao {
+
+    // Both searches only see rows of the signed-in account: its own notifications, and bookings
+    // it owns or that are at the stations it operates.
+
+    // 'pcx' gives per phrase/column hit counts, which LocalSearch.score turns into a relevance score.
+    // FTS4 has no built-in rank to order by, so every match is returned and ranked by the caller.
+    @Query("SELECT notifications.*, matchinfo(notifications_fts, 'pcx') AS matchInfo " +
+            "FROM notifications JOIN notifications_fts ON notifications.rowid = notifications_fts.rowid " +
+            "WHERE notifications_fts MATCH :match AND notifications.recipientNIC = :nic")
+    List<NotificationSearchHit> searchNotifications(String match, String nic);
+
+    @Query("SELECT bookings.*, matchinfo(bookings_fts, 'pcx') AS matchInfo " +
+            "FROM bookings JOIN bookings_fts ON bookings.rowid = bookings_fts.rowid " +
+            "WHERE bookings_fts MATCH :match " +
+            "AND (bookings.ownerNIC = :nic OR bookings.stationId IN (:stationIds))")
+    List<BookingSearchHit> searchBookings(String match, String nic, List<String> stationIds);
+}
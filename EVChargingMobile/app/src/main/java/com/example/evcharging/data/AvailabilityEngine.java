@@ -0,0 +1,234 @@
+/*
+ * File: AvailabilityEngine.java
+ * Purpose: Client-side slot availability per station, mirroring the backend's booking rules
+ */
+package com.example.evcharging.data;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.evcharging.api.ApiClient;
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.models.BookingInterval;
+import com.example.evcharging.models.Station;
+import com.example.evcharging.utils.IsoTime;
+import com.example.evcharging.utils.ObjectId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+// Schedules are read and mutated on the main thread only (Retrofit callbacks and UI events).
+public class AvailabilityEngine {
+
+    private static final String TAG = "AvailabilityEngine";
+
+    // Same limits as BookingService.ValidateBookingTimes on the backend.
+    private static final long HOUR_MS = 60 * 60 * 1000L;
+    public static final long MIN_DURATION_MS = HOUR_MS;
+    public static final long MAX_DURATION_MS = 24 * HOUR_MS;
+    public static final long MAX_ADVANCE_MS = 7 * 24 * HOUR_MS;
+
+    // Suggestions are aligned to this step so they read naturally in the picker.
+    private static final long SUGGESTION_STEP_MS = 15 * 60 * 1000L;
+    // Schedules older than this are refetched before the next check.
+    private static final long SCHEDULE_TTL_MS = 2 * 60 * 1000L;
+
+    // Backend BookingStatus values that hold a slot: Active = 0, Confirmed = 1.
+    private static final int STATUS_ACTIVE = 0;
+    private static final int STATUS_CONFIRMED = 1;
+
+    /**
+     * Outcome of validating a requested window.
+     */
+    public static final class Verdict {
+        public final boolean ok;
+        public final String message;
+
+        Verdict(boolean ok, String message) {
+            this.ok = ok;
+            this.message = message;
+        }
+    }
+
+    public interface LoadCallback {
+        void onLoaded(String stationId);
+    }
+
+    private static final class Schedule {
+        final IntervalTree tree = new IntervalTree();
+        long loadedAt;
+    }
+
+    private static final AvailabilityEngine INSTANCE = new AvailabilityEngine();
+
+    private final Map<String, Schedule> schedules = new ConcurrentHashMap<>();
+
+    private AvailabilityEngine() {}
+
+    public static AvailabilityEngine getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isLoaded(String stationId) {
+        return stationId != null && schedules.containsKey(stationId);
+    }
+
+    /**
+     * Fetches the occupancy for the bookable horizon unless a fresh copy is already held.
+     * The callback runs on the main thread.
+     */
+    public void load(String authToken, final String stationId, final LoadCallback callback) {
+        Schedule existing = schedules.get(stationId);
+        if (existing != null && System.currentTimeMillis() - existing.loadedAt < SCHEDULE_TTL_MS) {
+            callback.onLoaded(stationId);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String from = IsoTime.formatUtc(now - MAX_DURATION_MS);
+        String to = IsoTime.formatUtc(now + MAX_ADVANCE_MS + MAX_DURATION_MS);
+
+        ApiClient.getApiService().getStationOccupancy(authToken, stationId, from, to).enqueue(new Callback<List<BookingInterval>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<BookingInterval>> call, @NonNull Response<List<BookingInterval>> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    Schedule schedule = new Schedule();
+                    int anonymous = 0;
+                    for (BookingInterval interval : response.body()) {
+                        // Other owners' bookings come without an id. Keys with a zero timestamp
+                        // are never real ObjectIds, so they cannot clash with the user's own.
+                        ObjectId key = interval.id != null ? ObjectId.parse(interval.id) : new ObjectId(0L, ++anonymous);
+                        apply(schedule.tree, key, interval.startTime, interval.endTime, interval.status);
+                    }
+                    schedule.loadedAt = System.currentTimeMillis();
+                    schedules.put(stationId, schedule);
+                    callback.onLoaded(stationId);
+                } else {
+                    Log.e(TAG, "Occupancy fetch failed. Code: " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<BookingInterval>> call, @NonNull Throwable t) {
+                Log.e(TAG, "Occupancy fetch failed: " + t.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Validates a window with the same rules the backend applies, so doomed requests are
+     * never sent. Returns ok when the station's schedule has not been loaded yet.
+     */
+    public Verdict check(Station station, long start, long end) {
+        long now = System.currentTimeMillis();
+        if (start <= now) return new Verdict(false, "Start time must be in the future");
+        if (end <= start) return new Verdict(false, "End time must be after start time");
+        if (start > now + MAX_ADVANCE_MS) return new Verdict(false, "Bookings can only be made up to 7 days in advance");
+        if (end - start < MIN_DURATION_MS) return new Verdict(false, "Minimum booking duration is 1 hour");
+        if (end - start > MAX_DURATION_MS) return new Verdict(false, "Maximum booking duration is 24 hours");
+        if (station == null) return new Verdict(false, "Please select a station");
+        if (station.availableSlots <= 0) return new Verdict(false, "No available slots at this charging station");
+
+        Schedule schedule = schedules.get(station.id);
+        if (schedule != null && !hasCapacity(schedule, station, start, end)) {
+            return new Verdict(false, "No available slots for the requested time period");
+        }
+        return new Verdict(true, "Slot available");
+    }
+
+    /**
+     * Suggests up to n windows of the given duration at or after the requested start that the
+     * backend would accept. Candidates are the requested start, every step after it, and the
+     * end of each blocking booking, which is where capacity can first free up.
+     */
+    public List<long[]> suggest(Station station, long requestedStart, long duration, int n) {
+        List<long[]> out = new ArrayList<>();
+        Schedule schedule = station != null ? schedules.get(station.id) : null;
+        if (schedule == null || n <= 0) return out;
+
+        long now = System.currentTimeMillis();
+        long candidate = Math.max(requestedStart, roundUp(now + 1, SUGGESTION_STEP_MS));
+        long horizon = now + MAX_ADVANCE_MS;
+
+        while (candidate <= horizon && out.size() < n) {
+            long end = candidate + duration;
+            if (hasCapacity(schedule, station, candidate, end)) {
+                out.add(new long[]{candidate, end});
+                candidate += Math.max(duration, SUGGESTION_STEP_MS);
+            } else {
+                // Jump to the earliest end among the blocking bookings instead of stepping blindly.
+                long next = Long.MAX_VALUE;
+                for (IntervalTree.Interval blocking : schedule.tree.overlapping(candidate, end)) {
+                    if (blocking.end > candidate && blocking.end < next) next = blocking.end;
+                }
+                candidate = next == Long.MAX_VALUE ? candidate + SUGGESTION_STEP_MS : roundUp(next, SUGGESTION_STEP_MS);
+            }
+        }
+        return out;
+    }
+
+    // Backend rule: the count of overlapping Active/Confirmed bookings must stay below TotalSlots.
+    private static boolean hasCapacity(Schedule schedule, Station station, long start, long end) {
+        return schedule.tree.countOverlapping(start, end) < Math.max(1, station.totalSlots);
+    }
+
+    // --- Incremental updates ---
+
+    /**
+     * Records a booking this client just created so the next check sees it without a refetch.
+     */
+    public void onBookingCreated(String stationId, String bookingId, long start, long end) {
+        Schedule schedule = schedules.get(stationId);
+        ObjectId id = ObjectId.parse(bookingId);
+        if (schedule != null && id != null) {
+            schedule.tree.put(id, start, end);
+        }
+    }
+
+    /**
+     * Frees the slot held by a cancelled booking.
+     */
+    public void onBookingCancelled(String stationId, String bookingId) {
+        Schedule schedule = stationId != null ? schedules.get(stationId) : null;
+        ObjectId id = ObjectId.parse(bookingId);
+        if (schedule != null && id != null) {
+            schedule.tree.remove(id);
+        }
+    }
+
+    /**
+     * Folds freshly fetched bookings into any loaded schedules, adding or removing them
+     * according to their current status.
+     */
+    public void applyBookings(List<BookingApi> bookings) {
+        if (bookings == null) return;
+        for (BookingApi booking : bookings) {
+            Schedule schedule = booking.stationId != null ? schedules.get(booking.stationId) : null;
+            if (schedule != null) {
+                apply(schedule.tree, ObjectId.parse(booking.id), booking.startTime, booking.endTime, booking.status);
+            }
+        }
+    }
+
+    private static void apply(IntervalTree tree, @Nullable ObjectId id, String startTime, String endTime, int status) {
+        if (id == null) return;
+        long start = IsoTime.parseMillis(startTime);
+        long end = IsoTime.parseMillis(endTime);
+        if ((status == STATUS_ACTIVE || status == STATUS_CONFIRMED) && start != IsoTime.INVALID && end != IsoTime.INVALID) {
+            tree.put(id, start, end);
+        } else {
+            tree.remove(id);
+        }
+    }
+
+    private static long roundUp(long value, long step) {
+        return ((value + step - 1) / step) * step;
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * File: BookingColumns.java
+ * Purpose: Immutable column-per-field store for large booking lists, read by row index
+ */
+package com.example.evcharging.data;
+
+import androidx.annotation.Nullable;
+
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.utils.IsoTime;
+import com.example.evcharging.utils.ObjectId;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds bookings as parallel primitive arrays instead of one BookingApi per row: ids are the
+ * 12 ObjectId bytes split over a long and an int column, times are epoch milliseconds, and
+ * station ids and owner NICs are dictionary codes into a table of distinct values. Rows are
+ * ordered latest start first. Filters and sorts run over the arrays and return row numbers.
+ * <p>
+ * Only the fields the operator screens use are kept; qrCode and qrToken are dropped.
+ */
+public final class BookingColumns {
+
+    public static final BookingColumns EMPTY = new Builder(0).build();
+
+    private final int size;
+    private final long[] idHigh;
+    private final int[] idLow;
+    private final int[] stationCodes;
+    private final String[] stations;
+    private final int[] ownerCodes;
+    private final String[] owners;
+    private final Map<String, Integer> ownerDictionary;
+    private final int[] statuses;
+    private final long[] startMillis;
+    private final long[] endMillis;
+    private final long[] createdMillis;
+    private final long[] updatedMillis;
+    private final double[] amounts;
+    // Open-addressing table of row + 1 keyed by id hash; 0 marks a free slot.
+    private final int[] idSlots;
+
+    private BookingColumns(int size, long[] idHigh, int[] idLow, int[] stationCodes, String[] stations,
+                           int[] ownerCodes, String[] owners, Map<String, Integer> ownerDictionary, int[] statuses,
+                           long[] startMillis, long[] endMillis, long[] createdMillis, long[] updatedMillis,
+                           double[] amounts, int[] idSlots) {
+        this.size = size;
+        this.idHigh = idHigh;
+        this.idLow = idLow;
+        this.stationCodes = stationCodes;
+        this.stations = stations;
+        this.ownerCodes = ownerCodes;
+        this.owners = owners;
+        this.ownerDictionary = ownerDictionary;
+        this.statuses = statuses;
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+        this.createdMillis = createdMillis;
+        this.updatedMillis = updatedMillis;
+        this.amounts = amounts;
+        this.idSlots = idSlots;
+    }
+
+    public static BookingColumns of(List<BookingApi> bookings) {
+        Builder builder = new Builder(bookings.size());
+        for (BookingApi booking : bookings) builder.add(booking);
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public ObjectId id(int row) {
+        return new ObjectId(idHigh[row], idLow[row]);
+    }
+
+    @Nullable
+    public String stationId(int row) {
+        return stations[stationCodes[row]];
+    }
+
+    @Nullable
+    public String ownerNic(int row) {
+        return owners[ownerCodes[row]];
+    }
+
+    public int status(int row) {
+        return statuses[row];
+    }
+
+    /**
+     * @return epoch milliseconds, or {@link IsoTime#INVALID} if the server sent no usable time
+     */
+    public long startMillis(int row) {
+        return startMillis[row];
+    }
+
+    public long endMillis(int row) {
+        return endMillis[row];
+    }
+
+    public long updatedMillis(int row) {
+        return updatedMillis[row];
+    }
+
+    public double amount(int row) {
+        return amounts[row];
+    }
+
+    /**
+     * @return the row holding {@code id}, or -1. Compares two primitives per probe.
+     */
+    public int indexOf(@Nullable ObjectId id) {
+        if (id == null || size == 0) return -1;
+        long high = id.high();
+        int low = id.low();
+        int mask = idSlots.length - 1;
+        for (int slot = ObjectId.hash(high, low) & mask; idSlots[slot] != 0; slot = (slot + 1) & mask) {
+            int row = idSlots[slot] - 1;
+            if (idHigh[row] == high && idLow[row] == low) return row;
+        }
+        return -1;
+    }
+
+    /**
+     * Rows booked by {@code nic}, latest start first. Compares dictionary codes, not strings.
+     */
+    public int[] rowsForOwner(@Nullable String nic) {
+        Integer code = nic == null ? null : ownerDictionary.get(nic);
+        if (code == null) return new int[0];
+        int[] rows = new int[8];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (ownerCodes[row] != code) continue;
+            if (count == rows.length) rows = Arrays.copyOf(rows, count * 2);
+            rows[count++] = row;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Rows whose status is in {@code statusMask} (bit {@code 1 << status}) and whose slot overlaps
+     * [fromMillis, toMillis), in row order.
+     */
+    public int[] select(int statusMask, long fromMillis, long toMillis) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if ((statusMask & (1 << statuses[row])) != 0 && startMillis[row] < toMillis && endMillis[row] > fromMillis) {
+                rows[count++] = row;
+            }
+        }
+        return count == size ? rows : Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * The rows whose slot overlaps [fromMillis, toMillis), in row order; this store itself when
+     * every row does.
+     */
+    public BookingColumns within(long fromMillis, long toMillis) {
+        int[] rows = select(-1, fromMillis, toMillis);
+        if (rows.length == size) return this;
+        Builder builder = new Builder(rows.length);
+        for (int row : rows) builder.add(this, row);
+        return builder.build();
+    }
+
+    /**
+     * A copy of the row as an API model, for code paths that take one booking at a time.
+     */
+    public BookingApi toApi(int row) {
+        BookingApi booking = new BookingApi(id(row).toHex(), ownerNic(row), stationId(row), time(startMillis[row]),
+                time(endMillis[row]), statuses[row]);
+        booking.totalAmount = amounts[row];
+        booking.createdAt = time(createdMillis[row]);
+        booking.updatedAt = time(updatedMillis[row]);
+        return booking;
+    }
+
+    /**
+     * Same rows with one status changed. Only the status column is copied; the rest is shared.
+     */
+    public BookingColumns withStatus(int row, int status) {
+        int[] changed = statuses.clone();
+        changed[row] = status;
+        return new BookingColumns(size, idHigh, idLow, stationCodes, stations, ownerCodes, owners, ownerDictionary,
+                changed, startMillis, endMillis, createdMillis, updatedMillis, amounts, idSlots);
+    }
+
+    /**
+     * Merges stores that are each latest start first into one, comparing only the heads of the
+     * runs. Equal starts keep the order of the runs.
+     */
+    public static BookingColumns mergeDescending(List<BookingColumns> runs) {
+        int total = 0;
+        for (BookingColumns run : runs) total += run.size;
+        Builder builder = new Builder(total);
+        int[] heads = new int[runs.size()];
+        // A handful of stations at most, so a linear scan for the next head beats a heap.
+        while (true) {
+            int best = -1;
+            long bestStart = Long.MIN_VALUE;
+            for (int r = 0; r < heads.length; r++) {
+                BookingColumns run = runs.get(r);
+                if (heads[r] < run.size && (best < 0 || run.startMillis[heads[r]] > bestStart)) {
+                    best = r;
+                    bestStart = run.startMillis[heads[r]];
+                }
+            }
+            if (best < 0) break;
+            builder.add(runs.get(best), heads[best]++);
+        }
+        return builder.build();
+    }
+
+    private static String time(long millis) {
+        return millis == IsoTime.INVALID ? null : IsoTime.formatUtc(millis);
+    }
+
+    /**
+     * Collects rows, later rows replacing earlier ones with the same id, and sorts them on build.
+     * Not thread-safe; build on one thread and publish the result.
+     */
+    public static final class Builder {
+        private int size;
+        private long[] idHigh;
+        private int[] idLow;
+        private int[] stationCodes;
+        private int[] ownerCodes;
+        private int[] statuses;
+        private long[] startMillis;
+        private long[] endMillis;
+        private long[] createdMillis;
+        private long[] updatedMillis;
+        private double[] amounts;
+        private final Map<ObjectId, Integer> rowById;
+        private final Dictionary stations = new Dictionary();
+        private final Dictionary owners = new Dictionary();
+
+        public Builder(int capacity) {
+            int initial = Math.max(8, capacity);
+            idHigh = new long[initial];
+            idLow = new int[initial];
+            stationCodes = new int[initial];
+            ownerCodes = new int[initial];
+            statuses = new int[initial];
+            startMillis = new long[initial];
+            endMillis = new long[initial];
+            createdMillis = new long[initial];
+            updatedMillis = new long[initial];
+            amounts = new double[initial];
+            rowById = new HashMap<>(Math.max(16, capacity * 2));
+        }
+
+        /**
+         * Adds a booking from the API; rows whose id is not an ObjectId are skipped.
+         */
+        public Builder add(BookingApi booking) {
+            ObjectId id = booking == null ? null : ObjectId.parse(booking.id);
+            if (id == null) return this;
+            int row = rowFor(id);
+            stationCodes[row] = stations.code(booking.stationId);
+            ownerCodes[row] = owners.code(booking.ownerNIC);
+            statuses[row] = booking.status;
+            startMillis[row] = IsoTime.parseMillis(booking.startTime);
+            endMillis[row] = IsoTime.parseMillis(booking.endTime);
+            createdMillis[row] = IsoTime.parseMillis(booking.createdAt);
+            updatedMillis[row] = IsoTime.parseMillis(booking.updatedAt);
+            amounts[row] = booking.totalAmount;
+            return this;
+        }
+
+        /**
+         * Copies one row of another store without going through strings.
+         */
+        public Builder add(BookingColumns source, int sourceRow) {
+            int row = rowFor(source.id(sourceRow));
+            stationCodes[row] = stations.code(source.stationId(sourceRow));
+            ownerCodes[row] = owners.code(source.ownerNic(sourceRow));
+            statuses[row] = source.statuses[sourceRow];
+            startMillis[row] = source.startMillis[sourceRow];
+            endMillis[row] = source.endMillis[sourceRow];
+            createdMillis[row] = source.createdMillis[sourceRow];
+            updatedMillis[row] = source.updatedMillis[sourceRow];
+            amounts[row] = source.amounts[sourceRow];
+            return this;
+        }
+
+        public Builder addAll(BookingColumns source) {
+            for (int row = 0; row < source.size; row++) add(source, row);
+            return this;
+        }
+
+        /**
+         * Orders the rows latest start first (stable) and compacts the arrays.
+         */
+        public BookingColumns build() {
+            int[] order = orderByStartDescending(startMillis, size);
+            long[] sortedIdHigh = new long[size];
+            int[] sortedIdLow = new int[size];
+            int[] sortedStations = new int[size];
+            int[] sortedOwners = new int[size];
+            int[] sortedStatuses = new int[size];
+            long[] sortedStarts = new long[size];
+            long[] sortedEnds = new long[size];
+            long[] sortedCreated = new long[size];
+            long[] sortedUpdated = new long[size];
+            double[] sortedAmounts = new double[size];
+            for (int i = 0; i < size; i++) {
+                int from = order[i];
+                sortedIdHigh[i] = idHigh[from];
+                sortedIdLow[i] = idLow[from];
+                sortedStations[i] = stationCodes[from];
+                sortedOwners[i] = ownerCodes[from];
+                sortedStatuses[i] = statuses[from];
+                sortedStarts[i] = startMillis[from];
+                sortedEnds[i] = endMillis[from];
+                sortedCreated[i] = createdMillis[from];
+                sortedUpdated[i] = updatedMillis[from];
+                sortedAmounts[i] = amounts[from];
+            }
+            return new BookingColumns(size, sortedIdHigh, sortedIdLow, sortedStations, stations.values(), sortedOwners,
+                    owners.values(), owners.codes, sortedStatuses, sortedStarts, sortedEnds, sortedCreated,
+                    sortedUpdated, sortedAmounts, idTable(sortedIdHigh, sortedIdLow, size));
+        }
+
+        private int rowFor(ObjectId id) {
+            Integer existing = rowById.get(id);
+            if (existing != null) return existing;
+            if (size == idHigh.length) grow();
+            rowById.put(id, size);
+            idHigh[size] = id.high();
+            idLow[size] = id.low();
+            return size++;
+        }
+
+        private void grow() {
+            int capacity = idHigh.length * 2;
+            idHigh = Arrays.copyOf(idHigh, capacity);
+            idLow = Arrays.copyOf(idLow, capacity);
+            stationCodes = Arrays.copyOf(stationCodes, capacity);
+            ownerCodes = Arrays.copyOf(ownerCodes, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            startMillis = Arrays.copyOf(startMillis, capacity);
+            endMillis = Arrays.copyOf(endMillis, capacity);
+            createdMillis = Arrays.copyOf(createdMillis, capacity);
+            updatedMillis = Arrays.copyOf(updatedMillis, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+        }
+    }
+
+    // Distinct strings in first-seen order; code 0 is reserved for null.
+    private static final class Dictionary {
+        final Map<String, Integer> codes = new HashMap<>();
+        private String[] values = new String[8];
+        private int count = 1;
+
+        int code(@Nullable String value) {
+            if (value == null) return 0;
+            Integer code = codes.get(value);
+            if (code != null) return code;
+            if (count == values.length) values = Arrays.copyOf(values, count * 2);
+            values[count] = value;
+            codes.put(value, count);
+            return count++;
+        }
+
+        String[] values() {
+            return Arrays.copyOf(values, count);
+        }
+    }
+
+    private static int[] idTable(long[] idHigh, int[] idLow, int size) {
+        int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+        int[] slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int row = 0; row < size; row++) {
+            int slot = ObjectId.hash(idHigh[row], idLow[row]) & mask;
+            while (slots[slot] != 0) slot = (slot + 1) & mask;
+            slots[slot] = row + 1;
+        }
+        return slots;
+    }
+
+    // Stable merge sort of row numbers by start; input that is already in order costs one pass.
+    private static int[] orderByStartDescending(long[] start, int size) {
+        int[] order = new int[size];
+        boolean sorted = true;
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            if (i > 0 && start[i] > start[i - 1]) sorted = false;
+        }
+        if (!sorted) mergeSort(order, new int[size], 0, size, start);
+        return order;
+    }
+
+    private static void mergeSort(int[] rows, int[] scratch, int from, int to, long[] start) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, scratch, from, mid, start);
+        mergeSort(rows, scratch, mid, to, start);
+        if (start[rows[mid - 1]] >= start[rows[mid]]) return;
+        System.arraycopy(rows, from, scratch, from, to - from);
+        int left = from, right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && start[scratch[left]] >= start[scratch[right]])) {
+                rows[i] = scratch[left++];
+            } else {
+                rows[i] = scratch[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * File: BookingSections.java
+ * Purpose: Filtered operator booking list grouped into hour slots, laid out as adapter positions
+ */
+package com.example.evcharging.data;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+
+/**
+ * Maps adapter positions onto a {@link BookingColumns}: each position is either a section header
+ * for one local hour or a row of the columns. Built off the main thread; the adapter only reads
+ * the arrays, so swapping in a new filter costs a reference assignment and a rebind of the rows
+ * on screen.
+ */
+public final class BookingSections {
+
+    public static final long HOUR_MS = 60 * 60 * 1000L;
+
+    public static final BookingSections EMPTY = new BookingSections(BookingColumns.EMPTY, new int[0], new long[0],
+            new int[0], new int[0]);
+
+    public final BookingColumns rows;
+    // Row number at each position, or ~section for a header.
+    private final int[] items;
+    private final long[] sectionHours;
+    private final int[] sectionCounts;
+    // Position of the header each position belongs to, for the sticky header.
+    private final int[] headerPositions;
+
+    private BookingSections(BookingColumns rows, int[] items, long[] sectionHours, int[] sectionCounts,
+                            int[] headerPositions) {
+        this.rows = rows;
+        this.items = items;
+        this.sectionHours = sectionHours;
+        this.sectionCounts = sectionCounts;
+        this.headerPositions = headerPositions;
+    }
+
+    /**
+     * Selects the rows whose status is in {@code statusMask} (bit {@code 1 << status}) and whose
+     * slot overlaps [fromMillis, toMillis), and starts a section wherever the local start hour
+     * changes. Rows keep the columns' order, latest start first, so each hour is contiguous.
+     */
+    public static BookingSections build(BookingColumns rows, int statusMask, long fromMillis, long toMillis,
+                                        TimeZone zone) {
+        int[] selected = rows.select(statusMask, fromMillis, toMillis);
+        if (selected.length == 0) return new BookingSections(rows, new int[0], new long[0], new int[0], new int[0]);
+
+        int[] items = new int[selected.length * 2];
+        int[] headerPositions = new int[items.length];
+        long[] sectionHours = new long[8];
+        int[] sectionCounts = new int[8];
+        int size = 0;
+        int sections = 0;
+        int header = -1;
+        long currentHour = Long.MIN_VALUE;
+        for (int row : selected) {
+            long hour = startOfHour(rows.startMillis(row), zone);
+            if (header < 0 || hour != currentHour) {
+                if (sections == sectionHours.length) {
+                    sectionHours = Arrays.copyOf(sectionHours, sections * 2);
+                    sectionCounts = Arrays.copyOf(sectionCounts, sections * 2);
+                }
+                currentHour = hour;
+                sectionHours[sections] = hour;
+                header = size;
+                headerPositions[size] = header;
+                items[size++] = ~sections++;
+            }
+            sectionCounts[sections - 1]++;
+            headerPositions[size] = header;
+            items[size++] = row;
+        }
+        return new BookingSections(rows, Arrays.copyOf(items, size), Arrays.copyOf(sectionHours, sections),
+                Arrays.copyOf(sectionCounts, sections), Arrays.copyOf(headerPositions, size));
+    }
+
+    // Local hours, so zones with half-hour offsets still break on the wall-clock hour.
+    static long startOfHour(long millis, TimeZone zone) {
+        long local = millis + zone.getOffset(millis);
+        return millis - Math.floorMod(local, HOUR_MS);
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    public boolean isEmpty() {
+        return items.length == 0;
+    }
+
+    public int bookingCount() {
+        return items.length - sectionHours.length;
+    }
+
+    public boolean isHeader(int position) {
+        return items[position] < 0;
+    }
+
+    /**
+     * @return the row in {@link #rows} shown at a booking position
+     */
+    public int row(int position) {
+        return items[position];
+    }
+
+    /**
+     * @return the position of the header above {@code position}, or -1 for an empty list
+     */
+    public int headerPosition(int position) {
+        return position < 0 || position >= headerPositions.length ? -1 : headerPositions[position];
+    }
+
+    /**
+     * @return start of the hour slot a header stands for, epoch milliseconds
+     */
+    public long sectionHour(int headerPosition) {
+        return sectionHours[~items[headerPosition]];
+    }
+
+    public int sectionCount(int headerPosition) {
+        return sectionCounts[~items[headerPosition]];
+    }
+}
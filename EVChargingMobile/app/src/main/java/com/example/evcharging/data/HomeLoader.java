@@ -0,0 +1,176 @@
+/*
+ * File: HomeLoader.java
+ * Purpose: Loads the owner dashboard in one round trip, falling back to a parallel fan-out of the separate calls
+ */
+package com.example.evcharging.data;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.evcharging.api.ApiClient;
+import com.example.evcharging.api.ApiService;
+import com.example.evcharging.api.BookingFields;
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.models.HomeSummary;
+import com.example.evcharging.models.NotificationSummary;
+import com.example.evcharging.models.Station;
+import com.example.evcharging.models.User;
+import com.example.evcharging.utils.IsoTime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+public class HomeLoader {
+
+    private static final String TAG = "HomeLoader";
+
+    // Same limits the home endpoint applies by default, so both paths render the same screen.
+    static final int BOOKING_LIMIT = 10;
+    static final int STATION_LIMIT = 20;
+
+    private static final int STATUS_ACTIVE = 0;
+    private static final int STATUS_CONFIRMED = 1;
+
+    public enum Source { AGGREGATE, FAN_OUT }
+
+    /**
+     * Called on the main thread with either the summary or an error message.
+     */
+    public interface Callback {
+        void onLoaded(HomeSummary summary, Source source);
+
+        void onFailed(String message);
+    }
+
+    // Set once the server says it has no home endpoint; later loads go straight to the fan-out.
+    private static volatile boolean aggregateMissing;
+
+    private HomeLoader() {}
+
+    public static void load(String authToken, Callback callback) {
+        ApiService api = ApiClient.getApiService();
+        if (aggregateMissing) {
+            fanOut(api, authToken, callback);
+            return;
+        }
+        api.getHome(authToken).enqueue(new retrofit2.Callback<HomeSummary>() {
+            @Override
+            public void onResponse(@NonNull Call<HomeSummary> call, @NonNull Response<HomeSummary> response) {
+                HomeSummary body = response.body();
+                if (response.isSuccessful() && body != null) {
+                    if (body.upcomingBookings == null) body.upcomingBookings = Collections.emptyList();
+                    if (body.nearbyStations == null) body.nearbyStations = Collections.emptyList();
+                    callback.onLoaded(body, Source.AGGREGATE);
+                } else if (response.code() == 401 || response.code() == 403) {
+                    // The separate calls would be refused as well.
+                    callback.onFailed("Session expired. Please login again.");
+                } else {
+                    if (response.code() == 404 || response.code() == 501) aggregateMissing = true;
+                    Log.w(TAG, "Home endpoint unavailable (" + response.code() + "), fanning out");
+                    fanOut(api, authToken, callback);
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<HomeSummary> call, @NonNull Throwable t) {
+                Log.w(TAG, "Home endpoint failed, fanning out: " + t.getMessage());
+                fanOut(api, authToken, callback);
+            }
+        });
+    }
+
+    /**
+     * Issues the four existing calls at once and assembles the summary when the last one lands.
+     * Only the bookings are required; a missing profile, count or station list degrades to empty.
+     */
+    private static void fanOut(ApiService api, String authToken, Callback callback) {
+        final FanIn fanIn = new FanIn(4, callback);
+
+        api.getMyProfile(authToken).enqueue(fanIn.part((User profile) -> fanIn.profile = profile));
+        // Only bookings still holding a slot, trimmed to what a dashboard card shows.
+        api.getMyBookings(authToken, BookingFields.UPCOMING_STATUSES, IsoTime.formatUtc(System.currentTimeMillis()), null,
+                BookingFields.OWNER_CARD).enqueue(fanIn.part((List<BookingApi> bookings) -> fanIn.bookings = bookings));
+        api.getNotificationSummary(authToken).enqueue(fanIn.part((NotificationSummary summary) -> fanIn.unread = summary.unreadNotifications));
+        api.getActiveStations(authToken).enqueue(fanIn.part((List<Station> stations) -> fanIn.stations = stations));
+    }
+
+    private interface Sink<T> {
+        void accept(T value);
+    }
+
+    // Retrofit delivers callbacks on the main thread, so the fan-in needs no locking.
+    private static final class FanIn {
+        private final Callback callback;
+        private int remaining;
+
+        User profile;
+        List<BookingApi> bookings;
+        int unread;
+        List<Station> stations;
+
+        FanIn(int parts, Callback callback) {
+            this.remaining = parts;
+            this.callback = callback;
+        }
+
+        <T> retrofit2.Callback<T> part(Sink<T> sink) {
+            return new retrofit2.Callback<T>() {
+                @Override
+                public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+                    if (response.isSuccessful() && response.body() != null) sink.accept(response.body());
+                    arrive();
+                }
+
+                @Override
+                public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+                    Log.w(TAG, "Fan-out call failed: " + t.getMessage());
+                    arrive();
+                }
+            };
+        }
+
+        private void arrive() {
+            if (--remaining > 0) return;
+            if (bookings == null) {
+                callback.onFailed("Failed to load your bookings. Please try again.");
+                return;
+            }
+            HomeSummary summary = new HomeSummary();
+            summary.profile = profile;
+            summary.upcomingBookings = upcoming(bookings);
+            summary.unreadNotifications = unread;
+            summary.nearbyStations = bookable(stations != null ? stations : Collections.emptyList());
+            summary.generatedAt = IsoTime.formatUtc(System.currentTimeMillis());
+            callback.onLoaded(summary, Source.FAN_OUT);
+        }
+    }
+
+    // Mirrors the server's selection: active or confirmed, not yet ended, earliest first.
+    private static List<BookingApi> upcoming(List<BookingApi> bookings) {
+        long now = System.currentTimeMillis();
+        List<BookingApi> upcoming = new ArrayList<>();
+        for (BookingApi booking : bookings) {
+            if ((booking.status == STATUS_ACTIVE || booking.status == STATUS_CONFIRMED)
+                    && IsoTime.parseMillis(booking.endTime) > now) {
+                upcoming.add(booking);
+            }
+        }
+        Collections.sort(upcoming, (a, b) -> Long.compare(IsoTime.parseMillis(a.startTime), IsoTime.parseMillis(b.startTime)));
+        return upcoming.size() > BOOKING_LIMIT ? new ArrayList<>(upcoming.subList(0, BOOKING_LIMIT)) : upcoming;
+    }
+
+    // Mirrors the server's selection: active stations with a free slot, most free slots first.
+    private static List<Station> bookable(List<Station> stations) {
+        List<Station> bookable = new ArrayList<>();
+        for (Station station : stations) {
+            if (station.isActive() && station.availableSlots > 0) bookable.add(station);
+        }
+        Collections.sort(bookable, (a, b) -> Integer.compare(b.availableSlots, a.availableSlots));
+        return bookable.size() > STATION_LIMIT ? new ArrayList<>(bookable.subList(0, STATION_LIMIT)) : bookable;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * File: IntervalTree.java
+ * Purpose: Augmented treap of half-open [start, end) intervals keyed by booking id
+ */
+package com.example.evcharging.data;
+
+import com.example.evcharging.utils.ObjectId;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class IntervalTree {
+
+    /**
+     * A stored interval. Times are epoch milliseconds; end is exclusive.
+     */
+    public static final class Interval {
+        public final ObjectId id;
+        public final long start;
+        public final long end;
+
+        Interval(ObjectId id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class Node {
+        final Interval interval;
+        final int priority;
+        long maxEnd;
+        Node left, right;
+
+        Node(Interval interval, int priority) {
+            this.interval = interval;
+            this.priority = priority;
+            this.maxEnd = interval.end;
+        }
+    }
+
+    private final Random random = new Random();
+    private final Map<ObjectId, Interval> byId = new HashMap<>();
+    private Node root;
+
+    public int size() {
+        return byId.size();
+    }
+
+    public boolean contains(ObjectId id) {
+        return byId.containsKey(id);
+    }
+
+    /**
+     * Inserts or replaces the interval stored under id. O(log n) expected.
+     */
+    public void put(ObjectId id, long start, long end) {
+        if (end <= start) return;
+        Interval existing = byId.get(id);
+        if (existing != null) {
+            if (existing.start == start && existing.end == end) return;
+            remove(id);
+        }
+        Interval interval = new Interval(id, start, end);
+        byId.put(id, interval);
+        root = insert(root, new Node(interval, random.nextInt()));
+    }
+
+    /**
+     * Removes the interval stored under id, if any. O(log n) expected.
+     */
+    public void remove(ObjectId id) {
+        Interval interval = byId.remove(id);
+        if (interval != null) {
+            root = delete(root, interval);
+        }
+    }
+
+    public void clear() {
+        byId.clear();
+        root = null;
+    }
+
+    /**
+     * Counts intervals overlapping [start, end). O(log n + k).
+     */
+    public int countOverlapping(long start, long end) {
+        return countOverlapping(root, start, end);
+    }
+
+    /**
+     * Returns intervals overlapping [start, end), in start order.
+     */
+    public List<Interval> overlapping(long start, long end) {
+        List<Interval> out = new ArrayList<>();
+        collect(root, start, end, out);
+        return out;
+    }
+
+    // --- Treap internals; ordered by (start, id) ---
+
+    private static int compare(Interval a, Interval b) {
+        int c = Long.compare(a.start, b.start);
+        return c != 0 ? c : a.id.compareTo(b.id);
+    }
+
+    private static void update(Node n) {
+        long max = n.interval.end;
+        if (n.left != null && n.left.maxEnd > max) max = n.left.maxEnd;
+        if (n.right != null && n.right.maxEnd > max) max = n.right.maxEnd;
+        n.maxEnd = max;
+    }
+
+    private static Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+
+    private static Node insert(Node n, Node node) {
+        if (n == null) return node;
+        if (compare(node.interval, n.interval) < 0) {
+            n.left = insert(n.left, node);
+            if (n.left.priority > n.priority) n = rotateRight(n);
+        } else {
+            n.right = insert(n.right, node);
+            if (n.right.priority > n.priority) n = rotateLeft(n);
+        }
+        update(n);
+        return n;
+    }
+
+    private static Node delete(Node n, Interval target) {
+        if (n == null) return null;
+        int c = compare(target, n.interval);
+        if (c < 0) {
+            n.left = delete(n.left, target);
+        } else if (c > 0) {
+            n.right = delete(n.right, target);
+        } else {
+            if (n.left == null) return n.right;
+            if (n.right == null) return n.left;
+            if (n.left.priority > n.right.priority) {
+                n = rotateRight(n);
+                n.right = delete(n.right, target);
+            } else {
+                n = rotateLeft(n);
+                n.left = delete(n.left, target);
+            }
+        }
+        update(n);
+        return n;
+    }
+
+    private static int countOverlapping(Node n, long start, long end) {
+        // Nothing in this subtree ends after the query starts.
+        if (n == null || n.maxEnd <= start) return 0;
+        int count = countOverlapping(n.left, start, end);
+        // The right subtree starts no earlier than this node, so skip it once this node starts too late.
+        if (n.interval.start < end) {
+            if (n.interval.end > start) count++;
+            count += countOverlapping(n.right, start, end);
+        }
+        return count;
+    }
+
+    private static void collect(Node n, long start, long end, List<Interval> out) {
+        if (n == null || n.maxEnd <= start) return;
+        collect(n.left, start, end, out);
+        if (n.interval.start < end) {
+            if (n.interval.end > start) out.add(n.interval);
+            collect(n.right, start, end, out);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * File: NotificationBadge.java
+ * Purpose: Polls the unread count and list version so the bottom navigation can badge new notifications without fetching them
+ */
+package com.example.evcharging.data;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.evcharging.api.ApiClient;
+import com.example.evcharging.models.NotificationCount;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class NotificationBadge {
+
+    private static final String TAG = "NotificationBadge";
+
+    // How often the count is polled while a dashboard is in the foreground.
+    private static final long POLL_INTERVAL_MS = 30 * 1000L;
+
+    /**
+     * Notified on the main thread whenever the count or version changes.
+     */
+    public interface Listener {
+        void onCountChanged(NotificationCount count);
+    }
+
+    /**
+     * Receives the result of one {@link #fetch}: the fresh count, or null if it could not be loaded.
+     */
+    public interface Result {
+        void onResult(@Nullable NotificationCount count);
+    }
+
+    private static final NotificationBadge INSTANCE = new NotificationBadge();
+
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    // Main thread only: written from Retrofit callbacks and read by the screens.
+    @Nullable private NotificationCount latest;
+    private String authToken;
+
+    private final Runnable periodicPoll = new Runnable() {
+        @Override
+        public void run() {
+            fetch(authToken, null);
+            handler.postDelayed(this, POLL_INTERVAL_MS);
+        }
+    };
+
+    private NotificationBadge() {}
+
+    public static NotificationBadge getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The last count received from the server, or null before the first poll.
+     */
+    @Nullable
+    public NotificationCount latest() {
+        return latest;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+        if (latest != null) listener.onCountChanged(latest);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Polls right away and then every {@link #POLL_INTERVAL_MS} while enabled. Dashboards turn
+     * this on in onResume and off in onPause.
+     */
+    public void setPolling(String authToken, boolean enabled) {
+        handler.removeCallbacks(periodicPoll);
+        if (!enabled || authToken == null) return;
+        this.authToken = authToken;
+        handler.post(periodicPoll);
+    }
+
+    /**
+     * Asks the server for the current count and version and publishes it.
+     * @param result optional, called after listeners with the count or null on failure
+     */
+    public void fetch(String authToken, @Nullable Result result) {
+        if (authToken == null) {
+            if (result != null) result.onResult(null);
+            return;
+        }
+        ApiClient.getApiService().getNotificationCount(authToken).enqueue(new Callback<NotificationCount>() {
+            @Override
+            public void onResponse(@NonNull Call<NotificationCount> call, @NonNull Response<NotificationCount> response) {
+                NotificationCount count = response.isSuccessful() ? response.body() : null;
+                if (count != null) {
+                    publish(count);
+                } else {
+                    Log.w(TAG, "Count failed. Code: " + response.code());
+                }
+                if (result != null) result.onResult(count);
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<NotificationCount> call, @NonNull Throwable t) {
+                Log.w(TAG, "Count failed: " + t.getMessage());
+                if (result != null) result.onResult(null);
+            }
+        });
+    }
+
+    /**
+     * Stops polling and forgets the count, e.g. on logout.
+     */
+    public void clear() {
+        handler.removeCallbacks(periodicPoll);
+        authToken = null;
+        latest = null;
+    }
+
+    private void publish(NotificationCount count) {
+        NotificationCount before = latest;
+        latest = count;
+        if (before != null && before.unreadCount == count.unreadCount
+                && before.version != null && before.version.equals(count.version)) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            listener.onCountChanged(count);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * File: OfflineVerifier.java
+ * Purpose: Verifies scanned booking tokens on the device, without a network round trip
+ */
+package com.example.evcharging.data;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+
+import com.example.evcharging.db.AppDatabase;
+import com.example.evcharging.models.Booking;
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.utils.AppExecutors;
+import com.example.evcharging.utils.BookingToken;
+import com.example.evcharging.utils.IsoTime;
+import com.example.evcharging.utils.ObjectId;
+
+import java.util.List;
+
+public final class OfflineVerifier {
+
+    public enum Outcome {
+        VERIFIED,       // signature good and the booking is for one of the operator's stations
+        NOT_A_TOKEN,    // plain booking id; fall back to the network
+        NO_KEY,         // token, but this device has no key for the station yet; fall back to the network
+        BAD_SIGNATURE,  // forged or corrupted
+        WRONG_STATION   // for a station the operator does not cover
+    }
+
+    public static final class Result {
+        public final Outcome outcome;
+        @Nullable public final BookingToken token;
+        // Filled in for VERIFIED: the token's fields, with the status taken from the local table when known.
+        @Nullable public final BookingApi booking;
+
+        Result(Outcome outcome, @Nullable BookingToken token, @Nullable BookingApi booking) {
+            this.outcome = outcome;
+            this.token = token;
+            this.booking = booking;
+        }
+    }
+
+    public interface Callback {
+        void onResult(Result result);
+    }
+
+    private OfflineVerifier() {}
+
+    /**
+     * Checks the token signature and station. Cheap enough for the main thread.
+     *
+     * @param operatorStations the home station and any supervised ones; null or empty accepts any station
+     */
+    public static Result checkToken(Context context, String scanned, @Nullable List<String> operatorStations) {
+        BookingToken token = BookingToken.parse(scanned);
+        if (token == null) return new Result(Outcome.NOT_A_TOKEN, null, null);
+        if (operatorStations != null && !operatorStations.isEmpty() && !operatorStations.contains(token.stationId)) {
+            return new Result(Outcome.WRONG_STATION, token, null);
+        }
+        byte[] key = QrKeyStore.getInstance().key(context, token.stationId);
+        if (key == null) return new Result(Outcome.NO_KEY, token, null);
+        if (!token.verify(key)) return new Result(Outcome.BAD_SIGNATURE, token, null);
+        return new Result(Outcome.VERIFIED, token, toBooking(token, null));
+    }
+
+    /**
+     * Checks the token, then refreshes its status from the shift's booking index, or from the local
+     * booking table for bookings outside today's window. The token carries the status from when the
+     * owner last synced, so a later cancellation only shows up locally. The callback runs on the main thread.
+     */
+    public static void verify(Context context, String scanned, @Nullable List<String> operatorStations,
+                              Callback callback) {
+        final Result result = checkToken(context, scanned, operatorStations);
+        if (result.outcome != Outcome.VERIFIED) {
+            callback.onResult(result);
+            return;
+        }
+        BookingApi indexed = StationBookingCache.getInstance().get(result.token.bookingId);
+        if (indexed != null) {
+            callback.onResult(new Result(Outcome.VERIFIED, result.token, toBooking(result.token, Booking.fromApi(indexed))));
+            return;
+        }
+        final Context appContext = context.getApplicationContext();
+        AppExecutors.diskIO().execute(() -> {
+            ObjectId id = ObjectId.parse(result.token.bookingId);
+            Booking local = id == null ? null : AppDatabase.getDatabase(appContext).bookingDao().getById(id);
+            Result merged = local == null ? result
+                    : new Result(Outcome.VERIFIED, result.token, toBooking(result.token, local));
+            AppExecutors.mainThread().execute(() -> callback.onResult(merged));
+        });
+    }
+
+    /**
+     * The station to send with a scan action: the booking's own when the operator covers it, so
+     * bookings at supervised stations pass the server's station check, otherwise the home station.
+     */
+    @Nullable
+    public static String actionStation(@Nullable String bookingStationId, @Nullable List<String> operatorStations) {
+        if (operatorStations == null || operatorStations.isEmpty()) return null;
+        return bookingStationId != null && operatorStations.contains(bookingStationId)
+                ? bookingStationId : operatorStations.get(0);
+    }
+
+    private static BookingApi toBooking(BookingToken token, @Nullable Booking local) {
+        BookingApi booking = new BookingApi(token.bookingId, local != null ? local.ownerNIC : null, token.stationId,
+                IsoTime.formatUtc(token.startMillis), IsoTime.formatUtc(token.endMillis),
+                local != null ? local.status : token.status);
+        if (local != null) {
+            booking.totalAmount = local.totalAmount;
+            booking.createdAt = local.createdAt;
+        }
+        return booking;
+    }
+}
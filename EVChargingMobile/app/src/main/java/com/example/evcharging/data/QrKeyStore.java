@@ -0,0 +1,95 @@
+/*
+ * File: QrKeyStore.java
+ * Purpose: Pre-synced per-station keys for verifying booking QR tokens offline
+ */
+package com.example.evcharging.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Base64;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.evcharging.api.ApiClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class QrKeyStore {
+
+    private static final String TAG = "QrKeyStore";
+    private static final String PREFS_NAME = "qr_keys";
+
+    private static final QrKeyStore INSTANCE = new QrKeyStore();
+
+    private final Map<String, byte[]> keys = new ConcurrentHashMap<>();
+
+    private QrKeyStore() {}
+
+    public static QrKeyStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the station's key, or null if it has never been synced on this device.
+     */
+    @Nullable
+    public byte[] key(Context context, String stationId) {
+        byte[] key = keys.get(stationId);
+        if (key != null) return key;
+        String stored = prefs(context).getString(stationId, null);
+        if (stored == null) return null;
+        key = Base64.decode(stored, Base64.NO_WRAP);
+        keys.put(stationId, key);
+        return key;
+    }
+
+    /**
+     * Fetches the key of every station the operator covers while online, so scanning keeps
+     * working if the connection drops later in the shift. Stored keys stay usable if a fetch fails.
+     */
+    public void sync(Context context, String authToken, List<String> stationIds) {
+        for (String stationId : stationIds) sync(context, authToken, stationId);
+    }
+
+    private void sync(Context context, String authToken, final String stationId) {
+        if (stationId == null || stationId.isEmpty()) return;
+        final Context appContext = context.getApplicationContext();
+        ApiClient.getApiService().getStationQrKey(authToken, stationId).enqueue(new Callback<Map<String, String>>() {
+            @Override
+            public void onResponse(@NonNull Call<Map<String, String>> call, @NonNull Response<Map<String, String>> response) {
+                String encoded = response.body() != null ? response.body().get("key") : null;
+                if (!response.isSuccessful() || encoded == null) {
+                    Log.w(TAG, "Key sync failed: " + response.code());
+                    return;
+                }
+                keys.put(stationId, Base64.decode(encoded, Base64.NO_WRAP));
+                prefs(appContext).edit().putString(stationId, encoded).apply();
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<Map<String, String>> call, @NonNull Throwable t) {
+                Log.w(TAG, "Key sync failed", t);
+            }
+        });
+    }
+
+    /**
+     * Drops all keys, e.g. on logout.
+     */
+    public void clear(Context context) {
+        keys.clear();
+        prefs(context).edit().clear().apply();
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * File: ScanPipeline.java
+ * Purpose: Verifies scanned bookings and confirms/finalizes them in the background
+ */
+package com.example.evcharging.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.evcharging.api.ApiClient;
+import com.example.evcharging.api.ApiService;
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.models.ScanActionResult;
+import com.example.evcharging.models.ScanResult;
+import com.example.evcharging.utils.ApiErrors;
+import com.example.evcharging.utils.SearchIndexer;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Each scan is verified and then confirmed (Active) or finalized (Confirmed) without
+ * blocking the camera. A few bookings are processed at once so a queue of cars doesn't wait
+ * on one slow request; the rest wait in FIFO order. Signed tokens are verified on the device and
+ * every booking takes a single scan-action round trip, which validates on the server as well.
+ * <p>
+ * Must be used from the main thread (Retrofit delivers callbacks there).
+ */
+public class ScanPipeline {
+
+    private static final String TAG = "ScanPipeline";
+    private static final int MAX_IN_FLIGHT = 3;
+
+    private static final int STATUS_ACTIVE = 0;
+    private static final int STATUS_CONFIRMED = 1;
+    private static final int STATUS_COMPLETED = 2;
+    private static final int STATUS_CANCELLED = 3;
+    private static final int STATUS_NO_SHOW = 4;
+
+    public interface Listener {
+        void onScanUpdated(ScanResult result);
+    }
+
+    private final ApiService apiService = ApiClient.getApiService();
+    private final Context context;
+    private final String authToken;
+    private final List<String> operatorStations;
+    private final Listener listener;
+    private final ArrayDeque<ScanResult> pending = new ArrayDeque<>();
+    private int inFlight;
+    private boolean closed;
+
+    /**
+     * @param operatorStations the home station followed by any supervised ones; bookings for
+     *                         other stations are rejected. Null or empty accepts any station.
+     */
+    public ScanPipeline(Context context, String authToken, List<String> operatorStations, Listener listener) {
+        this.context = context.getApplicationContext();
+        this.authToken = authToken;
+        this.operatorStations = operatorStations;
+        this.listener = listener;
+    }
+
+    public void submit(ScanResult result) {
+        if (closed) return;
+        result.state = ScanResult.State.VERIFYING;
+        result.message = "Verifying...";
+        pending.add(result);
+        pump();
+    }
+
+    /**
+     * Stops reporting results. Requests already sent still complete on the server.
+     */
+    public void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    private void pump() {
+        while (!closed && inFlight < MAX_IN_FLIGHT && !pending.isEmpty()) {
+            inFlight++;
+            verify(pending.poll());
+        }
+    }
+
+    private void verify(final ScanResult result) {
+        OfflineVerifier.verify(context, result.scannedText, operatorStations, verification -> {
+            switch (verification.outcome) {
+                case VERIFIED:
+                    result.stationId = verification.token.stationId;
+                    act(result, verification.booking.status);
+                    break;
+                case WRONG_STATION:
+                    finish(result, ScanResult.State.REJECTED,
+                            "Booked at " + StationDirectory.getInstance().displayName(verification.token.stationId));
+                    break;
+                case BAD_SIGNATURE:
+                    finish(result, ScanResult.State.REJECTED, "QR code failed verification");
+                    break;
+                default:
+                    // Bare id or no key yet: today's index settles the status locally when it knows
+                    // the booking; otherwise the server validates it as part of the action.
+                    if (verification.token != null) result.stationId = verification.token.stationId;
+                    BookingApi indexed = StationBookingCache.getInstance().get(result.bookingId);
+                    if (indexed != null) {
+                        act(result, indexed.status);
+                    } else {
+                        submitAction(result, "Checking in...");
+                    }
+                    break;
+            }
+        });
+    }
+
+    private void act(ScanResult result, int status) {
+        switch (status) {
+            case STATUS_ACTIVE:
+                submitAction(result, "Confirming...");
+                break;
+            case STATUS_CONFIRMED:
+                submitAction(result, "Finalizing...");
+                break;
+            case STATUS_COMPLETED:
+                finish(result, ScanResult.State.REJECTED, "Already completed");
+                break;
+            case STATUS_CANCELLED:
+                finish(result, ScanResult.State.REJECTED, "Booking was cancelled");
+                break;
+            case STATUS_NO_SHOW:
+                finish(result, ScanResult.State.REJECTED, "Marked as no-show");
+                break;
+            default:
+                finish(result, ScanResult.State.REJECTED, "Unknown status " + status);
+                break;
+        }
+    }
+
+    private void submitAction(final ScanResult result, String progressMessage) {
+        result.state = ScanResult.State.SUBMITTING;
+        result.message = progressMessage;
+        notifyListener(result);
+
+        String stationId = OfflineVerifier.actionStation(result.stationId, operatorStations);
+        apiService.scanAction(authToken, result.bookingId, stationId).enqueue(new Callback<ScanActionResult>() {
+            @Override
+            public void onResponse(@NonNull Call<ScanActionResult> call, @NonNull Response<ScanActionResult> response) {
+                ScanActionResult body = response.body();
+                if (response.isSuccessful() && body != null) {
+                    result.stationId = body.stationId;
+                    SearchIndexer.updateBookingStatus(context, result.bookingId, body.status);
+                    StationBookingCache.getInstance().applyStatus(result.bookingId, body.status);
+                    boolean finalized = ScanActionResult.ACTION_FINALIZED.equals(body.action);
+                    finish(result, finalized ? ScanResult.State.FINALIZED : ScanResult.State.CONFIRMED,
+                            finalized ? "Charging session finalized" : "Booking confirmed");
+                } else if (response.code() == 400 || response.code() == 404) {
+                    finish(result, ScanResult.State.REJECTED, ApiErrors.message(response, "Booking not found"));
+                } else {
+                    finish(result, ScanResult.State.FAILED, "Check-in failed (" + response.code() + ")");
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<ScanActionResult> call, @NonNull Throwable t) {
+                Log.e(TAG, "Scan action failed for " + result.bookingId, t);
+                finish(result, ScanResult.State.FAILED, "Network error");
+            }
+        });
+    }
+
+    private void finish(ScanResult result, ScanResult.State state, String message) {
+        result.state = state;
+        result.message = message;
+        inFlight--;
+        notifyListener(result);
+        pump();
+    }
+
+    private void notifyListener(ScanResult result) {
+        if (!closed) listener.onScanUpdated(result);
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * File: StationBookingCache.java
+ * Purpose: The operator station's bookings for the current day, prefetched at shift start and held column-wise
+ */
+package com.example.evcharging.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.evcharging.api.ApiClient;
+import com.example.evcharging.api.BookingFields;
+import com.example.evcharging.db.AppDatabase;
+import com.example.evcharging.models.Booking;
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.models.BookingListing;
+import com.example.evcharging.utils.AppExecutors;
+import com.example.evcharging.utils.IsoTime;
+import com.example.evcharging.utils.ObjectId;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class StationBookingCache {
+
+    private static final String TAG = "StationBookingCache";
+
+    // How often the shift's bookings are topped up with server-side changes while the dashboard is visible.
+    private static final long REFRESH_INTERVAL_MS = 60 * 1000L;
+    // Incremental refreshes never see deleted bookings or ones moved out of the day, so the
+    // whole day is pulled again at least this often.
+    private static final long FULL_REFRESH_INTERVAL_MS = 15 * 60 * 1000L;
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    /**
+     * Notified on the main thread whenever a new snapshot is published.
+     */
+    public interface Listener {
+        void onBookingsChanged(Snapshot snapshot);
+    }
+
+    /**
+     * Immutable view of one station's bookings for the day. Readers never lock.
+     */
+    public static final class Snapshot {
+        @Nullable public final String stationId;
+        // Latest start first, matching the order the station list has always used.
+        public final BookingColumns rows;
+        public final long windowFrom;
+        public final long windowTo;
+        // Server time of the newest change seen; the next refresh only asks for later ones.
+        final long updatedCursor;
+        // 0 until the first network sync of this window lands.
+        public final long syncedAtElapsed;
+        // When the whole window was last pulled, rather than only the changes.
+        final long fullSyncedAtElapsed;
+
+        Snapshot(@Nullable String stationId, BookingColumns rows, long windowFrom, long windowTo,
+                 long updatedCursor, long syncedAtElapsed, long fullSyncedAtElapsed) {
+            this.stationId = stationId;
+            this.rows = rows;
+            this.windowFrom = windowFrom;
+            this.windowTo = windowTo;
+            this.updatedCursor = updatedCursor;
+            this.syncedAtElapsed = syncedAtElapsed;
+            this.fullSyncedAtElapsed = fullSyncedAtElapsed;
+        }
+
+        public boolean isSynced() {
+            return syncedAtElapsed > 0;
+        }
+    }
+
+    private static final StationBookingCache INSTANCE = new StationBookingCache();
+
+    private volatile Snapshot snapshot = new Snapshot(null, BookingColumns.EMPTY, 0, 0, 0, 0, 0);
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean refreshInFlight = new AtomicBoolean(false);
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private volatile Context appContext;
+    private volatile String authToken;
+    private volatile String stationId;
+
+    private final Runnable periodicRefresh = new Runnable() {
+        @Override
+        public void run() {
+            refresh();
+            handler.postDelayed(this, REFRESH_INTERVAL_MS);
+        }
+    };
+
+    private StationBookingCache() {}
+
+    public static StationBookingCache getInstance() {
+        return INSTANCE;
+    }
+
+    @NonNull
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * O(1) lookup of a booking at the shift's station, or null if it is not in today's window.
+     * The result is a copy; changing it does not change the cache.
+     */
+    @Nullable
+    public BookingApi get(String bookingId) {
+        BookingColumns rows = snapshot.rows;
+        int row = rows.indexOf(ObjectId.parse(bookingId));
+        return row < 0 ? null : rows.toApi(row);
+    }
+
+    /**
+     * An owner's bookings at the shift's station today, latest start first; empty if none.
+     */
+    @NonNull
+    public List<BookingApi> findByOwnerNic(String nic) {
+        BookingColumns rows = snapshot.rows;
+        int[] matches = rows.rowsForOwner(nic);
+        List<BookingApi> bookings = new ArrayList<>(matches.length);
+        for (int row : matches) bookings.add(rows.toApi(row));
+        return bookings;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts the operator's shift: publishes what Room already holds for today, then pulls the
+     * full day from the server. Calling it again for the same station only refreshes.
+     * @param context any context, only the application context is kept
+     */
+    public void startShift(Context context, String authToken, String stationId) {
+        if (authToken == null || stationId == null) return;
+        this.appContext = context.getApplicationContext();
+        this.authToken = authToken;
+        if (stationId.equals(this.stationId)) {
+            refresh();
+            return;
+        }
+        this.stationId = stationId;
+
+        final long from = startOfToday();
+        final long to = from + DAY_MS;
+        final Context ctx = appContext;
+        AppExecutors.diskIO().execute(() -> {
+            BookingColumns.Builder cached = new BookingColumns.Builder(0);
+            for (Booking local : AppDatabase.getDatabase(ctx).bookingDao().getByStation(stationId)) {
+                if (overlaps(local.startTime, local.endTime, from, to)) cached.add(local.toApi());
+            }
+            // A network sync may already have won the race; never replace newer data.
+            if (!stationId.equals(snapshot.stationId)) {
+                publish(new Snapshot(stationId, cached.build(), from, to, 0, 0, 0));
+            }
+            AppExecutors.mainThread().execute(this::refresh);
+        });
+    }
+
+    /**
+     * Keeps the day topped up while the operator dashboard is in the foreground.
+     */
+    public void setAutoRefresh(boolean enabled) {
+        handler.removeCallbacks(periodicRefresh);
+        if (enabled) handler.postDelayed(periodicRefresh, REFRESH_INTERVAL_MS);
+    }
+
+    /**
+     * Refreshes unless the last sync is younger than {@code maxAgeMs}; screens call this when shown.
+     */
+    public void refreshIfStale(long maxAgeMs) {
+        Snapshot current = snapshot;
+        boolean fresh = current.isSynced() && SystemClock.elapsedRealtime() - current.syncedAtElapsed < maxAgeMs;
+        if (!fresh) refresh();
+    }
+
+    /**
+     * Asks the server for bookings changed since the last sync, or for the whole day when there
+     * has been none yet, the day rolled over or the last full pull is more than
+     * {@link #FULL_REFRESH_INTERVAL_MS} old. Concurrent calls are coalesced.
+     */
+    public void refresh() {
+        final String station = stationId;
+        if (authToken == null || station == null || !refreshInFlight.compareAndSet(false, true)) return;
+
+        final Snapshot base = snapshot;
+        final long from = startOfToday();
+        final long to = from + DAY_MS;
+        final boolean incremental = station.equals(base.stationId) && base.isSynced() && base.windowFrom == from
+                && SystemClock.elapsedRealtime() - base.fullSyncedAtElapsed < FULL_REFRESH_INTERVAL_MS;
+        final Context ctx = appContext;
+
+        ApiClient.getApiService().getStationBookings(authToken, station, null, IsoTime.formatUtc(from), IsoTime.formatUtc(to),
+                incremental ? IsoTime.formatUtc(base.updatedCursor) : null, BookingFields.OPERATOR_ROW).enqueue(new Callback<List<BookingApi>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<BookingApi>> call, @NonNull Response<List<BookingApi>> response) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    Log.e(TAG, "Station bookings refresh failed. Code: " + response.code());
+                    refreshInFlight.set(false);
+                    return;
+                }
+                final List<BookingApi> changes = response.body();
+                AppExecutors.diskIO().execute(() -> {
+                    Snapshot current = snapshot;
+                    // The operator logged out or switched station while this was in flight.
+                    if (!station.equals(stationId)) {
+                        refreshInFlight.set(false);
+                        return;
+                    }
+                    BookingColumns.Builder merged = new BookingColumns.Builder(current.rows.size() + changes.size());
+                    if (incremental && current.windowFrom == from) merged.addAll(current.rows);
+                    long cursor = incremental ? current.updatedCursor : 0;
+                    List<BookingListing> local = new ArrayList<>(changes.size());
+                    for (BookingApi booking : changes) {
+                        if (booking == null || !ObjectId.isValid(booking.id)) continue;
+                        merged.add(booking);
+                        local.add(BookingListing.fromApi(booking));
+                        cursor = Math.max(cursor, IsoTime.parseMillis(booking.updatedAt));
+                    }
+                    if (!local.isEmpty()) {
+                        // Upsert so the FTS triggers keep the search index in step; only the
+                        // projected columns are written.
+                        AppDatabase.getDatabase(ctx).bookingDao().upsertListings(local);
+                    }
+                    if (!changes.isEmpty()) {
+                        AvailabilityEngine.getInstance().applyBookings(changes);
+                    }
+                    long now = SystemClock.elapsedRealtime();
+                    // A change can move a booking out of the day; it must not linger in the merge.
+                    BookingColumns rows = merged.build().within(from, to);
+                    publish(new Snapshot(station, rows, from, to, cursor, now, incremental ? current.fullSyncedAtElapsed : now));
+                    refreshInFlight.set(false);
+                });
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<BookingApi>> call, @NonNull Throwable t) {
+                Log.e(TAG, "Station bookings refresh failed: " + t.getMessage());
+                refreshInFlight.set(false);
+            }
+        });
+    }
+
+    /**
+     * Records a status change made on this device so lookups see it before the next refresh.
+     */
+    public void applyStatus(String bookingId, int status) {
+        AppExecutors.diskIO().execute(() -> {
+            Snapshot current = snapshot;
+            int row = current.rows.indexOf(ObjectId.parse(bookingId));
+            if (row < 0 || current.rows.status(row) == status) return;
+            publish(new Snapshot(current.stationId, current.rows.withStatus(row, status), current.windowFrom,
+                    current.windowTo, current.updatedCursor, current.syncedAtElapsed, current.fullSyncedAtElapsed));
+        });
+    }
+
+    /**
+     * Ends the shift (logout): drops the in-memory day and stops refreshing.
+     */
+    public void clear() {
+        setAutoRefresh(false);
+        stationId = null;
+        authToken = null;
+        publish(new Snapshot(null, BookingColumns.EMPTY, 0, 0, 0, 0, 0));
+    }
+
+    private void publish(Snapshot next) {
+        snapshot = next;
+        AppExecutors.mainThread().execute(() -> {
+            for (Listener listener : listeners) {
+                listener.onBookingsChanged(next);
+            }
+        });
+    }
+
+    private static boolean overlaps(String start, String end, long from, long to) {
+        long s = IsoTime.parseMillis(start);
+        long e = IsoTime.parseMillis(end);
+        return s != IsoTime.INVALID && e != IsoTime.INVALID && s < to && e > from;
+    }
+
+    static long startOfToday() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * File: StationCatalogFile.java
+ * Purpose: Flat binary snapshot of the station catalogue, written atomically and read through a memory map
+ */
+package com.example.evcharging.data;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.evcharging.models.Station;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Layout, big-endian:
+ * <pre>
+ * header   int magic, int version, int count, int poolOffset
+ * records  count x RECORD_BYTES, sorted by id:
+ *          (int offset, int length) for id, name, location, status   length -1 = null
+ *          double latitude, double longitude, double pricePerHour
+ *          int type, int totalSlots, int availableSlots, int padding
+ * pool     UTF-8 bytes of every string
+ * </pre>
+ * Records are fixed width, so field reads are absolute gets on the mapped buffer and no
+ * Station object is built until one is asked for.
+ */
+public final class StationCatalogFile {
+
+    private static final String TAG = "StationCatalogFile";
+
+    private static final int MAGIC = 0x45565343; // "EVSC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 72;
+
+    private static final int ID = 0;
+    private static final int NAME = 8;
+    private static final int LOCATION = 16;
+    private static final int STATUS = 24;
+    private static final int LATITUDE = 32;
+    private static final int LONGITUDE = 40;
+    private static final int PRICE = 48;
+    private static final int TYPE = 56;
+    private static final int TOTAL_SLOTS = 60;
+    private static final int AVAILABLE_SLOTS = 64;
+
+    private StationCatalogFile() {}
+
+    /**
+     * Read-only view of a mapped catalogue. Only absolute reads are used, so it is safe to
+     * share between threads.
+     */
+    public static final class Reader {
+        private final ByteBuffer buffer;
+        private final int count;
+
+        private Reader(ByteBuffer buffer, int count) {
+            this.buffer = buffer;
+            this.count = count;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Binary search over the sorted ids, comparing UTF-8 bytes in place.
+         * @return the record index, or -1
+         */
+        public int indexOf(@Nullable String id) {
+            if (id == null) return -1;
+            byte[] key = id.getBytes(StandardCharsets.UTF_8);
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int c = compare(mid, key);
+                if (c < 0) {
+                    low = mid + 1;
+                } else if (c > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        public String id(int index) {
+            return string(index, ID);
+        }
+
+        @Nullable
+        public String name(int index) {
+            return string(index, NAME);
+        }
+
+        @Nullable
+        public String location(int index) {
+            return string(index, LOCATION);
+        }
+
+        public double latitude(int index) {
+            return buffer.getDouble(record(index) + LATITUDE);
+        }
+
+        public double longitude(int index) {
+            return buffer.getDouble(record(index) + LONGITUDE);
+        }
+
+        public boolean isActive(int index) {
+            return Station.isActive(string(index, STATUS));
+        }
+
+        public Station toStation(int index) {
+            int record = record(index);
+            return new Station(id(index), name(index), string(index, LOCATION),
+                    buffer.getDouble(record + LATITUDE), buffer.getDouble(record + LONGITUDE),
+                    buffer.getInt(record + TYPE), buffer.getInt(record + TOTAL_SLOTS),
+                    buffer.getDouble(record + PRICE), buffer.getInt(record + AVAILABLE_SLOTS),
+                    string(index, STATUS));
+        }
+
+        public List<Station> toStations() {
+            List<Station> stations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) stations.add(toStation(i));
+            return stations;
+        }
+
+        private int record(int index) {
+            return HEADER_BYTES + index * RECORD_BYTES;
+        }
+
+        @Nullable
+        private String string(int index, int field) {
+            int record = record(index);
+            int offset = buffer.getInt(record + field);
+            int length = buffer.getInt(record + field + 4);
+            if (length < 0) return null;
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) bytes[i] = buffer.get(offset + i);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int compare(int index, byte[] key) {
+            int record = record(index);
+            int offset = buffer.getInt(record + ID);
+            int length = Math.max(0, buffer.getInt(record + ID + 4));
+            int n = Math.min(length, key.length);
+            for (int i = 0; i < n; i++) {
+                int c = (buffer.get(offset + i) & 0xFF) - (key[i] & 0xFF);
+                if (c != 0) return c;
+            }
+            return length - key.length;
+        }
+    }
+
+    /**
+     * Maps the catalogue file. Only the header and record bounds are read here.
+     * @return the reader, or null if the file is missing, from another version or damaged
+     */
+    @Nullable
+    public static Reader open(File file) {
+        if (!file.isFile()) return null;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) return null;
+            // The mapping stays valid after the channel is closed and after the file is replaced.
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            return wrap(buffer);
+        } catch (IOException e) {
+            Log.e(TAG, "Could not map " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads a catalogue held in memory, e.g. one that could not be written to disk.
+     * @return the reader, or null if the bytes are from another version or damaged
+     */
+    @Nullable
+    public static Reader wrap(ByteBuffer buffer) {
+        int length = buffer.limit();
+        if (length < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) return null;
+        int count = buffer.getInt(8);
+        int poolOffset = buffer.getInt(12);
+        if (count < 0 || poolOffset != HEADER_BYTES + (long) count * RECORD_BYTES || poolOffset > length) return null;
+        for (int i = 0; i < count; i++) {
+            int record = HEADER_BYTES + i * RECORD_BYTES;
+            for (int field = ID; field <= STATUS; field += 8) {
+                int offset = buffer.getInt(record + field);
+                int size = buffer.getInt(record + field + 4);
+                if (size >= 0 && (offset < poolOffset || (long) offset + size > length)) return null;
+            }
+        }
+        return new Reader(buffer, count);
+    }
+
+    /**
+     * Writes the catalogue to a temporary file, syncs it and renames it over {@code file}, so
+     * readers see either the old snapshot or the new one, never a partial write.
+     */
+    public static boolean write(File file, byte[] encoded) {
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(encoded);
+            out.getFD().sync();
+        } catch (IOException e) {
+            Log.e(TAG, "Could not write " + temp + ": " + e.getMessage());
+            temp.delete();
+            return false;
+        }
+        if (!temp.renameTo(file)) {
+            Log.e(TAG, "Could not replace " + file);
+            temp.delete();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Lays the stations out in the file format, sorted by id.
+     */
+    public static byte[] encode(List<Station> stations) {
+        List<Station> sorted = new ArrayList<>(stations);
+        Collections.sort(sorted, (a, b) -> compareUtf8(a.id, b.id));
+
+        ByteArrayOutputStream pool = new ByteArrayOutputStream(sorted.size() * 64);
+        int poolOffset = HEADER_BYTES + sorted.size() * RECORD_BYTES;
+        ByteBuffer records = ByteBuffer.allocate(poolOffset);
+        records.putInt(MAGIC).putInt(VERSION).putInt(sorted.size()).putInt(poolOffset);
+        for (Station station : sorted) {
+            putString(records, pool, poolOffset, station.id);
+            putString(records, pool, poolOffset, station.name);
+            putString(records, pool, poolOffset, station.location);
+            putString(records, pool, poolOffset, station.status);
+            records.putDouble(station.latitude).putDouble(station.longitude).putDouble(station.pricePerHour);
+            records.putInt(station.type).putInt(station.totalSlots).putInt(station.availableSlots).putInt(0);
+        }
+        byte[] encoded = Arrays.copyOf(records.array(), poolOffset + pool.size());
+        System.arraycopy(pool.toByteArray(), 0, encoded, poolOffset, pool.size());
+        return encoded;
+    }
+
+    private static void putString(ByteBuffer records, ByteArrayOutputStream pool, int poolOffset, @Nullable String value) {
+        if (value == null) {
+            records.putInt(0).putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        records.putInt(poolOffset + pool.size()).putInt(bytes.length);
+        pool.write(bytes, 0, bytes.length);
+    }
+
+    // Byte order of the UTF-8 encoding, which is what Reader.indexOf searches by.
+    private static int compareUtf8(String a, String b) {
+        byte[] x = a.getBytes(StandardCharsets.UTF_8);
+        byte[] y = b.getBytes(StandardCharsets.UTF_8);
+        int n = Math.min(x.length, y.length);
+        for (int i = 0; i < n; i++) {
+            int c = (x[i] & 0xFF) - (y[i] & 0xFF);
+            if (c != 0) return c;
+        }
+        return x.length - y.length;
+    }
+}
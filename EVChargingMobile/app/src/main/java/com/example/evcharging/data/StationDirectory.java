@@ -0,0 +1,262 @@
+/*
+ * File: StationDirectory.java
+ * Purpose: Process-wide, read-mostly station catalogue served from a memory-mapped snapshot file
+ */
+package com.example.evcharging.data;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.evcharging.api.ApiClient;
+import com.example.evcharging.models.Station;
+import com.example.evcharging.utils.AppExecutors;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class StationDirectory {
+
+    private static final String TAG = "StationDirectory";
+
+    // Network refreshes are skipped while the catalogue is younger than this.
+    private static final long REFRESH_INTERVAL_MS = 15 * 60 * 1000L;
+    private static final String CATALOG_FILE = "stations.bin";
+
+    /**
+     * Notified on the main thread whenever a new catalogue snapshot is published.
+     */
+    public interface Listener {
+        void onStationsChanged(Snapshot snapshot);
+    }
+
+    /**
+     * Immutable view of the catalogue, read straight from the snapshot file's mapping.
+     * Readers grab the current snapshot and never lock. Lookups by id are a binary search on
+     * the mapped records; the lists and indexes are only built when a screen first asks.
+     */
+    public static final class Snapshot {
+        public final StationCatalogFile.Reader file;
+        public final long loadedAtElapsed;
+
+        // Built on first use; a racing second build is harmless, both see the same file.
+        @Nullable private volatile List<Station> all;
+        @Nullable private volatile List<Station> active;
+        @Nullable private volatile StationSpatialIndex spatial;
+        @Nullable private volatile StationTextIndex text;
+
+        Snapshot(StationCatalogFile.Reader file, long loadedAtElapsed) {
+            this.file = file;
+            this.loadedAtElapsed = loadedAtElapsed;
+        }
+
+        public boolean isEmpty() {
+            return file.size() == 0;
+        }
+
+        @Nullable
+        public Station get(@Nullable String stationId) {
+            int index = file.indexOf(stationId);
+            return index >= 0 ? file.toStation(index) : null;
+        }
+
+        @Nullable
+        public String name(@Nullable String stationId) {
+            int index = file.indexOf(stationId);
+            return index >= 0 ? file.name(index) : null;
+        }
+
+        /**
+         * Every station, as objects. Builds the whole list on first call, so call it off the main thread.
+         */
+        public List<Station> all() {
+            List<Station> result = all;
+            if (result == null) {
+                result = Collections.unmodifiableList(file.toStations());
+                all = result;
+            }
+            return result;
+        }
+
+        public List<Station> active() {
+            List<Station> result = active;
+            if (result == null) {
+                List<Station> activeStations = new ArrayList<>();
+                for (int i = 0; i < file.size(); i++) {
+                    if (file.isActive(i)) activeStations.add(file.toStation(i));
+                }
+                result = Collections.unmodifiableList(activeStations);
+                active = result;
+            }
+            return result;
+        }
+
+        /**
+         * Nearest and bounding-box queries. Built on first call, so call it off the main thread.
+         */
+        public StationSpatialIndex spatial() {
+            StationSpatialIndex result = spatial;
+            if (result == null) {
+                result = StationSpatialIndex.build(all());
+                spatial = result;
+            }
+            return result;
+        }
+
+        /**
+         * Name and location search over the active stations, for the booking picker. Built on
+         * first call, so call it off the main thread.
+         */
+        public StationTextIndex text() {
+            StationTextIndex result = text;
+            if (result == null) {
+                result = StationTextIndex.build(file);
+                text = result;
+            }
+            return result;
+        }
+    }
+
+    private static final StationDirectory INSTANCE = new StationDirectory();
+
+    private volatile Snapshot snapshot = new Snapshot(
+            StationCatalogFile.wrap(ByteBuffer.wrap(StationCatalogFile.encode(Collections.emptyList()))), 0);
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean diskLoadStarted = new AtomicBoolean(false);
+    private final AtomicBoolean refreshInFlight = new AtomicBoolean(false);
+
+    private StationDirectory() {}
+
+    public static StationDirectory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the current snapshot. Cheap enough to call from onBindViewHolder.
+     */
+    @NonNull
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    @Nullable
+    public Station get(String stationId) {
+        return snapshot.get(stationId);
+    }
+
+    /**
+     * Resolves a station id to its display name, falling back to the raw id while unknown.
+     * Only the name is read from the mapped file; no Station is built.
+     */
+    @NonNull
+    public String displayName(String stationId) {
+        String name = snapshot.name(stationId);
+        if (name != null && !name.isEmpty()) {
+            return name;
+        }
+        return stationId != null ? stationId : "N/A";
+    }
+
+    public void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Maps the catalogue snapshot file (once per process), then refreshes it from the network
+     * in the background if it is stale. Lookups work as soon as the file is mapped.
+     * @param context any context, only the application context is kept
+     * @param authToken bearer token for the stations endpoint
+     */
+    public void load(Context context, String authToken) {
+        final Context appContext = context.getApplicationContext();
+        if (diskLoadStarted.compareAndSet(false, true)) {
+            AppExecutors.diskIO().execute(() -> {
+                StationCatalogFile.Reader file = StationCatalogFile.open(catalogFile(appContext));
+                // A network refresh may already have won the race; never replace newer data.
+                if (file != null && file.size() > 0 && snapshot.isEmpty()) {
+                    publish(new Snapshot(file, 0));
+                }
+                AppExecutors.mainThread().execute(() -> refreshIfStale(appContext, authToken));
+            });
+        } else {
+            refreshIfStale(appContext, authToken);
+        }
+    }
+
+    private void refreshIfStale(Context appContext, String authToken) {
+        Snapshot current = snapshot;
+        boolean fresh = current.loadedAtElapsed > 0
+                && SystemClock.elapsedRealtime() - current.loadedAtElapsed < REFRESH_INTERVAL_MS;
+        if (!fresh) {
+            refresh(appContext, authToken);
+        }
+    }
+
+    /**
+     * Fetches the full catalogue and atomically swaps it in. Concurrent calls are coalesced.
+     */
+    public void refresh(Context context, String authToken) {
+        if (authToken == null || !refreshInFlight.compareAndSet(false, true)) return;
+        final Context appContext = context.getApplicationContext();
+
+        ApiClient.getApiService().getAllStations(authToken).enqueue(new Callback<List<Station>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<Station>> call, @NonNull Response<List<Station>> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    final List<Station> stations = new ArrayList<>();
+                    for (Station station : response.body()) {
+                        if (station != null && station.id != null) stations.add(station);
+                    }
+                    AppExecutors.diskIO().execute(() -> {
+                        byte[] encoded = StationCatalogFile.encode(stations);
+                        // Replaced by rename; a reader mapped on the old file keeps its copy.
+                        File target = catalogFile(appContext);
+                        StationCatalogFile.Reader file = StationCatalogFile.write(target, encoded)
+                                ? StationCatalogFile.open(target) : null;
+                        if (file == null) file = StationCatalogFile.wrap(ByteBuffer.wrap(encoded));
+                        publish(new Snapshot(file, SystemClock.elapsedRealtime()));
+                        refreshInFlight.set(false);
+                    });
+                } else {
+                    Log.e(TAG, "Station refresh failed. Code: " + response.code());
+                    refreshInFlight.set(false);
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<Station>> call, @NonNull Throwable t) {
+                Log.e(TAG, "Station refresh failed: " + t.getMessage());
+                refreshInFlight.set(false);
+            }
+        });
+    }
+
+    private void publish(Snapshot next) {
+        snapshot = next;
+        AppExecutors.mainThread().execute(() -> {
+            for (Listener listener : listeners) {
+                listener.onStationsChanged(next);
+            }
+        });
+    }
+
+    private static File catalogFile(Context appContext) {
+        return new File(appContext.getNoBackupFilesDir(), CATALOG_FILE);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * File: StationFanOut.java
+ * Purpose: Loads today's bookings for several stations concurrently, with a cap on requests in flight
+ */
+package com.example.evcharging.data;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.evcharging.api.ApiClient;
+import com.example.evcharging.api.ApiService;
+import com.example.evcharging.api.BookingFields;
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.utils.IsoTime;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class StationFanOut {
+
+    private static final String TAG = "StationFanOut";
+
+    // Leaves OkHttp's per-host slots free for the badge poll and operator actions.
+    static final int MAX_PARALLEL = 3;
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    /**
+     * Called on the main thread as each station lands, then once when all have.
+     */
+    public interface Listener {
+        /**
+         * @param bookings the station's bookings for today, earliest start first as the server sends them
+         */
+        void onStationLoaded(String stationId, List<BookingApi> bookings);
+
+        void onStationFailed(String stationId, String message);
+
+        void onComplete();
+    }
+
+    private final ApiService apiService = ApiClient.getApiService();
+    private final String authToken;
+    private final ArrayDeque<String> pending;
+    private final Listener listener;
+    private final String from;
+    private final String to;
+    private int inFlight;
+    private boolean cancelled;
+
+    // Retrofit calls back on the main thread, so the queue and counters need no locking.
+    private StationFanOut(String authToken, List<String> stationIds, Listener listener) {
+        this.authToken = authToken;
+        this.pending = new ArrayDeque<>(stationIds);
+        this.listener = listener;
+        long dayStart = StationBookingCache.startOfToday();
+        this.from = IsoTime.formatUtc(dayStart);
+        this.to = IsoTime.formatUtc(dayStart + DAY_MS);
+    }
+
+    /**
+     * Starts loading every station, at most {@link #MAX_PARALLEL} at a time. Must be called on the main thread.
+     */
+    public static StationFanOut start(String authToken, List<String> stationIds, Listener listener) {
+        StationFanOut fanOut = new StationFanOut(authToken, stationIds, listener);
+        if (stationIds.isEmpty()) {
+            listener.onComplete();
+        } else {
+            fanOut.fill();
+        }
+        return fanOut;
+    }
+
+    /**
+     * Stops starting new requests and drops the results of those still running.
+     */
+    public void cancel() {
+        cancelled = true;
+        pending.clear();
+    }
+
+    private void fill() {
+        while (inFlight < MAX_PARALLEL && !pending.isEmpty()) {
+            inFlight++;
+            fetch(pending.poll());
+        }
+    }
+
+    private void fetch(String stationId) {
+        Call<List<BookingApi>> call = apiService.getStationBookings(authToken, stationId, null, from, to, null,
+                BookingFields.OPERATOR_ROW);
+        call.enqueue(new Callback<List<BookingApi>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<BookingApi>> call, @NonNull Response<List<BookingApi>> response) {
+                if (cancelled) return;
+                if (response.isSuccessful()) {
+                    List<BookingApi> body = response.body();
+                    listener.onStationLoaded(stationId, body != null ? body : Collections.emptyList());
+                } else {
+                    Log.e(TAG, "Station " + stationId + " failed. Code: " + response.code());
+                    listener.onStationFailed(stationId, "Failed to load. Code: " + response.code());
+                }
+                done();
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<BookingApi>> call, @NonNull Throwable t) {
+                if (cancelled) return;
+                Log.e(TAG, "Station " + stationId + " failed: " + t.getMessage());
+                listener.onStationFailed(stationId, "Network error.");
+                done();
+            }
+        });
+    }
+
+    private void done() {
+        inFlight--;
+        fill();
+        if (inFlight == 0 && pending.isEmpty()) listener.onComplete();
+    }
+}
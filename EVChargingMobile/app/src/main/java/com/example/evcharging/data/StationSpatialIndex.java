@@ -0,0 +1,196 @@
+/*
+ * File: StationSpatialIndex.java
+ * Purpose: Immutable 2-d tree over station coordinates for k-nearest and bounding-box queries
+ */
+package com.example.evcharging.data;
+
+import com.example.evcharging.models.Station;
+import com.example.evcharging.models.StationFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class StationSpatialIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    public static final StationSpatialIndex EMPTY = new StationSpatialIndex(new Station[0]);
+
+    // The tree is implicit: the median of [lo, hi) sits at (lo + hi) >>> 1, split on
+    // latitude at even depths and longitude at odd depths. Coordinates are copied into
+    // primitive arrays so queries never touch the Station objects until they match.
+    private final Station[] stations;
+    private final double[] lat;
+    private final double[] lng;
+
+    /**
+     * A station paired with its great-circle distance from the query point.
+     */
+    public static final class Hit {
+        public final Station station;
+        public final double distanceKm;
+
+        Hit(Station station, double distanceKm) {
+            this.station = station;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    private StationSpatialIndex(Station[] stations) {
+        this.stations = stations;
+        this.lat = new double[stations.length];
+        this.lng = new double[stations.length];
+        for (int i = 0; i < stations.length; i++) {
+            lat[i] = stations[i].latitude;
+            lng[i] = stations[i].longitude;
+        }
+    }
+
+    /**
+     * Builds an index over every station that has coordinates.
+     * @param source stations in any order; the list is not modified
+     */
+    public static StationSpatialIndex build(List<Station> source) {
+        List<Station> located = new ArrayList<>(source.size());
+        for (Station station : source) {
+            if (hasLocation(station)) located.add(station);
+        }
+        if (located.isEmpty()) return EMPTY;
+        Station[] nodes = located.toArray(new Station[0]);
+        buildRange(nodes, 0, nodes.length, 0);
+        return new StationSpatialIndex(nodes);
+    }
+
+    // Stations the backend has not geocoded arrive as (0, 0), which is in the Gulf of Guinea.
+    public static boolean hasLocation(Station station) {
+        return station != null && hasLocation(station.latitude, station.longitude);
+    }
+
+    public static boolean hasLocation(double latitude, double longitude) {
+        return !(latitude == 0 && longitude == 0) && Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180;
+    }
+
+    private static final Comparator<Station> BY_LAT = (a, b) -> Double.compare(a.latitude, b.latitude);
+    private static final Comparator<Station> BY_LNG = (a, b) -> Double.compare(a.longitude, b.longitude);
+
+    private static void buildRange(Station[] nodes, int lo, int hi, int depth) {
+        if (hi - lo <= 1) return;
+        Arrays.sort(nodes, lo, hi, (depth & 1) == 0 ? BY_LAT : BY_LNG);
+        int mid = (lo + hi) >>> 1;
+        buildRange(nodes, lo, mid, depth + 1);
+        buildRange(nodes, mid + 1, hi, depth + 1);
+    }
+
+    public int size() {
+        return stations.length;
+    }
+
+    /**
+     * Returns up to k matching stations closest to the given point, nearest first.
+     */
+    public List<Hit> nearest(double queryLat, double queryLng, int k, StationFilter filter) {
+        if (k <= 0 || stations.length == 0) return Collections.emptyList();
+        StationFilter f = filter != null ? filter : StationFilter.ANY;
+        // Max-heap on distance holding the best k so far.
+        PriorityQueue<Hit> best = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(b.distanceKm, a.distanceKm));
+        nearest(0, stations.length, 0, queryLat, queryLng, k, f, best);
+
+        List<Hit> result = new ArrayList<>(best);
+        Collections.sort(result, (a, b) -> Double.compare(a.distanceKm, b.distanceKm));
+        return result;
+    }
+
+    private void nearest(int lo, int hi, int depth, double qLat, double qLng, int k,
+                         StationFilter filter, PriorityQueue<Hit> best) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+
+        if (filter.matches(stations[mid])) {
+            double d = distanceKm(qLat, qLng, lat[mid], lng[mid]);
+            if (best.size() < k) {
+                best.add(new Hit(stations[mid], d));
+            } else if (d < best.peek().distanceKm) {
+                best.poll();
+                best.add(new Hit(stations[mid], d));
+            }
+        }
+
+        boolean splitOnLat = (depth & 1) == 0;
+        boolean goLeft = splitOnLat ? qLat < lat[mid] : qLng < lng[mid];
+        int nearLo = goLeft ? lo : mid + 1, nearHi = goLeft ? mid : hi;
+        int farLo = goLeft ? mid + 1 : lo, farHi = goLeft ? hi : mid;
+
+        nearest(nearLo, nearHi, depth + 1, qLat, qLng, k, filter, best);
+
+        // Only cross the split if the closest point on the far side could still beat the worst kept hit.
+        double bound = splitOnLat
+                ? distanceToParallelKm(qLat, lat[mid])
+                // The far half-plane may also wrap round the antimeridian.
+                : Math.min(distanceToMeridianKm(qLat, qLng, lng[mid]), distanceToMeridianKm(qLat, qLng, 180));
+        if (best.size() < k || bound < best.peek().distanceKm) {
+            nearest(farLo, farHi, depth + 1, qLat, qLng, k, filter, best);
+        }
+    }
+
+    /**
+     * Returns the matching stations inside the box. If west > east the box is taken to
+     * cross the antimeridian.
+     */
+    public List<Station> withinBounds(double south, double west, double north, double east, StationFilter filter) {
+        List<Station> out = new ArrayList<>();
+        if (stations.length == 0) return out;
+        StationFilter f = filter != null ? filter : StationFilter.ANY;
+        if (west <= east) {
+            range(0, stations.length, 0, south, west, north, east, f, out);
+        } else {
+            range(0, stations.length, 0, south, west, north, 180, f, out);
+            range(0, stations.length, 0, south, -180, north, east, f, out);
+        }
+        return out;
+    }
+
+    private void range(int lo, int hi, int depth, double south, double west, double north, double east,
+                       StationFilter filter, List<Station> out) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        double la = lat[mid], ln = lng[mid];
+        if (la >= south && la <= north && ln >= west && ln <= east && filter.matches(stations[mid])) {
+            out.add(stations[mid]);
+        }
+        double key = (depth & 1) == 0 ? la : ln;
+        double min = (depth & 1) == 0 ? south : west;
+        double max = (depth & 1) == 0 ? north : east;
+        if (min <= key) range(lo, mid, depth + 1, south, west, north, east, filter, out);
+        if (max >= key) range(mid + 1, hi, depth + 1, south, west, north, east, filter, out);
+    }
+
+    // --- Distance helpers ---
+
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Exact distance along a meridian to the given latitude line.
+    private static double distanceToParallelKm(double qLat, double splitLat) {
+        return EARTH_RADIUS_KM * Math.toRadians(Math.abs(qLat - splitLat));
+    }
+
+    // Great-circle distance from the point to the meridian at splitLng; a lower bound for any
+    // point on the other side of it.
+    private static double distanceToMeridianKm(double qLat, double qLng, double splitLng) {
+        double dLng = Math.abs(qLng - splitLng);
+        if (dLng > 180) dLng = 360 - dLng;
+        if (dLng >= 90) return 0; // Too far round the globe for the bound to help; just visit.
+        double s = Math.cos(Math.toRadians(qLat)) * Math.sin(Math.toRadians(dLng));
+        return EARTH_RADIUS_KM * Math.asin(Math.min(1, s));
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * File: StationTextIndex.java
+ * Purpose: Immutable prefix and trigram index over station names and locations for as-you-type search
+ */
+package com.example.evcharging.data;
+
+import com.example.evcharging.models.Station;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class StationTextIndex {
+
+    private static final int GRAM = 3;
+
+    /**
+     * Available stations first, then nearest (unknown distances last), then most free slots.
+     */
+    private static final Comparator<StationSpatialIndex.Hit> RANKING = (a, b) -> {
+        boolean freeA = a.station.availableSlots > 0, freeB = b.station.availableSlots > 0;
+        if (freeA != freeB) return freeA ? -1 : 1;
+        boolean nearA = !Double.isNaN(a.distanceKm), nearB = !Double.isNaN(b.distanceKm);
+        if (nearA != nearB) return nearA ? -1 : 1;
+        int byDistance = nearA ? Double.compare(a.distanceKm, b.distanceKm) : 0;
+        return byDistance != 0 ? byDistance : Integer.compare(b.station.availableSlots, a.station.availableSlots);
+    };
+
+    private final StationCatalogFile.Reader file;
+    // Catalogue record of each indexed station; Station objects are only built for matches.
+    private final int[] records;
+    // Normalised "name location" per station, used to verify trigram candidates.
+    private final String[] text;
+    // Every word of every station, sorted, with the owning station alongside; short terms
+    // are answered by a binary search for the prefix range.
+    private final String[] words;
+    private final int[] wordStation;
+    // Trigram to ascending station indices.
+    private final Map<String, int[]> grams;
+
+    private StationTextIndex(StationCatalogFile.Reader file, int[] records, String[] text, String[] words,
+                             int[] wordStation, Map<String, int[]> grams) {
+        this.file = file;
+        this.records = records;
+        this.text = text;
+        this.words = words;
+        this.wordStation = wordStation;
+        this.grams = grams;
+    }
+
+    /**
+     * Builds the index over the active stations of a catalogue, reading only their names and
+     * locations. Meant to run off the main thread, once per catalogue snapshot.
+     */
+    public static StationTextIndex build(StationCatalogFile.Reader file) {
+        int[] records = new int[file.size()];
+        int count = 0;
+        for (int record = 0; record < file.size(); record++) {
+            if (file.isActive(record)) records[count++] = record;
+        }
+        records = Arrays.copyOf(records, count);
+        String[] text = new String[count];
+        List<String[]> entries = new ArrayList<>();
+        Map<String, int[]> postings = new HashMap<>();
+        Map<String, Integer> sizes = new HashMap<>();
+
+        for (int i = 0; i < count; i++) {
+            String name = file.name(records[i]);
+            String location = file.location(records[i]);
+            text[i] = normalize((name != null ? name : "") + " " + (location != null ? location : ""));
+            for (String word : text[i].split(" ")) {
+                if (word.isEmpty()) continue;
+                entries.add(new String[] {word, Integer.toString(i)});
+                for (int j = 0; j + GRAM <= word.length(); j++) {
+                    addPosting(postings, sizes, word.substring(j, j + GRAM), i);
+                }
+            }
+        }
+
+        Collections.sort(entries, (a, b) -> a[0].compareTo(b[0]));
+        String[] words = new String[entries.size()];
+        int[] wordStation = new int[entries.size()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = entries.get(i)[0];
+            wordStation[i] = Integer.parseInt(entries.get(i)[1]);
+        }
+        for (Map.Entry<String, int[]> posting : postings.entrySet()) {
+            posting.setValue(Arrays.copyOf(posting.getValue(), sizes.get(posting.getKey())));
+        }
+        return new StationTextIndex(file, records, text, words, wordStation, postings);
+    }
+
+    // Stations are added in index order, so each list stays sorted and a repeat is always the last entry.
+    private static void addPosting(Map<String, int[]> postings, Map<String, Integer> sizes, String gram, int station) {
+        int[] list = postings.get(gram);
+        int size = list == null ? 0 : sizes.get(gram);
+        if (size > 0 && list[size - 1] == station) return;
+        if (list == null) {
+            list = new int[4];
+        } else if (size == list.length) {
+            list = Arrays.copyOf(list, size * 2);
+        }
+        list[size] = station;
+        postings.put(gram, list);
+        sizes.put(gram, size + 1);
+    }
+
+    public int size() {
+        return records.length;
+    }
+
+    /**
+     * Returns the stations matching every term of the query, ranked for the booking picker.
+     * Terms of one or two characters match word prefixes; longer terms match anywhere in the
+     * name or location. An empty query returns every station.
+     * @param lat latitude of the user, or NaN without a fix
+     * @param lng longitude of the user, or NaN without a fix
+     */
+    public List<StationSpatialIndex.Hit> search(String query, double lat, double lng) {
+        boolean[] matched = null;
+        for (String term : normalize(query != null ? query : "").split(" ")) {
+            if (term.isEmpty()) continue;
+            boolean[] next = term.length() < GRAM ? prefixMatches(term) : substringMatches(term);
+            if (matched != null) {
+                for (int i = 0; i < next.length; i++) next[i] &= matched[i];
+            }
+            matched = next;
+        }
+
+        boolean located = !Double.isNaN(lat) && !Double.isNaN(lng);
+        List<StationSpatialIndex.Hit> hits = new ArrayList<>();
+        for (int i = 0; i < records.length; i++) {
+            if (matched != null && !matched[i]) continue;
+            Station station = file.toStation(records[i]);
+            double distance = located && StationSpatialIndex.hasLocation(station)
+                    ? StationSpatialIndex.distanceKm(lat, lng, station.latitude, station.longitude)
+                    : Double.NaN;
+            hits.add(new StationSpatialIndex.Hit(station, distance));
+        }
+        Collections.sort(hits, RANKING);
+        return hits;
+    }
+
+    private boolean[] prefixMatches(String prefix) {
+        boolean[] matched = new boolean[records.length];
+        int from = lowerBound(prefix);
+        for (int i = from; i < words.length && words[i].startsWith(prefix); i++) {
+            matched[wordStation[i]] = true;
+        }
+        return matched;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0, high = words.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Takes the candidates from the rarest of the term's trigrams and checks each against the
+     * text. A missing trigram rules the term out without touching any station.
+     */
+    private boolean[] substringMatches(String term) {
+        boolean[] matched = new boolean[records.length];
+        int[] shortest = null;
+        for (int j = 0; j + GRAM <= term.length(); j++) {
+            int[] list = grams.get(term.substring(j, j + GRAM));
+            if (list == null) return matched;
+            if (shortest == null || list.length < shortest.length) shortest = list;
+        }
+        for (int station : shortest) {
+            if (text[station].contains(term)) matched[station] = true;
+        }
+        return matched;
+    }
+
+    // Lower case, with anything that is not a letter or digit treated as a word break.
+    static String normalize(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(lower.length());
+        boolean space = true;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') sb.setLength(end - 1);
+        return sb.toString();
+    }
+}
@@ -4,20 +4,29 @@ import android.content.Context;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.TypeConverters;
 
 import com.example.evcharging.dao.BookingDao;
+import com.example.evcharging.dao.NotificationDao;
+import com.example.evcharging.dao.SearchDao;
 import com.example.evcharging.dao.UserDao;
 import com.example.evcharging.models.Booking;
-import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.models.BookingFts;
+import com.example.evcharging.models.Notification;
+import com.example.evcharging.models.NotificationFts;
 import com.example.evcharging.models.User;
 
 // Add your entities to the entities array
-@Database(entities = {User.class, Booking.class}, version = 2, exportSchema = false) // <-- ADD Booking.class AND INCREMENT version
+@Database(entities = {User.class, Booking.class, Notification.class, BookingFts.class, NotificationFts.class},
+        version = 6, exportSchema = false) // v6: station catalogue moved to a mapped file (StationCatalogFile)
+@TypeConverters(Converters.class)
 public abstract class AppDatabase extends RoomDatabase {
 
     // Define your DAOs here
     public abstract UserDao userDao();
     public abstract BookingDao bookingDao();
+    public abstract NotificationDao notificationDao();
+    public abstract SearchDao searchDao();
 
     private static volatile AppDatabase INSTANCE;
 
@@ -0,0 +1,32 @@
+package com.example.evcharging.db;
+
+import androidx.room.TypeConverter;
+
+import com.example.evcharging.utils.ObjectId;
+
+import java.util.Date;
+
+// Room type converters for fields that SQLite cannot store directly.
+public class Converters {
+
+    @TypeConverter
+    public static Date fromTimestamp(Long value) {
+        return value == null ? null : new Date(value);
+    }
+
+    @TypeConverter
+    public static Long dateToTimestamp(Date date) {
+        return date == null ? null : date.getTime();
+    }
+
+    // Ids are stored as 12-byte BLOBs; byte order matches hex order, so range queries still work.
+    @TypeConverter
+    public static ObjectId fromObjectIdBytes(byte[] bytes) {
+        return bytes == null ? null : ObjectId.fromBytes(bytes);
+    }
+
+    @TypeConverter
+    public static byte[] objectIdToBytes(ObjectId id) {
+        return id == null ? null : id.toBytes();
+    }
+}
@@ -2,30 +2,45 @@ package com.example.evcharging.fragments;
 
 import android.app.DatePickerDialog;
 import android.app.TimePickerDialog;
+import android.location.Location;
 import android.os.Bundle;
-import android.util.Log;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.EditText;
-import android.widget.Spinner;
+import android.widget.TextView;
 import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.RecyclerView;
 import com.example.evcharging.R;
+import com.example.evcharging.adapters.StationPickerAdapter;
 import com.example.evcharging.api.ApiClient;
 import com.example.evcharging.api.ApiService;
+import com.example.evcharging.data.AvailabilityEngine;
+import com.example.evcharging.data.StationDirectory;
+import com.example.evcharging.data.StationSpatialIndex;
 import com.example.evcharging.models.Station;
+import com.example.evcharging.utils.AppExecutors;
+import com.example.evcharging.utils.IsoTime;
+import com.example.evcharging.utils.LocationHelper;
+import com.example.evcharging.viewmodels.HomeViewModel;
+import com.example.evcharging.viewmodels.MyBookingsViewModel;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -35,13 +50,21 @@ public class CreateBookingFragment extends Fragment {
     private static final String TAG = "CreateBookingFragment";
     private static final String ARG_TOKEN = "ARG_TOKEN";
 
-    private Spinner spinnerStation;
+    private EditText etStationSearch;
+    private StationPickerAdapter stationAdapter;
     private EditText etStartTime, etEndTime;
+    private TextView tvAvailability;
+    private ChipGroup chipSuggestions;
     private ApiService apiService;
     private String authToken;
-    private List<Station> stationList = new ArrayList<>();
+    @Nullable private Station selectedStation;
+    @Nullable private Location lastLocation;
+    private final AtomicInteger querySequence = new AtomicInteger();
     private Calendar startCalendar = Calendar.getInstance();
     private Calendar endCalendar = Calendar.getInstance();
+    private final AvailabilityEngine availability = AvailabilityEngine.getInstance();
+
+    private final StationDirectory.Listener stationListener = snapshot -> onStationsChanged();
 
     public static CreateBookingFragment newInstance(String token) {
         CreateBookingFragment fragment = new CreateBookingFragment();
@@ -73,42 +96,89 @@ public class CreateBookingFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         apiService = ApiClient.getApiService();
-        spinnerStation = view.findViewById(R.id.spinnerStation);
+        etStationSearch = view.findViewById(R.id.etStationSearch);
+        RecyclerView rvStationPicker = view.findViewById(R.id.rvStationPicker);
         etStartTime = view.findViewById(R.id.etStartTime);
         etEndTime = view.findViewById(R.id.etEndTime);
+        tvAvailability = view.findViewById(R.id.tvAvailability);
+        chipSuggestions = view.findViewById(R.id.chipSuggestions);
         Button btnCreateBooking = view.findViewById(R.id.btnCreateBooking);
 
         etStartTime.setOnClickListener(v -> showDateTimePicker(startCalendar, etStartTime));
         etEndTime.setOnClickListener(v -> showDateTimePicker(endCalendar, etEndTime));
         btnCreateBooking.setOnClickListener(v -> createBooking());
 
-        fetchStations();
-    }
+        stationAdapter = new StationPickerAdapter(station -> {
+            selectedStation = station;
+            loadAvailability();
+        });
+        rvStationPicker.setAdapter(stationAdapter);
+        rvStationPicker.setHasFixedSize(true);
+        etStationSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
 
-    private void fetchStations() {
-        if (authToken == null) return;
-        apiService.getActiveStations(authToken).enqueue(new Callback<List<Station>>() {
             @Override
-            public void onResponse(@NonNull Call<List<Station>> call, @NonNull Response<List<Station>> response) {
-                if (isAdded() && response.isSuccessful() && response.body() != null) {
-                    stationList = response.body();
-                    List<String> stationNames = new ArrayList<>();
-                    for (Station station : stationList) {
-                        stationNames.add(station.name);
-                    }
-                    if (getContext() != null) {
-                        ArrayAdapter<String> adapter = new ArrayAdapter<>(getContext(), android.R.layout.simple_spinner_item, stationNames);
-                        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-                        spinnerStation.setAdapter(adapter);
-                    }
-                }
-            }
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
 
             @Override
-            public void onFailure(@NonNull Call<List<Station>> call, @NonNull Throwable t) {
-                Log.e(TAG, "Failed to fetch stations: " + t.getMessage());
+            public void afterTextChanged(Editable s) {
+                searchStations(s.toString());
             }
         });
+
+        fetchStations();
+    }
+
+    /**
+     * Shows the active stations from the shared catalogue. The directory fetches in the
+     * background only when stale, so opening this screen costs no request.
+     */
+    private void fetchStations() {
+        StationDirectory directory = StationDirectory.getInstance();
+        directory.addListener(stationListener);
+        onStationsChanged();
+        if (getContext() != null && authToken != null) {
+            directory.load(getContext(), authToken);
+        }
+    }
+
+    /**
+     * Re-resolves the selection against the new catalogue and re-runs the current query.
+     */
+    private void onStationsChanged() {
+        if (!isAdded() || getContext() == null) return;
+        lastLocation = LocationHelper.lastKnownLocation(getContext());
+        if (selectedStation != null) {
+            Station current = StationDirectory.getInstance().get(selectedStation.id);
+            if (current != null) selectedStation = current;
+        }
+        searchStations(etStationSearch.getText().toString());
+    }
+
+    /**
+     * Matches and ranks the stations on a background thread against the catalogue's text
+     * index, dropping results that arrive after a newer keystroke. Only the rows on screen
+     * are bound, so the main thread's share stays well inside a frame.
+     */
+    private void searchStations(String query) {
+        final int sequence = querySequence.incrementAndGet();
+        final StationDirectory.Snapshot snapshot = StationDirectory.getInstance().snapshot();
+        final double lat = lastLocation != null ? lastLocation.getLatitude() : Double.NaN;
+        final double lng = lastLocation != null ? lastLocation.getLongitude() : Double.NaN;
+        AppExecutors.compute().execute(() -> {
+            List<StationSpatialIndex.Hit> hits = snapshot.text().search(query, lat, lng);
+            AppExecutors.mainThread().execute(() -> {
+                if (!isAdded() || sequence != querySequence.get()) return;
+                stationAdapter.updateData(hits, selectedStation != null ? selectedStation.id : null);
+            });
+        });
+    }
+
+    @Override
+    public void onDestroyView() {
+        StationDirectory.getInstance().removeListener(stationListener);
+        super.onDestroyView();
     }
 
     private void showDateTimePicker(final Calendar calendar, final EditText editText) {
@@ -121,19 +191,80 @@ public class CreateBookingFragment extends Fragment {
             new TimePickerDialog(getContext(), (timeView, hourOfDay, minute) -> {
                 calendar.set(Calendar.HOUR_OF_DAY, hourOfDay);
                 calendar.set(Calendar.MINUTE, minute);
-                SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.getDefault());
-                editText.setText(sdf.format(calendar.getTime()));
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                // The picker works in local time; the backend expects the instant in UTC.
+                editText.setText(IsoTime.formatUtc(calendar.getTimeInMillis()));
+                validateSelection();
             }, calendar.get(Calendar.HOUR_OF_DAY), calendar.get(Calendar.MINUTE), false).show();
         }, calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH), calendar.get(Calendar.DAY_OF_MONTH)).show();
     }
 
+    @Nullable
+    private Station selectedStation() {
+        return selectedStation;
+    }
+
+    /**
+     * Loads the selected station's occupancy (or reuses a fresh copy) and re-validates.
+     */
+    private void loadAvailability() {
+        Station station = selectedStation();
+        if (station == null || authToken == null) return;
+        availability.load(authToken, station.id, loadedId -> {
+            Station current = selectedStation();
+            if (isAdded() && current != null && current.id.equals(loadedId)) {
+                validateSelection();
+            }
+        });
+    }
+
+    /**
+     * Checks the chosen window locally and, if it would be rejected, offers the next free windows.
+     */
+    private void validateSelection() {
+        if (!isAdded() || getContext() == null) return;
+        chipSuggestions.removeAllViews();
+        Station station = selectedStation();
+        long start = IsoTime.parseMillis(etStartTime.getText().toString());
+        long end = IsoTime.parseMillis(etEndTime.getText().toString());
+        if (station == null || start == IsoTime.INVALID || end == IsoTime.INVALID) {
+            tvAvailability.setVisibility(View.GONE);
+            return;
+        }
+
+        AvailabilityEngine.Verdict verdict = availability.check(station, start, end);
+        tvAvailability.setVisibility(View.VISIBLE);
+        tvAvailability.setText(verdict.message);
+        tvAvailability.setTextColor(ContextCompat.getColor(getContext(), verdict.ok ? R.color.emerald_green : R.color.red_error));
+        if (verdict.ok || end <= start) return;
+
+        long duration = Math.min(Math.max(end - start, AvailabilityEngine.MIN_DURATION_MS), AvailabilityEngine.MAX_DURATION_MS);
+        SimpleDateFormat label = new SimpleDateFormat("EEE HH:mm", Locale.getDefault());
+        for (long[] window : availability.suggest(station, start, duration, 3)) {
+            Chip chip = new Chip(getContext());
+            chip.setText(label.format(window[0]) + " - " + label.format(window[1]));
+            chip.setOnClickListener(v -> applyWindow(window[0], window[1]));
+            chipSuggestions.addView(chip);
+        }
+    }
+
+    private void applyWindow(long start, long end) {
+        startCalendar.setTimeInMillis(start);
+        endCalendar.setTimeInMillis(end);
+        etStartTime.setText(IsoTime.formatUtc(start));
+        etEndTime.setText(IsoTime.formatUtc(end));
+        validateSelection();
+    }
+
     private void createBooking() {
-        if (stationList.isEmpty() || spinnerStation.getSelectedItem() == null) {
+        Station station = selectedStation();
+        if (station == null) {
             Toast.makeText(getContext(), "Please select a station", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        String stationId = stationList.get(spinnerStation.getSelectedItemPosition()).id;
+        String stationId = station.id;
         String startTime = etStartTime.getText().toString();
         String endTime = etEndTime.getText().toString();
 
@@ -142,6 +273,16 @@ public class CreateBookingFragment extends Fragment {
             return;
         }
 
+        // Don't send requests the backend is certain to reject.
+        final long startMillis = IsoTime.parseMillis(startTime);
+        final long endMillis = IsoTime.parseMillis(endTime);
+        AvailabilityEngine.Verdict verdict = availability.check(station, startMillis, endMillis);
+        if (!verdict.ok) {
+            validateSelection();
+            Toast.makeText(getContext(), verdict.message, Toast.LENGTH_SHORT).show();
+            return;
+        }
+
         Map<String, String> body = new HashMap<>();
         body.put("stationId", stationId);
         body.put("startTime", startTime);
@@ -150,8 +291,17 @@ public class CreateBookingFragment extends Fragment {
         apiService.createBooking(authToken, body).enqueue(new Callback<Map<String, Object>>() {
             @Override
             public void onResponse(@NonNull Call<Map<String, Object>> call, @NonNull Response<Map<String, Object>> response) {
+                if (response.isSuccessful() && response.body() != null && response.body().get("id") instanceof String) {
+                    // Hold the slot locally so the next check sees it without refetching.
+                    availability.onBookingCreated(stationId, (String) response.body().get("id"), startMillis, endMillis);
+                }
                 if (isAdded() && response.isSuccessful()) {
+                    // The bookings tabs reload on their next visit instead of waiting out their TTL.
+                    ViewModelProvider provider = new ViewModelProvider(requireActivity());
+                    provider.get(MyBookingsViewModel.class).invalidate();
+                    provider.get(HomeViewModel.class).invalidate();
                     Toast.makeText(getContext(), "Booking created successfully!", Toast.LENGTH_SHORT).show();
+                    validateSelection();
                 } else if(isAdded()) {
                     Toast.makeText(getContext(), "Failed to create booking: " + response.code(), Toast.LENGTH_SHORT).show();
                 }
@@ -3,7 +3,6 @@ package com.example.evcharging.fragments;
 import android.Manifest;
 import android.content.pm.PackageManager;
 import android.os.Bundle;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -12,13 +11,23 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.app.ActivityCompat;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.evcharging.R;
 import com.example.evcharging.adapters.BookingAdapter;
+import com.example.evcharging.adapters.BookingViewPool;
 import com.example.evcharging.api.ApiClient;
 import com.example.evcharging.api.ApiService;
+import com.example.evcharging.data.StationDirectory;
+import com.example.evcharging.map.StationMarkerLayer;
 import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.models.HomeSummary;
+import com.example.evcharging.utils.JankMonitor;
+import com.example.evcharging.utils.UpdatedStamp;
+import com.example.evcharging.viewmodels.HomeViewModel;
+import com.example.evcharging.viewmodels.MyBookingsViewModel;
+import com.example.evcharging.viewmodels.RefreshableViewModel;
 import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.OnMapReadyCallback;
@@ -26,14 +35,19 @@ import com.google.android.gms.maps.SupportMapFragment;
 import com.google.android.gms.maps.model.LatLng;
 import java.util.ArrayList;
 import java.util.List;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class DashboardFragment extends Fragment implements OnMapReadyCallback {
 
     private static final String TAG = "DashboardFragment";
     private static final String ARG_TOKEN = "ARG_TOKEN"; // Key for argument
+    // Frame metrics for this tab are filed under this name.
+    private static final String SCREEN = "dashboard";
+    // The dashboard is reloaded at most this often when switching back to it.
+    private static final long MAX_AGE_MS = 60 * 1000L;
+    // Two pages either side of the one on screen.
+    private static final int CAROUSEL_CACHED_PAGES = 4;
+    // About a screen of My Bookings rows, inflated at idle after the dashboard first draws.
+    private static final int PREINFLATED_ROWS = 6;
 
     private GoogleMap mMap;
     private ApiService apiService;
@@ -42,6 +56,17 @@ public class DashboardFragment extends Fragment implements OnMapReadyCallback {
     private final List<BookingApi> bookingList = new ArrayList<>();
     private TextView tvNoUpcomingBookings;
     private RecyclerView rvBookings;
+    private TextView tvLastUpdated;
+    private TextView tvGreeting, tvPending, tvApproved, tvNearby;
+    private HomeViewModel viewModel;
+
+    private StationMarkerLayer stationMarkerLayer;
+
+    // Re-binds rows once station names become available and redraws the station markers.
+    private final StationDirectory.Listener stationListener = snapshot -> {
+        if (bookingAdapter != null) bookingAdapter.notifyDataSetChanged();
+        if (stationMarkerLayer != null) stationMarkerLayer.setStations(snapshot);
+    };
 
     public static DashboardFragment newInstance(String token) {
         DashboardFragment fragment = new DashboardFragment();
@@ -72,8 +97,21 @@ public class DashboardFragment extends Fragment implements OnMapReadyCallback {
         apiService = ApiClient.getApiService();
         tvNoUpcomingBookings = view.findViewById(R.id.tvNoUpcomingBookings);
         rvBookings = view.findViewById(R.id.rvBookings);
+        tvLastUpdated = view.findViewById(R.id.tvLastUpdated);
+        tvGreeting = view.findViewById(R.id.tvGreeting);
+        tvPending = view.findViewById(R.id.tvPending);
+        tvApproved = view.findViewById(R.id.tvApproved);
+        tvNearby = view.findViewById(R.id.tvNearby);
 
         setupRecyclerView();
+        StationDirectory.getInstance().addListener(stationListener);
+
+        // One home request fills the greeting, the cards and the upcoming list.
+        ViewModelProvider provider = new ViewModelProvider(requireActivity());
+        viewModel = provider.get(HomeViewModel.class);
+        MyBookingsViewModel myBookings = provider.get(MyBookingsViewModel.class);
+        bookingAdapter.setOnBookingCancelled(myBookings::invalidate);
+        viewModel.getState().observe(getViewLifecycleOwner(), this::render);
 
         SupportMapFragment mapFragment = (SupportMapFragment) getChildFragmentManager().findFragmentById(R.id.map);
         if (mapFragment != null) {
@@ -81,10 +119,41 @@ public class DashboardFragment extends Fragment implements OnMapReadyCallback {
         }
     }
 
+    @Override
+    public void onDestroyView() {
+        StationDirectory.getInstance().removeListener(stationListener);
+        stationMarkerLayer = null;
+        super.onDestroyView();
+    }
+
     @Override
     public void onResume() {
         super.onResume();
-        fetchBookings();
+        // Every tab is resumed with the activity; only the visible one may load.
+        if (!isHidden()) {
+            JankMonitor.getInstance().enterScreen(SCREEN);
+            viewModel.refreshIfStale(authToken, MAX_AGE_MS);
+        }
+    }
+
+    @Override
+    public void onPause() {
+        JankMonitor.getInstance().leaveScreen(SCREEN);
+        super.onPause();
+    }
+
+    @Override
+    public void onHiddenChanged(boolean hidden) {
+        super.onHiddenChanged(hidden);
+        if (hidden) {
+            JankMonitor.getInstance().leaveScreen(SCREEN);
+            return;
+        }
+        JankMonitor.getInstance().enterScreen(SCREEN);
+        RefreshableViewModel.State<HomeSummary> state = viewModel.getState().getValue();
+        // Age the stamp even when the cached list is fresh enough to show as is.
+        if (state != null) tvLastUpdated.setText(UpdatedStamp.text(state.updatedAtMillis));
+        viewModel.refreshIfStale(authToken, MAX_AGE_MS);
     }
 
     private void setupRecyclerView() {
@@ -94,34 +163,45 @@ public class DashboardFragment extends Fragment implements OnMapReadyCallback {
         bookingAdapter = new BookingAdapter(bookingList, apiService, authToken);
         // --- END: FIX ---
         rvBookings.setAdapter(bookingAdapter);
+        // Each card is a full-width page whose bind draws a QR code; keep the pages either side
+        // of the current one bound so swiping back and forth does not redraw them.
+        rvBookings.setItemViewCacheSize(CAROUSEL_CACHED_PAGES);
+        JankMonitor.getInstance().trackScrolling(rvBookings);
+        if (getActivity() instanceof BookingViewPool.Owner) {
+            BookingViewPool pool = ((BookingViewPool.Owner) getActivity()).getBookingViewPool();
+            pool.attach(rvBookings, bookingAdapter);
+            pool.preinflate(rvBookings, PREINFLATED_ROWS);
+        }
     }
 
-    private void fetchBookings() {
-        if (authToken == null) return;
-        apiService.getMyBookings(authToken).enqueue(new Callback<List<BookingApi>>() {
-            @Override
-            public void onResponse(@NonNull Call<List<BookingApi>> call, @NonNull Response<List<BookingApi>> response) {
-                if (isAdded() && response.isSuccessful() && response.body() != null) {
-                    List<BookingApi> bookings = response.body();
-                    bookingList.clear();
-                    bookingList.addAll(bookings);
-                    bookingAdapter.notifyDataSetChanged();
-
-                    if (bookings.isEmpty()) {
-                        rvBookings.setVisibility(View.GONE);
-                        tvNoUpcomingBookings.setVisibility(View.VISIBLE);
-                    } else {
-                        rvBookings.setVisibility(View.VISIBLE);
-                        tvNoUpcomingBookings.setVisibility(View.GONE);
-                    }
-                }
-            }
+    private void render(RefreshableViewModel.State<HomeSummary> state) {
+        tvLastUpdated.setText(UpdatedStamp.text(state.updatedAtMillis));
+        HomeSummary summary = state.data;
+        if (summary == null) {
+            // Keep the empty hint hidden until the first load so it doesn't flash on startup.
+            tvNoUpcomingBookings.setVisibility(View.GONE);
+            return;
+        }
 
-            @Override
-            public void onFailure(@NonNull Call<List<BookingApi>> call, @NonNull Throwable t) {
-                Log.e(TAG, "Failed to fetch bookings: " + t.getMessage());
-            }
-        });
+        if (summary.profile != null && summary.profile.firstName != null) {
+            tvGreeting.setText("Hi, " + summary.profile.firstName);
+        }
+        int pending = 0;
+        int approved = 0;
+        for (BookingApi booking : summary.upcomingBookings) {
+            if (booking.status == 0) pending++;
+            else if (booking.status == 1) approved++;
+        }
+        tvPending.setText(pending + "\nPending");
+        tvApproved.setText(approved + "\nApproved");
+        tvNearby.setText(summary.nearbyStations.size() + "\nNearby");
+
+        bookingList.clear();
+        bookingList.addAll(summary.upcomingBookings);
+        bookingAdapter.notifyDataSetChanged();
+        boolean empty = summary.upcomingBookings.isEmpty();
+        rvBookings.setVisibility(empty ? View.GONE : View.VISIBLE);
+        tvNoUpcomingBookings.setVisibility(empty ? View.VISIBLE : View.GONE);
     }
 
     @Override
@@ -132,5 +212,14 @@ public class DashboardFragment extends Fragment implements OnMapReadyCallback {
         if (getContext() != null && ActivityCompat.checkSelfPermission(getContext(), Manifest.permission.ACCESS_FINE_LOCATION) == PackageManager.PERMISSION_GRANTED) {
             mMap.setMyLocationEnabled(true);
         }
+
+        // Stations are clustered off the main thread and only on-screen markers are created.
+        if (getContext() != null) {
+            stationMarkerLayer = new StationMarkerLayer(getContext(), mMap);
+            StationDirectory.Snapshot snapshot = StationDirectory.getInstance().snapshot();
+            if (!snapshot.isEmpty()) {
+                stationMarkerLayer.setStations(snapshot);
+            }
+        }
     }
 }
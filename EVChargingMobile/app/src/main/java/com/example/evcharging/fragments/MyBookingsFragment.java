@@ -1,36 +1,49 @@
 package com.example.evcharging.fragments;
 
 import android.os.Bundle;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.evcharging.R;
 import com.example.evcharging.adapters.BookingAdapter;
+import com.example.evcharging.adapters.BookingViewPool;
 import com.example.evcharging.api.ApiClient;
 import com.example.evcharging.api.ApiService;
+import com.example.evcharging.data.StationDirectory;
 import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.utils.UpdatedStamp;
+import com.example.evcharging.viewmodels.HomeViewModel;
+import com.example.evcharging.viewmodels.MyBookingsViewModel;
+import com.example.evcharging.viewmodels.RefreshableViewModel;
 import java.util.ArrayList;
 import java.util.List;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class MyBookingsFragment extends Fragment {
 
     private static final String TAG = "MyBookingsFragment";
     private static final String ARG_TOKEN = "ARG_TOKEN";
+    // The full list is reloaded at most this often when switching back to the tab.
+    private static final long MAX_AGE_MS = 60 * 1000L;
 
     private RecyclerView rvMyBookings;
     private BookingAdapter adapter;
     private final List<BookingApi> bookingList = new ArrayList<>();
     private ApiService apiService;
     private String authToken;
+    private TextView tvLastUpdated;
+    private MyBookingsViewModel viewModel;
+
+    // Re-binds rows once station names become available.
+    private final StationDirectory.Listener stationListener = snapshot -> {
+        if (adapter != null) adapter.notifyDataSetChanged();
+    };
 
     public static MyBookingsFragment newInstance(String token) {
         MyBookingsFragment fragment = new MyBookingsFragment();
@@ -60,13 +73,37 @@ public class MyBookingsFragment extends Fragment {
 
         apiService = ApiClient.getApiService();
         rvMyBookings = view.findViewById(R.id.rvMyBookings);
+        tvLastUpdated = view.findViewById(R.id.tvLastUpdated);
         setupRecyclerView();
+        StationDirectory.getInstance().addListener(stationListener);
+
+        ViewModelProvider provider = new ViewModelProvider(requireActivity());
+        viewModel = provider.get(MyBookingsViewModel.class);
+        adapter.setOnBookingCancelled(provider.get(HomeViewModel.class)::invalidate);
+        viewModel.getState().observe(getViewLifecycleOwner(), this::render);
+    }
+
+    @Override
+    public void onDestroyView() {
+        StationDirectory.getInstance().removeListener(stationListener);
+        super.onDestroyView();
     }
 
     @Override
     public void onResume() {
         super.onResume();
-        fetchMyBookings();
+        // Every tab is resumed with the activity; only the visible one may load.
+        if (!isHidden()) viewModel.refreshIfStale(authToken, MAX_AGE_MS);
+    }
+
+    @Override
+    public void onHiddenChanged(boolean hidden) {
+        super.onHiddenChanged(hidden);
+        if (hidden) return;
+        RefreshableViewModel.State<?> state = viewModel.getState().getValue();
+        // Age the stamp even when the cached list is fresh enough to show as is.
+        if (state != null) tvLastUpdated.setText(UpdatedStamp.text(state.updatedAtMillis));
+        viewModel.refreshIfStale(authToken, MAX_AGE_MS);
     }
 
     private void setupRecyclerView() {
@@ -76,24 +113,16 @@ public class MyBookingsFragment extends Fragment {
         adapter = new BookingAdapter(bookingList, apiService, authToken);
         // --- END: FIX ---
         rvMyBookings.setAdapter(adapter);
+        // Shares rows with the dashboard carousel, which already inflated some by the time this tab opens.
+        if (getActivity() instanceof BookingViewPool.Owner) {
+            ((BookingViewPool.Owner) getActivity()).getBookingViewPool().attach(rvMyBookings, adapter);
+        }
     }
 
-    private void fetchMyBookings() {
-        if (authToken == null) return;
-        apiService.getMyBookings(authToken).enqueue(new Callback<List<BookingApi>>() {
-            @Override
-            public void onResponse(@NonNull Call<List<BookingApi>> call, @NonNull Response<List<BookingApi>> response) {
-                if (isAdded() && response.isSuccessful() && response.body() != null) {
-                    bookingList.clear();
-                    bookingList.addAll(response.body());
-                    adapter.notifyDataSetChanged();
-                }
-            }
-
-            @Override
-            public void onFailure(@NonNull Call<List<BookingApi>> call, @NonNull Throwable t) {
-                Log.e(TAG, "Failed to fetch bookings: " + t.getMessage());
-            }
-        });
+    private void render(RefreshableViewModel.State<List<BookingApi>> state) {
+        bookingList.clear();
+        bookingList.addAll(state.data);
+        adapter.notifyDataSetChanged();
+        tvLastUpdated.setText(UpdatedStamp.text(state.updatedAtMillis));
     }
 }
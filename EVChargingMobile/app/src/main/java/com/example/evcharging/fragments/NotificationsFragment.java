@@ -1,7 +1,6 @@
 package com.example.evcharging.fragments;
 
 import android.os.Bundle;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,36 +9,38 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
 import com.example.evcharging.R;
 import com.example.evcharging.adapters.NotificationAdapter;
-import com.example.evcharging.api.ApiClient;
-import com.example.evcharging.api.ApiService;
 import com.example.evcharging.models.Notification;
+import com.example.evcharging.utils.JankMonitor;
+import com.example.evcharging.utils.UpdatedStamp;
+import com.example.evcharging.viewmodels.NotificationsViewModel;
+import com.example.evcharging.viewmodels.RefreshableViewModel;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class NotificationsFragment extends Fragment {
 
     private static final String TAG = "NotificationsFragment";
     private static final String ARG_TOKEN = "ARG_TOKEN"; // Key for argument bundle
+    // Frame metrics for this tab are filed under this name.
+    private static final String SCREEN = "notifications";
 
     private RecyclerView rvNotifications;
     private TextView tvNoNotifications;
     private ProgressBar progressBar;
     private SwipeRefreshLayout swipeRefreshLayout;
+    private TextView tvLastUpdated;
     private NotificationAdapter adapter;
 
-    private ApiService apiService;
     private String authToken;
+    private NotificationsViewModel viewModel;
     private final List<Notification> notificationList = new ArrayList<>();
 
     // --- THIS IS THE MISSING METHOD THAT FIXES THE BUILD ERROR ---
@@ -71,74 +72,83 @@ public class NotificationsFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        apiService = ApiClient.getApiService();
         rvNotifications = view.findViewById(R.id.rvNotifications);
         tvNoNotifications = view.findViewById(R.id.tvNoNotifications);
         progressBar = view.findViewById(R.id.progressBar);
         swipeRefreshLayout = view.findViewById(R.id.swipeRefreshLayout);
+        tvLastUpdated = view.findViewById(R.id.tvLastUpdated);
 
         setupRecyclerView();
         setupSwipeRefresh();
+
+        viewModel = new ViewModelProvider(requireActivity()).get(NotificationsViewModel.class);
+        viewModel.getState().observe(getViewLifecycleOwner(), this::render);
     }
 
     @Override
     public void onResume() {
         super.onResume();
-        if (authToken != null) {
-            fetchNotifications(true); // Show initial loading progress bar
+        // Every tab is resumed with the activity; only the visible one may load.
+        if (!isHidden()) {
+            JankMonitor.getInstance().enterScreen(SCREEN);
+            viewModel.refreshIfChanged(authToken);
+        }
+    }
+
+    @Override
+    public void onPause() {
+        JankMonitor.getInstance().leaveScreen(SCREEN);
+        super.onPause();
+    }
+
+    @Override
+    public void onHiddenChanged(boolean hidden) {
+        super.onHiddenChanged(hidden);
+        if (hidden) {
+            JankMonitor.getInstance().leaveScreen(SCREEN);
+            return;
         }
+        JankMonitor.getInstance().enterScreen(SCREEN);
+        RefreshableViewModel.State<?> state = viewModel.getState().getValue();
+        // Age the stamp even when the cached list is still current.
+        if (state != null) tvLastUpdated.setText(UpdatedStamp.text(state.updatedAtMillis));
+        // Opening the tab costs one small count request; the list only comes down if it changed.
+        viewModel.refreshIfChanged(authToken);
     }
 
     private void setupRecyclerView() {
         rvNotifications.setLayoutManager(new LinearLayoutManager(getContext()));
         adapter = new NotificationAdapter(notificationList);
         rvNotifications.setAdapter(adapter);
+        JankMonitor.getInstance().trackScrolling(rvNotifications);
     }
 
     private void setupSwipeRefresh() {
-        swipeRefreshLayout.setOnRefreshListener(() -> fetchNotifications(false)); // Don't show initial progress bar on refresh
+        swipeRefreshLayout.setOnRefreshListener(() -> viewModel.refresh(authToken)); // Pull-to-refresh always goes to the server
     }
 
-    private void fetchNotifications(boolean showInitialProgress) {
-        if (showInitialProgress) {
-            progressBar.setVisibility(View.VISIBLE);
+    /**
+     * Renders the cached list. The centre spinner only shows for the very first load; later
+     * refreshes keep the current rows on screen.
+     */
+    private void render(RefreshableViewModel.State<List<Notification>> state) {
+        progressBar.setVisibility(state.loading && !state.hasLoaded() ? View.VISIBLE : View.GONE);
+        if (!state.loading) swipeRefreshLayout.setRefreshing(false);
+        tvLastUpdated.setText(UpdatedStamp.text(state.updatedAtMillis));
+
+        if (!state.data.isEmpty()) {
+            tvNoNotifications.setVisibility(View.GONE);
+            rvNotifications.setVisibility(View.VISIBLE);
+            adapter.updateData(state.data);
+            JankMonitor.getInstance().putState(SCREEN + ".rows", state.data.size());
+        } else if (state.error != null) {
+            rvNotifications.setVisibility(View.GONE);
+            tvNoNotifications.setText(state.error);
+            tvNoNotifications.setVisibility(View.VISIBLE);
+        } else if (state.hasLoaded()) {
+            rvNotifications.setVisibility(View.GONE);
+            tvNoNotifications.setText("You have no notifications.");
+            tvNoNotifications.setVisibility(View.VISIBLE);
         }
-        rvNotifications.setVisibility(View.GONE);
-        tvNoNotifications.setVisibility(View.GONE);
-
-        apiService.getMyNotifications(authToken).enqueue(new Callback<List<Notification>>() {
-            @Override
-            public void onResponse(@NonNull Call<List<Notification>> call, @NonNull Response<List<Notification>> response) {
-                if (!isAdded()) return;
-                progressBar.setVisibility(View.GONE);
-                swipeRefreshLayout.setRefreshing(false);
-
-                if (response.isSuccessful() && response.body() != null) {
-                    List<Notification> notifications = response.body();
-                    if (notifications.isEmpty()) {
-                        tvNoNotifications.setText("You have no notifications.");
-                        tvNoNotifications.setVisibility(View.VISIBLE);
-                    } else {
-                        rvNotifications.setVisibility(View.VISIBLE);
-                        adapter.updateData(notifications);
-                    }
-                } else {
-                    String errorText = "Failed to load notifications. Code: " + response.code();
-                    tvNoNotifications.setText(errorText);
-                    tvNoNotifications.setVisibility(View.VISIBLE);
-                    Log.e(TAG, "API Error: " + response.code() + " - " + response.message());
-                }
-            }
-
-            @Override
-            public void onFailure(@NonNull Call<List<Notification>> call, @NonNull Throwable t) {
-                if (!isAdded()) return;
-                progressBar.setVisibility(View.GONE);
-                swipeRefreshLayout.setRefreshing(false);
-                tvNoNotifications.setText("Network error. Please try again.");
-                tvNoNotifications.setVisibility(View.VISIBLE);
-                Log.e(TAG, "Network Failure: ", t);
-            }
-        });
     }
 }
@@ -15,18 +15,30 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.evcharging.R;
 import com.example.evcharging.adapters.OperatorBookingAdapter;
+import com.example.evcharging.adapters.StickyHeaderDecoration;
 import com.example.evcharging.api.ApiClient;
 import com.example.evcharging.api.ApiService;
-import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.data.BookingColumns;
+import com.example.evcharging.data.BookingSections;
+import com.example.evcharging.data.StationBookingCache;
+import com.example.evcharging.data.StationDirectory;
 import com.example.evcharging.models.CancellationReason; // <-- Import the new model
+import com.example.evcharging.utils.AppExecutors;
+import com.example.evcharging.utils.JankMonitor;
+import com.example.evcharging.utils.UpdatedStamp;
+import com.example.evcharging.viewmodels.MultiStationBookingsViewModel;
+
+import com.google.android.material.chip.ChipGroup;
 
 import java.util.ArrayList;
-import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -37,22 +49,44 @@ public class OperatorBookingsFragment extends Fragment implements OperatorBookin
     private static final String TAG = "OperatorBookingsFrag";
     private static final String ARG_TOKEN = "ARG_TOKEN";
     private static final String ARG_STATION_ID = "ARG_STATION_ID";
+    private static final String ARG_STATION_IDS = "ARG_STATION_IDS";
+    // Frame metrics for this tab are filed under this name.
+    private static final String SCREEN = "operator_bookings";
+    // Switching back to the list only asks for changes once the last sync is older than this.
+    private static final long MAX_AGE_MS = 30 * 1000L;
 
     private RecyclerView rvOperatorBookings;
     private OperatorBookingAdapter adapter;
-    private final List<BookingApi> bookingList = new ArrayList<>();
+    private StickyHeaderDecoration stickyHeaders;
+    private ChipGroup chipGroupStatus;
+    private ChipGroup chipGroupTime;
+    // The unfiltered rows last rendered; filters are re-applied to these.
+    private BookingColumns currentRows = BookingColumns.EMPTY;
+    private final AtomicInteger layoutSequence = new AtomicInteger();
     private ApiService apiService;
     private String authToken;
     private String stationId;
+    // Every station the operator covers; more than one switches the list to the merged view.
+    private ArrayList<String> stationIds;
+    @Nullable private MultiStationBookingsViewModel multiStation;
 
     private ProgressBar progressBar;
     private TextView tvNoBookings;
+    private TextView tvLastUpdated;
+
+    // Re-binds rows once station names become available.
+    private final StationDirectory.Listener stationListener = snapshot -> {
+        if (adapter != null) adapter.notifyDataSetChanged();
+    };
+
+    private final StationBookingCache.Listener bookingsListener = this::render;
 
-    public static OperatorBookingsFragment newInstance(String token, String stationId) {
+    public static OperatorBookingsFragment newInstance(String token, String stationId, ArrayList<String> stationIds) {
         OperatorBookingsFragment fragment = new OperatorBookingsFragment();
         Bundle args = new Bundle();
         args.putString(ARG_TOKEN, token);
         args.putString(ARG_STATION_ID, stationId);
+        args.putStringArrayList(ARG_STATION_IDS, stationIds);
         fragment.setArguments(args);
         return fragment;
     }
@@ -63,6 +97,7 @@ public class OperatorBookingsFragment extends Fragment implements OperatorBookin
         if (getArguments() != null) {
             authToken = getArguments().getString(ARG_TOKEN);
             stationId = getArguments().getString(ARG_STATION_ID);
+            stationIds = getArguments().getStringArrayList(ARG_STATION_IDS);
         }
     }
 
@@ -79,70 +114,181 @@ public class OperatorBookingsFragment extends Fragment implements OperatorBookin
 
         progressBar = view.findViewById(R.id.progressBar);
         tvNoBookings = view.findViewById(R.id.tvNoBookings);
+        tvLastUpdated = view.findViewById(R.id.tvLastUpdated);
         rvOperatorBookings = view.findViewById(R.id.rvOperatorBookings);
+        chipGroupStatus = view.findViewById(R.id.chipGroupStatus);
+        chipGroupTime = view.findViewById(R.id.chipGroupTime);
         setupRecyclerView();
+        chipGroupStatus.setOnCheckedStateChangeListener((group, checkedIds) -> applyFilters());
+        chipGroupTime.setOnCheckedStateChangeListener((group, checkedIds) -> applyFilters());
+        StationDirectory.getInstance().addListener(stationListener);
 
         if (TextUtils.isEmpty(stationId)) {
             Log.e(TAG, "Station ID is missing! Cannot fetch bookings.");
             progressBar.setVisibility(View.GONE);
             tvNoBookings.setText("Operator station ID not found.");
             tvNoBookings.setVisibility(View.VISIBLE);
+            return;
         }
+        if (isMultiStation()) {
+            multiStation = new ViewModelProvider(this).get(MultiStationBookingsViewModel.class);
+            multiStation.getState().observe(getViewLifecycleOwner(), this::renderMerged);
+            multiStation.refreshIfStale(authToken, stationIds, MAX_AGE_MS);
+            return;
+        }
+        // The dashboard prefetched the shift's bookings; render whatever is already indexed.
+        StationBookingCache.getInstance().addListener(bookingsListener);
+        render(StationBookingCache.getInstance().snapshot());
+    }
+
+    @Override
+    public void onDestroyView() {
+        StationDirectory.getInstance().removeListener(stationListener);
+        StationBookingCache.getInstance().removeListener(bookingsListener);
+        super.onDestroyView();
     }
 
     @Override
     public void onResume() {
         super.onResume();
-        if (!TextUtils.isEmpty(authToken) && !TextUtils.isEmpty(stationId)) {
-            fetchBookingsForStation();
+        if (!isHidden()) JankMonitor.getInstance().enterScreen(SCREEN);
+    }
+
+    @Override
+    public void onPause() {
+        JankMonitor.getInstance().leaveScreen(SCREEN);
+        super.onPause();
+    }
+
+    @Override
+    public void onHiddenChanged(boolean hidden) {
+        super.onHiddenChanged(hidden);
+        if (hidden) {
+            JankMonitor.getInstance().leaveScreen(SCREEN);
+        } else {
+            JankMonitor.getInstance().enterScreen(SCREEN);
+        }
+        // Coming back from the embedded scanner: pick up changes made elsewhere since the last sync.
+        if (!hidden && multiStation != null) {
+            MultiStationBookingsViewModel.State state = multiStation.getState().getValue();
+            if (state != null && !state.loading) tvLastUpdated.setText(UpdatedStamp.text(state.updatedAtMillis));
+            multiStation.refreshIfStale(authToken, stationIds, MAX_AGE_MS);
+        } else if (!hidden && !TextUtils.isEmpty(stationId)) {
+            tvLastUpdated.setText(UpdatedStamp.fromElapsed(StationBookingCache.getInstance().snapshot().syncedAtElapsed));
+            StationBookingCache.getInstance().refreshIfStale(MAX_AGE_MS);
         }
     }
 
     private void setupRecyclerView() {
         rvOperatorBookings.setLayoutManager(new LinearLayoutManager(getContext()));
-        adapter = new OperatorBookingAdapter(getContext(), bookingList, this);
+        adapter = new OperatorBookingAdapter(getContext(), this);
         rvOperatorBookings.setAdapter(adapter);
+        stickyHeaders = new StickyHeaderDecoration(adapter);
+        rvOperatorBookings.addItemDecoration(stickyHeaders);
+        JankMonitor.getInstance().trackScrolling(rvOperatorBookings);
     }
 
-    private void fetchBookingsForStation() {
-        // This method remains unchanged
-        progressBar.setVisibility(View.VISIBLE);
-        tvNoBookings.setVisibility(View.GONE);
-        rvOperatorBookings.setVisibility(View.GONE);
+    /**
+     * Renders today's bookings from the shift cache. The first network sync shows a spinner;
+     * later refreshes swap the list in place.
+     */
+    private void render(StationBookingCache.Snapshot snapshot) {
+        if (!stationId.equals(snapshot.stationId)) return;
+        boolean empty = snapshot.rows.isEmpty();
+        tvLastUpdated.setText(UpdatedStamp.fromElapsed(snapshot.syncedAtElapsed));
+        progressBar.setVisibility(empty && !snapshot.isSynced() ? View.VISIBLE : View.GONE);
+        rvOperatorBookings.setVisibility(empty ? View.GONE : View.VISIBLE);
+        tvNoBookings.setVisibility(empty && snapshot.isSynced() ? View.VISIBLE : View.GONE);
+        if (empty) {
+            tvNoBookings.setText("No bookings today for this station.");
+        }
+        showRows(snapshot.rows);
+    }
 
-        apiService.getStationBookings(authToken, stationId).enqueue(new Callback<List<BookingApi>>() {
-            @Override
-            public void onResponse(@NonNull Call<List<BookingApi>> call, @NonNull Response<List<BookingApi>> response) {
-                if (!isAdded()) return;
-                progressBar.setVisibility(View.GONE);
-
-                if (response.isSuccessful() && response.body() != null) {
-                    List<BookingApi> bookings = response.body();
-                    if (bookings.isEmpty()) {
-                        tvNoBookings.setText("No bookings found for this station.");
-                        tvNoBookings.setVisibility(View.VISIBLE);
-                    } else {
-                        rvOperatorBookings.setVisibility(View.VISIBLE);
-                        adapter.updateData(bookings);
-                    }
-                } else {
-                    tvNoBookings.setText("Failed to load bookings. Code: " + response.code());
-                    tvNoBookings.setVisibility(View.VISIBLE);
-                    Log.e(TAG, "API Error on getStationBookings. Code: " + response.code() + " Message: " + response.message());
-                }
-            }
+    private boolean isMultiStation() {
+        return stationIds != null && stationIds.size() > 1;
+    }
 
-            @Override
-            public void onFailure(@NonNull Call<List<BookingApi>> call, @NonNull Throwable t) {
-                if (!isAdded()) return;
-                progressBar.setVisibility(View.GONE);
-                tvNoBookings.setText("Network Error. Please try again.");
-                tvNoBookings.setVisibility(View.VISIBLE);
-                Log.e(TAG, "Network failure on getStationBookings: ", t);
-            }
+    /**
+     * Renders the merged list of all covered stations. Rows appear as soon as the first station
+     * answers; the stamp counts stations until the round is complete.
+     */
+    private void renderMerged(MultiStationBookingsViewModel.State state) {
+        boolean empty = state.rows.isEmpty();
+        if (state.loading) {
+            tvLastUpdated.setText("Loaded " + state.stationsLoaded + " of " + state.stationsTotal + " stations");
+        } else if (state.stationsFailed > 0) {
+            tvLastUpdated.setText(state.stationsFailed + " of " + state.stationsTotal + " stations failed to load");
+        } else {
+            tvLastUpdated.setText(UpdatedStamp.text(state.updatedAtMillis));
+        }
+        progressBar.setVisibility(empty && !state.hasLoaded() ? View.VISIBLE : View.GONE);
+        rvOperatorBookings.setVisibility(empty ? View.GONE : View.VISIBLE);
+        tvNoBookings.setVisibility(empty && !state.loading ? View.VISIBLE : View.GONE);
+        if (empty) {
+            tvNoBookings.setText("No bookings today at your stations.");
+        }
+        showRows(state.rows);
+    }
+
+    private void showRows(BookingColumns rows) {
+        currentRows = rows;
+        if (rows.isEmpty()) {
+            // Drop any layout still being built for the previous rows.
+            layoutSequence.incrementAndGet();
+            adapter.updateData(BookingSections.EMPTY);
+        } else {
+            applyFilters();
+        }
+    }
+
+    /**
+     * Filters the rows by the checked statuses and time chip and groups them into hour slots on
+     * a background thread. The main thread only swaps the result into the adapter, so toggling a
+     * chip costs a rebind of the rows on screen however many bookings the station has. A layout
+     * that finishes after a newer toggle is dropped.
+     */
+    private void applyFilters() {
+        final BookingColumns rows = currentRows;
+        if (rows.isEmpty()) return;
+        final int sequence = layoutSequence.incrementAndGet();
+        final int statusMask = statusMask();
+        long now = System.currentTimeMillis();
+        int timeChip = chipGroupTime.getCheckedChipId();
+        final long from = timeChip == R.id.chipFromNow ? now : Long.MIN_VALUE;
+        final long to = timeChip == R.id.chipEarlier ? now : Long.MAX_VALUE;
+        final TimeZone zone = TimeZone.getDefault();
+        AppExecutors.compute().execute(() -> {
+            BookingSections sections = BookingSections.build(rows, statusMask, from, to, zone);
+            AppExecutors.mainThread().execute(() -> {
+                if (!isAdded() || getView() == null || sequence != layoutSequence.get()) return;
+                adapter.updateData(sections);
+                stickyHeaders.invalidate();
+                JankMonitor monitor = JankMonitor.getInstance();
+                monitor.putState(SCREEN + ".rows", sections.bookingCount());
+                monitor.putState(SCREEN + ".of", rows.size());
+                monitor.putState(SCREEN + ".statuses", Integer.toBinaryString(statusMask));
+                boolean none = sections.isEmpty();
+                rvOperatorBookings.setVisibility(none ? View.GONE : View.VISIBLE);
+                tvNoBookings.setVisibility(none ? View.VISIBLE : View.GONE);
+                if (none) tvNoBookings.setText("No bookings match the selected filters.");
+            });
         });
     }
 
+    // Backend Enum: Active = 0, Confirmed = 1, Completed = 2, Cancelled = 3, NoShow = 4
+    private int statusMask() {
+        int mask = 0;
+        for (int id : chipGroupStatus.getCheckedChipIds()) {
+            if (id == R.id.chipActive) mask |= 1;
+            else if (id == R.id.chipConfirmed) mask |= 1 << 1;
+            else if (id == R.id.chipCompleted) mask |= 1 << 2;
+            else if (id == R.id.chipCancelled) mask |= 1 << 3;
+            else if (id == R.id.chipNoShow) mask |= 1 << 4;
+        }
+        return mask;
+    }
+
     @Override
     public void onConfirm(String bookingId) {
         // This method remains unchanged
@@ -188,7 +334,8 @@ public class OperatorBookingsFragment extends Fragment implements OperatorBookin
             public void onResponse(@NonNull Call<Void> call, @NonNull Response<Void> response) {
                 if (isAdded() && response.isSuccessful()) {
                     Toast.makeText(getContext(), "Booking successfully " + action + ".", Toast.LENGTH_SHORT).show();
-                    fetchBookingsForStation(); // Refresh the list
+                    StationBookingCache.getInstance().refresh(); // Pulls just the changed booking
+                    if (multiStation != null) multiStation.refresh(authToken, stationIds);
                 } else if (isAdded()) {
                     Toast.makeText(getContext(), "Action failed. Code: " + response.code(), Toast.LENGTH_SHORT).show();
                 }
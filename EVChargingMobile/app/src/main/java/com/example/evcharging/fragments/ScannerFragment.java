@@ -0,0 +1,346 @@
+package com.example.evcharging.fragments;
+
+import android.Manifest;
+import android.content.pm.PackageManager;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.evcharging.R;
+import com.example.evcharging.adapters.ScanResultAdapter;
+import com.example.evcharging.data.ScanPipeline;
+import com.example.evcharging.models.ScanResult;
+import com.example.evcharging.scan.TunedDecoderFactory;
+import com.example.evcharging.utils.BookingToken;
+import com.example.evcharging.utils.LatencyRecorder;
+import com.example.evcharging.utils.ScanDeduplicator;
+import com.journeyapps.barcodescanner.BarcodeCallback;
+import com.journeyapps.barcodescanner.BeepManager;
+import com.journeyapps.barcodescanner.CameraPreview;
+import com.journeyapps.barcodescanner.DecoratedBarcodeView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Continuous scanner embedded in the operator dashboard.
+ * <p>
+ * While the dashboard is in the foreground the camera preview keeps running behind the other
+ * tabs (faded out, not decoding), so tapping Scan only has to start decoding instead of opening
+ * the camera. The preview is paused with the activity and after {@link #WARM_IDLE_MS} without
+ * any interaction, and re-warmed on the next one.
+ * <p>
+ * Every new booking code is verified and checked in by {@link ScanPipeline} in the background and
+ * its outcome shown inline, so the next car can be scanned straight away.
+ */
+public class ScannerFragment extends Fragment {
+
+    private static final String ARG_TOKEN = "ARG_TOKEN";
+    private static final String ARG_STATION_IDS = "ARG_STATION_IDS";
+
+    // A code held in frame is read many times a second; only report it again once it has left
+    // the frame for this long.
+    private static final long DEDUP_WINDOW_MS = 4000;
+    // Keeping the camera running costs battery; give it up if the operator walks away.
+    private static final long WARM_IDLE_MS = 3 * 60 * 1000L;
+
+    /**
+     * Lets the host return to its previous tab when the operator is done scanning.
+     */
+    public interface Host {
+        void onScannerDone();
+    }
+
+    private String authToken;
+    // Home station first, then any supervised ones.
+    private ArrayList<String> stationIds;
+
+    private DecoratedBarcodeView barcodeView;
+    private View panelScanResults;
+    private BeepManager beepManager;
+    private TextView tvScanSummary;
+    private RecyclerView rvScanResults;
+    private ScanResultAdapter adapter;
+    private ScanPipeline pipeline;
+
+    private final ScanDeduplicator deduplicator = new ScanDeduplicator(DEDUP_WINDOW_MS);
+    private final Map<String, ScanResult> resultsById = new HashMap<>();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable coolDown = this::suspendPreview;
+
+    private boolean active;
+    private boolean previewRunning;
+    private boolean cameraRequested;
+    private long previewRequestedAt;
+    // Set when the tab is shown and cleared by the first frame / first read that follows.
+    private long activatedAt;
+    private boolean activatedWarm;
+    private boolean awaitingFirstFrame;
+    private boolean awaitingFirstRead;
+
+    private final ActivityResultLauncher<String> cameraPermission = registerForActivityResult(
+            new ActivityResultContracts.RequestPermission(), granted -> {
+                if (granted) {
+                    warmUp();
+                    if (active) barcodeView.decodeContinuous(callback);
+                } else if (isAdded()) {
+                    Toast.makeText(getContext(), "Camera permission is required to scan", Toast.LENGTH_LONG).show();
+                }
+            });
+
+    private final BarcodeCallback callback = result -> {
+        String code = result.getText();
+        if (code == null || code.trim().isEmpty()) return;
+        if (awaitingFirstRead) {
+            awaitingFirstRead = false;
+            LatencyRecorder.record(metric("scan.open_to_first_read"), SystemClock.elapsedRealtime() - activatedAt);
+        }
+        onCodeRead(code.trim());
+    };
+
+    public static ScannerFragment newInstance(String token, ArrayList<String> stationIds) {
+        ScannerFragment fragment = new ScannerFragment();
+        Bundle args = new Bundle();
+        args.putString(ARG_TOKEN, token);
+        args.putStringArrayList(ARG_STATION_IDS, stationIds);
+        fragment.setArguments(args);
+        return fragment;
+    }
+
+    @Override
+    public void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        if (getArguments() != null) {
+            authToken = getArguments().getString(ARG_TOKEN);
+            stationIds = getArguments().getStringArrayList(ARG_STATION_IDS);
+        }
+    }
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_scanner, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        barcodeView = view.findViewById(R.id.zxing_barcode_scanner);
+        barcodeView.getBarcodeView().setDecoderFactory(new TunedDecoderFactory(() -> handler.post(this::onFrame)));
+        barcodeView.getBarcodeView().addStateListener(new CameraPreview.StateListener() {
+            @Override
+            public void previewSized() {}
+
+            @Override
+            public void previewStarted() {
+                previewRunning = true;
+                LatencyRecorder.record("scan.camera_start", SystemClock.elapsedRealtime() - previewRequestedAt);
+            }
+
+            @Override
+            public void previewStopped() {
+                previewRunning = false;
+            }
+
+            @Override
+            public void cameraError(Exception error) {
+                previewRunning = false;
+            }
+
+            @Override
+            public void cameraClosed() {
+                previewRunning = false;
+            }
+        });
+        barcodeView.setStatusText("Scan booking QR codes one after another");
+        beepManager = new BeepManager(requireActivity());
+
+        panelScanResults = view.findViewById(R.id.panelScanResults);
+        Button btnDone = view.findViewById(R.id.btnScanDone);
+        btnDone.setOnClickListener(v -> {
+            if (getActivity() instanceof Host) ((Host) getActivity()).onScannerDone();
+        });
+
+        tvScanSummary = view.findViewById(R.id.tvScanSummary);
+        rvScanResults = view.findViewById(R.id.rvScanResults);
+        rvScanResults.setLayoutManager(new LinearLayoutManager(getContext()));
+        adapter = new ScanResultAdapter(this::retry);
+        rvScanResults.setAdapter(adapter);
+
+        pipeline = new ScanPipeline(requireContext(), authToken, stationIds, updated -> {
+            adapter.update(updated);
+            updateSummary();
+        });
+
+        applyActiveState();
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        warmUp();
+    }
+
+    @Override
+    public void onPause() {
+        super.onPause();
+        suspendPreview();
+    }
+
+    @Override
+    public void onDestroyView() {
+        handler.removeCallbacksAndMessages(null);
+        if (pipeline != null) pipeline.close();
+        barcodeView = null;
+        super.onDestroyView();
+    }
+
+    /**
+     * Shows or hides the scanner. Hiding only fades the preview and stops decoding; the camera
+     * stays open so the next {@code setActive(true)} is nearly instant.
+     */
+    public void setActive(boolean active) {
+        if (this.active == active) return;
+        this.active = active;
+        if (active) {
+            activatedAt = SystemClock.elapsedRealtime();
+            activatedWarm = previewRunning;
+            awaitingFirstFrame = true;
+            awaitingFirstRead = true;
+        }
+        applyActiveState();
+    }
+
+    /**
+     * Called by the host on any user interaction so an idle-suspended camera comes back before
+     * the operator reaches the Scan tab.
+     */
+    public void onUserInteraction() {
+        warmUp();
+    }
+
+    private void applyActiveState() {
+        if (barcodeView == null) return;
+        View root = getView();
+        if (root != null) root.setAlpha(active ? 1f : 0f);
+        panelScanResults.setVisibility(active ? View.VISIBLE : View.INVISIBLE);
+        if (active) {
+            if (hasCameraPermission()) {
+                warmUp();
+                barcodeView.decodeContinuous(callback);
+            } else {
+                cameraPermission.launch(Manifest.permission.CAMERA);
+            }
+        } else {
+            barcodeView.getBarcodeView().stopDecoding();
+            scheduleCoolDown();
+        }
+    }
+
+    private void warmUp() {
+        if (barcodeView == null || !isResumed() || !hasCameraPermission()) return;
+        if (!cameraRequested) {
+            cameraRequested = true;
+            previewRequestedAt = SystemClock.elapsedRealtime();
+            barcodeView.resume();
+        }
+        scheduleCoolDown();
+    }
+
+    private void suspendPreview() {
+        handler.removeCallbacks(coolDown);
+        if (barcodeView != null) barcodeView.pause();
+        cameraRequested = false;
+        previewRunning = false;
+    }
+
+    private void scheduleCoolDown() {
+        handler.removeCallbacks(coolDown);
+        if (!active) handler.postDelayed(coolDown, WARM_IDLE_MS);
+    }
+
+    private void onFrame() {
+        if (!awaitingFirstFrame || !active) return;
+        awaitingFirstFrame = false;
+        LatencyRecorder.record(metric("scan.open_to_first_frame"), SystemClock.elapsedRealtime() - activatedAt);
+    }
+
+    private String metric(String name) {
+        return name + (activatedWarm ? ".warm" : ".cold");
+    }
+
+    private boolean hasCameraPermission() {
+        return getContext() != null && ContextCompat.checkSelfPermission(getContext(), Manifest.permission.CAMERA)
+                == PackageManager.PERMISSION_GRANTED;
+    }
+
+    /**
+     * Handles a decoded code. Repeats within the window are dropped; a code that was already
+     * handled is only resubmitted if its last attempt failed.
+     */
+    private void onCodeRead(String code) {
+        if (!deduplicator.accept(code, SystemClock.elapsedRealtime())) return;
+
+        BookingToken token = BookingToken.parse(code);
+        String bookingId = token != null ? token.bookingId : code;
+        ScanResult existing = resultsById.get(bookingId);
+        if (existing != null) {
+            if (existing.state == ScanResult.State.FAILED) {
+                retry(existing);
+            }
+            return;
+        }
+
+        beepManager.playBeepSoundAndVibrate();
+        ScanResult result = new ScanResult(bookingId, code, System.currentTimeMillis());
+        resultsById.put(bookingId, result);
+        adapter.add(result);
+        rvScanResults.scrollToPosition(0);
+        pipeline.submit(result);
+        updateSummary();
+    }
+
+    private void retry(ScanResult result) {
+        pipeline.submit(result);
+        adapter.update(result);
+        updateSummary();
+    }
+
+    private void updateSummary() {
+        int done = 0, pending = 0, issues = 0;
+        for (ScanResult result : resultsById.values()) {
+            switch (result.state) {
+                case CONFIRMED:
+                case FINALIZED:
+                    done++;
+                    break;
+                case REJECTED:
+                case FAILED:
+                    issues++;
+                    break;
+                default:
+                    pending++;
+                    break;
+            }
+        }
+        tvScanSummary.setText(done + " done · " + pending + " pending · " + issues + " issues");
+    }
+}
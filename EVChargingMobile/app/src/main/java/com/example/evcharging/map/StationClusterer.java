@@ -0,0 +1,174 @@
+/*
+ * File: StationClusterer.java
+ * Purpose: Grid-based clustering of stations in Web Mercator space, cached per zoom level
+ */
+package com.example.evcharging.map;
+
+import com.example.evcharging.data.StationCatalogFile;
+import com.example.evcharging.data.StationSpatialIndex;
+import com.example.evcharging.models.Station;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class StationClusterer {
+
+    // Grid cell edge in screen pixels. Stations closer than this on screen are merged.
+    private static final int CELL_PX = 80;
+    private static final int TILE_PX = 256;
+    private static final int MAX_ZOOM = 21;
+    private static final double MAX_LAT = 85.05112878;
+
+    /**
+     * A grid cell with at least one station. Single-station cells keep their station.
+     */
+    public static final class Cluster {
+        public final long key;
+        public final int count;
+        public final double latitude;
+        public final double longitude;
+        public final Station station; // non-null only when count == 1
+
+        Cluster(long key, int count, double latitude, double longitude, Station station) {
+            this.key = key;
+            this.count = count;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.station = station;
+        }
+    }
+
+    private final StationCatalogFile.Reader file;
+    // Records with a location and their coordinates, read from the catalogue on first use.
+    private int[] records;
+    private double[] lat;
+    private double[] lng;
+    // Cells are aligned to the world grid, so a zoom level's clustering never depends on the
+    // viewport and can be reused for every pan at that zoom.
+    private final Map<Integer, Map<Long, Cluster>> cellsByZoom = new ConcurrentHashMap<>();
+
+    public StationClusterer(StationCatalogFile.Reader file) {
+        this.file = file;
+    }
+
+    // Runs on the clustering thread, so the main thread never walks the catalogue.
+    private synchronized void readCoordinates() {
+        if (records != null) return;
+        int n = file.size();
+        int[] located = new int[n];
+        double[] la = new double[n];
+        double[] ln = new double[n];
+        int count = 0;
+        for (int record = 0; record < n; record++) {
+            double latitude = file.latitude(record), longitude = file.longitude(record);
+            if (!StationSpatialIndex.hasLocation(latitude, longitude)) continue;
+            located[count] = record;
+            la[count] = latitude;
+            ln[count++] = longitude;
+        }
+        lat = Arrays.copyOf(la, count);
+        lng = Arrays.copyOf(ln, count);
+        records = Arrays.copyOf(located, count);
+    }
+
+    /**
+     * Returns the clusters whose cells intersect the given bounds at the given zoom.
+     * If west > east the bounds are taken to cross the antimeridian.
+     */
+    public List<Cluster> visibleClusters(double south, double west, double north, double east, float zoom) {
+        int z = Math.max(0, Math.min(MAX_ZOOM, (int) Math.floor(zoom)));
+        Map<Long, Cluster> cells = cellsByZoom.computeIfAbsent(z, this::clusterAtZoom);
+        if (cells.isEmpty()) return Collections.emptyList();
+
+        double cellsPerWorld = cellsPerWorld(z);
+        long y0 = (long) Math.floor(mercatorY(north) * cellsPerWorld);
+        long y1 = (long) Math.floor(mercatorY(south) * cellsPerWorld);
+        long x0 = (long) Math.floor(mercatorX(west) * cellsPerWorld);
+        long x1 = (long) Math.floor(mercatorX(east) * cellsPerWorld);
+        long maxCell = (long) cellsPerWorld - 1;
+
+        List<Cluster> out = new ArrayList<>();
+        if (west <= east) {
+            collect(cells, x0, Math.min(x1, maxCell), y0, y1, out);
+        } else {
+            collect(cells, x0, maxCell, y0, y1, out);
+            collect(cells, 0, x1, y0, y1, out);
+        }
+        return out;
+    }
+
+    private static void collect(Map<Long, Cluster> cells, long x0, long x1, long y0, long y1, List<Cluster> out) {
+        long span = (x1 - x0 + 1) * (y1 - y0 + 1);
+        if (span <= 0) return;
+        if (span > cells.size()) {
+            // Fewer occupied cells than cells in view: filter occupied cells instead of probing.
+            for (Cluster cluster : cells.values()) {
+                long cx = cluster.key >>> 32, cy = cluster.key & 0xffffffffL;
+                if (cx >= x0 && cx <= x1 && cy >= y0 && cy <= y1) out.add(cluster);
+            }
+            return;
+        }
+        for (long cx = x0; cx <= x1; cx++) {
+            for (long cy = y0; cy <= y1; cy++) {
+                Cluster cluster = cells.get(key(cx, cy));
+                if (cluster != null) out.add(cluster);
+            }
+        }
+    }
+
+    private Map<Long, Cluster> clusterAtZoom(int zoom) {
+        readCoordinates();
+        double cellsPerWorld = cellsPerWorld(zoom);
+        Map<Long, double[]> sums = new HashMap<>();   // [count, sumLat, sumLng]
+        Map<Long, Integer> firstRecord = new HashMap<>();
+        for (int i = 0; i < records.length; i++) {
+            long cx = (long) Math.floor(mercatorX(lng[i]) * cellsPerWorld);
+            long cy = (long) Math.floor(mercatorY(lat[i]) * cellsPerWorld);
+            long k = key(cx, cy);
+            double[] acc = sums.get(k);
+            if (acc == null) {
+                acc = new double[3];
+                sums.put(k, acc);
+                firstRecord.put(k, records[i]);
+            }
+            acc[0]++;
+            acc[1] += lat[i];
+            acc[2] += lng[i];
+        }
+        Map<Long, Cluster> cells = new HashMap<>(sums.size() * 2);
+        for (Map.Entry<Long, double[]> entry : sums.entrySet()) {
+            double[] acc = entry.getValue();
+            int count = (int) acc[0];
+            // Only stations drawn as their own marker are read out of the catalogue.
+            Station single = count == 1 ? file.toStation(firstRecord.get(entry.getKey())) : null;
+            cells.put(entry.getKey(), new Cluster(entry.getKey(), count, acc[1] / count, acc[2] / count, single));
+        }
+        return cells;
+    }
+
+    private static double cellsPerWorld(int zoom) {
+        return Math.max(1, Math.floor((double) TILE_PX * (1L << zoom) / CELL_PX));
+    }
+
+    private static long key(long cx, long cy) {
+        return (cx << 32) | (cy & 0xffffffffL);
+    }
+
+    // Normalised Web Mercator coordinates in [0, 1).
+    private static double mercatorX(double lng) {
+        double x = (lng + 180.0) / 360.0;
+        return Math.min(Math.max(x, 0), 0.999999999);
+    }
+
+    private static double mercatorY(double lat) {
+        double clamped = Math.max(-MAX_LAT, Math.min(MAX_LAT, lat));
+        double sin = Math.sin(Math.toRadians(clamped));
+        double y = 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+        return Math.min(Math.max(y, 0), 0.999999999);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * File: StationMarkerLayer.java
+ * Purpose: Draws clustered station markers on a GoogleMap, materialising only what is on screen
+ */
+package com.example.evcharging.map;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import androidx.core.content.ContextCompat;
+
+import com.example.evcharging.R;
+import com.example.evcharging.data.StationDirectory;
+import com.example.evcharging.models.Station;
+import com.example.evcharging.utils.AppExecutors;
+import com.google.android.gms.maps.CameraUpdateFactory;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.maps.model.Marker;
+import com.google.android.gms.maps.model.MarkerOptions;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class StationMarkerLayer implements GoogleMap.OnCameraIdleListener, GoogleMap.OnMarkerClickListener {
+
+    // Visible bounds are padded so a short pan does not immediately expose empty edges.
+    private static final double BOUNDS_PADDING = 0.25;
+
+    private final Context context;
+    private final GoogleMap map;
+    private final float density;
+
+    private volatile StationClusterer clusterer;
+    private int generation;
+
+    // Markers currently on the map, keyed by zoom level and grid cell.
+    private final Map<String, Marker> markers = new HashMap<>();
+    // Icons are generated once per (status, type) or count bucket and reused.
+    private final Map<String, BitmapDescriptor> iconCache = new HashMap<>();
+
+    public StationMarkerLayer(Context context, GoogleMap map) {
+        this.context = context.getApplicationContext();
+        this.map = map;
+        this.density = context.getResources().getDisplayMetrics().density;
+        map.setOnCameraIdleListener(this);
+        map.setOnMarkerClickListener(this);
+    }
+
+    /**
+     * Replaces the station set. Clustering for the new set is computed lazily per zoom level.
+     */
+    public void setStations(StationDirectory.Snapshot snapshot) {
+        clusterer = new StationClusterer(snapshot.file);
+        clearMarkers();
+        onCameraIdle();
+    }
+
+    /**
+     * Recomputes the visible clusters on a background thread, then diffs them against the
+     * markers on the map so unchanged clusters are not recreated.
+     */
+    @Override
+    public void onCameraIdle() {
+        final StationClusterer current = clusterer;
+        if (current == null) return;
+
+        LatLngBounds bounds = map.getProjection().getVisibleRegion().latLngBounds;
+        final float zoom = map.getCameraPosition().zoom;
+        double latPad = (bounds.northeast.latitude - bounds.southwest.latitude) * BOUNDS_PADDING;
+        double lngSpan = bounds.northeast.longitude - bounds.southwest.longitude;
+        if (lngSpan < 0) lngSpan += 360;
+        double lngPad = Math.min(lngSpan * BOUNDS_PADDING, 90);
+        final double south = Math.max(-90, bounds.southwest.latitude - latPad);
+        final double north = Math.min(90, bounds.northeast.latitude + latPad);
+        boolean wholeWorld = lngSpan + 2 * lngPad >= 360;
+        final double west = wholeWorld ? -180 : wrap(bounds.southwest.longitude - lngPad);
+        final double east = wholeWorld ? 180 : wrap(bounds.northeast.longitude + lngPad);
+        final int requestGeneration = ++generation;
+
+        AppExecutors.compute().execute(() -> {
+            final List<StationClusterer.Cluster> visible = current.visibleClusters(south, west, north, east, zoom);
+            AppExecutors.mainThread().execute(() -> {
+                // A newer camera position or station set has superseded this result.
+                if (requestGeneration != generation || current != clusterer) return;
+                applyClusters(visible, (int) Math.floor(zoom));
+            });
+        });
+    }
+
+    private void applyClusters(List<StationClusterer.Cluster> visible, int zoom) {
+        Set<String> wanted = new HashSet<>(visible.size() * 2);
+        for (StationClusterer.Cluster cluster : visible) {
+            String id = zoom + ":" + cluster.key;
+            wanted.add(id);
+            if (markers.containsKey(id)) continue;
+
+            Marker marker = map.addMarker(new MarkerOptions()
+                    .position(new LatLng(cluster.latitude, cluster.longitude))
+                    .icon(iconFor(cluster))
+                    .title(cluster.station != null ? cluster.station.name : cluster.count + " stations")
+                    .snippet(cluster.station != null ? snippetFor(cluster.station) : null)
+                    .anchor(0.5f, 0.5f));
+            if (marker != null) {
+                marker.setTag(cluster);
+                markers.put(id, marker);
+            }
+        }
+
+        Iterator<Map.Entry<String, Marker>> it = markers.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Marker> entry = it.next();
+            if (!wanted.contains(entry.getKey())) {
+                entry.getValue().remove();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Zooms into a cluster when it is tapped; single stations show their info window.
+     */
+    @Override
+    public boolean onMarkerClick(Marker marker) {
+        Object tag = marker.getTag();
+        if (tag instanceof StationClusterer.Cluster && ((StationClusterer.Cluster) tag).count > 1) {
+            float zoom = map.getCameraPosition().zoom + 2;
+            map.animateCamera(CameraUpdateFactory.newLatLngZoom(marker.getPosition(), zoom));
+            return true;
+        }
+        return false;
+    }
+
+    public void clearMarkers() {
+        for (Marker marker : markers.values()) {
+            marker.remove();
+        }
+        markers.clear();
+    }
+
+    // --- Icons ---
+
+    private BitmapDescriptor iconFor(StationClusterer.Cluster cluster) {
+        String key;
+        if (cluster.station != null) {
+            key = "s:" + cluster.station.isActive() + ":" + cluster.station.type;
+        } else {
+            key = "c:" + bucketLabel(cluster.count);
+        }
+        BitmapDescriptor icon = iconCache.get(key);
+        if (icon == null) {
+            icon = cluster.station != null
+                    ? drawIcon(typeLabel(cluster.station.type), 28, cluster.station.isActive() ? R.color.emerald_green : R.color.charcoal_black)
+                    : drawIcon(bucketLabel(cluster.count), 40, R.color.cyan_blue);
+            iconCache.put(key, icon);
+        }
+        return icon;
+    }
+
+    private BitmapDescriptor drawIcon(String label, int sizeDp, int colorRes) {
+        int size = Math.round(sizeDp * density);
+        Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+
+        Paint fill = new Paint(Paint.ANTI_ALIAS_FLAG);
+        fill.setColor(ContextCompat.getColor(context, colorRes));
+        canvas.drawCircle(size / 2f, size / 2f, size / 2f, fill);
+
+        Paint stroke = new Paint(Paint.ANTI_ALIAS_FLAG);
+        stroke.setStyle(Paint.Style.STROKE);
+        stroke.setStrokeWidth(2 * density);
+        stroke.setColor(ContextCompat.getColor(context, R.color.snow_white));
+        canvas.drawCircle(size / 2f, size / 2f, size / 2f - density, stroke);
+
+        Paint text = new Paint(Paint.ANTI_ALIAS_FLAG);
+        text.setColor(ContextCompat.getColor(context, R.color.snow_white));
+        text.setTextSize(size * 0.36f);
+        text.setFakeBoldText(true);
+        text.setTextAlign(Paint.Align.CENTER);
+        Rect textBounds = new Rect();
+        text.getTextBounds(label, 0, label.length(), textBounds);
+        canvas.drawText(label, size / 2f, size / 2f - textBounds.exactCenterY(), text);
+
+        return BitmapDescriptorFactory.fromBitmap(bitmap);
+    }
+
+    // Counts are bucketed so a handful of icons cover every cluster size.
+    private static String bucketLabel(int count) {
+        if (count < 10) return String.valueOf(count);
+        if (count < 50) return "10+";
+        if (count < 100) return "50+";
+        if (count < 500) return "100+";
+        if (count < 1000) return "500+";
+        return "1k+";
+    }
+
+    // Backend StationType enum: AC = 0, DC = 1
+    private static String typeLabel(int type) {
+        return type == Station.TYPE_DC ? "DC" : "AC";
+    }
+
+    private static String snippetFor(Station station) {
+        return station.availableSlots + "/" + station.totalSlots + " slots  |  LKR " + station.pricePerHour + "/h";
+    }
+
+    private static double wrap(double lng) {
+        if (lng > 180) return lng - 360;
+        if (lng < -180) return lng + 360;
+        return lng;
+    }
+}
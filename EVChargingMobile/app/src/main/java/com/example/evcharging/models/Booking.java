@@ -4,13 +4,15 @@ import androidx.annotation.NonNull;
 import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 
+import com.example.evcharging.utils.ObjectId;
+
 // This class is ONLY for the local Room database.
 @Entity(tableName = "bookings") // This annotation fixes the "no such table" error.
 public class Booking {
 
     @PrimaryKey
     @NonNull
-    public String id; // This annotation fixes the "must have @PrimaryKey" error.
+    public ObjectId id; // Stored as a 12-byte BLOB; hex only on the API model.
 
     public String ownerNIC;
     public String stationId;
@@ -23,11 +25,11 @@ public class Booking {
 
     // A default constructor is required by Room.
     public Booking() {
-        this.id = ""; // Initialize to a non-null value
+        this.id = ObjectId.ZERO; // Initialize to a non-null value
     }
 
     // Optional: A constructor for creating instances manually.
-    public Booking(@NonNull String id, String ownerNIC, String stationId, String startTime, String endTime, int status) {
+    public Booking(@NonNull ObjectId id, String ownerNIC, String stationId, String startTime, String endTime, int status) {
         this.id = id;
         this.ownerNIC = ownerNIC;
         this.stationId = stationId;
@@ -35,4 +37,23 @@ public class Booking {
         this.endTime = endTime;
         this.status = status;
     }
+
+    // Maps an API booking onto the local model so it can be stored and indexed.
+    // Throws IllegalArgumentException if the id is not an ObjectId; check with ObjectId.isValid first.
+    public static Booking fromApi(BookingApi api) {
+        Booking booking = new Booking(ObjectId.fromHex(api.id), api.ownerNIC, api.stationId, api.startTime, api.endTime, api.status);
+        booking.qrCode = api.qrCode;
+        booking.totalAmount = api.totalAmount;
+        booking.createdAt = api.createdAt;
+        return booking;
+    }
+
+    // Maps the stored booking back to the API model, for screens that render BookingApi.
+    public BookingApi toApi() {
+        BookingApi api = new BookingApi(id.toHex(), ownerNIC, stationId, startTime, endTime, status);
+        api.qrCode = qrCode;
+        api.totalAmount = totalAmount;
+        api.createdAt = createdAt;
+        return api;
+    }
 }
@@ -21,6 +21,8 @@ public class BookingApi {
     public int status;
 
     public String qrCode;
+    // Signed token for the QR image; operators verify it offline. Null for bookings the server can't sign.
+    public String qrToken;
     public double totalAmount; // Using double for decimal values
     public String createdAt;
     public String updatedAt;
@@ -0,0 +1,16 @@
+package com.example.evcharging.models;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+// Full-text index over the local 'bookings' table (owner NIC and station id).
+// Room keeps it in sync with the content table through triggers. Booking ids are BLOBs and
+// are searched by key range instead (see LocalSearch).
+@Fts4(contentEntity = Booking.class)
+@Entity(tableName = "bookings_fts")
+public class BookingFts {
+
+    // Column order matters: it is the order used by matchinfo() when ranking.
+    public String ownerNIC;
+    public String stationId;
+}
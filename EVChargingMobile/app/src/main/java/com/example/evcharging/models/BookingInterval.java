@@ -0,0 +1,13 @@
+package com.example.evcharging.models;
+
+// Lean occupancy entry for a station: just the booked window, without owner details.
+public class BookingInterval {
+    // Only set for the signed-in user's own bookings.
+    public String id;
+    public String startTime;
+    public String endTime;
+    public int status;
+
+    // Default constructor for Gson
+    public BookingInterval() {}
+}
@@ -0,0 +1,34 @@
+package com.example.evcharging.models;
+
+import androidx.annotation.NonNull;
+
+import com.example.evcharging.utils.ObjectId;
+
+// The booking columns every projected list call returns (see BookingFields). Upserted as a
+// partial Booking, so a projected response never blanks qrCode, totalAmount or createdAt
+// stored from a full fetch.
+public class BookingListing {
+
+    @NonNull
+    public ObjectId id;
+
+    public String ownerNIC;
+    public String stationId;
+    public String startTime;
+    public String endTime;
+    public int status;
+
+    public BookingListing(@NonNull ObjectId id, String ownerNIC, String stationId, String startTime, String endTime, int status) {
+        this.id = id;
+        this.ownerNIC = ownerNIC;
+        this.stationId = stationId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+    }
+
+    // Throws IllegalArgumentException if the id is not an ObjectId; check with ObjectId.isValid first.
+    public static BookingListing fromApi(BookingApi api) {
+        return new BookingListing(ObjectId.fromHex(api.id), api.ownerNIC, api.stationId, api.startTime, api.endTime, api.status);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.evcharging.models;
+
+import androidx.room.Embedded;
+
+// A booking returned from a full-text query, with the raw matchinfo() blob used for ranking.
+public class BookingSearchHit {
+
+    @Embedded
+    public Booking booking;
+
+    public byte[] matchInfo;
+}
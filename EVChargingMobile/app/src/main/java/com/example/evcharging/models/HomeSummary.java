@@ -0,0 +1,16 @@
+package com.example.evcharging.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Everything the owner dashboard shows at launch, as served by the home endpoint (or assembled from the separate calls).
+public class HomeSummary {
+    public User profile;
+    public List<BookingApi> upcomingBookings = new ArrayList<>();
+    public int unreadNotifications;
+    public List<Station> nearbyStations = new ArrayList<>();
+    public String generatedAt;
+
+    // Default constructor for Gson
+    public HomeSummary() {}
+}
@@ -1,12 +1,21 @@
 package com.example.evcharging.models;
 
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
 import com.google.gson.annotations.SerializedName;
 import java.util.Date;
 import java.util.Map;
 
-// This class now accurately reflects the backend's Notification.cs model
+// This class now accurately reflects the backend's Notification.cs model.
+// It is also stored locally so the notification history can be searched offline.
+@Entity(tableName = "notifications")
 public class Notification {
 
+    @PrimaryKey
+    @NonNull
     @SerializedName("id")
     public String id;
 
@@ -36,10 +45,13 @@ public class Notification {
     @SerializedName("createdAt")
     public Date createdAt;
 
-    // Optional fields
+    // Optional fields (not persisted)
+    @Ignore
     @SerializedName("metadata")
     public Map<String, Object> metadata;
 
-    // Default constructor for Gson
-    public Notification() {}
+    // Default constructor for Gson and Room
+    public Notification() {
+        this.id = ""; // Initialize to a non-null value
+    }
 }
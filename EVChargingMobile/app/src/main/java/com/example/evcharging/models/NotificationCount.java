@@ -0,0 +1,11 @@
+package com.example.evcharging.models;
+
+// Unread count and list version for the notification badge.
+public class NotificationCount {
+    public int unreadCount;
+    // Changes whenever the notification list changes; compared, never parsed.
+    public String version;
+
+    // Default constructor for Gson
+    public NotificationCount() {}
+}
@@ -0,0 +1,15 @@
+package com.example.evcharging.models;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+// Full-text index over the local 'notifications' table.
+// Room keeps it in sync with the content table through triggers.
+@Fts4(contentEntity = Notification.class)
+@Entity(tableName = "notifications_fts")
+public class NotificationFts {
+
+    // Column order matters: it is the order used by matchinfo() when ranking.
+    public String title;
+    public String message;
+}
@@ -0,0 +1,12 @@
+package com.example.evcharging.models;
+
+import androidx.room.Embedded;
+
+// A notification returned from a full-text query, with the raw matchinfo() blob used for ranking.
+public class NotificationSearchHit {
+
+    @Embedded
+    public Notification notification;
+
+    public byte[] matchInfo;
+}
@@ -0,0 +1,13 @@
+package com.example.evcharging.models;
+
+// Counts for the current user's notifications.
+public class NotificationSummary {
+    public int totalNotifications;
+    public int unreadNotifications;
+    public int highPriorityNotifications;
+    public int criticalNotifications;
+    public String lastNotificationTime;
+
+    // Default constructor for Gson
+    public NotificationSummary() {}
+}
@@ -0,0 +1,21 @@
+package com.example.evcharging.models;
+
+/**
+ * Response of the single round-trip scan-and-act call: the booking's status before and after.
+ */
+public class ScanActionResult {
+
+    public static final String ACTION_CONFIRMED = "confirmed";
+    public static final String ACTION_FINALIZED = "finalized";
+
+    public String bookingId;
+    public String stationId;
+    public String ownerNIC;
+    public String startTime;
+    public String endTime;
+    public int previousStatus;
+    public int status;
+    public String action;
+
+    public ScanActionResult() {}
+}
@@ -0,0 +1,34 @@
+package com.example.evcharging.models;
+
+/**
+ * One booking read in continuous scan mode and how far it has got through verification.
+ */
+public class ScanResult {
+
+    public enum State {
+        VERIFYING,   // fetching the booking
+        SUBMITTING,  // confirm/finalize request in flight
+        CONFIRMED,   // Active -> Confirmed
+        FINALIZED,   // Confirmed -> Completed
+        REJECTED,    // read fine but the booking can't be actioned here
+        FAILED       // network or server error; tap to retry
+    }
+
+    public final String bookingId;
+    // Raw QR content: a signed booking token, or a bare id from older QR codes.
+    public final String scannedText;
+    public final long scannedAt;
+    public State state = State.VERIFYING;
+    public String stationId;
+    public String message = "Verifying...";
+
+    public ScanResult(String bookingId, String scannedText, long scannedAt) {
+        this.bookingId = bookingId;
+        this.scannedText = scannedText;
+        this.scannedAt = scannedAt;
+    }
+
+    public boolean isFinished() {
+        return state != State.VERIFYING && state != State.SUBMITTING;
+    }
+}
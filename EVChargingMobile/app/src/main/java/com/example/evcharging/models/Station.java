@@ -1,36 +1,41 @@
 /*
  * File: Station.java
- * Purpose: Model for Charging Station
+ * Purpose: Model for Charging Station (cached locally in the StationCatalogFile snapshot)
  */
 package com.example.evcharging.models;
 
+import androidx.annotation.NonNull;
+
 public class Station {
+    // Backend StationType values.
+    public static final int TYPE_AC = 0;
+    public static final int TYPE_DC = 1;
+
+    @NonNull
     public String id;
     public String name;
     public String location;
-
-    // --- START: ADD THESE TWO FIELDS ---
+    // WGS84 degrees; the backend sends null for stations without coordinates, which leaves (0, 0).
     public double latitude;
     public double longitude;
-    // --- END: ADD THESE TWO FIELDS ---
 
-    public int type; // e.g., 1 for Type 1 AC, 2 for CCS, 3 for CHAdeMO
+    public int type; // TYPE_AC or TYPE_DC
     public int totalSlots;
     public double pricePerHour;
     public int availableSlots; // Number of currently available slots
-    public String status; // e.g., "active", "maintenance", "coming_soon"
+    public String status; // StationStatus as a number: "0" active, "1" inactive, "2" maintenance
 
     public Station() {
         // Default constructor for Gson
+        this.id = "";
     }
 
-    // --- UPDATE THE CONSTRUCTOR TO INCLUDE LATITUDE AND LONGITUDE ---
-    public Station(String id, String name, String location, double latitude, double longitude, int type, int totalSlots, double pricePerHour, int availableSlots, String status) {
+    public Station(@NonNull String id, String name, String location, double latitude, double longitude, int type, int totalSlots, double pricePerHour, int availableSlots, String status) {
         this.id = id;
         this.name = name;
         this.location = location;
-        this.latitude = latitude;     // Add this line
-        this.longitude = longitude;   // Add this line
+        this.latitude = latitude;
+        this.longitude = longitude;
         this.type = type;
         this.totalSlots = totalSlots;
         this.pricePerHour = pricePerHour;
@@ -38,5 +43,14 @@ public class Station {
         this.status = status;
     }
 
+    // The backend sends the StationStatus enum as a number (Active = 0).
+    public boolean isActive() {
+        return isActive(status);
+    }
+
+    public static boolean isActive(String status) {
+        return status == null || "0".equals(status) || "active".equalsIgnoreCase(status);
+    }
+
     // No getters and setters needed since fields are public
 }
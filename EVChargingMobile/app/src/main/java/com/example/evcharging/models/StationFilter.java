@@ -0,0 +1,26 @@
+package com.example.evcharging.models;
+
+// Criteria applied to stations during spatial queries. Null/zero fields mean "don't care".
+public class StationFilter {
+
+    public static final StationFilter ANY = new StationFilter(null, false, false, 0);
+
+    public final Integer type;             // exact Station.type, or null for any
+    public final boolean availableOnly;    // require availableSlots > 0
+    public final boolean activeOnly;       // require Station.isActive()
+    public final double maxPricePerHour;   // 0 for no limit
+
+    public StationFilter(Integer type, boolean availableOnly, boolean activeOnly, double maxPricePerHour) {
+        this.type = type;
+        this.availableOnly = availableOnly;
+        this.activeOnly = activeOnly;
+        this.maxPricePerHour = maxPricePerHour;
+    }
+
+    public boolean matches(Station station) {
+        if (type != null && station.type != type) return false;
+        if (availableOnly && station.availableSlots <= 0) return false;
+        if (activeOnly && !station.isActive()) return false;
+        return maxPricePerHour <= 0 || station.pricePerHour <= maxPricePerHour;
+    }
+}
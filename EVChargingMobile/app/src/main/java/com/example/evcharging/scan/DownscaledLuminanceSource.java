@@ -0,0 +1,61 @@
+/*
+ * File: DownscaledLuminanceSource.java
+ * Purpose: Box-filtered, integer-factor downscale of a luminance source
+ */
+package com.example.evcharging.scan;
+
+import com.google.zxing.LuminanceSource;
+
+import java.util.Arrays;
+
+/**
+ * Averages each factor x factor block of the source into one pixel. Binarizing and sampling a
+ * frame costs roughly its pixel count, so a factor of 2 makes the decode about four times cheaper,
+ * as long as each QR module still covers a couple of pixels afterwards.
+ */
+public final class DownscaledLuminanceSource extends LuminanceSource {
+
+    private final byte[] pixels;
+
+    public DownscaledLuminanceSource(LuminanceSource source, int factor) {
+        super(source.getWidth() / factor, source.getHeight() / factor);
+        int width = getWidth();
+        int height = getHeight();
+        int sourceWidth = source.getWidth();
+        byte[] sourcePixels = source.getMatrix();
+        int area = factor * factor;
+
+        pixels = new byte[width * height];
+        int[] rowSums = new int[width];
+        for (int y = 0; y < height; y++) {
+            Arrays.fill(rowSums, 0);
+            for (int dy = 0; dy < factor; dy++) {
+                int offset = (y * factor + dy) * sourceWidth;
+                for (int x = 0, sx = offset; x < width; x++) {
+                    int sum = 0;
+                    for (int dx = 0; dx < factor; dx++, sx++) {
+                        sum += sourcePixels[sx] & 0xFF;
+                    }
+                    rowSums[x] += sum;
+                }
+            }
+            int out = y * width;
+            for (int x = 0; x < width; x++) {
+                pixels[out + x] = (byte) (rowSums[x] / area);
+            }
+        }
+    }
+
+    @Override
+    public byte[] getRow(int y, byte[] row) {
+        int width = getWidth();
+        if (row == null || row.length < width) row = new byte[width];
+        System.arraycopy(pixels, y * width, row, 0, width);
+        return row;
+    }
+
+    @Override
+    public byte[] getMatrix() {
+        return pixels;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * File: QrFrameDecoder.java
+ * Purpose: QR-only decode path tuned for live camera frames
+ */
+package com.example.evcharging.scan;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.ReaderException;
+import com.google.zxing.Result;
+import com.google.zxing.ResultPoint;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Decodes one frame at a time:
+ * <ol>
+ *   <li>crops to a centred square region of interest (where the viewfinder asks for the code),</li>
+ *   <li>box-downscales that region towards {@link Config#targetSize} pixels,</li>
+ *   <li>runs the QR reader alone instead of MultiFormatReader's try-every-format loop.</li>
+ * </ol>
+ * If the downscaled frame yields nothing, every {@link Config#fullResEvery}-th frame is retried at
+ * full resolution so small or dense codes are still found, just less often.
+ * <p>
+ * Not thread-safe; the reader keeps per-decode state. Pure zxing-core so it can be benchmarked on the JVM.
+ */
+public class QrFrameDecoder {
+
+    public static final class Config {
+        /** Side of the square ROI as a fraction of the frame's shorter side; 1 keeps the whole frame. */
+        public final float roiFraction;
+        /** Downscale while the ROI's shorter side is at least twice this. */
+        public final int targetSize;
+        /** Full-resolution retry cadence after a downscaled miss; 0 never retries. */
+        public final int fullResEvery;
+
+        public Config(float roiFraction, int targetSize, int fullResEvery) {
+            this.roiFraction = roiFraction;
+            this.targetSize = targetSize;
+            this.fullResEvery = fullResEvery;
+        }
+    }
+
+    /**
+     * For frames BarcodeView has already cropped to the framing rect, which is the ROI.
+     */
+    public static final Config CAMERA = new Config(1f, 240, 3);
+
+    /**
+     * For whole camera frames: the centre square matching a 250dp viewfinder on a typical phone.
+     */
+    public static final Config FULL_FRAME = new Config(0.6f, 240, 3);
+
+    private final Config config;
+    private final QRCodeReader reader = new QRCodeReader();
+    private final Map<DecodeHintType, Object> hints = new EnumMap<>(DecodeHintType.class);
+    private int missedFrames;
+
+    public QrFrameDecoder(Config config) {
+        this(config, null);
+    }
+
+    /**
+     * @param baseHints extra hints from the caller
+     */
+    public QrFrameDecoder(Config config, Map<DecodeHintType, ?> baseHints) {
+        this.config = config;
+        if (baseHints != null) hints.putAll(baseHints);
+        // Points reported mid-decode would be in downscaled ROI coordinates, so the viewfinder
+        // dots would land in the wrong place; final result points are mapped back instead.
+        hints.remove(DecodeHintType.NEED_RESULT_POINT_CALLBACK);
+        hints.put(DecodeHintType.POSSIBLE_FORMATS, Collections.singletonList(BarcodeFormat.QR_CODE));
+        hints.remove(DecodeHintType.TRY_HARDER);
+    }
+
+    /**
+     * @return the decoded result with points in frame coordinates, or null if no QR code was found
+     */
+    public Result decode(LuminanceSource frame) {
+        int left = 0, top = 0;
+        LuminanceSource roi = frame;
+        if (config.roiFraction < 1f && frame.isCropSupported()) {
+            int side = (int) (Math.min(frame.getWidth(), frame.getHeight()) * config.roiFraction);
+            left = (frame.getWidth() - side) / 2;
+            top = (frame.getHeight() - side) / 2;
+            roi = frame.crop(left, top, side, side);
+        }
+
+        int factor = Math.min(roi.getWidth(), roi.getHeight()) / Math.max(1, config.targetSize);
+        if (factor >= 2) {
+            Result result = tryDecode(new DownscaledLuminanceSource(roi, factor));
+            if (result != null) {
+                missedFrames = 0;
+                return toFrameCoordinates(result, factor, left, top);
+            }
+            missedFrames++;
+            if (config.fullResEvery <= 0 || missedFrames % config.fullResEvery != 0) return null;
+        }
+
+        Result result = tryDecode(roi);
+        if (result != null) missedFrames = 0;
+        return result == null ? null : toFrameCoordinates(result, 1, left, top);
+    }
+
+    private Result tryDecode(LuminanceSource source) {
+        try {
+            return reader.decode(new BinaryBitmap(new HybridBinarizer(source)), hints);
+        } catch (ReaderException e) {
+            return null;
+        } finally {
+            reader.reset();
+        }
+    }
+
+    private static Result toFrameCoordinates(Result result, int factor, int left, int top) {
+        if (factor == 1 && left == 0 && top == 0) return result;
+        ResultPoint[] points = result.getResultPoints();
+        ResultPoint[] mapped = null;
+        if (points != null) {
+            mapped = new ResultPoint[points.length];
+            for (int i = 0; i < points.length; i++) {
+                mapped[i] = new ResultPoint(points[i].getX() * factor + left, points[i].getY() * factor + top);
+            }
+        }
+        Result out = new Result(result.getText(), result.getRawBytes(), mapped, result.getBarcodeFormat(), result.getTimestamp());
+        out.putAllMetadata(result.getResultMetadata());
+        return out;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * File: TunedDecoderFactory.java
+ * Purpose: Plugs QrFrameDecoder into zxing-android-embedded's BarcodeView
+ */
+package com.example.evcharging.scan;
+
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.Result;
+import com.google.zxing.qrcode.QRCodeReader;
+import com.journeyapps.barcodescanner.Decoder;
+import com.journeyapps.barcodescanner.DecoderFactory;
+
+import java.util.Map;
+
+/**
+ * BarcodeView hands us frames already cropped to the framing rect, so that rect is the region of
+ * interest and {@link QrFrameDecoder#CAMERA} only downscales.
+ * <p>
+ * No frame skipping is needed here: DecoderThread asks for the next preview frame only once a
+ * decode returns, so frames never queue behind a slow one.
+ */
+public class TunedDecoderFactory implements DecoderFactory {
+
+    /**
+     * Called on the decoder thread as each preview frame reaches the decoder.
+     */
+    public interface FrameListener {
+        void onFrame();
+    }
+
+    private final FrameListener frameListener;
+
+    public TunedDecoderFactory() {
+        this(null);
+    }
+
+    public TunedDecoderFactory(FrameListener frameListener) {
+        this.frameListener = frameListener;
+    }
+
+    @Override
+    public Decoder createDecoder(Map<DecodeHintType, ?> baseHints) {
+        final QrFrameDecoder frameDecoder = new QrFrameDecoder(QrFrameDecoder.CAMERA, baseHints);
+        return new Decoder(new QRCodeReader()) {
+            @Override
+            public Result decode(LuminanceSource source) {
+                if (frameListener != null) frameListener.onFrame();
+                return frameDecoder.decode(source);
+            }
+        };
+    }
+}
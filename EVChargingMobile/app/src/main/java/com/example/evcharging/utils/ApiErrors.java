@@ -0,0 +1,34 @@
+/*
+ * File: ApiErrors.java
+ * Purpose: Reads the backend's error message out of a failed response
+ */
+package com.example.evcharging.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+public final class ApiErrors {
+
+    private ApiErrors() {}
+
+    /**
+     * Returns the "message" from the backend's ErrorResponse body, or the fallback if there isn't one.
+     * Consumes the error body.
+     */
+    public static String message(Response<?> response, String fallback) {
+        ResponseBody body = response.errorBody();
+        if (body == null) return fallback;
+        try {
+            JsonObject json = new Gson().fromJson(body.string(), JsonObject.class);
+            if (json != null && json.has("message") && !json.get("message").isJsonNull()) {
+                return json.get("message").getAsString();
+            }
+        } catch (Exception ignored) {
+            // Not JSON (e.g. a plain-text NotFound); use the fallback.
+        }
+        return fallback;
+    }
+}
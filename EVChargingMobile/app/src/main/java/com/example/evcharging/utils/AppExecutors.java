@@ -0,0 +1,48 @@
+/*
+ * File: AppExecutors.java
+ * Purpose: Shared background executors for disk and compute work
+ */
+package com.example.evcharging.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class AppExecutors {
+
+    // Room writes are serialised on one thread so transactions never contend with each other.
+    private static final ExecutorService DISK_IO = Executors.newSingleThreadExecutor();
+
+    // CPU bound work such as ranking, indexing and filtering.
+    private static final ExecutorService COMPUTE =
+            Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+    private static final Executor MAIN_THREAD = MAIN_HANDLER::post;
+
+    private AppExecutors() {}
+
+    /**
+     * Executor for database and file access.
+     */
+    public static ExecutorService diskIO() {
+        return DISK_IO;
+    }
+
+    /**
+     * Executor for CPU bound work that must stay off the main thread.
+     */
+    public static ExecutorService compute() {
+        return COMPUTE;
+    }
+
+    /**
+     * Executor that posts work back to the main thread.
+     */
+    public static Executor mainThread() {
+        return MAIN_THREAD;
+    }
+}
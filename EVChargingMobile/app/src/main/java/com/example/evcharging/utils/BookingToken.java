@@ -0,0 +1,131 @@
+/*
+ * File: BookingToken.java
+ * Purpose: Parses and verifies the signed booking tokens carried in booking QR codes
+ */
+package com.example.evcharging.utils;
+
+import androidx.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * "EV1" + base64url of version(1) | bookingId(12) | stationId(12) | start(4) | end(4) | status(1) | mac(16),
+ * big-endian with times in unix seconds. The MAC is HMAC-SHA256 under the station's key, truncated
+ * to 16 bytes. Must stay in step with QrTokenService on the backend.
+ */
+public final class BookingToken {
+
+    public static final String PREFIX = "EV1";
+    private static final int VERSION = 1;
+    private static final int PAYLOAD_LENGTH = 34;
+    private static final int MAC_LENGTH = 16;
+
+    public final String bookingId;
+    public final String stationId;
+    public final long startMillis;
+    public final long endMillis;
+    public final int status;
+
+    private final byte[] payload;
+    private final byte[] mac;
+
+    private BookingToken(String bookingId, String stationId, long startMillis, long endMillis, int status,
+                         byte[] payload, byte[] mac) {
+        this.bookingId = bookingId;
+        this.stationId = stationId;
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+        this.status = status;
+        this.payload = payload;
+        this.mac = mac;
+    }
+
+    /**
+     * Decodes scanned text. Returns null for anything that isn't a token, e.g. the plain booking
+     * ids in QR codes issued before tokens existed. The signature is not checked here.
+     */
+    @Nullable
+    public static BookingToken parse(@Nullable String text) {
+        if (text == null || !text.startsWith(PREFIX)) return null;
+        byte[] raw = decodeBase64Url(text, PREFIX.length());
+        if (raw == null || raw.length != PAYLOAD_LENGTH + MAC_LENGTH || raw[0] != VERSION) return null;
+
+        String bookingId = hex(raw, 1);
+        String stationId = hex(raw, 13);
+        ByteBuffer buffer = ByteBuffer.wrap(raw, 25, 8);
+        long start = (buffer.getInt() & 0xFFFFFFFFL) * 1000L;
+        long end = (buffer.getInt() & 0xFFFFFFFFL) * 1000L;
+        int status = raw[33] & 0xFF;
+        return new BookingToken(bookingId, stationId, start, end, status,
+                Arrays.copyOf(raw, PAYLOAD_LENGTH), Arrays.copyOfRange(raw, PAYLOAD_LENGTH, raw.length));
+    }
+
+    /**
+     * Checks the MAC against the station key in constant time.
+     */
+    public boolean verify(byte[] stationKey) {
+        try {
+            Mac hmac = Mac.getInstance("HmacSHA256");
+            hmac.init(new SecretKeySpec(stationKey, "HmacSHA256"));
+            byte[] expected = Arrays.copyOf(hmac.doFinal(payload), MAC_LENGTH);
+            return MessageDigest.isEqual(expected, mac);
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Strict unpadded base64url, as the backend writes it. Kept here rather than using
+     * android.util.Base64 (java.util.Base64 needs API 26) so the format can be tested on the JVM.
+     *
+     * @return the decoded bytes, or null on any character outside the alphabet or a dangling
+     *         final character
+     */
+    @Nullable
+    static byte[] decodeBase64Url(String text, int offset) {
+        int chars = text.length() - offset;
+        if (chars % 4 == 1) return null;
+        byte[] out = new byte[chars * 3 / 4];
+        int bits = 0;
+        int buffered = 0;
+        int written = 0;
+        for (int i = offset; i < text.length(); i++) {
+            int value = base64UrlValue(text.charAt(i));
+            if (value < 0) return null;
+            bits = (bits << 6) | value;
+            buffered += 6;
+            if (buffered >= 8) {
+                buffered -= 8;
+                out[written++] = (byte) (bits >>> buffered);
+            }
+        }
+        return out;
+    }
+
+    private static int base64UrlValue(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '-') return 62;
+        if (c == '_') return 63;
+        return -1;
+    }
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static String hex(byte[] bytes, int offset) {
+        char[] out = new char[24];
+        for (int i = 0; i < 12; i++) {
+            int b = bytes[offset + i] & 0xFF;
+            out[i * 2] = HEX[b >>> 4];
+            out[i * 2 + 1] = HEX[b & 0x0F];
+        }
+        return new String(out);
+    }
+}
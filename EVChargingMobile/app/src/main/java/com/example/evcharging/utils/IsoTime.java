@@ -0,0 +1,121 @@
+/*
+ * File: IsoTime.java
+ * Purpose: Allocation-free ISO-8601 timestamp parsing and UTC formatting (works below API 26)
+ */
+package com.example.evcharging.utils;
+
+public class IsoTime {
+
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private IsoTime() {}
+
+    /**
+     * Parses timestamps such as "2025-10-07T08:16:00Z", "2025-10-07T08:16:00.123+05:30"
+     * or "2025-10-07T08:16:00" (taken as UTC, which is how the backend stores times).
+     * @return epoch milliseconds, or {@link #INVALID} if the text is not a timestamp
+     */
+    public static long parseMillis(String text) {
+        if (text == null || text.length() < 19) return INVALID;
+        try {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 2);
+            int day = digits(text, 8, 2);
+            int hour = digits(text, 11, 2);
+            int minute = digits(text, 14, 2);
+            int second = digits(text, 17, 2);
+            if (text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(13) != ':' || text.charAt(16) != ':') {
+                return INVALID;
+            }
+            if (month < 1 || month > 12 || day < 1 || day > 31 || hour > 23 || minute > 59 || second > 60) {
+                return INVALID;
+            }
+
+            int i = 19;
+            int millis = 0;
+            if (i < text.length() && text.charAt(i) == '.') {
+                i++;
+                int scale = 100;
+                while (i < text.length() && Character.isDigit(text.charAt(i))) {
+                    millis += (text.charAt(i) - '0') * scale;
+                    scale /= 10;
+                    i++;
+                }
+            }
+
+            int offsetMinutes = 0;
+            if (i < text.length()) {
+                char c = text.charAt(i);
+                if (c == '+' || c == '-') {
+                    int oh = digits(text, i + 1, 2);
+                    int om = text.length() >= i + 6 && text.charAt(i + 3) == ':' ? digits(text, i + 4, 2)
+                            : text.length() >= i + 5 ? digits(text, i + 3, 2) : 0;
+                    offsetMinutes = (c == '+' ? 1 : -1) * (oh * 60 + om);
+                } else if (c != 'Z' && c != 'z') {
+                    return INVALID;
+                }
+            }
+
+            long days = daysFromCivil(year, month, day);
+            long seconds = days * 86400L + hour * 3600L + minute * 60L + second - offsetMinutes * 60L;
+            return seconds * 1000L + millis;
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Formats epoch milliseconds as "yyyy-MM-dd'T'HH:mm:ss'Z'" in UTC.
+     */
+    public static String formatUtc(long epochMillis) {
+        long seconds = Math.floorDiv(epochMillis, 1000L);
+        long days = Math.floorDiv(seconds, 86400L);
+        long secOfDay = seconds - days * 86400L;
+
+        // Inverse of daysFromCivil (Howard Hinnant's civil_from_days).
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        long day = doy - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+        StringBuilder sb = new StringBuilder(20);
+        pad(sb, year, 4).append('-');
+        pad(sb, month, 2).append('-');
+        pad(sb, day, 2).append('T');
+        pad(sb, secOfDay / 3600, 2).append(':');
+        pad(sb, (secOfDay / 60) % 60, 2).append(':');
+        pad(sb, secOfDay % 60, 2).append('Z');
+        return sb.toString();
+    }
+
+    // Days since 1970-01-01 for a proleptic Gregorian date (Howard Hinnant's days_from_civil).
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private static int digits(String text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') throw new NumberFormatException(text);
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static StringBuilder pad(StringBuilder sb, long value, int width) {
+        String s = Long.toString(value);
+        for (int i = s.length(); i < width; i++) sb.append('0');
+        return sb.append(s);
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * File: JankMonitor.java
+ * Purpose: Per-screen frame time and slow-bind histograms from FrameMetrics, for logging or batch upload
+ */
+package com.example.evcharging.utils;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Display;
+import android.view.FrameMetrics;
+import android.view.View;
+import android.view.Window;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.hardware.display.DisplayManagerCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Frames are filed under the screen that is showing ("frame/notifications/scroll",
+ * "frame/notifications/idle") and adapter binds under the adapter ("bind/NotificationAdapter").
+ * Each histogram has 1 ms buckets, so memory stays fixed however long the app runs. Janky frames
+ * and slow binds are also kept as recent events together with the screen state the lists
+ * publish, such as row counts and filters.
+ */
+public final class JankMonitor {
+
+    private static final String TAG = "Jank";
+
+    // Frames and binds longer than this all land in the last bucket.
+    private static final int MAX_BUCKET_MS = 500;
+    // A bind this slow takes a quarter of a 60 Hz frame on its own.
+    private static final long SLOW_BIND_NANOS = 4_000_000L;
+    private static final int MAX_EVENTS = 100;
+
+    /**
+     * Fixed-size distribution of durations.
+     */
+    public static final class Histogram {
+        private final int[] buckets = new int[MAX_BUCKET_MS + 1];
+        private long count;
+        private long slow;
+        private long maxNanos;
+
+        void add(long nanos, boolean isSlow) {
+            buckets[(int) Math.min(MAX_BUCKET_MS, Math.max(0, nanos / 1_000_000L))]++;
+            count++;
+            if (isSlow) slow++;
+            if (nanos > maxNanos) maxNanos = nanos;
+        }
+
+        /**
+         * @return the bucket holding the given quantile, in whole milliseconds
+         */
+        int percentileMillis(double quantile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int ms = 0; ms < buckets.length; ms++) {
+                seen += buckets[ms];
+                if (seen >= rank) return ms;
+            }
+            return MAX_BUCKET_MS;
+        }
+    }
+
+    /**
+     * Immutable summary of one histogram, ready to log or upload.
+     */
+    public static final class Report {
+        public final String name;
+        public final long count;
+        // Frames over the display's frame budget, or binds over the slow-bind threshold.
+        public final long slow;
+        public final int p50Ms;
+        public final int p90Ms;
+        public final int p95Ms;
+        public final int p99Ms;
+        public final double maxMs;
+
+        Report(String name, Histogram histogram) {
+            this.name = name;
+            this.count = histogram.count;
+            this.slow = histogram.slow;
+            this.p50Ms = histogram.percentileMillis(0.50);
+            this.p90Ms = histogram.percentileMillis(0.90);
+            this.p95Ms = histogram.percentileMillis(0.95);
+            this.p99Ms = histogram.percentileMillis(0.99);
+            this.maxMs = histogram.maxNanos / 1e6;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s n=%d slow=%d (%.1f%%) p50=%dms p90=%dms p95=%dms p99=%dms max=%.1fms",
+                    name, count, slow, count == 0 ? 0.0 : 100.0 * slow / count, p50Ms, p90Ms, p95Ms, p99Ms, maxMs);
+        }
+    }
+
+    private static final JankMonitor INSTANCE = new JankMonitor();
+
+    // Guarded by this; written from the frame metrics thread and the main thread.
+    private final Map<String, Histogram> histograms = new TreeMap<>();
+    private final ArrayDeque<String> events = new ArrayDeque<>();
+    private final Map<String, String> state = new TreeMap<>();
+
+    // Main thread only.
+    private final Map<Window, Window.OnFrameMetricsAvailableListener> tracked = new HashMap<>();
+    private final Set<RecyclerView> scrolling = new HashSet<>();
+    @Nullable private Handler metricsHandler;
+
+    @Nullable private volatile String screen;
+    // Whether any list is moving; read on the frame metrics thread.
+    private volatile boolean anyScrolling;
+
+    private JankMonitor() {}
+
+    public static JankMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts receiving frame metrics for the activity's window. Call from onResume.
+     */
+    public void track(Activity activity) {
+        Window window = activity.getWindow();
+        if (tracked.containsKey(window)) return;
+        Display display = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? activity.getDisplay()
+                : DisplayManagerCompat.getInstance(activity).getDisplay(Display.DEFAULT_DISPLAY);
+        float refreshRate = display != null ? display.getRefreshRate() : 60f;
+        final long budgetNanos = (long) (1_000_000_000L / Math.max(30f, refreshRate));
+        Window.OnFrameMetricsAvailableListener listener = (w, metrics, dropped) -> {
+            // The first frame of a window includes inflation and is not a scrolling frame.
+            if (metrics.getMetric(FrameMetrics.FIRST_DRAW_FRAME) == 1) return;
+            onFrame(metrics.getMetric(FrameMetrics.TOTAL_DURATION), budgetNanos);
+        };
+        window.addOnFrameMetricsAvailableListener(listener, metricsHandler());
+        tracked.put(window, listener);
+    }
+
+    /**
+     * Stops receiving frame metrics for the window. Call from onPause.
+     */
+    public void untrack(Activity activity) {
+        Window.OnFrameMetricsAvailableListener listener = tracked.remove(activity.getWindow());
+        if (listener != null) activity.getWindow().removeOnFrameMetricsAvailableListener(listener);
+        clearScrolling();
+    }
+
+    private Handler metricsHandler() {
+        if (metricsHandler == null) {
+            HandlerThread thread = new HandlerThread("FrameMetrics");
+            thread.start();
+            metricsHandler = new Handler(thread.getLooper());
+        }
+        return metricsHandler;
+    }
+
+    /**
+     * Files the following frames under {@code name}. Frames while no tracked screen is showing
+     * are not recorded.
+     */
+    public void enterScreen(String name) {
+        screen = name;
+    }
+
+    public void leaveScreen(String name) {
+        if (name.equals(screen)) screen = null;
+        // A list hidden mid-fling never reports going idle.
+        clearScrolling();
+    }
+
+    /**
+     * Splits the screen's frames by whether one of its lists is being dragged or flung.
+     * Each list counts once, and stops counting when it is detached.
+     */
+    public void trackScrolling(RecyclerView list) {
+        list.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                setScrolling(recyclerView, newState != RecyclerView.SCROLL_STATE_IDLE);
+            }
+        });
+        list.addOnAttachStateChangeListener(new View.OnAttachStateChangeListener() {
+            @Override
+            public void onViewAttachedToWindow(@NonNull View view) {}
+
+            @Override
+            public void onViewDetachedFromWindow(@NonNull View view) {
+                setScrolling((RecyclerView) view, false);
+            }
+        });
+    }
+
+    private void setScrolling(RecyclerView list, boolean moving) {
+        if (moving) {
+            scrolling.add(list);
+        } else {
+            scrolling.remove(list);
+        }
+        anyScrolling = !scrolling.isEmpty();
+    }
+
+    private void clearScrolling() {
+        scrolling.clear();
+        anyScrolling = false;
+    }
+
+    /**
+     * Attaches a piece of screen state, such as a row count or filter, to the events recorded
+     * from now on. A null value removes it.
+     */
+    public synchronized void putState(String key, @Nullable Object value) {
+        if (value == null) {
+            state.remove(key);
+        } else {
+            state.put(key, String.valueOf(value));
+        }
+    }
+
+    private void onFrame(long nanos, long budgetNanos) {
+        String current = screen;
+        if (current == null) return;
+        String name = "frame/" + current + (anyScrolling ? "/scroll" : "/idle");
+        boolean janky = nanos > budgetNanos;
+        synchronized (this) {
+            histogram(name).add(nanos, janky);
+            if (janky) addEvent(name, nanos);
+        }
+    }
+
+    /**
+     * @return a start time for {@link #bindFinished}
+     */
+    public long bindStarted() {
+        return SystemClock.elapsedRealtimeNanos();
+    }
+
+    /**
+     * Records how long an onBindViewHolder took; slow ones are kept as events as well.
+     */
+    public void bindFinished(String adapter, long startedNanos) {
+        long nanos = SystemClock.elapsedRealtimeNanos() - startedNanos;
+        boolean slow = nanos > SLOW_BIND_NANOS;
+        synchronized (this) {
+            histogram("bind/" + adapter).add(nanos, slow);
+            if (slow) addEvent("bind/" + adapter, nanos);
+        }
+    }
+
+    private Histogram histogram(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = new Histogram();
+            histograms.put(name, histogram);
+        }
+        return histogram;
+    }
+
+    private void addEvent(String name, long nanos) {
+        if (events.size() == MAX_EVENTS) events.removeFirst();
+        events.addLast(String.format(Locale.US, "%s %.1fms screen=%s %s", name, nanos / 1e6, screen, state));
+    }
+
+    /**
+     * Summaries of every histogram so far, by name.
+     */
+    public synchronized List<Report> reports() {
+        List<Report> reports = new ArrayList<>(histograms.size());
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            reports.add(new Report(entry.getKey(), entry.getValue()));
+        }
+        return reports;
+    }
+
+    public synchronized List<String> recentEvents() {
+        return Collections.unmodifiableList(new ArrayList<>(events));
+    }
+
+    /**
+     * Returns the summaries and starts every histogram afresh, for sending in batches.
+     */
+    public synchronized List<Report> drain() {
+        List<Report> reports = reports();
+        histograms.clear();
+        events.clear();
+        return reports;
+    }
+
+    /**
+     * Closes the current batch and writes it to the log, so each batch is logged once. Nothing
+     * is formatted unless the tag is enabled: {@code adb shell setprop log.tag.Jank DEBUG}.
+     */
+    public void drainToLog() {
+        List<String> slowEvents;
+        List<Report> batch;
+        synchronized (this) {
+            slowEvents = recentEvents();
+            batch = drain();
+        }
+        if (!Log.isLoggable(TAG, Log.DEBUG)) return;
+        for (Report report : batch) Log.d(TAG, report.toString());
+        for (String event : slowEvents) Log.d(TAG, "slow: " + event);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * File: LatencyRecorder.java
+ * Purpose: Keeps recent latency samples per metric and reports running percentiles
+ */
+package com.example.evcharging.utils;
+
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class LatencyRecorder {
+
+    private static final String TAG = "Latency";
+    private static final int WINDOW = 64;
+
+    private static final Map<String, long[]> SAMPLES = new HashMap<>();
+    private static final Map<String, Integer> COUNTS = new HashMap<>();
+
+    private LatencyRecorder() {}
+
+    /**
+     * Adds a sample. With the tag enabled ({@code adb shell setprop log.tag.Latency DEBUG}) it is
+     * also logged with the p50/p95 of the last {@value #WINDOW} samples for the metric.
+     */
+    public static synchronized void record(String metric, long millis) {
+        long[] window = SAMPLES.get(metric);
+        if (window == null) {
+            window = new long[WINDOW];
+            SAMPLES.put(metric, window);
+        }
+        int count = COUNTS.containsKey(metric) ? COUNTS.get(metric) : 0;
+        window[count % WINDOW] = millis;
+        count++;
+        COUNTS.put(metric, count);
+
+        if (Log.isLoggable(TAG, Log.DEBUG)) {
+            Log.d(TAG, metric + "=" + millis + "ms (p50 " + percentile(metric, 0.50)
+                    + "ms, p95 " + percentile(metric, 0.95) + "ms, n=" + count + ")");
+        }
+    }
+
+    /**
+     * @return the quantile of the last {@value #WINDOW} samples for the metric, or -1 if it has none
+     */
+    public static synchronized long percentile(String metric, double quantile) {
+        long[] window = SAMPLES.get(metric);
+        if (window == null) return -1;
+        long[] sorted = Arrays.copyOf(window, Math.min(COUNTS.get(metric), WINDOW));
+        Arrays.sort(sorted);
+        return sorted[(int) ((sorted.length - 1) * quantile)];
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * File: LocalSearch.java
+ * Purpose: Ranked full-text search over the locally stored notifications and bookings
+ */
+package com.example.evcharging.utils;
+
+import android.content.Context;
+
+import com.example.evcharging.dao.BookingDao;
+import com.example.evcharging.dao.SearchDao;
+import com.example.evcharging.db.AppDatabase;
+import com.example.evcharging.models.Booking;
+import com.example.evcharging.models.BookingSearchHit;
+import com.example.evcharging.models.NotificationSearchHit;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LocalSearch {
+
+    public static final int TYPE_NOTIFICATION = 0;
+    public static final int TYPE_BOOKING = 1;
+
+    // Per-column weights, in FTS column order.
+    private static final double[] NOTIFICATION_WEIGHTS = {2.0, 1.0};      // title, message
+    private static final double[] BOOKING_WEIGHTS = {2.0, 1.0};           // ownerNIC, stationId
+    // Score of a booking whose id starts with a query term; ids are not in the FTS index.
+    private static final double BOOKING_ID_WEIGHT = 3.0;
+    // Shorter hex terms would match too wide a slice of the id space to be useful.
+    private static final int MIN_ID_PREFIX = 4;
+
+    /**
+     * One ranked search result, either a notification or a booking.
+     */
+    public static class Result {
+        public final int type;
+        public final String id;
+        public final String title;
+        public final String subtitle;
+        public final double score;
+
+        Result(int type, String id, String title, String subtitle, double score) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.subtitle = subtitle;
+            this.score = score;
+        }
+    }
+
+    private LocalSearch() {}
+
+    /**
+     * Runs a prefix search across both indexes and returns results ordered by relevance.
+     * Only the signed-in account's rows are searched. Must be called off the main thread.
+     * @param context any context
+     * @param rawQuery text typed by the user
+     * @param nic NIC of the signed-in user; its notifications and own bookings are searched
+     * @param stationIds stations the user operates, whose bookings are searched too; empty for owners
+     * @param limit maximum number of results
+     * @return ranked results, empty if the query has no searchable terms
+     */
+    public static List<Result> search(Context context, String rawQuery, String nic, List<String> stationIds,
+                                      int limit) {
+        String match = toMatchExpression(rawQuery);
+        if (match == null) return Collections.emptyList();
+
+        SearchDao dao = AppDatabase.getDatabase(context).searchDao();
+        List<Result> results = new ArrayList<>();
+
+        for (NotificationSearchHit hit : dao.searchNotifications(match, nic)) {
+            results.add(new Result(TYPE_NOTIFICATION, hit.notification.id,
+                    hit.notification.title, hit.notification.message,
+                    score(hit.matchInfo, NOTIFICATION_WEIGHTS)));
+        }
+        BookingDao bookingDao = AppDatabase.getDatabase(context).bookingDao();
+        Map<ObjectId, Result> bookings = new LinkedHashMap<>();
+        for (BookingSearchHit hit : dao.searchBookings(match, nic, stationIds)) {
+            addBooking(bookings, hit.booking, score(hit.matchInfo, BOOKING_WEIGHTS));
+        }
+        for (String term : rawQuery.trim().split("[^\\p{Alnum}]+")) {
+            ObjectId[] range = term.length() >= MIN_ID_PREFIX ? ObjectId.prefixRange(term) : null;
+            if (range == null) continue;
+            for (Booking booking : bookingDao.findByIdRange(range[0], range[1], nic, stationIds)) {
+                addBooking(bookings, booking, BOOKING_ID_WEIGHT);
+            }
+        }
+        results.addAll(bookings.values());
+
+        // Every match of the account's own rows is scored; the limit applies to the ranked list.
+        Collections.sort(results, (a, b) -> Double.compare(b.score, a.score));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    // A booking found by both its id and the FTS index gets both scores.
+    private static void addBooking(Map<ObjectId, Result> bookings, Booking booking, double score) {
+        Result previous = bookings.get(booking.id);
+        String id = booking.id.toHex();
+        bookings.put(booking.id, new Result(TYPE_BOOKING, id, "Booking #" + id,
+                "Station: " + booking.stationId + "  |  NIC: " + booking.ownerNIC,
+                previous != null ? previous.score + score : score));
+    }
+
+    /**
+     * Turns free text into an FTS4 MATCH expression where every term is a prefix query,
+     * e.g. "65f2 colombo" becomes "65f2* colombo*". Characters the tokenizer would split on
+     * are dropped so user input can never produce an invalid expression.
+     * @return the expression, or null if nothing searchable remains
+     */
+    static String toMatchExpression(String rawQuery) {
+        if (rawQuery == null) return null;
+        StringBuilder sb = new StringBuilder();
+        for (String token : rawQuery.trim().split("[^\\p{Alnum}]+")) {
+            if (token.isEmpty()) continue;
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(token).append('*');
+        }
+        return sb.length() == 0 ? null : sb.toString();
+    }
+
+    /**
+     * Scores a row from its matchinfo('pcx') blob: for each phrase and column, the share of
+     * that phrase's total hits that fall in this row, weighted by column.
+     */
+    static double score(byte[] matchInfo, double[] columnWeights) {
+        if (matchInfo == null || matchInfo.length < 8) return 0;
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phraseCount = buffer.getInt(0);
+        int columnCount = buffer.getInt(4);
+
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                int base = 2 + 3 * (phrase * columnCount + column);
+                int hitsThisRow = buffer.getInt(base * 4);
+                int hitsAllRows = buffer.getInt((base + 1) * 4);
+                if (hitsThisRow > 0 && hitsAllRows > 0) {
+                    double weight = column < columnWeights.length ? columnWeights[column] : 1.0;
+                    score += weight * hitsThisRow / hitsAllRows;
+                }
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * File: LocationHelper.java
+ * Purpose: Cheap access to the device's last known location without starting updates
+ */
+package com.example.evcharging.utils;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.location.Location;
+import android.location.LocationManager;
+
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+public class LocationHelper {
+
+    private LocationHelper() {}
+
+    /**
+     * Returns the most recent cached fix from any enabled provider, or null if there is
+     * none or location permission has not been granted.
+     */
+    @Nullable
+    public static Location lastKnownLocation(Context context) {
+        if (context == null) return null;
+        boolean fine = ContextCompat.checkSelfPermission(context, Manifest.permission.ACCESS_FINE_LOCATION) == PackageManager.PERMISSION_GRANTED;
+        boolean coarse = ContextCompat.checkSelfPermission(context, Manifest.permission.ACCESS_COARSE_LOCATION) == PackageManager.PERMISSION_GRANTED;
+        if (!fine && !coarse) return null;
+
+        LocationManager manager = (LocationManager) context.getSystemService(Context.LOCATION_SERVICE);
+        if (manager == null) return null;
+
+        Location best = null;
+        try {
+            for (String provider : manager.getProviders(true)) {
+                Location location = manager.getLastKnownLocation(provider);
+                if (location != null && (best == null || location.getTime() > best.getTime())) {
+                    best = location;
+                }
+            }
+        } catch (SecurityException e) {
+            return null;
+        }
+        return best;
+    }
+}
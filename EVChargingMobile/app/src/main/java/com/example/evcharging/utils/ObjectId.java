@@ -0,0 +1,152 @@
+/*
+ * File: ObjectId.java
+ * Purpose: 12-byte MongoDB ObjectId held as a long and an int, converted to hex only at the API boundary
+ */
+package com.example.evcharging.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+public final class ObjectId implements Comparable<ObjectId> {
+
+    public static final int BYTES = 12;
+    public static final int HEX_LENGTH = 24;
+    // Placeholder for entities before Room fills in the real key.
+    public static final ObjectId ZERO = new ObjectId(0L, 0);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Bytes 0-7 and 8-11, big-endian, so unsigned order matches the hex and BLOB order.
+    private final long high;
+    private final int low;
+
+    public ObjectId(long high, int low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not 24 hex digits
+     */
+    public static ObjectId fromHex(String hex) {
+        ObjectId id = parse(hex);
+        if (id == null) throw new IllegalArgumentException("Not an ObjectId: " + hex);
+        return id;
+    }
+
+    /**
+     * @return the id, or null if the text is not 24 hex digits
+     */
+    @Nullable
+    public static ObjectId parse(@Nullable String hex) {
+        if (hex == null || hex.length() != HEX_LENGTH) return null;
+        long high = 0;
+        int low = 0;
+        for (int i = 0; i < HEX_LENGTH; i++) {
+            int digit = hexDigit(hex.charAt(i));
+            if (digit < 0) return null;
+            if (i < 16) {
+                high = (high << 4) | digit;
+            } else {
+                low = (low << 4) | digit;
+            }
+        }
+        return new ObjectId(high, low);
+    }
+
+    // ASCII only; Character.digit would also take other scripts' digits, e.g. Arabic-Indic ones.
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    public static boolean isValid(@Nullable String hex) {
+        return parse(hex) != null;
+    }
+
+    /**
+     * Lowest and highest ids whose hex starts with {@code hexPrefix}, for BLOB range queries.
+     * @return {low, high}, or null if the prefix is empty, too long or not hex
+     */
+    @Nullable
+    public static ObjectId[] prefixRange(@Nullable String hexPrefix) {
+        if (hexPrefix == null || hexPrefix.isEmpty() || hexPrefix.length() > HEX_LENGTH) return null;
+        StringBuilder low = new StringBuilder(HEX_LENGTH).append(hexPrefix);
+        StringBuilder high = new StringBuilder(HEX_LENGTH).append(hexPrefix);
+        for (int i = hexPrefix.length(); i < HEX_LENGTH; i++) {
+            low.append('0');
+            high.append('f');
+        }
+        ObjectId from = parse(low.toString());
+        ObjectId to = parse(high.toString());
+        return from == null || to == null ? null : new ObjectId[] {from, to};
+    }
+
+    public static ObjectId fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != BYTES) {
+            throw new IllegalArgumentException("ObjectId needs " + BYTES + " bytes");
+        }
+        long high = 0;
+        for (int i = 0; i < 8; i++) high = (high << 8) | (bytes[i] & 0xFF);
+        int low = 0;
+        for (int i = 8; i < BYTES; i++) low = (low << 8) | (bytes[i] & 0xFF);
+        return new ObjectId(high, low);
+    }
+
+    public long high() {
+        return high;
+    }
+
+    public int low() {
+        return low;
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < 8; i++) bytes[i] = (byte) (high >>> (56 - 8 * i));
+        for (int i = 0; i < 4; i++) bytes[8 + i] = (byte) (low >>> (24 - 8 * i));
+        return bytes;
+    }
+
+    public String toHex() {
+        char[] chars = new char[HEX_LENGTH];
+        for (int i = 0; i < 16; i++) chars[i] = HEX[(int) (high >>> (60 - 4 * i)) & 0xF];
+        for (int i = 0; i < 8; i++) chars[16 + i] = HEX[(low >>> (28 - 4 * i)) & 0xF];
+        return new String(chars);
+    }
+
+    /**
+     * Hash of an id held as primitives, equal to {@link #hashCode()} of the same id.
+     */
+    public static int hash(long high, int low) {
+        int h = (int) (high ^ (high >>> 32)) * 31 + low;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ObjectId)) return false;
+        ObjectId other = (ObjectId) o;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(high, low);
+    }
+
+    @Override
+    public int compareTo(ObjectId other) {
+        int byHigh = Long.compare(high ^ Long.MIN_VALUE, other.high ^ Long.MIN_VALUE);
+        return byHigh != 0 ? byHigh : Integer.compare(low ^ Integer.MIN_VALUE, other.low ^ Integer.MIN_VALUE);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
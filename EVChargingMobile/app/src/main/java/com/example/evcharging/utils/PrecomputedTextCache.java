@@ -0,0 +1,106 @@
+/*
+ * File: PrecomputedTextCache.java
+ * Purpose: Measures list row text on a background thread so binds only hand a finished layout to the view
+ */
+package com.example.evcharging.utils;
+
+import android.text.TextUtils;
+import android.util.LruCache;
+import android.widget.TextView;
+
+import androidx.annotation.Nullable;
+import androidx.appcompat.widget.AppCompatTextView;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Holds precomputed text for one style of TextView. A precomputed layout is only valid for the
+ * text metrics params it was measured with (paint, break strategy, hyphenation, direction), so
+ * the cache is tied to the params of the views it serves and emptied when they change, e.g.
+ * after a font scale change recreates the views.
+ * <p>
+ * Main thread only, except for the background work it schedules itself.
+ */
+public final class PrecomputedTextCache {
+
+    private final Executor executor;
+    private final int maxEntries;
+    // LruCache is synchronized, so the background pass can fill it while binds read it.
+    private final LruCache<CharSequence, PrecomputedTextCompat> cache;
+    @Nullable private volatile PrecomputedTextCompat.Params params;
+    private List<CharSequence> pending = new ArrayList<>();
+
+    public PrecomputedTextCache(Executor executor, int maxEntries) {
+        this.executor = executor;
+        this.maxEntries = maxEntries;
+        this.cache = new LruCache<>(maxEntries);
+    }
+
+    /**
+     * Adopts the params of a freshly created view. The first call starts any work queued by
+     * {@link #precompute} before a view existed.
+     */
+    public void useParamsOf(TextView view) {
+        PrecomputedTextCompat.Params next = TextViewCompat.getTextMetricsParams(view);
+        if (next.equals(params)) return;
+        params = next;
+        cache.evictAll();
+        if (!pending.isEmpty()) {
+            List<CharSequence> texts = pending;
+            pending = new ArrayList<>();
+            precompute(texts);
+        }
+    }
+
+    /**
+     * Measures the texts in the background, in order, so the first rows of a freshly loaded list
+     * are ready first. Texts beyond the cache size are left for the bind to measure.
+     */
+    public void precompute(List<? extends CharSequence> texts) {
+        final PrecomputedTextCompat.Params target = params;
+        final List<CharSequence> batch = new ArrayList<>(Math.min(texts.size(), maxEntries));
+        for (CharSequence text : texts) {
+            if (batch.size() == maxEntries) break;
+            if (!TextUtils.isEmpty(text)) batch.add(text);
+        }
+        if (target == null) {
+            pending = batch;
+            return;
+        }
+        executor.execute(() -> {
+            for (CharSequence text : batch) {
+                // The views changed style meanwhile; these layouts would be thrown away.
+                if (params != target) return;
+                if (cache.get(text) == null) cache.put(text, PrecomputedTextCompat.create(text, target));
+            }
+        });
+    }
+
+    /**
+     * Shows the text, using the precomputed layout when it is ready. Otherwise the view gets a
+     * future that is measured in the background and only waited on if the row is laid out first.
+     */
+    public void setText(TextView view, @Nullable CharSequence text) {
+        AppCompatTextView compat = view instanceof AppCompatTextView ? (AppCompatTextView) view : null;
+        // A future left over from the row's previous bind would otherwise win at the next measure.
+        if (compat != null) compat.setTextFuture(null);
+
+        PrecomputedTextCompat.Params current = params;
+        if (TextUtils.isEmpty(text) || current == null) {
+            view.setText(text);
+            return;
+        }
+        PrecomputedTextCompat ready = cache.get(text);
+        if (ready != null && ready.getParams().equals(current)) {
+            TextViewCompat.setPrecomputedText(view, ready);
+        } else if (compat != null) {
+            compat.setTextFuture(PrecomputedTextCompat.getTextFuture(text, current, executor));
+        } else {
+            view.setText(text);
+        }
+    }
+}
@@ -6,6 +6,7 @@ package com.example.evcharging.utils;
 
 import android.graphics.Bitmap;
 
+import com.example.evcharging.models.BookingApi;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
 import com.journeyapps.barcodescanner.BarcodeEncoder;
@@ -21,4 +22,12 @@ public class QRCodeGenerator {
         BarcodeEncoder encoder = new BarcodeEncoder();
         return encoder.encodeBitmap(text, BarcodeFormat.QR_CODE, size, size);
     }
+
+    /**
+     * Content to encode for a booking: the server-signed token so operators can verify it offline,
+     * or the bare booking id if the server didn't issue one.
+     */
+    public static String payloadFor(BookingApi booking) {
+        return booking.qrToken != null && !booking.qrToken.isEmpty() ? booking.qrToken : booking.id;
+    }
 }
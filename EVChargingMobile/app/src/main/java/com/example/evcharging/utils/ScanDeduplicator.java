@@ -0,0 +1,53 @@
+/*
+ * File: ScanDeduplicator.java
+ * Purpose: Drops repeated reads of the same code within a time window
+ */
+package com.example.evcharging.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ScanDeduplicator {
+
+    // The camera keeps seeing a code for as long as it stays in frame, so the map stays small.
+    private static final int MAX_TRACKED = 64;
+
+    private final long windowMs;
+    private final LinkedHashMap<String, Long> lastSeen = new LinkedHashMap<>(16, 0.75f, true);
+
+    public ScanDeduplicator(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Returns true if the code has not been accepted within the window.
+     * A code that keeps being read in frame extends its own window, so it is only reported again
+     * after it has been out of view for the full window.
+     */
+    public boolean accept(String code, long nowElapsed) {
+        Long previous = lastSeen.put(code, nowElapsed);
+        evict(nowElapsed);
+        return previous == null || nowElapsed - previous >= windowMs;
+    }
+
+    /**
+     * Forgets a code so the next read is accepted immediately, e.g. to retry after a failure.
+     */
+    public void forget(String code) {
+        lastSeen.remove(code);
+    }
+
+    private void evict(long nowElapsed) {
+        Iterator<Map.Entry<String, Long>> it = lastSeen.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Long> entry = it.next();
+            if (lastSeen.size() > MAX_TRACKED || nowElapsed - entry.getValue() >= windowMs) {
+                it.remove();
+            } else {
+                // Access order: everything after the first fresh entry is fresher still.
+                break;
+            }
+        }
+    }
+}
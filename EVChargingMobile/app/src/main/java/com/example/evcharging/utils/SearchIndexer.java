@@ -0,0 +1,93 @@
+/*
+ * File: SearchIndexer.java
+ * Purpose: Persists fetched bookings and notifications so they can be searched offline
+ */
+package com.example.evcharging.utils;
+
+import android.content.Context;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.evcharging.db.AppDatabase;
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.models.BookingListing;
+import com.example.evcharging.models.Notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchIndexer {
+
+    private SearchIndexer() {}
+
+    /**
+     * Upserts bookings into the local table. The FTS index follows through Room's sync triggers.
+     * Only the columns of a projected list are written, so fields the projection left out keep
+     * their stored values.
+     * @param context any context, only the application context is kept
+     * @param bookings bookings as returned by a list call projected with {@link com.example.evcharging.api.BookingFields}
+     */
+    public static void indexBookings(Context context, List<BookingApi> bookings) {
+        if (context == null || bookings == null || bookings.isEmpty()) return;
+        final Context appContext = context.getApplicationContext();
+        final List<BookingListing> local = new ArrayList<>(bookings.size());
+        for (BookingApi api : bookings) {
+            if (api != null && ObjectId.isValid(api.id)) {
+                local.add(BookingListing.fromApi(api));
+            }
+        }
+        AppExecutors.diskIO().execute(() ->
+                AppDatabase.getDatabase(appContext).bookingDao().upsertListings(local));
+    }
+
+    /**
+     * Records a status change made on this device so offline checks see it before the next sync.
+     * @param context any context, only the application context is kept
+     */
+    public static void updateBookingStatus(Context context, String bookingId, int status) {
+        final ObjectId id = ObjectId.parse(bookingId);
+        if (context == null || id == null) return;
+        final Context appContext = context.getApplicationContext();
+        AppExecutors.diskIO().execute(() ->
+                AppDatabase.getDatabase(appContext).bookingDao().updateStatus(id, status));
+    }
+
+    /**
+     * Replaces the local notification history with the latest server copy.
+     * @param context any context, only the application context is kept
+     * @param notifications the user's full notification list
+     */
+    public static void indexNotifications(Context context, List<Notification> notifications) {
+        if (context == null || notifications == null) return;
+        final Context appContext = context.getApplicationContext();
+        final List<Notification> copy = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            if (notification != null && notification.id != null) {
+                copy.add(notification);
+            }
+        }
+        AppExecutors.diskIO().execute(() ->
+                AppDatabase.getDatabase(appContext).notificationDao().replaceAll(copy));
+    }
+
+    /**
+     * Deletes every stored booking and notification together with their full-text indexes,
+     * e.g. on logout or when a different account signs in.
+     * @param context any context, only the application context is kept
+     */
+    public static void clearAll(Context context) {
+        final Context appContext = context.getApplicationContext();
+        AppExecutors.diskIO().execute(() -> {
+            AppDatabase db = AppDatabase.getDatabase(appContext);
+            db.runInTransaction(() -> {
+                db.bookingDao().deleteAll();
+                db.notificationDao().deleteAll();
+                // The sync triggers already drop the rows' terms; rebuilding from the now empty
+                // content tables also empties any index pages the triggers did not reach.
+                SupportSQLiteDatabase sql = db.getOpenHelper().getWritableDatabase();
+                sql.execSQL("INSERT INTO bookings_fts(bookings_fts) VALUES('rebuild')");
+                sql.execSQL("INSERT INTO notifications_fts(notifications_fts) VALUES('rebuild')");
+            });
+        });
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * File: Session.java
+ * Purpose: Signing out, shared by the owner and operator screens
+ */
+package com.example.evcharging.utils;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+
+import com.example.evcharging.activities.LoginActivity;
+import com.example.evcharging.data.NotificationBadge;
+import com.example.evcharging.data.QrKeyStore;
+import com.example.evcharging.data.StationBookingCache;
+
+public final class Session {
+
+    private Session() {}
+
+    /**
+     * Forgets the signed-in account: the saved token, NIC and stations, the bookings and
+     * notifications kept for offline use and search, the operator's QR keys and day cache, and
+     * the unread badge. Then opens LoginActivity on a fresh back stack and finishes the activity.
+     */
+    public static void signOut(Activity activity) {
+        activity.getSharedPreferences(LoginActivity.PREFS_NAME, Context.MODE_PRIVATE).edit()
+                .remove(LoginActivity.AUTH_TOKEN_KEY).remove(LoginActivity.STATION_ID_KEY)
+                .remove(LoginActivity.STATION_IDS_KEY).remove(LoginActivity.USER_NIC_KEY).apply();
+        SearchIndexer.clearAll(activity);
+        QrKeyStore.getInstance().clear(activity);
+        StationBookingCache.getInstance().clear();
+        NotificationBadge.getInstance().clear();
+
+        Intent intent = new Intent(activity, LoginActivity.class);
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        activity.startActivity(intent);
+        activity.finish();
+    }
+}
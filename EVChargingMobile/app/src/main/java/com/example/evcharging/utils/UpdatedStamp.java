@@ -0,0 +1,32 @@
+/*
+ * File: UpdatedStamp.java
+ * Purpose: Formats the "last updated" stamp shown above cached lists
+ */
+package com.example.evcharging.utils;
+
+import android.os.SystemClock;
+import android.text.format.DateUtils;
+
+public class UpdatedStamp {
+
+    private UpdatedStamp() {}
+
+    /**
+     * @param updatedAtMillis wall-clock time of the last successful load, or 0 if never loaded
+     * @return e.g. "Updated just now" or "Updated 5 minutes ago"; empty before the first load
+     */
+    public static CharSequence text(long updatedAtMillis) {
+        if (updatedAtMillis <= 0) return "";
+        long now = System.currentTimeMillis();
+        if (now - updatedAtMillis < DateUtils.MINUTE_IN_MILLIS) return "Updated just now";
+        return "Updated " + DateUtils.getRelativeTimeSpanString(updatedAtMillis, now, DateUtils.MINUTE_IN_MILLIS);
+    }
+
+    /**
+     * Same as {@link #text(long)} for a time taken from {@link SystemClock#elapsedRealtime()}.
+     */
+    public static CharSequence fromElapsed(long elapsedRealtime) {
+        if (elapsedRealtime <= 0) return "";
+        return text(System.currentTimeMillis() - (SystemClock.elapsedRealtime() - elapsedRealtime));
+    }
+}
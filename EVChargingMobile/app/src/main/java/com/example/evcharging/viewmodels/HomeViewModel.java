@@ -0,0 +1,48 @@
+/*
+ * File: HomeViewModel.java
+ * Purpose: Owner dashboard state, loaded through the home aggregate and kept across tab switches
+ */
+package com.example.evcharging.viewmodels;
+
+import android.app.Application;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import com.example.evcharging.data.AvailabilityEngine;
+import com.example.evcharging.data.HomeLoader;
+import com.example.evcharging.models.HomeSummary;
+import com.example.evcharging.utils.LatencyRecorder;
+import com.example.evcharging.utils.SearchIndexer;
+
+public class HomeViewModel extends RefreshableViewModel<HomeSummary> {
+
+    public HomeViewModel(@NonNull Application application) {
+        super(application, null);
+    }
+
+    @Override
+    protected void load(String authToken, LoadCallback<HomeSummary> callback) {
+        final long startedAt = SystemClock.elapsedRealtime();
+        HomeLoader.load(authToken, new HomeLoader.Callback() {
+            @Override
+            public void onLoaded(HomeSummary summary, HomeLoader.Source source) {
+                // Observers render synchronously inside setValue, so this covers request to drawn content.
+                callback.onLoaded(summary);
+                LatencyRecorder.record(source == HomeLoader.Source.AGGREGATE ? "home.ttc.aggregate" : "home.ttc.fanout",
+                        SystemClock.elapsedRealtime() - startedAt);
+            }
+
+            @Override
+            public void onFailed(String message) {
+                callback.onFailed(message);
+            }
+        });
+    }
+
+    @Override
+    protected void onLoaded(HomeSummary summary) {
+        SearchIndexer.indexBookings(getApplication(), summary.upcomingBookings);
+        AvailabilityEngine.getInstance().applyBookings(summary.upcomingBookings);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * File: ListViewModel.java
+ * Purpose: Screen list state that survives tab switches and rotation, refetched only once it is stale
+ */
+package com.example.evcharging.viewmodels;
+
+import android.app.Application;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.evcharging.api.ApiClient;
+import com.example.evcharging.api.ApiService;
+
+import java.util.Collections;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public abstract class ListViewModel<T> extends RefreshableViewModel<List<T>> {
+
+    private final String tag = getClass().getSimpleName();
+
+    protected ListViewModel(@NonNull Application application) {
+        super(application, Collections.emptyList());
+    }
+
+    @Override
+    protected void load(String authToken, LoadCallback<List<T>> callback) {
+        request(ApiClient.getApiService(), authToken).enqueue(new Callback<List<T>>() {
+            @Override
+            public void onResponse(@NonNull Call<List<T>> call, @NonNull Response<List<T>> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    callback.onLoaded(Collections.unmodifiableList(response.body()));
+                } else {
+                    Log.e(tag, "Load failed. Code: " + response.code());
+                    callback.onFailed("Failed to load. Code: " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<T>> call, @NonNull Throwable t) {
+                Log.e(tag, "Load failed: " + t.getMessage());
+                callback.onFailed("Network error. Please try again.");
+            }
+        });
+    }
+
+    protected abstract Call<List<T>> request(ApiService apiService, String authToken);
+}
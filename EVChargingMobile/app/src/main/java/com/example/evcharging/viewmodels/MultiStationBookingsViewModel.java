@@ -0,0 +1,152 @@
+/*
+ * File: MultiStationBookingsViewModel.java
+ * Purpose: Today's bookings across every station a supervising operator covers, merged into one list as stations land
+ */
+package com.example.evcharging.viewmodels;
+
+import android.app.Application;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.evcharging.data.BookingColumns;
+import com.example.evcharging.data.StationFanOut;
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.utils.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MultiStationBookingsViewModel extends AndroidViewModel {
+
+    /**
+     * What the merged list renders. Stations that have not answered yet keep their previous rows.
+     */
+    public static final class State {
+        // Latest start first, the same order as the single-station list.
+        public final BookingColumns rows;
+        public final int stationsLoaded;
+        public final int stationsTotal;
+        public final int stationsFailed;
+        // Wall-clock time the last complete round finished; 0 if none has.
+        public final long updatedAtMillis;
+        public final boolean loading;
+
+        State(BookingColumns rows, int stationsLoaded, int stationsTotal, int stationsFailed,
+              long updatedAtMillis, boolean loading) {
+            this.rows = rows;
+            this.stationsLoaded = stationsLoaded;
+            this.stationsTotal = stationsTotal;
+            this.stationsFailed = stationsFailed;
+            this.updatedAtMillis = updatedAtMillis;
+            this.loading = loading;
+        }
+
+        public boolean hasLoaded() {
+            return stationsLoaded > 0 || updatedAtMillis > 0;
+        }
+    }
+
+    private final MutableLiveData<State> state =
+            new MutableLiveData<>(new State(BookingColumns.EMPTY, 0, 0, 0, 0, false));
+
+    // One run per station, each latest start first; insertion order is the assigned station order.
+    private final Map<String, BookingColumns> runs = new LinkedHashMap<>();
+    @Nullable private StationFanOut fanOut;
+    // Bumped per merge so a slow merge never overwrites a newer one.
+    private int mergeGeneration;
+    private long loadedAtElapsed;
+
+    private int loaded;
+    private int failed;
+    private int total;
+
+    public MultiStationBookingsViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    public LiveData<State> getState() {
+        return state;
+    }
+
+    public void refreshIfStale(String authToken, List<String> stationIds, long maxAgeMs) {
+        boolean fresh = loadedAtElapsed > 0 && SystemClock.elapsedRealtime() - loadedAtElapsed < maxAgeMs;
+        if (!fresh) refresh(authToken, stationIds);
+    }
+
+    /**
+     * Fans out one request per station, a few at a time, and republishes the merged list each
+     * time one of them answers. A round already running is left to finish.
+     */
+    public void refresh(String authToken, List<String> stationIds) {
+        if (authToken == null || stationIds.isEmpty() || fanOut != null) return;
+        runs.keySet().retainAll(stationIds);
+        loaded = 0;
+        failed = 0;
+        total = stationIds.size();
+        publish(current().rows, true, current().updatedAtMillis);
+
+        fanOut = StationFanOut.start(authToken, stationIds, new StationFanOut.Listener() {
+            @Override
+            public void onStationLoaded(String stationId, List<BookingApi> bookings) {
+                // The server sends each station earliest first; reversed, the build needs no sort.
+                List<BookingApi> run = new ArrayList<>(bookings);
+                Collections.reverse(run);
+                runs.put(stationId, BookingColumns.of(run));
+                loaded++;
+                merge(false, current().updatedAtMillis);
+            }
+
+            @Override
+            public void onStationFailed(String stationId, String message) {
+                failed++;
+                publish(current().rows, true, current().updatedAtMillis);
+            }
+
+            @Override
+            public void onComplete() {
+                fanOut = null;
+                loadedAtElapsed = SystemClock.elapsedRealtime();
+                merge(true, System.currentTimeMillis());
+            }
+        });
+    }
+
+    public void invalidate() {
+        loadedAtElapsed = 0;
+    }
+
+    @Override
+    protected void onCleared() {
+        if (fanOut != null) fanOut.cancel();
+        super.onCleared();
+    }
+
+    private void merge(boolean complete, long updatedAtMillis) {
+        final int generation = ++mergeGeneration;
+        final List<BookingColumns> snapshot = new ArrayList<>(runs.values());
+        AppExecutors.compute().execute(() -> {
+            BookingColumns merged = BookingColumns.mergeDescending(snapshot);
+            AppExecutors.mainThread().execute(() -> {
+                if (generation != mergeGeneration) return;
+                publish(merged, !complete, updatedAtMillis);
+            });
+        });
+    }
+
+    private void publish(BookingColumns rows, boolean loading, long updatedAtMillis) {
+        state.setValue(new State(rows, loaded, total, failed, updatedAtMillis, loading));
+    }
+
+    private State current() {
+        State value = state.getValue();
+        return value != null ? value : new State(BookingColumns.EMPTY, 0, 0, 0, 0, false);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * File: MyBookingsViewModel.java
+ * Purpose: The signed-in owner's bookings, shared by the dashboard and My Bookings tabs
+ */
+package com.example.evcharging.viewmodels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+
+import com.example.evcharging.api.ApiService;
+import com.example.evcharging.api.BookingFields;
+import com.example.evcharging.data.AvailabilityEngine;
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.utils.SearchIndexer;
+
+import java.util.List;
+
+import retrofit2.Call;
+
+public class MyBookingsViewModel extends ListViewModel<BookingApi> {
+
+    public MyBookingsViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    @Override
+    protected Call<List<BookingApi>> request(ApiService apiService, String authToken) {
+        return apiService.getMyBookings(authToken, null, null, null, BookingFields.OWNER_CARD);
+    }
+
+    @Override
+    protected void onLoaded(List<BookingApi> bookings) {
+        SearchIndexer.indexBookings(getApplication(), bookings);
+        AvailabilityEngine.getInstance().applyBookings(bookings);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * File: NotificationsViewModel.java
+ * Purpose: The signed-in user's notification list, refetched only when the server's list version moves
+ */
+package com.example.evcharging.viewmodels;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+
+import com.example.evcharging.api.ApiService;
+import com.example.evcharging.data.NotificationBadge;
+import com.example.evcharging.models.Notification;
+import com.example.evcharging.models.NotificationCount;
+import com.example.evcharging.utils.SearchIndexer;
+
+import java.util.List;
+
+import retrofit2.Call;
+
+public class NotificationsViewModel extends ListViewModel<Notification> {
+
+    // Version the shown list was loaded at, and the one the running request was started at.
+    private String loadedVersion;
+    private String requestedVersion;
+
+    public NotificationsViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    /**
+     * Checks the lightweight count endpoint and downloads the list only if its version differs
+     * from the one on screen. Falls back to a plain load if the count cannot be fetched.
+     */
+    public void refreshIfChanged(String authToken) {
+        NotificationBadge.getInstance().fetch(authToken, count -> {
+            if (count == null || count.version == null || !count.version.equals(loadedVersion)) {
+                refresh(authToken);
+            }
+        });
+    }
+
+    @Override
+    public void refresh(String authToken) {
+        State<List<Notification>> current = getState().getValue();
+        if (current == null || !current.loading) {
+            // The newest version seen before the request; the list returned is at least this new.
+            NotificationCount latest = NotificationBadge.getInstance().latest();
+            requestedVersion = latest != null ? latest.version : null;
+        }
+        super.refresh(authToken);
+    }
+
+    @Override
+    protected Call<List<Notification>> request(ApiService apiService, String authToken) {
+        return apiService.getMyNotifications(authToken);
+    }
+
+    @Override
+    protected void onLoaded(List<Notification> notifications) {
+        loadedVersion = requestedVersion;
+        SearchIndexer.indexNotifications(getApplication(), notifications);
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        loadedVersion = null;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * File: RefreshableViewModel.java
+ * Purpose: Screen state that survives tab switches and rotation, reloaded only once it is stale
+ */
+package com.example.evcharging.viewmodels;
+
+import android.app.Application;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+/**
+ * Holds the last loaded data of a screen together with its loading and error state, and
+ * decides when it needs loading again. Subclasses only say how to load it.
+ */
+public abstract class RefreshableViewModel<D> extends AndroidViewModel {
+
+    /**
+     * What a screen renders. Data is kept while a refresh is loading or after it fails,
+     * so the screen never blanks out.
+     */
+    public static final class State<D> {
+        public final D data;
+        // Wall-clock time of the last successful load, for the "last updated" stamp; 0 if never loaded.
+        public final long updatedAtMillis;
+        public final boolean loading;
+        @Nullable public final String error;
+
+        State(D data, long updatedAtMillis, boolean loading, @Nullable String error) {
+            this.data = data;
+            this.updatedAtMillis = updatedAtMillis;
+            this.loading = loading;
+            this.error = error;
+        }
+
+        public boolean hasLoaded() {
+            return updatedAtMillis > 0;
+        }
+    }
+
+    /**
+     * Receives the outcome of one load, on the main thread.
+     */
+    protected interface LoadCallback<D> {
+        void onLoaded(D data);
+
+        void onFailed(String message);
+    }
+
+    private final D initial;
+    private final MutableLiveData<State<D>> state;
+    // Monotonic time of the last successful load; freshness is judged on this, not the wall clock.
+    private long loadedAtElapsed;
+
+    /**
+     * @param initial what the screen shows before the first load, e.g. an empty list
+     */
+    protected RefreshableViewModel(@NonNull Application application, D initial) {
+        super(application);
+        this.initial = initial;
+        this.state = new MutableLiveData<>(new State<>(initial, 0, false, null));
+    }
+
+    public LiveData<State<D>> getState() {
+        return state;
+    }
+
+    /**
+     * Loads unless the last load is younger than {@code maxAgeMs} or one is already running.
+     * Screens call this whenever they become visible; it costs nothing while the data is fresh.
+     */
+    public void refreshIfStale(String authToken, long maxAgeMs) {
+        boolean fresh = loadedAtElapsed > 0 && SystemClock.elapsedRealtime() - loadedAtElapsed < maxAgeMs;
+        if (!fresh) refresh(authToken);
+    }
+
+    /**
+     * Loads now (pull-to-refresh). Concurrent calls are coalesced.
+     */
+    public void refresh(String authToken) {
+        State<D> current = current();
+        if (authToken == null || current.loading) return;
+        state.setValue(new State<>(current.data, current.updatedAtMillis, true, null));
+
+        load(authToken, new LoadCallback<D>() {
+            @Override
+            public void onLoaded(D data) {
+                RefreshableViewModel.this.onLoaded(data);
+                loadedAtElapsed = SystemClock.elapsedRealtime();
+                state.setValue(new State<>(data, System.currentTimeMillis(), false, null));
+            }
+
+            @Override
+            public void onFailed(String message) {
+                State<D> before = current();
+                state.setValue(new State<>(before.data, before.updatedAtMillis, false, message));
+            }
+        });
+    }
+
+    /**
+     * Marks the data stale so the next {@link #refreshIfStale} reloads it, e.g. after a change
+     * made on another screen.
+     */
+    public void invalidate() {
+        loadedAtElapsed = 0;
+    }
+
+    /**
+     * Starts one load and reports it through {@code callback} on the main thread.
+     */
+    protected abstract void load(String authToken, LoadCallback<D> callback);
+
+    /**
+     * Called on the main thread with each successful load, before it is published.
+     */
+    protected void onLoaded(D data) {}
+
+    private State<D> current() {
+        State<D> value = state.getValue();
+        return value != null ? value : new State<>(initial, 0, false, null);
+    }
+}
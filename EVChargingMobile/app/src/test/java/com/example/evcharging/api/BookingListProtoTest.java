@@ -0,0 +1,38 @@
+package com.example.evcharging.api;
+
+import com.example.evcharging.api.BookingWireFixtures.ServerBooking;
+import com.example.evcharging.models.BookingApi;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+public class BookingListProtoTest {
+
+    private final Gson gson = new Gson();
+    private final List<ServerBooking> fixture = BookingWireFixtures.fixture(new Random(7), 300, 6);
+
+    private List<BookingApi> fromJson(Object bookings) {
+        return gson.fromJson(gson.toJson(bookings), new TypeToken<List<BookingApi>>() {}.getType());
+    }
+
+    @Test
+    public void fullListDecodesToTheSameBookingsAsJson() throws IOException {
+        byte[] proto = BookingWireFixtures.encode(fixture, null);
+
+        BookingWireFixtures.assertSameBookings(fromJson(fixture), BookingListProto.decode(new ByteArrayInputStream(proto)));
+    }
+
+    @Test
+    public void operatorProjectionDecodesToTheSameRowsAsJson() throws IOException {
+        byte[] proto = BookingWireFixtures.encode(fixture, BookingWireFixtures.OPERATOR_FIELDS);
+
+        BookingWireFixtures.assertSameBookings(fromJson(BookingWireFixtures.project(fixture)),
+                BookingListProto.decode(new ByteArrayInputStream(proto)));
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.evcharging.api;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.utils.IsoTime;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Booking lists shaped like the backend's BookingResponseDto (signed QR tokens, UTC times), with a
+ * protobuf encoder that mirrors the backend's BookingListProtobuf.cs field for field.
+ */
+final class BookingWireFixtures {
+
+    // The fields the operator booking rows request.
+    static final String[] OPERATOR_FIELDS = {"ownerNIC", "stationId", "startTime", "endTime", "status", "updatedAt"};
+
+    // Field names and types as System.Text.Json writes BookingResponseDto.
+    @SuppressWarnings("unused")
+    static final class ServerBooking {
+        String id, ownerNIC, stationId, stationName, stationLocation;
+        String startTime, endTime;
+        int status;
+        String qrCode, qrToken;
+        double totalAmount;
+        String createdAt, updatedAt, confirmedAt, cancelledAt;
+        transient long start, end, created, updated, confirmed, cancelled;
+    }
+
+    private BookingWireFixtures() {}
+
+    static void assertSameBookings(List<BookingApi> expected, List<BookingApi> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            BookingApi a = expected.get(i), b = actual.get(i);
+            assertEquals(a.id, b.id);
+            assertEquals(a.ownerNIC, b.ownerNIC);
+            assertEquals(a.stationId, b.stationId);
+            assertEquals(a.status, b.status);
+            assertEquals(a.qrToken, b.qrToken);
+            assertEquals(a.totalAmount, b.totalAmount, 0.0);
+            assertEquals(IsoTime.parseMillis(a.startTime), IsoTime.parseMillis(b.startTime));
+            assertEquals(IsoTime.parseMillis(a.endTime), IsoTime.parseMillis(b.endTime));
+            assertEquals(IsoTime.parseMillis(a.updatedAt), IsoTime.parseMillis(b.updatedAt));
+        }
+    }
+
+    static List<ServerBooking> fixture(Random random, int count, int stationCount) {
+        List<String> stations = new ArrayList<>(stationCount);
+        for (int i = 0; i < stationCount; i++) stations.add(hex(random, 24));
+        long base = 1_790_000_000_000L - 1_790_000_000_000L % 3_600_000L;
+
+        List<ServerBooking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ServerBooking b = new ServerBooking();
+            int station = random.nextInt(stationCount);
+            b.id = hex(random, 24);
+            b.ownerNIC = (199000000 + random.nextInt(10000000)) + "V";
+            b.stationId = stations.get(station);
+            b.stationName = "Station " + station;
+            b.stationLocation = "Colombo " + (station % 15 + 1);
+            b.start = base + random.nextInt(7 * 24) * 3_600_000L;
+            b.end = b.start + (1 + random.nextInt(3)) * 3_600_000L;
+            b.status = random.nextInt(5);
+            b.qrCode = hex(random, 32).toUpperCase(Locale.US);
+            b.qrToken = "EV1" + base64Url(random, 67);
+            b.totalAmount = 500 + random.nextInt(40) * 25;
+            b.created = b.start - random.nextInt(72) * 3_600_000L - random.nextInt(3_600_000);
+            b.updated = b.created + random.nextInt(3_600_000);
+            b.confirmed = b.status == 1 || b.status == 2 ? b.updated : 0;
+            b.cancelled = b.status == 3 ? b.updated : 0;
+            b.startTime = iso(b.start);
+            b.endTime = iso(b.end);
+            b.createdAt = iso(b.created);
+            b.updatedAt = iso(b.updated);
+            b.confirmedAt = b.confirmed == 0 ? null : iso(b.confirmed);
+            b.cancelledAt = b.cancelled == 0 ? null : iso(b.cancelled);
+            bookings.add(b);
+        }
+        return bookings;
+    }
+
+    // What fields=ownerNIC,stationId,startTime,endTime,status,updatedAt returns as JSON.
+    static List<Map<String, Object>> project(List<ServerBooking> bookings) {
+        List<Map<String, Object>> projected = new ArrayList<>(bookings.size());
+        for (ServerBooking b : bookings) {
+            Map<String, Object> bag = new HashMap<>();
+            bag.put("id", b.id);
+            bag.put("ownerNIC", b.ownerNIC);
+            bag.put("stationId", b.stationId);
+            bag.put("startTime", b.startTime);
+            bag.put("endTime", b.endTime);
+            bag.put("status", b.status);
+            bag.put("updatedAt", b.updatedAt);
+            projected.add(bag);
+        }
+        return projected;
+    }
+
+    /**
+     * Same layout as the backend encoder: station table, one message per booking, packed statuses.
+     * @param fields projected field names besides id, or null for all
+     */
+    static byte[] encode(List<ServerBooking> bookings, String[] fields) throws IOException {
+        List<String> include = fields == null ? null : Arrays.asList(fields);
+        boolean withStation = include == null || include.contains("stationId");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(bookings.size() * 64);
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+
+        Map<String, Integer> stationIndex = new HashMap<>();
+        if (withStation) {
+            for (ServerBooking b : bookings) {
+                if (!stationIndex.containsKey(b.stationId)) {
+                    stationIndex.put(b.stationId, stationIndex.size());
+                    out.writeString(1, b.stationId);
+                }
+            }
+        }
+
+        ByteArrayOutputStream messageBytes = new ByteArrayOutputStream(256);
+        for (ServerBooking b : bookings) {
+            messageBytes.reset();
+            CodedOutputStream message = CodedOutputStream.newInstance(messageBytes);
+            message.writeString(1, b.id);
+            if (has(include, "ownerNIC")) message.writeString(2, b.ownerNIC);
+            if (withStation && stationIndex.get(b.stationId) != 0) message.writeUInt32(3, stationIndex.get(b.stationId));
+            if (has(include, "startTime")) message.writeInt64(4, b.start);
+            if (has(include, "endTime")) message.writeInt64(5, b.end);
+            if (has(include, "qrCode")) message.writeString(6, b.qrCode);
+            if (has(include, "qrToken")) message.writeString(7, b.qrToken);
+            if (has(include, "totalAmount")) message.writeDouble(8, b.totalAmount);
+            if (has(include, "createdAt")) message.writeInt64(9, b.created);
+            if (has(include, "updatedAt")) message.writeInt64(10, b.updated);
+            if (has(include, "confirmedAt") && b.confirmed != 0) message.writeInt64(11, b.confirmed);
+            if (has(include, "cancelledAt") && b.cancelled != 0) message.writeInt64(12, b.cancelled);
+            if (has(include, "stationName")) message.writeString(13, b.stationName);
+            if (has(include, "stationLocation")) message.writeString(14, b.stationLocation);
+            message.flush();
+            out.writeByteArray(2, messageBytes.toByteArray());
+        }
+
+        if (has(include, "status")) {
+            int size = 0;
+            for (ServerBooking b : bookings) size += CodedOutputStream.computeEnumSizeNoTag(b.status);
+            out.writeTag(3, 2);
+            out.writeUInt32NoTag(size);
+            for (ServerBooking b : bookings) out.writeEnumNoTag(b.status);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static boolean has(List<String> include, String field) {
+        return include == null || include.contains(field);
+    }
+
+    private static String iso(long millis) {
+        return IsoTime.formatUtc(millis);
+    }
+
+    private static String hex(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(Character.forDigit(random.nextInt(16), 16));
+        return sb.toString();
+    }
+
+    private static String base64Url(Random random, int length) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.evcharging.api;
+
+import static org.junit.Assert.assertTrue;
+
+import com.example.evcharging.api.BookingWireFixtures.ServerBooking;
+import com.example.evcharging.models.BookingApi;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Compares the protobuf booking list against the JSON the same endpoint returns, on a 10k-booking
+ * fixture over 40 stations. Reports encoded bytes and decode latency percentiles for the full list
+ * and for the operator row projection.
+ * <p>
+ * Skipped in the normal unit test run; run it with {@code ./gradlew testDebugUnitTest -Pbenchmarks}.
+ * {@link BookingListProtoTest} checks that both formats decode to the same bookings.
+ */
+public class BookingWireFormatBenchmark {
+
+    private static final int BOOKINGS = 10_000;
+    private static final int STATIONS = 40;
+    private static final int WARMUP_PASSES = 5;
+    private static final int MEASURED_PASSES = 15;
+    private static final Type BOOKING_LIST = new TypeToken<List<BookingApi>>() {}.getType();
+
+    private interface Decoder {
+        List<BookingApi> decode(byte[] payload) throws IOException;
+    }
+
+    @Before
+    public void onlyWhenAsked() {
+        Assume.assumeTrue("benchmarks run with -Pbenchmarks", Boolean.getBoolean("benchmarks"));
+    }
+
+    @Test
+    public void protobufIsSmallerAndDecodesFaster() throws IOException {
+        List<ServerBooking> fixture = BookingWireFixtures.fixture(new Random(7), BOOKINGS, STATIONS);
+        Gson gson = new Gson();
+
+        byte[] json = gson.toJson(fixture).getBytes(StandardCharsets.UTF_8);
+        byte[] proto = BookingWireFixtures.encode(fixture, null);
+        byte[] operatorJson = gson.toJson(BookingWireFixtures.project(fixture)).getBytes(StandardCharsets.UTF_8);
+        byte[] operatorProto = BookingWireFixtures.encode(fixture, BookingWireFixtures.OPERATOR_FIELDS);
+
+        Decoder gsonDecoder = payload -> gson.fromJson(
+                new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8), BOOKING_LIST);
+        Decoder protoDecoder = payload -> BookingListProto.decode(new ByteArrayInputStream(payload));
+
+        System.out.println(run("json, full", json, gsonDecoder));
+        System.out.println(run("protobuf, full", proto, protoDecoder));
+        System.out.println(run("json, operator rows", operatorJson, gsonDecoder));
+        System.out.println(run("protobuf, operator rows", operatorProto, protoDecoder));
+
+        // Decode speed depends on the machine, so only the size is asserted.
+        assertTrue("protobuf not smaller: " + proto.length + " vs " + json.length, proto.length < json.length);
+        assertTrue("projection not smaller", operatorProto.length < operatorJson.length);
+    }
+
+    private static String run(String name, byte[] payload, Decoder decoder) throws IOException {
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) decoder.decode(payload);
+        long[] nanos = new long[MEASURED_PASSES];
+        for (int pass = 0; pass < MEASURED_PASSES; pass++) {
+            long t0 = System.nanoTime();
+            decoder.decode(payload);
+            nanos[pass] = System.nanoTime() - t0;
+        }
+        Arrays.sort(nanos);
+        return String.format(Locale.US, "%-24s %,10d bytes  decode p50 %6.1f ms  p90 %6.1f ms", name, payload.length,
+                nanos[MEASURED_PASSES / 2] / 1e6, nanos[MEASURED_PASSES * 9 / 10] / 1e6);
+    }
+}
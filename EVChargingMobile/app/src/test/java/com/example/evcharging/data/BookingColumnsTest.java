@@ -0,0 +1,186 @@
+package com.example.evcharging.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.utils.IsoTime;
+import com.example.evcharging.utils.ObjectId;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class BookingColumnsTest {
+
+    private static final long BASE = IsoTime.parseMillis("2026-10-19T00:00:00Z");
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private static String id(int n) {
+        return new ObjectId(0x65f2a1b2c3d4e5f6L, n).toHex();
+    }
+
+    private static BookingApi booking(int n, String stationId, long start, int status) {
+        BookingApi booking = new BookingApi(id(n), "NIC" + (n % 5), stationId, IsoTime.formatUtc(start),
+                IsoTime.formatUtc(start + HOUR), status);
+        booking.totalAmount = n;
+        return booking;
+    }
+
+    private static List<String> ids(BookingColumns columns) {
+        List<String> ids = new ArrayList<>();
+        for (int row = 0; row < columns.size(); row++) ids.add(columns.id(row).toHex());
+        return ids;
+    }
+
+    @Test
+    public void sortsLatestStartFirstKeepingInsertionOrderForTies() {
+        BookingColumns columns = BookingColumns.of(Arrays.asList(
+                booking(1, "a", BASE, 0),
+                booking(2, "a", BASE + HOUR, 0),
+                booking(3, "a", BASE, 0),
+                booking(4, "a", BASE + 2 * HOUR, 0),
+                booking(5, "a", BASE + HOUR, 0)));
+
+        assertEquals(Arrays.asList(id(4), id(2), id(5), id(1), id(3)), ids(columns));
+    }
+
+    @Test
+    public void laterRowsReplaceEarlierOnesWithTheSameId() {
+        BookingColumns columns = BookingColumns.of(Arrays.asList(
+                booking(1, "a", BASE, 0),
+                booking(2, "a", BASE + HOUR, 0),
+                booking(1, "b", BASE + 2 * HOUR, 3)));
+
+        assertEquals(2, columns.size());
+        int row = columns.indexOf(ObjectId.fromHex(id(1)));
+        assertEquals(0, row);
+        assertEquals("b", columns.stationId(row));
+        assertEquals(3, columns.status(row));
+        assertEquals(BASE + 2 * HOUR, columns.startMillis(row));
+    }
+
+    @Test
+    public void skipsRowsWithoutAnObjectId() {
+        BookingApi bad = booking(1, "a", BASE, 0);
+        bad.id = "not-an-id";
+
+        assertEquals(1, BookingColumns.of(Arrays.asList(bad, booking(2, "a", BASE, 0), null)).size());
+    }
+
+    @Test
+    public void mergeInterleavesRunsAndKeepsRunOrderForEqualStarts() {
+        BookingColumns first = BookingColumns.of(Arrays.asList(
+                booking(1, "a", BASE + 3 * HOUR, 0),
+                booking(2, "a", BASE + HOUR, 0),
+                booking(3, "a", BASE, 0)));
+        BookingColumns second = BookingColumns.of(Arrays.asList(
+                booking(4, "b", BASE + 2 * HOUR, 0),
+                booking(5, "b", BASE + HOUR, 0),
+                booking(6, "b", BASE, 0)));
+
+        BookingColumns merged = BookingColumns.mergeDescending(Arrays.asList(first, second));
+
+        assertEquals(Arrays.asList(id(1), id(4), id(2), id(5), id(3), id(6)), ids(merged));
+        assertEquals("b", merged.stationId(merged.indexOf(ObjectId.fromHex(id(5)))));
+        assertEquals(5.0, merged.amount(merged.indexOf(ObjectId.fromHex(id(5)))), 0);
+    }
+
+    @Test
+    public void mergeMatchesAStableSortOfTheConcatenation() {
+        Random random = new Random(5);
+        List<BookingColumns> runs = new ArrayList<>();
+        List<BookingApi> all = new ArrayList<>();
+        int n = 0;
+        for (int r = 0; r < 4; r++) {
+            List<BookingApi> run = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                run.add(booking(n++, "s" + r, BASE + random.nextInt(24) * HOUR, random.nextInt(5)));
+            }
+            BookingColumns columns = BookingColumns.of(run);
+            runs.add(columns);
+            for (int row = 0; row < columns.size(); row++) all.add(columns.toApi(row));
+        }
+
+        // The builder's sort is stable, so sorting the runs laid end to end gives the merge order.
+        assertEquals(ids(BookingColumns.of(all)), ids(BookingColumns.mergeDescending(runs)));
+    }
+
+    @Test
+    public void idTableFindsEveryRowAfterTheBuilderGrows() {
+        for (int count : new int[] {0, 1, 2, 3, 7, 8, 9, 64, 1_000}) {
+            BookingColumns.Builder builder = new BookingColumns.Builder(0);
+            for (int i = 0; i < count; i++) builder.add(booking(i, "a", BASE + (i % 7) * HOUR, 0));
+            BookingColumns columns = builder.build();
+
+            assertEquals(count, columns.size());
+            for (int i = 0; i < count; i++) {
+                int row = columns.indexOf(ObjectId.fromHex(id(i)));
+                assertTrue(row >= 0);
+                assertEquals(id(i), columns.id(row).toHex());
+            }
+            assertEquals(-1, columns.indexOf(ObjectId.fromHex(id(count))));
+            assertEquals(-1, columns.indexOf(null));
+        }
+    }
+
+    @Test
+    public void selectFiltersOnStatusAndOverlap() {
+        BookingColumns columns = BookingColumns.of(Arrays.asList(
+                booking(1, "a", BASE, 0),
+                booking(2, "a", BASE + HOUR, 1),
+                booking(3, "a", BASE + 2 * HOUR, 3)));
+
+        assertEquals(3, columns.select(0xFF, BASE, BASE + 3 * HOUR).length);
+        assertEquals(1, columns.select(1 << 1, BASE, BASE + 3 * HOUR).length);
+        // [BASE + 1h, BASE + 2h) touches the first and third bookings without overlapping them.
+        int[] rows = columns.select(0xFF, BASE + HOUR, BASE + 2 * HOUR);
+        assertEquals(1, rows.length);
+        assertEquals(id(2), columns.id(rows[0]).toHex());
+    }
+
+    @Test
+    public void withinDropsRowsOutsideTheWindow() {
+        BookingColumns columns = BookingColumns.of(Arrays.asList(
+                booking(1, "a", BASE - 2 * HOUR, 0),
+                booking(2, "a", BASE + HOUR, 0),
+                booking(3, "a", BASE + 30 * HOUR, 1)));
+
+        BookingColumns today = columns.within(BASE, BASE + 24 * HOUR);
+
+        assertEquals(Arrays.asList(id(2)), ids(today));
+        assertEquals(0, today.indexOf(ObjectId.parse(id(2))));
+        assertEquals(-1, today.indexOf(ObjectId.parse(id(3))));
+        assertSame(today, today.within(BASE, BASE + 24 * HOUR));
+    }
+
+    @Test
+    public void withStatusOnlyChangesOneRow() {
+        BookingColumns columns = BookingColumns.of(Arrays.asList(booking(1, "a", BASE, 0), booking(2, "a", BASE, 0)));
+
+        BookingColumns changed = columns.withStatus(1, 2);
+
+        assertEquals(0, columns.status(1));
+        assertEquals(2, changed.status(1));
+        assertEquals(0, changed.status(0));
+        assertEquals(1, changed.indexOf(columns.id(1)));
+    }
+
+    @Test
+    public void ownersAreLookedUpByCode() {
+        BookingApi anonymous = booking(9, "a", BASE, 0);
+        anonymous.ownerNIC = null;
+        BookingColumns columns = BookingColumns.of(Arrays.asList(
+                booking(0, "a", BASE + HOUR, 0), booking(5, "a", BASE, 0), booking(1, "a", BASE, 0), anonymous));
+
+        assertEquals(2, columns.rowsForOwner("NIC0").length);
+        assertEquals(0, columns.rowsForOwner("NIC4").length);
+        assertEquals(0, columns.rowsForOwner(null).length);
+        assertNull(columns.ownerNic(columns.indexOf(ObjectId.fromHex(id(9)))));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.evcharging.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.evcharging.models.BookingApi;
+import com.example.evcharging.utils.IsoTime;
+import com.example.evcharging.utils.ObjectId;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+public class BookingSectionsTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    // UTC+5:30, so local hours start at half past the UTC hour.
+    private static final TimeZone COLOMBO = TimeZone.getTimeZone("Asia/Colombo");
+    private static final long MINUTE = 60 * 1000L;
+    private static final int ALL = 0xFF;
+
+    private static BookingColumns columns(String... startsUtc) {
+        List<BookingApi> bookings = new ArrayList<>();
+        for (int i = 0; i < startsUtc.length; i++) {
+            long start = IsoTime.parseMillis(startsUtc[i]);
+            bookings.add(new BookingApi(new ObjectId(1L, i).toHex(), "NIC", "station", startsUtc[i],
+                    IsoTime.formatUtc(start + 30 * MINUTE), i % 2));
+        }
+        return BookingColumns.of(bookings);
+    }
+
+    @Test
+    public void startsASectionForEachLocalHour() {
+        BookingColumns rows = columns("2026-10-19T09:00:00Z", "2026-10-19T09:30:00Z", "2026-10-19T10:15:00Z",
+                "2026-10-19T12:59:00Z");
+
+        BookingSections sections = BookingSections.build(rows, ALL, Long.MIN_VALUE, Long.MAX_VALUE, UTC);
+
+        // Latest first: 12:00 [12:59], 10:00 [10:15], 09:00 [09:30, 09:00].
+        assertEquals(7, sections.size());
+        assertEquals(4, sections.bookingCount());
+        assertTrue(sections.isHeader(0));
+        assertTrue(sections.isHeader(2));
+        assertTrue(sections.isHeader(4));
+        assertFalse(sections.isHeader(5));
+        assertEquals(IsoTime.parseMillis("2026-10-19T12:00:00Z"), sections.sectionHour(0));
+        assertEquals(IsoTime.parseMillis("2026-10-19T10:00:00Z"), sections.sectionHour(2));
+        assertEquals(IsoTime.parseMillis("2026-10-19T09:00:00Z"), sections.sectionHour(4));
+        assertEquals(1, sections.sectionCount(0));
+        assertEquals(2, sections.sectionCount(4));
+        assertEquals(IsoTime.parseMillis("2026-10-19T09:30:00Z"), rows.startMillis(sections.row(5)));
+        assertEquals(IsoTime.parseMillis("2026-10-19T09:00:00Z"), rows.startMillis(sections.row(6)));
+    }
+
+    @Test
+    public void halfHourZonesBreakOnTheLocalHour() {
+        // 09:00Z is 14:30 in Colombo and 09:29Z is 14:59; 09:30Z is 15:00.
+        BookingColumns rows = columns("2026-10-19T09:00:00Z", "2026-10-19T09:29:00Z", "2026-10-19T09:30:00Z");
+
+        BookingSections sections = BookingSections.build(rows, ALL, Long.MIN_VALUE, Long.MAX_VALUE, COLOMBO);
+
+        assertEquals(5, sections.size());
+        assertEquals(IsoTime.parseMillis("2026-10-19T09:30:00Z"), sections.sectionHour(0));
+        assertEquals(1, sections.sectionCount(0));
+        assertEquals(IsoTime.parseMillis("2026-10-19T08:30:00Z"), sections.sectionHour(2));
+        assertEquals(2, sections.sectionCount(2));
+
+        // In UTC the same three bookings fall in one hour.
+        assertEquals(4, BookingSections.build(rows, ALL, Long.MIN_VALUE, Long.MAX_VALUE, UTC).size());
+    }
+
+    @Test
+    public void headerPositionPointsAtTheSectionAbove() {
+        BookingColumns rows = columns("2026-10-19T11:00:00Z", "2026-10-19T10:20:00Z", "2026-10-19T10:10:00Z");
+
+        BookingSections sections = BookingSections.build(rows, ALL, Long.MIN_VALUE, Long.MAX_VALUE, UTC);
+
+        assertEquals(0, sections.headerPosition(0));
+        assertEquals(0, sections.headerPosition(1));
+        assertEquals(2, sections.headerPosition(2));
+        assertEquals(2, sections.headerPosition(3));
+        assertEquals(2, sections.headerPosition(4));
+        assertEquals(-1, sections.headerPosition(5));
+        assertEquals(-1, sections.headerPosition(-1));
+    }
+
+    @Test
+    public void filtersOnStatusAndWindow() {
+        // Statuses alternate 0, 1, 0, 1 by position in the list.
+        BookingColumns rows = columns("2026-10-19T09:00:00Z", "2026-10-19T10:00:00Z", "2026-10-19T11:00:00Z",
+                "2026-10-19T12:00:00Z");
+
+        BookingSections confirmed = BookingSections.build(rows, 1 << 1, Long.MIN_VALUE, Long.MAX_VALUE, UTC);
+        assertEquals(2, confirmed.bookingCount());
+        assertEquals(4, confirmed.size());
+
+        long from = IsoTime.parseMillis("2026-10-19T10:00:00Z");
+        long to = IsoTime.parseMillis("2026-10-19T11:00:00Z");
+        BookingSections window = BookingSections.build(rows, ALL, from, to, UTC);
+        assertEquals(1, window.bookingCount());
+        assertEquals(from, window.sectionHour(0));
+
+        BookingSections none = BookingSections.build(rows, 1 << 3, Long.MIN_VALUE, Long.MAX_VALUE, UTC);
+        assertTrue(none.isEmpty());
+        assertEquals(-1, none.headerPosition(0));
+    }
+
+    @Test
+    public void growsPastTheInitialSectionCapacity() {
+        String[] starts = new String[30];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = IsoTime.formatUtc(IsoTime.parseMillis("2026-10-19T00:00:00Z") + i * 60 * MINUTE);
+        }
+
+        BookingSections sections = BookingSections.build(columns(starts), ALL, Long.MIN_VALUE, Long.MAX_VALUE, UTC);
+
+        assertEquals(60, sections.size());
+        assertEquals(30, sections.bookingCount());
+        for (int position = 0; position < sections.size(); position += 2) {
+            assertTrue(sections.isHeader(position));
+            assertEquals(1, sections.sectionCount(position));
+        }
+    }
+
+    @Test
+    public void startOfHourBeforeTheEpoch() {
+        long millis = IsoTime.parseMillis("1969-12-31T23:45:00Z");
+
+        assertEquals(IsoTime.parseMillis("1969-12-31T23:00:00Z"), BookingSections.startOfHour(millis, UTC));
+        assertEquals(IsoTime.parseMillis("1969-12-31T23:30:00Z"), BookingSections.startOfHour(millis, COLOMBO));
+    }
+}
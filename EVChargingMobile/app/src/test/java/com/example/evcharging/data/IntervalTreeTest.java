@@ -0,0 +1,148 @@
+package com.example.evcharging.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.evcharging.utils.ObjectId;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class IntervalTreeTest {
+
+    private static ObjectId id(int n) {
+        return new ObjectId(0x65f2a1b2c3d4e5f6L, n);
+    }
+
+    @Test
+    public void touchingIntervalsDoNotOverlap() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(id(1), 10, 20);
+
+        assertEquals(0, tree.countOverlapping(0, 10));
+        assertEquals(0, tree.countOverlapping(20, 30));
+        assertEquals(1, tree.countOverlapping(9, 11));
+        assertEquals(1, tree.countOverlapping(19, 20));
+        assertEquals(1, tree.countOverlapping(10, 11));
+        assertEquals(1, tree.countOverlapping(0, 100));
+        assertEquals(1, tree.countOverlapping(12, 15));
+    }
+
+    @Test
+    public void backToBackSlotsCountSeparately() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(id(1), 0, 60);
+        tree.put(id(2), 60, 120);
+        tree.put(id(3), 120, 180);
+
+        assertEquals(1, tree.countOverlapping(0, 60));
+        assertEquals(2, tree.countOverlapping(59, 61));
+        assertEquals(2, tree.countOverlapping(60, 180));
+        assertEquals(3, tree.countOverlapping(0, 180));
+    }
+
+    @Test
+    public void emptyAndInvertedIntervalsAreIgnored() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(id(1), 10, 10);
+        tree.put(id(2), 20, 10);
+
+        assertEquals(0, tree.size());
+        assertFalse(tree.contains(id(1)));
+        assertEquals(0, tree.countOverlapping(0, 100));
+    }
+
+    @Test
+    public void putReplacesTheIntervalStoredUnderAnId() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(id(1), 0, 10);
+        tree.put(id(1), 50, 60);
+
+        assertEquals(1, tree.size());
+        assertEquals(0, tree.countOverlapping(0, 10));
+        assertEquals(1, tree.countOverlapping(55, 56));
+    }
+
+    @Test
+    public void removeAndClear() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(id(1), 0, 10);
+        tree.put(id(2), 5, 15);
+        tree.remove(id(1));
+        tree.remove(id(3));
+
+        assertEquals(1, tree.size());
+        assertFalse(tree.contains(id(1)));
+        assertTrue(tree.contains(id(2)));
+        assertEquals(1, tree.countOverlapping(0, 6));
+
+        tree.clear();
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.countOverlapping(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void sameStartIsOrderedById() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(id(3), 0, 10);
+        tree.put(id(1), 0, 20);
+        tree.put(id(2), 0, 30);
+
+        List<IntervalTree.Interval> hits = tree.overlapping(0, 5);
+        assertEquals(3, hits.size());
+        assertEquals(id(1), hits.get(0).id);
+        assertEquals(id(2), hits.get(1).id);
+        assertEquals(id(3), hits.get(2).id);
+    }
+
+    /**
+     * Thousands of inserts, moves and deletes, so every rotation path runs, checked after each
+     * step against a linear scan. A wrong maxEnd after a rotation shows up as a missed overlap.
+     */
+    @Test
+    public void matchesBruteForceThroughInsertsAndDeletes() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<ObjectId, long[]> expected = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            ObjectId key = id(random.nextInt(300));
+            if (random.nextInt(4) == 0) {
+                tree.remove(key);
+                expected.remove(key);
+            } else {
+                long start = random.nextInt(1_000);
+                long end = start + 1 + random.nextInt(100);
+                tree.put(key, start, end);
+                expected.put(key, new long[] {start, end});
+            }
+
+            long from = random.nextInt(1_100) - 50;
+            long to = from + random.nextInt(150);
+            List<ObjectId> brute = new ArrayList<>();
+            for (Map.Entry<ObjectId, long[]> entry : expected.entrySet()) {
+                if (entry.getValue()[0] < to && entry.getValue()[1] > from) brute.add(entry.getKey());
+            }
+            assertEquals(expected.size(), tree.size());
+            assertEquals(brute.size(), tree.countOverlapping(from, to));
+
+            List<IntervalTree.Interval> hits = tree.overlapping(from, to);
+            assertEquals(brute.size(), hits.size());
+            for (int i = 0; i < hits.size(); i++) {
+                IntervalTree.Interval hit = hits.get(i);
+                assertTrue(brute.contains(hit.id));
+                if (i > 0) {
+                    IntervalTree.Interval previous = hits.get(i - 1);
+                    assertTrue(previous.start < hit.start
+                            || (previous.start == hit.start && previous.id.compareTo(hit.id) < 0));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.evcharging.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.evcharging.models.Station;
+import com.example.evcharging.models.StationFilter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class StationSpatialIndexTest {
+
+    private static Station station(int n, double latitude, double longitude) {
+        return new Station("s" + n, "Station " + n, "", latitude, longitude, n % 2, 4, 500, n % 4, "active");
+    }
+
+    private static List<Station> randomStations(Random random, int count, double minLat, double maxLat,
+                                                double minLng, double maxLng) {
+        List<Station> stations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            stations.add(station(i, minLat + random.nextDouble() * (maxLat - minLat),
+                    minLng + random.nextDouble() * (maxLng - minLng)));
+        }
+        return stations;
+    }
+
+    /**
+     * Compares the index with a sort of every matching station by distance. Distances are
+     * compared rather than ids, so exact ties can come back in either order.
+     */
+    private static void assertMatchesBruteForce(List<Station> stations, double lat, double lng, int k,
+                                                StationFilter filter) {
+        List<Double> expected = new ArrayList<>();
+        for (Station station : stations) {
+            if (filter.matches(station)) {
+                expected.add(StationSpatialIndex.distanceKm(lat, lng, station.latitude, station.longitude));
+            }
+        }
+        Collections.sort(expected);
+        expected = expected.subList(0, Math.min(k, expected.size()));
+
+        List<StationSpatialIndex.Hit> hits = StationSpatialIndex.build(stations).nearest(lat, lng, k, filter);
+        String where = "query (" + lat + ", " + lng + ")";
+        assertEquals(where, expected.size(), hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            assertEquals(where, expected.get(i), hits.get(i).distanceKm, 1e-9);
+            assertTrue(filter.matches(hits.get(i).station));
+        }
+    }
+
+    @Test
+    public void findsNeighboursAcrossTheAntimeridian() {
+        List<Station> stations = new ArrayList<>();
+        stations.add(station(1, -17.0, 179.95));
+        stations.add(station(2, -17.0, -179.95));
+        stations.add(station(3, -17.0, 170.0));
+        stations.add(station(4, -17.0, -170.0));
+
+        List<StationSpatialIndex.Hit> hits = StationSpatialIndex.build(stations).nearest(-17.0, 179.99, 2, null);
+        Set<String> ids = new HashSet<>();
+        for (StationSpatialIndex.Hit hit : hits) ids.add(hit.station.id);
+
+        assertEquals(2, hits.size());
+        assertTrue(ids.contains("s1"));
+        assertTrue(ids.contains("s2"));
+        assertTrue(hits.get(1).distanceKm < 20);
+    }
+
+    @Test
+    public void matchesBruteForceNearTheAntimeridian() {
+        Random random = new Random(7);
+        List<Station> stations = new ArrayList<>();
+        stations.addAll(randomStations(random, 300, -40, 40, 175, 180));
+        stations.addAll(randomStations(random, 300, -40, 40, -180, -175));
+        stations.addAll(randomStations(random, 300, -40, 40, -180, 180));
+        for (int i = 0; i < 200; i++) {
+            double lng = random.nextBoolean() ? 179.9 + random.nextDouble() * 0.1 : -180 + random.nextDouble() * 0.1;
+            assertMatchesBruteForce(stations, -40 + random.nextDouble() * 80, lng, 1 + random.nextInt(12),
+                    StationFilter.ANY);
+        }
+    }
+
+    @Test
+    public void matchesBruteForceNearThePoles() {
+        Random random = new Random(11);
+        List<Station> stations = new ArrayList<>();
+        stations.addAll(randomStations(random, 400, 80, 90, -180, 180));
+        stations.addAll(randomStations(random, 400, -90, -80, -180, 180));
+        for (int i = 0; i < 200; i++) {
+            double lat = random.nextBoolean() ? 89 + random.nextDouble() : -90 + random.nextDouble();
+            assertMatchesBruteForce(stations, lat, -180 + random.nextDouble() * 360, 1 + random.nextInt(12),
+                    StationFilter.ANY);
+        }
+        assertMatchesBruteForce(stations, 90, 0, 5, StationFilter.ANY);
+        assertMatchesBruteForce(stations, -90, 0, 5, StationFilter.ANY);
+    }
+
+    @Test
+    public void matchesBruteForceWithAFilter() {
+        Random random = new Random(3);
+        List<Station> stations = randomStations(random, 1_000, -90, 90, -180, 180);
+        StationFilter available = new StationFilter(Station.TYPE_DC, true, false, 0);
+        for (int i = 0; i < 200; i++) {
+            assertMatchesBruteForce(stations, -90 + random.nextDouble() * 180, -180 + random.nextDouble() * 360,
+                    1 + random.nextInt(8), available);
+        }
+    }
+
+    @Test
+    public void skipsStationsWithoutCoordinates() {
+        List<Station> stations = new ArrayList<>();
+        stations.add(station(1, 0, 0));
+        stations.add(station(2, 6.9, 79.86));
+
+        StationSpatialIndex index = StationSpatialIndex.build(stations);
+
+        assertEquals(1, index.size());
+        assertEquals("s2", index.nearest(0, 0, 5, null).get(0).station.id);
+    }
+
+    @Test
+    public void boundsCrossingTheAntimeridian() {
+        List<Station> stations = new ArrayList<>();
+        stations.add(station(1, 10, 179.5));
+        stations.add(station(2, 10, -179.5));
+        stations.add(station(3, 10, 0.5));
+
+        List<Station> inside = StationSpatialIndex.build(stations).withinBounds(0, 179, 20, -179, null);
+        Set<String> ids = new HashSet<>();
+        for (Station station : inside) ids.add(station.id);
+
+        assertEquals(2, inside.size());
+        assertTrue(ids.contains("s1"));
+        assertTrue(ids.contains("s2"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.evcharging.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.evcharging.models.Station;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class StationTextIndexTest {
+
+    // Colombo Fort; the stations below sit at increasing distances from it.
+    private static final double LAT = 6.9344;
+    private static final double LNG = 79.8428;
+
+    private static Station station(String id, String name, String location, double latitude, double longitude,
+                                   int availableSlots, String status) {
+        return new Station(id, name, location, latitude, longitude, Station.TYPE_DC, 6, 450, availableSlots, status);
+    }
+
+    private static StationTextIndex index(Station... stations) {
+        byte[] encoded = StationCatalogFile.encode(Arrays.asList(stations));
+        return StationTextIndex.build(StationCatalogFile.wrap(ByteBuffer.wrap(encoded)));
+    }
+
+    private static List<String> ids(List<StationSpatialIndex.Hit> hits) {
+        List<String> ids = new ArrayList<>();
+        for (StationSpatialIndex.Hit hit : hits) ids.add(hit.station.id);
+        return ids;
+    }
+
+    @Test
+    public void ranksAvailableThenNearestThenFreeSlots() {
+        StationTextIndex index = index(
+                station("a", "Fort Full", "Colombo", 6.9350, 79.8430, 0, "active"),
+                station("b", "Kollupitiya", "Colombo 03", 6.9100, 79.8500, 1, "active"),
+                station("c", "Fort Central", "Colombo", 6.9340, 79.8420, 2, "active"),
+                station("d", "Kandy Road", "Kiribathgoda", 6.9800, 79.9300, 5, "active"),
+                station("e", "Unmapped", "Colombo", 0, 0, 4, "active"),
+                station("f", "Unmapped Too", "Colombo", 0, 0, 6, "active"));
+
+        List<StationSpatialIndex.Hit> hits = index.search("", LAT, LNG);
+
+        // Full stations go last however close; unknown locations follow the located ones, by free slots.
+        assertEquals(Arrays.asList("c", "b", "d", "f", "e", "a"), ids(hits));
+        assertTrue(Double.isNaN(hits.get(3).distanceKm));
+    }
+
+    @Test
+    public void withoutAFixRanksByFreeSlots() {
+        StationTextIndex index = index(
+                station("a", "One", "", 6.93, 79.84, 1, "active"),
+                station("b", "Three", "", 6.94, 79.85, 3, "active"),
+                station("c", "None", "", 6.95, 79.86, 0, "active"),
+                station("d", "Two", "", 6.96, 79.87, 2, "active"));
+
+        assertEquals(Arrays.asList("b", "d", "a", "c"), ids(index.search(null, Double.NaN, Double.NaN)));
+    }
+
+    @Test
+    public void shortTermsMatchWordPrefixes() {
+        StationTextIndex index = index(
+                station("a", "Galle Face", "Colombo 03", 6.92, 79.84, 1, "active"),
+                station("b", "Negombo Beach", "Negombo", 7.21, 79.83, 1, "active"),
+                station("c", "Dehiwala", "Galle Road", 6.85, 79.86, 1, "active"));
+
+        assertEquals(Arrays.asList("a", "c"), ids(index.search("ga", LAT, LNG)));
+        // "mb" is inside "colombo" and "negombo" but starts no word.
+        assertTrue(index.search("mb", LAT, LNG).isEmpty());
+    }
+
+    @Test
+    public void longTermsMatchAnywhereAndEveryTermMustMatch() {
+        StationTextIndex index = index(
+                station("a", "Galle Face", "Colombo 03", 6.92, 79.84, 1, "active"),
+                station("b", "Negombo Beach", "Negombo", 7.21, 79.83, 1, "active"),
+                station("c", "Dehiwala", "Galle Road", 6.85, 79.86, 1, "active"));
+
+        assertEquals(Arrays.asList("a", "b"), ids(index.search("OMB", LAT, LNG)));
+        assertEquals(Arrays.asList("c"), ids(index.search("galle  road", LAT, LNG)));
+        assertEquals(Arrays.asList("a"), ids(index.search("face, col", LAT, LNG)));
+        assertTrue(index.search("xyz", LAT, LNG).isEmpty());
+        assertTrue(index.search("galle beach", LAT, LNG).isEmpty());
+    }
+
+    @Test
+    public void onlyActiveStationsAreIndexed() {
+        StationTextIndex index = index(
+                station("a", "Open", "", 6.92, 79.84, 1, "0"),
+                station("b", "Open Later", "", 6.93, 79.85, 1, "maintenance"),
+                station("c", "Open Too", "", 6.94, 79.86, 1, null));
+
+        assertEquals(2, index.size());
+        assertEquals(Arrays.asList("a", "c"), ids(index.search("open", LAT, LNG)));
+    }
+
+    @Test
+    public void normalizeLowerCasesAndSplitsOnPunctuation() {
+        assertEquals("galle rd colombo 03", StationTextIndex.normalize("  Galle Rd., Colombo-03 "));
+        assertEquals("", StationTextIndex.normalize("--"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.evcharging.scan;
+
+import static org.junit.Assert.assertTrue;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.RGBLuminanceSource;
+import com.google.zxing.ReaderException;
+import com.google.zxing.Result;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.HybridBinarizer;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Measures the tuned decode path against zxing's defaults (every format, whole frame) so scanner
+ * tuning is measured rather than guessed.
+ * <p>
+ * Frames come from {@code src/test/resources/qr-frames} (PNG/JPEG camera captures) when present,
+ * otherwise a deterministic synthetic corpus of 1920x1080 preview frames with a booking-token QR code,
+ * lighting gradient, blur and sensor noise is generated. Reports decodes per second and latency
+ * percentiles for each configuration.
+ * <p>
+ * Skipped in the normal unit test run; run it with {@code ./gradlew testDebugUnitTest -Pbenchmarks}.
+ * {@link QrFrameDecoderTest} checks what the tuned path decodes.
+ */
+public class QrDecodeBenchmark {
+
+    private static final int WARMUP_PASSES = 2;
+    private static final int MEASURED_PASSES = 3;
+    private static final String CORPUS_DIR = "src/test/resources/qr-frames";
+
+    private interface FrameDecoder {
+        Result decode(LuminanceSource frame);
+    }
+
+    @Before
+    public void onlyWhenAsked() {
+        Assume.assumeTrue("benchmarks run with -Pbenchmarks", Boolean.getBoolean("benchmarks"));
+    }
+
+    @Test
+    public void tunedPathDecodesAsManyFramesFaster() throws Exception {
+        List<LuminanceSource> frames = loadCorpus();
+        assertTrue("empty corpus", !frames.isEmpty());
+
+        MultiFormatReader defaults = new MultiFormatReader();
+        Stats baseline = run("default (all formats, full frame)", frames, frame -> {
+            try {
+                return defaults.decode(new BinaryBitmap(new HybridBinarizer(frame)));
+            } catch (ReaderException e) {
+                return null;
+            } finally {
+                defaults.reset();
+            }
+        });
+        QrFrameDecoder noDownscale = new QrFrameDecoder(new QrFrameDecoder.Config(0.6f, Integer.MAX_VALUE, 0));
+        Stats roiOnly = run("QR only + centre ROI", frames, noDownscale::decode);
+        QrFrameDecoder tuned = new QrFrameDecoder(QrFrameDecoder.FULL_FRAME);
+        Stats tunedStats = run("QR only + ROI + downscale", frames, tuned::decode);
+
+        System.out.println(baseline);
+        System.out.println(roiOnly);
+        System.out.println(tunedStats);
+
+        // Speed depends on the machine, so only the hit rate is asserted.
+        assertTrue("tuned path lost too many frames: " + tunedStats.hits + " vs " + baseline.hits,
+                tunedStats.hits >= baseline.hits * 0.9);
+    }
+
+    private static Stats run(String name, List<LuminanceSource> frames, FrameDecoder decoder) {
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+            for (LuminanceSource frame : frames) decoder.decode(frame);
+        }
+        long[] latencies = new long[frames.size() * MEASURED_PASSES];
+        int hits = 0, n = 0;
+        long start = System.nanoTime();
+        for (int pass = 0; pass < MEASURED_PASSES; pass++) {
+            for (LuminanceSource frame : frames) {
+                long t0 = System.nanoTime();
+                Result result = decoder.decode(frame);
+                latencies[n++] = System.nanoTime() - t0;
+                if (pass == 0 && result != null) hits++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Stats(name, frames.size(), hits, latencies, elapsed);
+    }
+
+    private static List<LuminanceSource> loadCorpus() throws IOException, WriterException {
+        File dir = new File(CORPUS_DIR);
+        File[] files = dir.listFiles((d, file) -> file.matches("(?i).*\\.(png|jpe?g)"));
+        List<LuminanceSource> frames = new ArrayList<>();
+        if (files != null && files.length > 0) {
+            Arrays.sort(files);
+            for (File file : files) {
+                BufferedImage image = ImageIO.read(file);
+                int[] argb = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+                frames.add(new RGBLuminanceSource(image.getWidth(), image.getHeight(), argb));
+            }
+            return frames;
+        }
+        for (SyntheticQrFrames.Frame frame : SyntheticQrFrames.generate(60, 1920, 1080, new Random(42))) {
+            frames.add(frame.source);
+        }
+        return frames;
+    }
+
+    private static final class Stats {
+        final String name;
+        final int frames;
+        final int hits;
+        final long[] latencies;
+        final long elapsedNanos;
+
+        Stats(String name, int frames, int hits, long[] latencies, long elapsedNanos) {
+            this.name = name;
+            this.frames = frames;
+            this.hits = hits;
+            this.latencies = latencies.clone();
+            Arrays.sort(this.latencies);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        double percentileMs(double p) {
+            int index = (int) Math.min(latencies.length - 1, Math.round(p * (latencies.length - 1)));
+            return latencies[index] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format(Locale.US,
+                    "%-36s hits %d/%d  %.1f frames/s  %.1f decodes/s  p50 %.2fms  p95 %.2fms  max %.2fms",
+                    name, hits, frames, latencies.length / seconds, hits * MEASURED_PASSES / seconds,
+                    percentileMs(0.5), percentileMs(0.95), percentileMs(1.0));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.evcharging.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.ReaderException;
+import com.google.zxing.Result;
+import com.google.zxing.common.HybridBinarizer;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+public class QrFrameDecoderTest {
+
+    private static List<SyntheticQrFrames.Frame> frames;
+
+    @BeforeClass
+    public static void generateFrames() throws Exception {
+        frames = SyntheticQrFrames.generate(20, 1920, 1080, new Random(42));
+    }
+
+    private static int countHits(QrFrameDecoder decoder) {
+        int hits = 0;
+        for (SyntheticQrFrames.Frame frame : frames) {
+            Result result = decoder.decode(frame.source);
+            if (result == null) continue;
+            assertEquals(frame.text, result.getText());
+            hits++;
+        }
+        return hits;
+    }
+
+    @Test
+    public void tunedPathReadsAsManyFramesAsTheDefaults() {
+        MultiFormatReader defaults = new MultiFormatReader();
+        int baseline = 0;
+        for (SyntheticQrFrames.Frame frame : frames) {
+            try {
+                defaults.decode(new BinaryBitmap(new HybridBinarizer(frame.source)));
+                baseline++;
+            } catch (ReaderException e) {
+                // Counted as a miss.
+            } finally {
+                defaults.reset();
+            }
+        }
+
+        int tuned = countHits(new QrFrameDecoder(QrFrameDecoder.FULL_FRAME));
+
+        assertTrue("tuned path lost too many frames: " + tuned + " vs " + baseline, tuned >= baseline * 0.9);
+    }
+
+    @Test
+    public void cameraConfigReadsWholeFrames() {
+        int hits = countHits(new QrFrameDecoder(QrFrameDecoder.CAMERA));
+
+        assertTrue("camera config read " + hits + " of " + frames.size(), hits >= frames.size() * 0.9);
+    }
+}
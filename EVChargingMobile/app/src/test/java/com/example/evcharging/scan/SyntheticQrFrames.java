@@ -0,0 +1,100 @@
+package com.example.evcharging.scan;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Camera-like frames: an EV1 token sized QR code near the centre, 6-12px modules (a phone held
+ * 15-25cm away), an uneven lighting gradient, a 3x3 blur and noise. Frames are Y planes, like
+ * real preview data.
+ */
+final class SyntheticQrFrames {
+
+    static final class Frame {
+        final LuminanceSource source;
+        final String text;
+
+        Frame(LuminanceSource source, String text) {
+            this.source = source;
+            this.text = text;
+        }
+    }
+
+    private SyntheticQrFrames() {}
+
+    static List<Frame> generate(int count, int width, int height, Random random) throws WriterException {
+        QRCodeWriter writer = new QRCodeWriter();
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M);
+        hints.put(EncodeHintType.MARGIN, 2);
+        List<Frame> frames = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String token = "EV1" + randomBase64Url(random, 67);
+            BitMatrix code = writer.encode(token, BarcodeFormat.QR_CODE, 0, 0, hints);
+            int module = 6 + random.nextInt(7);
+            int side = code.getWidth() * module;
+            int left = (width - side) / 2 + random.nextInt(61) - 30;
+            int top = (height - side) / 2 + random.nextInt(41) - 20;
+
+            byte[] y = new byte[width * height];
+            double gx = random.nextDouble() * 60 - 30, gy = random.nextDouble() * 60 - 30;
+            int dark = 20 + random.nextInt(40), light = 170 + random.nextInt(60);
+            for (int py = 0; py < height; py++) {
+                for (int px = 0; px < width; px++) {
+                    int cx = px - left, cy = py - top;
+                    boolean inCode = cx >= 0 && cy >= 0 && cx < side && cy < side;
+                    int value = inCode && code.get(cx / module, cy / module) ? dark : light;
+                    if (!inCode) value = 120 + (int) (60 * Math.sin(px / 90.0) * Math.cos(py / 70.0));
+                    value += (int) (gx * px / width + gy * py / height);
+                    y[py * width + px] = (byte) clamp(value);
+                }
+            }
+            y = blurAndNoise(y, width, height, random);
+            frames.add(new Frame(new PlanarYUVLuminanceSource(y, width, height, 0, 0, width, height, false), token));
+        }
+        return frames;
+    }
+
+    private static byte[] blurAndNoise(byte[] in, int width, int height, Random random) {
+        byte[] out = new byte[in.length];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int sum = 0, n = 0;
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dx = -1; dx <= 1; dx++) {
+                        int sx = x + dx, sy = y + dy;
+                        if (sx >= 0 && sy >= 0 && sx < width && sy < height) {
+                            sum += in[sy * width + sx] & 0xFF;
+                            n++;
+                        }
+                    }
+                }
+                out[y * width + x] = (byte) clamp(sum / n + (int) (random.nextGaussian() * 8));
+            }
+        }
+        return out;
+    }
+
+    private static String randomBase64Url(Random random, int length) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.evcharging.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+public class BookingTokenTest {
+
+    // The same vector is documented on QrTokenService; change both together.
+    private static final String SECRET = "test-qr-secret";
+    private static final String STATION_ID = "65f2a1b2c3d4e5f601234567";
+    private static final String BOOKING_ID = "65f2a1b2c3d4e5f6deadbeef";
+    private static final String STATION_KEY_HEX = "d0f835e0d380a51f84ca41ae685042a8ac3b067a0e8c5532b1f963593ebcf076";
+    // 2026-10-19 09:00 to 10:00 UTC, status Confirmed (1).
+    private static final String TOKEN = "EV1AWXyobLD1OX23q2-72XyobLD1OX2ASNFZ2rV3BBq1eogAdEZzvNGDfu9ERQc_zu8JPo";
+
+    private static byte[] stationKey(String secret, String stationId) throws Exception {
+        Mac hmac = Mac.getInstance("HmacSHA256");
+        hmac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return hmac.doFinal(("ev-qr-station:" + stationId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] out = new byte[hex.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return out;
+    }
+
+    @Test
+    public void stationKeyMatchesTheBackendDerivation() throws Exception {
+        assertArrayEquals(fromHex(STATION_KEY_HEX), stationKey(SECRET, STATION_ID));
+    }
+
+    @Test
+    public void parsesTheSharedVector() {
+        BookingToken token = BookingToken.parse(TOKEN);
+
+        assertNotNull(token);
+        assertEquals(BOOKING_ID, token.bookingId);
+        assertEquals(STATION_ID, token.stationId);
+        assertEquals(1_792_400_400_000L, token.startMillis);
+        assertEquals(1_792_404_000_000L, token.endMillis);
+        assertEquals(1, token.status);
+        assertTrue(token.verify(fromHex(STATION_KEY_HEX)));
+    }
+
+    @Test
+    public void rejectsAnotherStationsKey() throws Exception {
+        BookingToken token = BookingToken.parse(TOKEN);
+
+        assertNotNull(token);
+        assertFalse(token.verify(stationKey(SECRET, "65f2a1b2c3d4e5f601234568")));
+        assertFalse(token.verify(stationKey("other-secret", STATION_ID)));
+    }
+
+    @Test
+    public void rejectsAnyChangedCharacter() {
+        byte[] key = fromHex(STATION_KEY_HEX);
+        char[] alphabet = "AQgw".toCharArray();
+        for (int i = BookingToken.PREFIX.length(); i < TOKEN.length(); i++) {
+            for (char replacement : alphabet) {
+                if (replacement == TOKEN.charAt(i)) continue;
+                String tampered = TOKEN.substring(0, i) + replacement + TOKEN.substring(i + 1);
+                BookingToken token = BookingToken.parse(tampered);
+                // A change confined to the unused low bits of the last character decodes to the same bytes.
+                if (token == null || (i == TOKEN.length() - 1 && token.verify(key))) continue;
+                assertFalse("position " + i, token.verify(key));
+            }
+        }
+    }
+
+    @Test
+    public void ignoresTextThatIsNotAToken() {
+        assertNull(BookingToken.parse(null));
+        assertNull(BookingToken.parse(""));
+        assertNull(BookingToken.parse(BOOKING_ID));
+        assertNull(BookingToken.parse("EV1"));
+        assertNull(BookingToken.parse(TOKEN.substring(0, TOKEN.length() - 4)));
+        assertNull(BookingToken.parse(TOKEN + "AAAA"));
+        assertNull(BookingToken.parse(TOKEN.replace('-', '+')));
+        assertNull(BookingToken.parse(TOKEN + "="));
+        // Version 2 in the first byte.
+        assertNull(BookingToken.parse("EV1Ag" + TOKEN.substring(5)));
+    }
+
+    @Test
+    public void decodesUnpaddedBase64Url() {
+        assertArrayEquals(new byte[0], BookingToken.decodeBase64Url("", 0));
+        assertArrayEquals(new byte[] {(byte) 0xfb}, BookingToken.decodeBase64Url("-w", 0));
+        assertArrayEquals(new byte[] {(byte) 0xfb, (byte) 0xff}, BookingToken.decodeBase64Url("-_8", 0));
+        assertArrayEquals(new byte[] {(byte) 0xfb, (byte) 0xff, (byte) 0xbf}, BookingToken.decodeBase64Url("-_-_", 0));
+        assertArrayEquals("hello".getBytes(StandardCharsets.US_ASCII), BookingToken.decodeBase64Url("xxaGVsbG8", 2));
+        assertNull(BookingToken.decodeBase64Url("abcde", 0));
+        assertNull(BookingToken.decodeBase64Url("ab/c", 0));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.evcharging.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class ObjectIdTest {
+
+    private static final String HEX = "65f2a1b2c3d4e5f6deadbeef";
+
+    @Test
+    public void hexRoundTrip() {
+        ObjectId id = ObjectId.fromHex(HEX);
+
+        assertEquals(0x65f2a1b2c3d4e5f6L, id.high());
+        assertEquals(0xdeadbeef, id.low());
+        assertEquals(HEX, id.toHex());
+        assertEquals(HEX, ObjectId.fromHex(HEX.toUpperCase()).toHex());
+        assertEquals(id, ObjectId.parse(HEX));
+        assertEquals(id.hashCode(), ObjectId.hash(id.high(), id.low()));
+    }
+
+    @Test
+    public void bytesRoundTrip() {
+        byte[] bytes = {0x65, (byte) 0xf2, (byte) 0xa1, (byte) 0xb2, (byte) 0xc3, (byte) 0xd4, (byte) 0xe5,
+                (byte) 0xf6, (byte) 0xde, (byte) 0xad, (byte) 0xbe, (byte) 0xef};
+
+        assertArrayEquals(bytes, ObjectId.fromHex(HEX).toBytes());
+        assertEquals(ObjectId.fromHex(HEX), ObjectId.fromBytes(bytes));
+        assertEquals("ffffffffffffffffffffffff", ObjectId.fromBytes(new ObjectId(-1L, -1).toBytes()).toHex());
+    }
+
+    @Test
+    public void rejectsMalformedText() {
+        assertNull(ObjectId.parse(null));
+        assertNull(ObjectId.parse(""));
+        assertNull(ObjectId.parse(HEX.substring(1)));
+        assertNull(ObjectId.parse(HEX + "0"));
+        assertNull(ObjectId.parse("65f2a1b2c3d4e5f6deadbeeg"));
+        assertNull(ObjectId.parse("65f2a1b2c3d4e5f6deadbee٣"));
+        assertFalse(ObjectId.isValid(" 5f2a1b2c3d4e5f6deadbeef"));
+        assertTrue(ObjectId.isValid(HEX));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromHexThrowsOnMalformedText() {
+        ObjectId.fromHex("not an id");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fromBytesNeedsTwelveBytes() {
+        ObjectId.fromBytes(new byte[11]);
+    }
+
+    @Test
+    public void comparesUnsignedLikeTheHex() {
+        assertTrue(ObjectId.fromHex("ff0000000000000000000000").compareTo(ObjectId.fromHex("7f0000000000000000000000")) > 0);
+        assertTrue(ObjectId.fromHex("000000000000000080000000").compareTo(ObjectId.fromHex("00000000000000007fffffff")) > 0);
+        assertTrue(ObjectId.ZERO.compareTo(new ObjectId(-1L, -1)) < 0);
+        assertEquals(0, ObjectId.fromHex(HEX).compareTo(ObjectId.fromHex(HEX.toUpperCase())));
+
+        Random random = new Random(1);
+        List<ObjectId> ids = new ArrayList<>();
+        List<String> hex = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ObjectId id = new ObjectId(random.nextLong(), random.nextInt());
+            ids.add(id);
+            hex.add(id.toHex());
+        }
+        Collections.sort(ids);
+        Collections.sort(hex);
+        for (int i = 0; i < ids.size(); i++) assertEquals(hex.get(i), ids.get(i).toHex());
+    }
+
+    @Test
+    public void prefixRangeSpansEveryIdWithThePrefix() {
+        ObjectId[] range = ObjectId.prefixRange("65f2");
+
+        assertEquals("65f200000000000000000000", range[0].toHex());
+        assertEquals("65f2ffffffffffffffffffff", range[1].toHex());
+        ObjectId inside = ObjectId.fromHex(HEX);
+        assertTrue(range[0].compareTo(inside) <= 0 && inside.compareTo(range[1]) <= 0);
+        assertTrue(ObjectId.fromHex("65f300000000000000000000").compareTo(range[1]) > 0);
+
+        // The prefix can reach into the low int.
+        ObjectId[] deep = ObjectId.prefixRange("65f2a1b2c3d4e5f6dead");
+        assertEquals("65f2a1b2c3d4e5f6dead0000", deep[0].toHex());
+        assertEquals("65f2a1b2c3d4e5f6deadffff", deep[1].toHex());
+
+        ObjectId[] exact = ObjectId.prefixRange(HEX);
+        assertEquals(inside, exact[0]);
+        assertEquals(inside, exact[1]);
+    }
+
+    @Test
+    public void prefixRangeRejectsBadPrefixes() {
+        assertNull(ObjectId.prefixRange(null));
+        assertNull(ObjectId.prefixRange(""));
+        assertNull(ObjectId.prefixRange(HEX + "0"));
+        assertNull(ObjectId.prefixRange("65g2"));
+    }
+}
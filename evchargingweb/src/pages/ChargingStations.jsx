@@ -15,6 +15,8 @@ export default function ChargingStations() {
   // Form fields
   const [name, setName] = useState("");
   const [location, setLocation] = useState("");
+  const [latitude, setLatitude] = useState("");
+  const [longitude, setLongitude] = useState("");
   const [type, setType] = useState("AC");
   const [totalSlots, setSlots] = useState(1);
   const [pricePerHour, setPricePerHour] = useState(0.01);
@@ -103,6 +105,8 @@ export default function ChargingStations() {
       setEditMode(true);
       setName(station.name);
       setLocation(station.location);
+      setLatitude(station.latitude ?? "");
+      setLongitude(station.longitude ?? "");
       setType(station.type === 0 ? "AC" : "DC");
       setSlots(station.totalSlots);
       setPricePerHour(station.pricePerHour || 0.01);
@@ -113,6 +117,8 @@ export default function ChargingStations() {
       setEditMode(false);
       setName("");
       setLocation("");
+      setLatitude("");
+      setLongitude("");
       setType("AC");
       setSlots(1);
       setPricePerHour(0.01);
@@ -126,6 +132,9 @@ export default function ChargingStations() {
     const payload = {
       Name: name,
       Location: location,
+      // Blank coordinates go as null: the server keeps the old ones on update, and the app leaves the station off the map.
+      Latitude: latitude === "" ? null : Number(latitude),
+      Longitude: longitude === "" ? null : Number(longitude),
       Type: type === "AC" ? 0 : 1,
       TotalSlots: totalSlots,
       PricePerHour: pricePerHour,
@@ -551,6 +560,46 @@ export default function ChargingStations() {
               />
             </Form.Group>
 
+            <div style={{ display: 'grid', gridTemplateColumns: '1fr 1fr', gap: '16px' }}>
+              <Form.Group className="mb-3">
+                <Form.Label style={{ fontWeight: '600', color: '#121212' }}>Latitude</Form.Label>
+                <Form.Control 
+                  type="number" 
+                  step="any" 
+                  min={-90} 
+                  max={90} 
+                  value={latitude} 
+                  onChange={(e) => setLatitude(e.target.value)}
+                  style={{
+                    padding: '12px',
+                    borderRadius: '8px',
+                    border: '2px solid #E5E7EB',
+                    background: '#FFFFFF'
+                  }}
+                  placeholder="e.g. 6.9271"
+                />
+              </Form.Group>
+
+              <Form.Group className="mb-3">
+                <Form.Label style={{ fontWeight: '600', color: '#121212' }}>Longitude</Form.Label>
+                <Form.Control 
+                  type="number" 
+                  step="any" 
+                  min={-180} 
+                  max={180} 
+                  value={longitude} 
+                  onChange={(e) => setLongitude(e.target.value)}
+                  style={{
+                    padding: '12px',
+                    borderRadius: '8px',
+                    border: '2px solid #E5E7EB',
+                    background: '#FFFFFF'
+                  }}
+                  placeholder="e.g. 79.8612"
+                />
+              </Form.Group>
+            </div>
+
             <div style={{ display: 'grid', gridTemplateColumns: '1fr 1fr', gap: '16px' }}>
               <Form.Group className="mb-3">
                 <Form.Label style={{ fontWeight: '600', color: '#121212' }}>Charger Type</Form.Label>